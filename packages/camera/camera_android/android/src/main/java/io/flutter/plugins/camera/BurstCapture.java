@@ -0,0 +1,197 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.MethodChannel;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks the pictures of a burst capture, from the capture requests to the files written by {@link
+ * ImageSaver}.
+ *
+ * <p>Every saved picture is reported to Dart as soon as it is written. Once every picture of the
+ * burst has been saved or has failed, the pending result completes with the paths of the saved
+ * pictures in capture order. Methods may be called from the camera background thread and the image
+ * saver thread.
+ */
+class BurstCapture {
+  /**
+   * The maximum number of pictures in a burst. The capture {@link android.media.ImageReader} holds
+   * a buffer for each of them, so they can all be written without being dropped.
+   */
+  static final int MAX_SIZE = 8;
+
+  @NonNull private final List<File> files;
+  @NonNull private final MethodChannel.Result result;
+  @NonNull private final DartMessenger dartMessenger;
+
+  private final String[] savedPaths;
+  private int nextImage;
+  private int finishedImages;
+  private boolean completed;
+  @Nullable private String lastErrorCode;
+  @Nullable private String lastErrorMessage;
+
+  /**
+   * Creates a new instance of the {@link BurstCapture} class.
+   *
+   * @param files the files to save the pictures to, one per picture of the burst.
+   * @param result the result to complete once the burst has finished.
+   * @param dartMessenger the messenger used to report saved pictures and complete the result.
+   */
+  BurstCapture(
+      @NonNull List<File> files,
+      @NonNull MethodChannel.Result result,
+      @NonNull DartMessenger dartMessenger) {
+    this.files = files;
+    this.result = result;
+    this.dartMessenger = dartMessenger;
+    this.savedPaths = new String[files.size()];
+  }
+
+  /** Returns the number of pictures in the burst. */
+  int getSize() {
+    return files.size();
+  }
+
+  /** Returns the result that completes when the burst has finished. */
+  @NonNull
+  MethodChannel.Result getResult() {
+    return result;
+  }
+
+  /** Whether every picture of the burst has been received, or has failed to be captured. */
+  synchronized boolean hasReceivedAllImages() {
+    return nextImage >= files.size();
+  }
+
+  /**
+   * Returns the index of the picture that a newly received image belongs to, or -1 if every
+   * picture of the burst has already been received.
+   */
+  synchronized int nextImageIndex() {
+    return nextImage < files.size() ? nextImage++ : -1;
+  }
+
+  /**
+   * Returns the file a picture is saved to.
+   *
+   * @param index the index of the picture in the burst.
+   */
+  @NonNull
+  File getFile(int index) {
+    return files.get(index);
+  }
+
+  /**
+   * Creates the callback that reports the outcome of saving a picture.
+   *
+   * @param index the index of the picture in the burst.
+   */
+  @NonNull
+  ImageSaver.Callback createSaverCallback(int index) {
+    return new ImageSaver.Callback() {
+      @Override
+      public void onComplete(String absolutePath) {
+        onPictureSaved(index, absolutePath);
+      }
+
+      @Override
+      public void onError(String errorCode, String errorMessage) {
+        onPictureFailed(errorCode, errorMessage);
+      }
+    };
+  }
+
+  private void onPictureSaved(int index, @NonNull String absolutePath) {
+    dartMessenger.sendPictureSavedEvent(index, absolutePath);
+    synchronized (this) {
+      savedPaths[index] = absolutePath;
+      finishedImages++;
+    }
+    finishIfDone();
+  }
+
+  /**
+   * Marks a picture as failed, either because it was not captured or because it could not be
+   * saved.
+   *
+   * @param errorCode the error code to report if no picture of the burst is saved.
+   * @param errorMessage the error message to report if no picture of the burst is saved.
+   */
+  void onPictureFailed(@NonNull String errorCode, @Nullable String errorMessage) {
+    synchronized (this) {
+      lastErrorCode = errorCode;
+      lastErrorMessage = errorMessage;
+      finishedImages++;
+    }
+    finishIfDone();
+  }
+
+  /**
+   * Marks a picture that will never produce an image as failed, so the burst can still complete.
+   *
+   * @param errorCode the error code to report if no picture of the burst is saved.
+   * @param errorMessage the error message to report if no picture of the burst is saved.
+   */
+  void onCaptureFailed(@NonNull String errorCode, @Nullable String errorMessage) {
+    synchronized (this) {
+      if (nextImage >= files.size()) {
+        return;
+      }
+      // Captures complete in order, so the last picture slot is the one without an image.
+      files.get(files.size() - 1).delete();
+      files.remove(files.size() - 1);
+    }
+    onPictureFailed(errorCode, errorMessage);
+  }
+
+  /**
+   * Marks every picture that has not been received yet as failed, because the capture sequence was
+   * aborted or never sent. Pictures already received are still saved and reported.
+   *
+   * @param errorCode the error code to report if no picture of the burst is saved.
+   * @param errorMessage the error message to report if no picture of the burst is saved.
+   */
+  void onCaptureAborted(@NonNull String errorCode, @Nullable String errorMessage) {
+    synchronized (this) {
+      while (nextImage < files.size()) {
+        files.remove(files.size() - 1).delete();
+        lastErrorCode = errorCode;
+        lastErrorMessage = errorMessage;
+        finishedImages++;
+      }
+    }
+    finishIfDone();
+  }
+
+  private void finishIfDone() {
+    final List<String> paths = new ArrayList<>();
+    synchronized (this) {
+      // The result is completed once, even if late failures are reported after it.
+      if (completed || finishedImages < savedPaths.length) {
+        return;
+      }
+      completed = true;
+      for (int i = 0; i < savedPaths.length; i++) {
+        if (savedPaths[i] != null) {
+          paths.add(savedPaths[i]);
+        } else if (i < files.size()) {
+          files.get(i).delete();
+        }
+      }
+    }
+
+    if (paths.isEmpty()) {
+      dartMessenger.error(result, lastErrorCode, lastErrorMessage, null);
+    } else {
+      dartMessenger.finish(result, paths);
+    }
+  }
+}
@@ -15,6 +15,7 @@ import android.hardware.camera2.CameraCaptureSession;
 import android.hardware.camera2.CameraDevice;
 import android.hardware.camera2.CameraManager;
 import android.hardware.camera2.CameraMetadata;
+import android.hardware.camera2.CaptureFailure;
 import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.TotalCaptureResult;
 import android.hardware.camera2.params.OutputConfiguration;
@@ -30,7 +31,9 @@ import android.os.Build.VERSION_CODES;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
+import android.util.Range;
 import android.util.Size;
 import android.view.Display;
 import android.view.Surface;
@@ -44,6 +47,8 @@ import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugins.camera.features.CameraFeature;
 import io.flutter.plugins.camera.features.CameraFeatureFactory;
 import io.flutter.plugins.camera.features.CameraFeatures;
+import io.flutter.plugins.camera.features.CameraSettings;
+import io.flutter.plugins.camera.features.MeteringRegion;
 import io.flutter.plugins.camera.features.Point;
 import io.flutter.plugins.camera.features.autofocus.AutoFocusFeature;
 import io.flutter.plugins.camera.features.autofocus.FocusMode;
@@ -59,6 +64,12 @@ import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.sensororientation.SensorOrientationFeature;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
+import io.flutter.plugins.camera.media.ImageStreamFramePool;
+import io.flutter.plugins.camera.media.ImageStreamPreprocessor;
+import io.flutter.plugins.camera.media.MediaCodecRecorder;
+import io.flutter.plugins.camera.media.MediaCodecRecorderBuilder;
+import io.flutter.plugins.camera.media.MediaCodecRecordingOptions;
 import io.flutter.plugins.camera.media.MediaRecorderBuilder;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
@@ -101,6 +112,8 @@ class Camera
     implements CameraCaptureCallback.CameraCaptureStateListener,
         ImageReader.OnImageAvailableListener {
   private static final String TAG = "Camera";
+  /** The frame duration assumed when the frame rate range is unknown, that of 30 fps. */
+  private static final long DEFAULT_FRAME_DURATION_MILLIS = 33;
 
   private static final HashMap<String, Integer> supportedImageFormats;
 
@@ -128,22 +141,55 @@ class Camera
   private final CameraCaptureCallback cameraCaptureCallback;
   /** A {@link Handler} for running tasks in the background. */
   private Handler backgroundHandler;
+  /** Shares background threads with other open cameras, or null to own a thread. */
+  @Nullable private final CameraThreadPool cameraThreadPool;
+  /** Sends events and image stream frames to Dart from the main thread. */
+  @NonNull private final CameraDeliveryLane deliveryLane;
 
   /** An additional thread for running tasks that shouldn't block the UI. */
   private HandlerThread backgroundHandlerThread;
+  /** Writes captured pictures to disk off the background thread. */
+  @NonNull private ImageSaverExecutor imageSaverExecutor;
+  /** Whether {@link #imageSaverExecutor} belongs to this camera, rather than being shared. */
+  private boolean ownsImageSaverExecutor;
 
   private CameraDeviceWrapper cameraDevice;
   private CameraCaptureSession captureSession;
   private ImageReader pictureImageReader;
   private ImageReader imageStreamReader;
+  /** Delivers image stream frames as pooled binary messages, or null to use the event channel. */
+  @Nullable private ImageStreamFramePool imageStreamFramePool;
+  /** Decides which image stream frames are delivered, and counts delivered and dropped frames. */
+  @NonNull
+  private volatile ImageStreamDeliveryPolicy imageStreamDeliveryPolicy =
+      ImageStreamDeliveryPolicy.deliverAll();
+  /** Crops and subsamples image stream frames before serialization, or null to send them as is. */
+  @Nullable private volatile ImageStreamPreprocessor imageStreamPreprocessor;
+  /** Records frame timing while Dart listens to the telemetry channel, or null. */
+  @Nullable private volatile CaptureTelemetry captureTelemetry;
+  /** A camera prewarmed for this camera, handed off on the next open, or null. */
+  @Nullable private PrewarmedCamera prewarmedCamera;
+  /** Times the phases of the current open, until its first preview frame. */
+  @Nullable private volatile CameraStartupTrace startupTrace;
   /** {@link CaptureRequest.Builder} for the camera preview */
   private CaptureRequest.Builder previewRequestBuilder;
 
   private MediaRecorder mediaRecorder;
+  /** Records video with a hardware encoder instead of {@link #mediaRecorder}, or null. */
+  @Nullable private MediaCodecRecorder mediaCodecRecorder;
   /** True when recording video. */
   private boolean recordingVideo;
   /** True when the preview is paused. */
   private boolean pausedPreview;
+  /** True when preview sessions declare the image stream output up front. */
+  private boolean keepSessionWarm;
+  /** True when the capture {@link ImageReader} holds enough buffers for a whole burst. */
+  private boolean burstCaptureEnabled;
+  /**
+   * True when the current session declares the preview, picture and image stream outputs, so the
+   * image stream can be toggled by retargeting the repeating request.
+   */
+  private boolean warmSessionConfigured;
 
   private File captureFile;
 
@@ -153,6 +199,14 @@ class Camera
   private CameraCaptureProperties captureProps;
 
   private MethodChannel.Result flutterResult;
+  /** The burst being captured, or null when capturing single pictures. */
+  @Nullable private BurstCapture burstCapture;
+  /** The metering regions waiting for the next frame to be applied, or null. */
+  @Nullable private PendingMetering pendingMetering;
+  /** The {@link SystemClock#uptimeMillis()} time metering regions were last applied at. */
+  private long lastMeteringUptimeMillis;
+  /** Applies metering regions on the main thread, created on first use. */
+  @Nullable private Handler meteringHandler;
 
   /** A CameraDeviceWrapper implementation that forwards calls to a CameraDevice. */
   private class DefaultCameraDeviceWrapper implements CameraDeviceWrapper {
@@ -200,6 +254,57 @@ class Camera
       final CameraProperties cameraProperties,
       final ResolutionPreset resolutionPreset,
       final boolean enableAudio) {
+    this(
+        activity,
+        flutterTexture,
+        cameraFeatureFactory,
+        dartMessenger,
+        cameraProperties,
+        resolutionPreset,
+        enableAudio,
+        null);
+  }
+
+  /**
+   * Creates a camera running its work on the lanes of the given {@link CameraExecutors}, so several
+   * cameras can be open at the same time, and cameras can be switched, without threads of their
+   * own.
+   */
+  public Camera(
+      final Activity activity,
+      final SurfaceTextureEntry flutterTexture,
+      final CameraFeatureFactory cameraFeatureFactory,
+      final DartMessenger dartMessenger,
+      final CameraProperties cameraProperties,
+      final ResolutionPreset resolutionPreset,
+      final boolean enableAudio,
+      @Nullable final CameraExecutors cameraExecutors) {
+    this(
+        activity,
+        flutterTexture,
+        cameraFeatureFactory,
+        dartMessenger,
+        cameraProperties,
+        resolutionPreset,
+        enableAudio,
+        cameraExecutors,
+        null);
+  }
+
+  /**
+   * Creates a camera writing its pictures with the given {@link ImageSaverExecutor}, which it owns
+   * and shuts down once disposed, instead of the shared or default one.
+   */
+  public Camera(
+      final Activity activity,
+      final SurfaceTextureEntry flutterTexture,
+      final CameraFeatureFactory cameraFeatureFactory,
+      final DartMessenger dartMessenger,
+      final CameraProperties cameraProperties,
+      final ResolutionPreset resolutionPreset,
+      final boolean enableAudio,
+      @Nullable final CameraExecutors cameraExecutors,
+      @Nullable final ImageSaverExecutor imageSaverExecutor) {
 
     if (activity == null) {
       throw new IllegalStateException("No activity available!");
@@ -208,6 +313,26 @@ class Camera
     this.enableAudio = enableAudio;
     this.flutterTexture = flutterTexture;
     this.dartMessenger = dartMessenger;
+    if (imageSaverExecutor != null) {
+      this.imageSaverExecutor = imageSaverExecutor;
+      this.ownsImageSaverExecutor = true;
+    } else if (cameraExecutors != null) {
+      this.imageSaverExecutor = cameraExecutors.getIo();
+      this.ownsImageSaverExecutor = false;
+    } else {
+      this.imageSaverExecutor = new ImageSaverExecutor(ImageSaverExecutor.DEFAULT_QUEUE_DEPTH);
+      this.ownsImageSaverExecutor = true;
+    }
+    if (cameraExecutors != null) {
+      this.cameraThreadPool = cameraExecutors.getControl();
+      this.deliveryLane = cameraExecutors.getDelivery();
+    } else {
+      this.cameraThreadPool = null;
+      this.deliveryLane =
+          new CameraDeliveryLane(
+              HandlerFactory.create(Looper.getMainLooper()),
+              CameraDeliveryLane.DEFAULT_MAX_PENDING_FRAMES);
+    }
     this.applicationContext = activity.getApplicationContext();
     this.cameraProperties = cameraProperties;
     this.cameraFeatureFactory = cameraFeatureFactory;
@@ -252,10 +377,6 @@ class Camera
       mediaRecorder.release();
     }
 
-    final PlatformChannel.DeviceOrientation lockedOrientation =
-        ((SensorOrientationFeature) cameraFeatures.getSensorOrientation())
-            .getLockedCaptureOrientation();
-
     MediaRecorderBuilder mediaRecorderBuilder;
 
     if (Build.VERSION.SDK_INT >= 31) {
@@ -267,13 +388,49 @@ class Camera
     mediaRecorder =
         mediaRecorderBuilder
             .setEnableAudio(enableAudio)
-            .setMediaOrientation(
-                lockedOrientation == null
-                    ? getDeviceOrientationManager().getVideoOrientation()
-                    : getDeviceOrientationManager().getVideoOrientation(lockedOrientation))
+            .setMediaOrientation(getRecordingOrientation())
+            .build();
+  }
+
+  private void prepareMediaCodecRecorder(
+      String outputFilePath, @NonNull MediaCodecRecordingOptions options) throws IOException {
+    Log.i(TAG, "prepareMediaCodecRecorder");
+
+    releaseMediaCodecRecorder();
+
+    MediaCodecRecorderBuilder mediaCodecRecorderBuilder;
+
+    if (Build.VERSION.SDK_INT >= 31) {
+      mediaCodecRecorderBuilder =
+          new MediaCodecRecorderBuilder(getRecordingProfile(), outputFilePath);
+    } else {
+      mediaCodecRecorderBuilder =
+          new MediaCodecRecorderBuilder(getRecordingProfileLegacy(), outputFilePath);
+    }
+
+    mediaCodecRecorder =
+        options
+            .applyTo(mediaCodecRecorderBuilder)
+            .setMediaOrientation(getRecordingOrientation())
             .build();
   }
 
+  private int getRecordingOrientation() {
+    final PlatformChannel.DeviceOrientation lockedOrientation =
+        ((SensorOrientationFeature) cameraFeatures.getSensorOrientation())
+            .getLockedCaptureOrientation();
+    return lockedOrientation == null
+        ? getDeviceOrientationManager().getVideoOrientation()
+        : getDeviceOrientationManager().getVideoOrientation(lockedOrientation);
+  }
+
+  private void releaseMediaCodecRecorder() {
+    if (mediaCodecRecorder != null) {
+      mediaCodecRecorder.release();
+      mediaCodecRecorder = null;
+    }
+  }
+
   @SuppressLint("MissingPermission")
   public void open(String imageFormatGroup) throws CameraAccessException {
     final ResolutionFeature resolutionFeature = cameraFeatures.getResolution();
@@ -288,6 +445,19 @@ class Camera
               + "\" is not supported by this plugin.");
       return;
     }
+    // Closing the camera stops its background thread, so restart it when the camera is reopened.
+    startBackgroundThread();
+
+    cancelStartupTrace();
+    final CameraStartupTrace trace =
+        new CameraStartupTrace(
+            SystemClock.elapsedRealtimeNanos(),
+            timings -> {
+              startupTrace = null;
+              dartMessenger.sendCameraStartupCompletedEvent(timings);
+            });
+    startupTrace = trace;
+    trace.beginPhase(CameraStartupTrace.PHASE_IMAGE_READERS, SystemClock.elapsedRealtimeNanos());
 
     // Always capture using JPEG format.
     pictureImageReader =
@@ -295,7 +465,9 @@ class Camera
             resolutionFeature.getCaptureSize().getWidth(),
             resolutionFeature.getCaptureSize().getHeight(),
             ImageFormat.JPEG,
-            1);
+            // Every pending write holds on to an image, plus one for the next picture. Only
+            // cameras opted in to bursts hold enough images for all pictures of a burst.
+            getMaxPendingPictures() + 1);
 
     // For image streaming, use the provided image format or fall back to YUV420.
     Integer imageFormat = supportedImageFormats.get(imageFormatGroup);
@@ -309,14 +481,17 @@ class Camera
             resolutionFeature.getPreviewSize().getHeight(),
             imageFormat,
             1);
+    trace.endPhase(CameraStartupTrace.PHASE_IMAGE_READERS, SystemClock.elapsedRealtimeNanos());
 
     // Open the camera.
     CameraManager cameraManager = CameraUtils.getCameraManager(activity);
-    cameraManager.openCamera(
-        cameraProperties.getCameraName(),
+    trace.beginPhase(CameraStartupTrace.PHASE_OPEN_CAMERA, SystemClock.elapsedRealtimeNanos());
+    final CameraDevice.StateCallback stateCallback =
         new CameraDevice.StateCallback() {
           @Override
           public void onOpened(@NonNull CameraDevice device) {
+            trace.endPhase(
+                CameraStartupTrace.PHASE_OPEN_CAMERA, SystemClock.elapsedRealtimeNanos());
             cameraDevice = new DefaultCameraDeviceWrapper(device);
             try {
               startPreview();
@@ -378,8 +553,27 @@ class Camera
             }
             dartMessenger.sendCameraErrorEvent(errorDescription);
           }
-        },
-        backgroundHandler);
+        };
+    final PrewarmedCamera prewarmed = prewarmedCamera;
+    prewarmedCamera = null;
+    if (prewarmed == null || !prewarmed.handOff(stateCallback)) {
+      try {
+        cameraManager.openCamera(
+            cameraProperties.getCameraName(), stateCallback, backgroundHandler);
+      } catch (CameraAccessException | RuntimeException e) {
+        cancelStartupTrace();
+        throw e;
+      }
+    }
+  }
+
+  /** Ends the startup trace of a camera that will not reach its first frame. */
+  private void cancelStartupTrace() {
+    final CameraStartupTrace trace = startupTrace;
+    startupTrace = null;
+    if (trace != null) {
+      trace.cancel();
+    }
   }
 
   @VisibleForTesting
@@ -392,6 +586,12 @@ class Camera
       throws CameraAccessException {
     // Close any existing capture session.
     captureSession = null;
+    warmSessionConfigured = false;
+    final CameraStartupTrace trace = startupTrace;
+    if (trace != null) {
+      trace.beginPhase(
+          CameraStartupTrace.PHASE_SESSION_CONFIGURATION, SystemClock.elapsedRealtimeNanos());
+    }
 
     // Create a new capture builder.
     previewRequestBuilder = cameraDevice.createCaptureRequest(templateType);
@@ -433,6 +633,12 @@ class Camera
               return;
             }
             captureSession = session;
+            if (trace != null) {
+              final long now = SystemClock.elapsedRealtimeNanos();
+              trace.endPhase(CameraStartupTrace.PHASE_SESSION_CONFIGURATION, now);
+              trace.beginPhase(CameraStartupTrace.PHASE_FIRST_FRAME, now);
+              cameraCaptureCallback.setStartupTrace(trace);
+            }
 
             Log.i(TAG, "Updating builder settings");
             updateBuilderSettings(previewRequestBuilder);
@@ -525,7 +731,10 @@ class Camera
   private void startCapture(boolean record, boolean stream) throws CameraAccessException {
     List<Surface> surfaces = new ArrayList<>();
     Runnable successCallback = null;
-    if (record) {
+    if (record && mediaCodecRecorder != null) {
+      surfaces.add(mediaCodecRecorder.getInputSurface());
+      successCallback = mediaCodecRecorder::start;
+    } else if (record) {
       surfaces.add(mediaRecorder.getSurface());
       successCallback = () -> mediaRecorder.start();
     }
@@ -556,6 +765,63 @@ class Camera
       return;
     }
 
+    startPictureCaptureSequence();
+  }
+
+  /**
+   * Captures a burst of still pictures.
+   *
+   * <p>Focus and exposure are locked once for the whole burst, after which all pictures are
+   * requested at once. Every picture is reported to Dart as soon as it has been saved, and {@code
+   * result} completes with the paths of all saved pictures.
+   *
+   * <p>Fails unless burst capture was enabled with {@link #setBurstCaptureEnabled} before the camera
+   * opened.
+   *
+   * @param result the result to complete once the burst has finished.
+   * @param count the number of pictures to capture.
+   */
+  public void takePictureBurst(@NonNull final Result result, int count) {
+    if (!burstCaptureEnabled) {
+      result.error(
+          "burstCaptureDisabled", "Burst capture was not enabled when creating the camera", null);
+      return;
+    }
+    if (count < 1 || count > BurstCapture.MAX_SIZE) {
+      result.error(
+          "invalidBurstSize",
+          "A burst must contain between 1 and " + BurstCapture.MAX_SIZE + " pictures",
+          null);
+      return;
+    }
+    // Only take one picture or burst at a time.
+    if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
+      result.error("captureAlreadyActive", "Picture is currently already being captured", null);
+      return;
+    }
+
+    final File outputDir = applicationContext.getCacheDir();
+    final List<File> files = new ArrayList<>(count);
+    try {
+      for (int i = 0; i < count; i++) {
+        files.add(File.createTempFile("CAP", ".jpg", outputDir));
+      }
+      captureTimeouts.reset();
+    } catch (IOException | SecurityException e) {
+      for (File file : files) {
+        file.delete();
+      }
+      result.error("cannotCreateFile", e.getMessage(), null);
+      return;
+    }
+
+    // The burst completes its own result, so that it is completed only once.
+    flutterResult = null;
+    burstCapture = new BurstCapture(files, result, dartMessenger);
+    startPictureCaptureSequence();
+  }
+
+  private void startPictureCaptureSequence() {
     // Listen for picture being taken.
     pictureImageReader.setOnImageAvailableListener(this, backgroundHandler);
 
@@ -584,8 +850,7 @@ class Camera
 
       // Repeating request to refresh preview session.
       refreshPreviewCaptureSession(
-          null,
-          (code, message) -> dartMessenger.error(flutterResult, "cameraAccess", message, null));
+          null, (code, message) -> onPictureCaptureError("cameraAccess", message));
 
       // Start precapture.
       cameraCaptureCallback.setCameraState(CameraState.STATE_WAITING_PRECAPTURE_START);
@@ -619,7 +884,7 @@ class Camera
     try {
       stillBuilder = cameraDevice.createCaptureRequest(CameraDevice.TEMPLATE_STILL_CAPTURE);
     } catch (CameraAccessException e) {
-      dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
+      onPictureCaptureError("cameraAccess", e.getMessage());
       return;
     }
     stillBuilder.addTarget(pictureImageReader.getSurface());
@@ -642,6 +907,12 @@ class Camera
             ? getDeviceOrientationManager().getPhotoOrientation()
             : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation));
 
+    final BurstCapture burst = burstCapture;
+    if (burst != null) {
+      captureBurst(burst, stillBuilder);
+      return;
+    }
+
     CameraCaptureSession.CaptureCallback captureCallback =
         new CameraCaptureSession.CaptureCallback() {
           @Override
@@ -662,17 +933,161 @@ class Camera
     }
   }
 
+  /**
+   * Requests all pictures of a burst at once, reusing the focus and exposure state locked by the
+   * precapture sequence.
+   */
+  private void captureBurst(
+      @NonNull final BurstCapture burst, @NonNull CaptureRequest.Builder stillBuilder) {
+    final List<CaptureRequest> requests = new ArrayList<>(burst.getSize());
+    for (int i = 0; i < burst.getSize(); i++) {
+      requests.add(stillBuilder.build());
+    }
+
+    CameraCaptureSession.CaptureCallback captureCallback =
+        new CameraCaptureSession.CaptureCallback() {
+          @Override
+          public void onCaptureFailed(
+              @NonNull CameraCaptureSession session,
+              @NonNull CaptureRequest request,
+              @NonNull CaptureFailure failure) {
+            burst.onCaptureFailed(
+                "captureFailed", "Burst picture failed with reason " + failure.getReason());
+            finishBurstIfAllImagesReceived(burst);
+          }
+
+          @Override
+          public void onCaptureSequenceCompleted(
+              @NonNull CameraCaptureSession session, int sequenceId, long frameNumber) {
+            unlockAutoFocus();
+          }
+
+          @Override
+          public void onCaptureSequenceAborted(
+              @NonNull CameraCaptureSession session, int sequenceId) {
+            abortBurst(burst, "captureAborted", "The burst capture sequence was aborted");
+            unlockAutoFocus();
+          }
+        };
+
+    try {
+      captureSession.stopRepeating();
+      Log.i(TAG, "sending burst capture requests");
+      captureSession.captureBurst(requests, captureCallback, backgroundHandler);
+    } catch (CameraAccessException e) {
+      abortBurst(burst, "cameraAccess", e.getMessage());
+    }
+  }
+
+  /**
+   * Fails the pictures of {@code burst} that have not been received, and returns to the preview
+   * state if it is still the current burst.
+   */
+  private void abortBurst(
+      @NonNull BurstCapture burst, @NonNull String errorCode, @Nullable String errorMessage) {
+    burst.onCaptureAborted(errorCode, errorMessage);
+    if (burstCapture == burst) {
+      burstCapture = null;
+      cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+    }
+  }
+
+  /**
+   * Reports an error of the picture or burst being captured.
+   *
+   * <p>A burst completes its result through {@link BurstCapture}, so it is aborted instead of
+   * failing its result here a second time.
+   */
+  private void onPictureCaptureError(@NonNull String errorCode, @Nullable String errorMessage) {
+    final BurstCapture burst = burstCapture;
+    if (burst != null) {
+      abortBurst(burst, errorCode, errorMessage);
+    } else if (flutterResult != null) {
+      dartMessenger.error(flutterResult, errorCode, errorMessage, null);
+    } else {
+      dartMessenger.sendCameraErrorEvent(errorMessage);
+    }
+  }
+
+  /** Returns the number of pictures that can be pending to be written at once. */
+  private int getMaxPendingPictures() {
+    final int queueDepth = imageSaverExecutor.getQueueDepth();
+    return burstCaptureEnabled ? Math.max(queueDepth, BurstCapture.MAX_SIZE) : queueDepth;
+  }
+
+  /** Saves a picture of the current burst as it arrives. */
+  private void saveBurstImage(@NonNull BurstCapture burst, @NonNull ImageReader reader) {
+    final Image image = reader.acquireNextImage();
+    final int index = burst.nextImageIndex();
+    if (index < 0) {
+      image.close();
+      return;
+    }
+    final boolean scheduled =
+        imageSaverExecutor.execute(
+            new ImageSaver(image, burst.getFile(index), burst.createSaverCallback(index)),
+            getMaxPendingPictures());
+    if (!scheduled) {
+      image.close();
+      burst.onPictureFailed("imageSaverQueueFull", "Too many pictures are waiting to be saved");
+    }
+    finishBurstIfAllImagesReceived(burst);
+  }
+
+  private void finishBurstIfAllImagesReceived(@NonNull BurstCapture burst) {
+    if (burst.hasReceivedAllImages() && burstCapture == burst) {
+      burstCapture = null;
+      cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+    }
+  }
+
   @SuppressWarnings("deprecation")
   private Display getDefaultDisplay() {
     return activity.getWindowManager().getDefaultDisplay();
   }
 
+  /**
+   * Takes over a camera prewarmed for this camera, running on its background thread and using its
+   * camera device on {@link #open(String)} if it opened one.
+   *
+   * @param prewarmedCamera a prewarmed camera claimed for this camera.
+   */
+  void setPrewarmedCamera(@NonNull PrewarmedCamera prewarmedCamera) {
+    stopBackgroundThread();
+    backgroundHandlerThread = prewarmedCamera.getThread();
+    backgroundHandler = HandlerFactory.create(backgroundHandlerThread.getLooper());
+    this.prewarmedCamera = prewarmedCamera;
+  }
+
+  /** Returns the identifier of the Flutter texture the preview is rendered to. */
+  public long getTextureId() {
+    return flutterTexture.id();
+  }
+
+  /** Returns the name of the camera device, as listed by the {@link CameraManager}. */
+  @NonNull
+  public String getCameraName() {
+    return cameraProperties.getCameraName();
+  }
+
+  /** Returns the executor that writes captured pictures to disk, including its queue metrics. */
+  @NonNull
+  public ImageSaverExecutor getImageSaverExecutor() {
+    return imageSaverExecutor;
+  }
+
   /** Starts a background thread and its {@link Handler}. */
   public void startBackgroundThread() {
     if (backgroundHandlerThread != null) {
       return;
     }
 
+    if (cameraThreadPool != null) {
+      backgroundHandlerThread = cameraThreadPool.acquire();
+      backgroundHandler = HandlerFactory.create(backgroundHandlerThread.getLooper());
+      return;
+    }
+
     backgroundHandlerThread = HandlerThreadFactory.create("CameraBackground");
     try {
       backgroundHandlerThread.start();
@@ -685,7 +1100,11 @@ class Camera
   /** Stops the background thread and its {@link Handler}. */
   public void stopBackgroundThread() {
     if (backgroundHandlerThread != null) {
-      backgroundHandlerThread.quitSafely();
+      if (cameraThreadPool != null) {
+        cameraThreadPool.release(backgroundHandlerThread);
+      } else {
+        backgroundHandlerThread.quitSafely();
+      }
     }
     backgroundHandlerThread = null;
     backgroundHandler = null;
@@ -740,15 +1159,30 @@ class Camera
       return;
     }
 
-    refreshPreviewCaptureSession(
-        null,
-        (errorCode, errorMessage) ->
-            dartMessenger.error(flutterResult, errorCode, errorMessage, null));
+    refreshPreviewCaptureSession(null, this::onPictureCaptureError);
   }
 
   public void startVideoRecording(
       @NonNull Result result, @Nullable EventChannel imageStreamChannel) {
-    prepareRecording(result);
+    startVideoRecording(result, imageStreamChannel, null);
+  }
+
+  /**
+   * Starts recording video, optionally streaming images at the same time.
+   *
+   * @param result the result to report to.
+   * @param imageStreamChannel the channel to stream images on, or null.
+   * @param mediaCodecOptions the settings to record with a {@link MediaCodecRecorder}, or null to
+   *     record with {@link MediaRecorder}. The {@link MediaCodecRecorder} only records video, so it
+   *     requires the camera to be created with audio disabled.
+   */
+  public void startVideoRecording(
+      @NonNull Result result,
+      @Nullable EventChannel imageStreamChannel,
+      @Nullable MediaCodecRecordingOptions mediaCodecOptions) {
+    if (!prepareRecording(result, mediaCodecOptions)) {
+      return;
+    }
 
     if (imageStreamChannel != null) {
       setStreamHandler(imageStreamChannel);
@@ -776,19 +1210,41 @@ class Camera
     recordingVideo = false;
     try {
       captureSession.abortCaptures();
-      mediaRecorder.stop();
+      if (mediaCodecRecorder == null) {
+        mediaRecorder.stop();
+      }
     } catch (CameraAccessException | IllegalStateException e) {
       // Ignore exceptions and try to continue (changes are camera session already aborted capture).
     }
-    mediaRecorder.reset();
+    final MediaCodecRecorder codecRecorder = mediaCodecRecorder;
+    mediaCodecRecorder = null;
+    if (codecRecorder == null) {
+      mediaRecorder.reset();
+    }
     try {
       startPreview();
     } catch (CameraAccessException | IllegalStateException e) {
+      if (codecRecorder != null) {
+        codecRecorder.stop(completed -> {});
+      }
       result.error("videoRecordingFailed", e.getMessage(), null);
       return;
     }
-    result.success(captureFile.getAbsolutePath());
+    final String path = captureFile.getAbsolutePath();
     captureFile = null;
+    if (codecRecorder == null) {
+      result.success(path);
+      return;
+    }
+    // Finishing the file waits for the encoder to drain, so the result completes once the encoder
+    // thread has written it instead of blocking the platform thread.
+    codecRecorder.stop(
+        completed -> {
+          if (!completed) {
+            Log.w(TAG, "The video encoder did not finish in time, the recording may be truncated.");
+          }
+          dartMessenger.finish(result, path);
+        });
   }
 
   public void pauseVideoRecording(@NonNull final Result result) {
@@ -798,7 +1254,9 @@ class Camera
     }
 
     try {
-      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+      if (mediaCodecRecorder != null) {
+        mediaCodecRecorder.pause();
+      } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
         mediaRecorder.pause();
       } else {
         result.error("videoRecordingFailed", "pauseVideoRecording requires Android API +24.", null);
@@ -819,7 +1277,9 @@ class Camera
     }
 
     try {
-      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+      if (mediaCodecRecorder != null) {
+        mediaCodecRecorder.resume();
+      } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
         mediaRecorder.resume();
       } else {
         result.error(
@@ -911,17 +1371,30 @@ class Camera
     autoFocusFeature.setValue(newMode);
     autoFocusFeature.updateBuilder(previewRequestBuilder);
 
-    /*
-     * For focus mode an extra step of actually locking/unlocking the
-     * focus has to be done, in order to ensure it goes into the correct state.
-     */
+    if (!triggerFocusMode(result, newMode)) {
+      return;
+    }
+
+    if (result != null) {
+      result.success(null);
+    }
+  }
+
+  /**
+   * For focus mode an extra step of actually locking/unlocking the focus has to be done, in order
+   * to ensure it goes into the correct state.
+   *
+   * @return false if the focus could not be locked, in which case an error may have been sent to
+   *     {@code result}.
+   */
+  private boolean triggerFocusMode(@Nullable final Result result, @NonNull FocusMode newMode) {
     if (!pausedPreview) {
       switch (newMode) {
         case locked:
           // Perform a single focus trigger.
           if (captureSession == null) {
             Log.i(TAG, "[unlockAutoFocus] captureSession null, returning");
-            return;
+            return false;
           }
           lockAutoFocus();
 
@@ -937,7 +1410,7 @@ class Camera
               result.error(
                   "setFocusModeFailed", "Error setting focus mode: " + e.getMessage(), null);
             }
-            return;
+            return false;
           }
           break;
         case auto:
@@ -946,10 +1419,7 @@ class Camera
           break;
       }
     }
-
-    if (result != null) {
-      result.success(null);
-    }
+    return true;
   }
 
   /**
@@ -970,6 +1440,97 @@ class Camera
     this.setFocusMode(null, cameraFeatures.getAutoFocus().getValue());
   }
 
+  /**
+   * Sets weighted focus and exposure regions from dart.
+   *
+   * <p>Bursts of updates, such as a finger dragging over the preview, are coalesced: the regions
+   * are applied at most once per frame, with a single repeating request and focus trigger, and
+   * every coalesced call completes once the latest regions are applied. When focus and exposure
+   * have settled on the new regions, a metering converged event is sent.
+   *
+   * @param result Flutter result.
+   * @param focusRegions the new focus regions, empty to reset them, or null to keep them.
+   * @param exposureRegions the new exposure regions, empty to reset them, or null to keep them.
+   */
+  public void setMeteringRegions(
+      @NonNull final Result result,
+      @Nullable List<MeteringRegion> focusRegions,
+      @Nullable List<MeteringRegion> exposureRegions) {
+    if (pendingMetering == null) {
+      pendingMetering = new PendingMetering();
+      if (meteringHandler == null) {
+        meteringHandler = HandlerFactory.create(Looper.getMainLooper());
+      }
+      final long delayMillis =
+          Math.max(
+              0, lastMeteringUptimeMillis + getFrameDurationMillis() - SystemClock.uptimeMillis());
+      meteringHandler.postDelayed(this::applyPendingMetering, delayMillis);
+    }
+    pendingMetering.add(result, focusRegions, exposureRegions);
+  }
+
+  @VisibleForTesting
+  void applyPendingMetering() {
+    final PendingMetering metering = pendingMetering;
+    if (metering == null) {
+      return;
+    }
+    pendingMetering = null;
+    lastMeteringUptimeMillis = SystemClock.uptimeMillis();
+
+    final FocusPointFeature focusPointFeature = cameraFeatures.getFocusPoint();
+    final ExposurePointFeature exposurePointFeature = cameraFeatures.getExposurePoint();
+    final boolean focusChanged = metering.focusRegions != null;
+    final boolean exposureChanged = metering.exposureRegions != null;
+    if (focusChanged) {
+      focusPointFeature.setRegions(metering.focusRegions);
+      focusPointFeature.updateBuilder(previewRequestBuilder);
+    }
+    if (exposureChanged) {
+      exposurePointFeature.setRegions(metering.exposureRegions);
+      exposurePointFeature.updateBuilder(previewRequestBuilder);
+    }
+    if (captureSession == null) {
+      // The regions are applied with the preview once it starts.
+      metering.success(null);
+      return;
+    }
+
+    final boolean watchFocus = focusChanged && focusPointFeature.checkIsSupported();
+    final boolean watchExposure = exposureChanged && exposurePointFeature.checkIsSupported();
+    final MeteringConvergence convergence =
+        watchFocus || watchExposure
+            ? new MeteringConvergence(
+                watchFocus,
+                previewRequestBuilder.get(CaptureRequest.CONTROL_AF_REGIONS),
+                watchExposure,
+                previewRequestBuilder.get(CaptureRequest.CONTROL_AE_REGIONS),
+                dartMessenger::sendMeteringConvergedEvent)
+            : null;
+    refreshPreviewCaptureSession(
+        () -> {
+          if (focusChanged
+              && !triggerFocusMode(metering, cameraFeatures.getAutoFocus().getValue())) {
+            return;
+          }
+          if (convergence != null) {
+            cameraCaptureCallback.setMeteringConvergence(convergence);
+          }
+          metering.success(null);
+        },
+        (code, message) ->
+            metering.error("setMeteringRegionsFailed", "Could not set metering regions.", null));
+  }
+
+  /** Returns the time between preview frames at the highest frame rate of the current range. */
+  private long getFrameDurationMillis() {
+    final Range<Integer> fpsRange = cameraFeatures.getFpsRange().getValue();
+    if (fpsRange == null || fpsRange.getUpper() == null || fpsRange.getUpper() <= 0) {
+      return DEFAULT_FRAME_DURATION_MILLIS;
+    }
+    return 1000 / fpsRange.getUpper();
+  }
+
   /**
    * Sets a new exposure offset from dart. From dart the offset comes as a double, like +1.3 or
    * -1.3.
@@ -1018,16 +1579,8 @@ class Camera
    */
   public void setZoomLevel(@NonNull final Result result, float zoom) throws CameraAccessException {
     final ZoomLevelFeature zoomLevel = cameraFeatures.getZoomLevel();
-    float maxZoom = zoomLevel.getMaximumZoomLevel();
-    float minZoom = zoomLevel.getMinimumZoomLevel();
-
-    if (zoom > maxZoom || zoom < minZoom) {
-      String errorMessage =
-          String.format(
-              Locale.ENGLISH,
-              "Zoom level out of bounds (zoom level should be between %f and %f).",
-              minZoom,
-              maxZoom);
+    final String errorMessage = checkZoomLevel(zoom);
+    if (errorMessage != null) {
       result.error("ZOOM_ERROR", errorMessage, null);
       return;
     }
@@ -1040,6 +1593,97 @@ class Camera
         (code, message) -> result.error("setZoomLevelFailed", "Could not set zoom level.", null));
   }
 
+  /** Returns why the zoom level is out of bounds, or null if it is supported. */
+  @Nullable
+  private String checkZoomLevel(float zoom) {
+    final ZoomLevelFeature zoomLevel = cameraFeatures.getZoomLevel();
+    float maxZoom = zoomLevel.getMaximumZoomLevel();
+    float minZoom = zoomLevel.getMinimumZoomLevel();
+
+    if (zoom > maxZoom || zoom < minZoom) {
+      return String.format(
+          Locale.ENGLISH,
+          "Zoom level out of bounds (zoom level should be between %f and %f).",
+          minZoom,
+          maxZoom);
+    }
+    return null;
+  }
+
+  /**
+   * Applies several feature settings at once, updating the preview with a single repeating request
+   * instead of one per setting.
+   *
+   * <p>All settings are validated before any is applied, so an invalid setting leaves the camera
+   * unchanged. Locking the focus still needs its own trigger request.
+   *
+   * <p>Like {@link #setExposureOffset}, the result holds the exposure offset that was applied, as
+   * the requested one is clamped and rounded to the steps supported by the camera, or {@code null}
+   * when the settings do not change it.
+   *
+   * @param result Flutter result.
+   * @param settings the settings to change.
+   */
+  public void applySettings(@NonNull final Result result, @NonNull CameraSettings settings) {
+    final Float zoom = settings.getZoomLevel();
+    if (zoom != null) {
+      final String errorMessage = checkZoomLevel(zoom);
+      if (errorMessage != null) {
+        result.error("ZOOM_ERROR", errorMessage, null);
+        return;
+      }
+    }
+
+    final List<CameraFeature<?>> changedFeatures = new ArrayList<>();
+    if (settings.getFlashMode() != null) {
+      cameraFeatures.getFlash().setValue(settings.getFlashMode());
+      changedFeatures.add(cameraFeatures.getFlash());
+    }
+    if (settings.getExposureMode() != null) {
+      cameraFeatures.getExposureLock().setValue(settings.getExposureMode());
+      changedFeatures.add(cameraFeatures.getExposureLock());
+    }
+    if (settings.getExposurePoint() != null) {
+      cameraFeatures.getExposurePoint().setValue(settings.getExposurePoint());
+      changedFeatures.add(cameraFeatures.getExposurePoint());
+    }
+    if (settings.getExposureOffset() != null) {
+      cameraFeatures.getExposureOffset().setValue(settings.getExposureOffset());
+      changedFeatures.add(cameraFeatures.getExposureOffset());
+    }
+    if (settings.getFocusMode() != null) {
+      cameraFeatures.getAutoFocus().setValue(settings.getFocusMode());
+      changedFeatures.add(cameraFeatures.getAutoFocus());
+    }
+    if (settings.getFocusPoint() != null) {
+      cameraFeatures.getFocusPoint().setValue(settings.getFocusPoint());
+      changedFeatures.add(cameraFeatures.getFocusPoint());
+    }
+    if (zoom != null) {
+      cameraFeatures.getZoomLevel().setValue(zoom);
+      changedFeatures.add(cameraFeatures.getZoomLevel());
+    }
+
+    for (CameraFeature<?> feature : changedFeatures) {
+      feature.updateBuilder(previewRequestBuilder);
+    }
+
+    final boolean focusChanged =
+        settings.getFocusMode() != null || settings.getFocusPoint() != null;
+    final boolean exposureOffsetChanged = settings.getExposureOffset() != null;
+    refreshPreviewCaptureSession(
+        () -> {
+          if (focusChanged
+              && !triggerFocusMode(result, cameraFeatures.getAutoFocus().getValue())) {
+            return;
+          }
+          result.success(
+              exposureOffsetChanged ? cameraFeatures.getExposureOffset().getValue() : null);
+        },
+        (code, message) ->
+            result.error("applySettingsFailed", "Could not apply camera settings.", null));
+  }
+
   /**
    * Lock capture orientation from dart.
    *
@@ -1071,6 +1715,20 @@ class Camera
     if (pictureImageReader == null || pictureImageReader.getSurface() == null) return;
     Log.i(TAG, "startPreview");
 
+    if (warmSessionConfigured) {
+      retargetImageStream(false);
+      return;
+    }
+    if (canKeepSessionWarm()) {
+      // Declare the image stream output now, so starting a stream needs no reconfiguration.
+      createCaptureSession(
+          CameraDevice.TEMPLATE_PREVIEW,
+          pictureImageReader.getSurface(),
+          imageStreamReader.getSurface());
+      warmSessionConfigured = true;
+      return;
+    }
+
     createCaptureSession(CameraDevice.TEMPLATE_PREVIEW, pictureImageReader.getSurface());
   }
 
@@ -1078,10 +1736,59 @@ class Camera
       throws CameraAccessException {
     setStreamHandler(imageStreamChannel);
 
-    startCapture(false, true);
+    if (warmSessionConfigured) {
+      retargetImageStream(true);
+    } else {
+      startCapture(false, true);
+    }
     Log.i(TAG, "startPreviewWithImageStream");
   }
 
+  /**
+   * Sets whether preview sessions also declare the image stream output, so that starting and
+   * stopping image streams only changes the targets of the repeating request instead of
+   * reconfiguring the session.
+   *
+   * <p>This only applies to YUV image streams, as preview, YUV at preview size and JPEG is a stream
+   * combination every device supports. Recording still reconfigures the session.
+   *
+   * @param keepSessionWarm whether to keep the session configured for image streams.
+   */
+  public void setKeepSessionWarm(boolean keepSessionWarm) {
+    this.keepSessionWarm = keepSessionWarm;
+  }
+
+  /**
+   * Sets whether the capture {@link ImageReader} holds enough buffers for {@link
+   * #takePictureBurst}, which otherwise fails. Every buffer holds a full resolution picture, so
+   * cameras that never take bursts only hold the buffers of the image saver queue.
+   *
+   * <p>Must be called before {@link #open(String)}, as the reader is sized when the camera opens.
+   *
+   * @param burstCaptureEnabled whether to allow burst capture.
+   */
+  public void setBurstCaptureEnabled(boolean burstCaptureEnabled) {
+    this.burstCaptureEnabled = burstCaptureEnabled;
+  }
+
+  private boolean canKeepSessionWarm() {
+    return keepSessionWarm
+        && imageStreamReader != null
+        && imageStreamReader.getImageFormat() == ImageFormat.YUV_420_888
+        && imageStreamReader.getSurface() != null;
+  }
+
+  /** Adds or removes the image stream as a target of the repeating request of a warm session. */
+  private void retargetImageStream(boolean stream) {
+    final Surface streamSurface = imageStreamReader.getSurface();
+    previewRequestBuilder.removeTarget(streamSurface);
+    if (stream) {
+      previewRequestBuilder.addTarget(streamSurface);
+    }
+    refreshPreviewCaptureSession(
+        null, (code, message) -> dartMessenger.sendCameraErrorEvent(message));
+  }
+
   /**
    * This a callback object for the {@link ImageReader}. "onImageAvailable" will be called when a
    * still image is ready to be saved.
@@ -1090,47 +1797,185 @@ class Camera
   public void onImageAvailable(ImageReader reader) {
     Log.i(TAG, "onImageAvailable");
 
-    backgroundHandler.post(
-        new ImageSaver(
-            // Use acquireNextImage since image reader is only for one image.
-            reader.acquireNextImage(),
-            captureFile,
-            new ImageSaver.Callback() {
-              @Override
-              public void onComplete(String absolutePath) {
-                dartMessenger.finish(flutterResult, absolutePath);
-              }
-
-              @Override
-              public void onError(String errorCode, String errorMessage) {
-                dartMessenger.error(flutterResult, errorCode, errorMessage, null);
-              }
-            }));
+    final BurstCapture burst = burstCapture;
+    if (burst != null) {
+      saveBurstImage(burst, reader);
+      return;
+    }
+
+    // Capture the request state, the next picture or recording may replace it before the write
+    // completes.
+    final MethodChannel.Result result = flutterResult;
+    final File file = captureFile;
+    // Use acquireNextImage since image reader is only for one image.
+    final Image image = reader.acquireNextImage();
+    if (result == null) {
+      // A late picture of an aborted burst, with no single picture waiting for it.
+      image.close();
+      return;
+    }
+    final boolean scheduled =
+        imageSaverExecutor.execute(
+            new ImageSaver(
+                image,
+                file,
+                new ImageSaver.Callback() {
+                  @Override
+                  public void onComplete(String absolutePath) {
+                    dartMessenger.finish(result, absolutePath);
+                  }
+
+                  @Override
+                  public void onError(String errorCode, String errorMessage) {
+                    dartMessenger.error(result, errorCode, errorMessage, null);
+                  }
+                }));
+    if (!scheduled) {
+      image.close();
+      dartMessenger.error(
+          result, "imageSaverQueueFull", "Too many pictures are waiting to be saved", null);
+    }
     cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
   }
 
-  private void prepareRecording(@NonNull Result result) {
+  private boolean prepareRecording(
+      @NonNull Result result, @Nullable MediaCodecRecordingOptions mediaCodecOptions) {
+    if (mediaCodecOptions != null && enableAudio) {
+      result.error(
+          "videoRecordingFailed",
+          "The mediaCodec recording engine does not record audio, create the camera with audio"
+              + " disabled.",
+          null);
+      return false;
+    }
     final File outputDir = applicationContext.getCacheDir();
     try {
       captureFile = File.createTempFile("REC", ".mp4", outputDir);
     } catch (IOException | SecurityException e) {
       result.error("cannotCreateFile", e.getMessage(), null);
-      return;
+      return false;
     }
     try {
-      prepareMediaRecorder(captureFile.getAbsolutePath());
-    } catch (IOException e) {
+      if (mediaCodecOptions != null) {
+        prepareMediaCodecRecorder(captureFile.getAbsolutePath(), mediaCodecOptions);
+      } else {
+        releaseMediaCodecRecorder();
+        prepareMediaRecorder(captureFile.getAbsolutePath());
+      }
+    } catch (IOException | IllegalArgumentException | IllegalStateException e) {
       recordingVideo = false;
       captureFile = null;
       result.error("videoRecordingFailed", e.getMessage(), null);
-      return;
+      return false;
     }
     // Re-create autofocus feature so it's using video focus mode now.
     cameraFeatures.setAutoFocus(
         cameraFeatureFactory.createAutoFocusFeature(cameraProperties, true));
+    return true;
+  }
+
+  /**
+   * Sets the pool used to deliver image stream frames as binary messages.
+   *
+   * <p>Passing {@code null} closes the current pool and stops its frame delivery, after which
+   * frames are delivered through the image stream {@link EventChannel} again.
+   *
+   * @param framePool the pool to deliver frames with, or {@code null}.
+   */
+  public void setImageStreamFramePool(@Nullable ImageStreamFramePool framePool) {
+    if (imageStreamFramePool != null && imageStreamFramePool != framePool) {
+      imageStreamFramePool.close();
+      if (framePool == null && imageStreamReader != null) {
+        imageStreamReader.setOnImageAvailableListener(null, backgroundHandler);
+        cameraCaptureCallback.setTrackCaptureProperties(false);
+      }
+    }
+    imageStreamFramePool = framePool;
+  }
+
+  /**
+   * Sets the policy deciding which image stream frames are delivered to Dart.
+   *
+   * @param deliveryPolicy the policy to apply to the frames of the next image stream.
+   */
+  public void setImageStreamDeliveryPolicy(@NonNull ImageStreamDeliveryPolicy deliveryPolicy) {
+    imageStreamDeliveryPolicy = deliveryPolicy;
+  }
+
+  /**
+   * Sets the preprocessing stage applied to image stream frames before they are serialized.
+   *
+   * @param preprocessor the preprocessor for the frames of the next image stream, or {@code null}
+   *     to deliver full frames.
+   */
+  public void setImageStreamPreprocessor(@Nullable ImageStreamPreprocessor preprocessor) {
+    imageStreamPreprocessor = preprocessor;
+  }
+
+  /**
+   * Reports capture telemetry to the given {@link EventChannel} while Dart listens to it.
+   *
+   * <p>Frames are only recorded while the channel has a listener, so the telemetry costs nothing
+   * when unused.
+   *
+   * @param telemetryChannel the channel to send telemetry snapshots on.
+   * @param reportIntervalNanos the interval between two snapshots, in nanoseconds.
+   */
+  public void startCaptureTelemetry(
+      @NonNull EventChannel telemetryChannel, long reportIntervalNanos) {
+    if (reportIntervalNanos <= 0) {
+      throw new IllegalArgumentException("The report interval must be positive.");
+    }
+    telemetryChannel.setStreamHandler(
+        new EventChannel.StreamHandler() {
+          @Override
+          public void onListen(Object o, EventChannel.EventSink telemetrySink) {
+            setCaptureTelemetry(
+                new CaptureTelemetry(
+                    reportIntervalNanos,
+                    snapshot -> deliveryLane.post(() -> telemetrySink.success(snapshot))));
+          }
+
+          @Override
+          public void onCancel(Object o) {
+            setCaptureTelemetry(null);
+          }
+        });
+  }
+
+  /**
+   * Stops reporting capture telemetry.
+   *
+   * @param telemetryChannel the channel telemetry snapshots were sent on.
+   */
+  public void stopCaptureTelemetry(@NonNull EventChannel telemetryChannel) {
+    telemetryChannel.setStreamHandler(null);
+    setCaptureTelemetry(null);
+  }
+
+  private void setCaptureTelemetry(@Nullable CaptureTelemetry telemetry) {
+    captureTelemetry = telemetry;
+    cameraCaptureCallback.setCaptureTelemetry(telemetry);
+  }
+
+  /** Returns the delivery policy of the current image stream, including its frame counters. */
+  @NonNull
+  public ImageStreamDeliveryPolicy getImageStreamDeliveryPolicy() {
+    return imageStreamDeliveryPolicy;
+  }
+
+  /** Marks the oldest unacknowledged image stream frame as consumed by Dart. */
+  public void acknowledgeImageStreamFrame() {
+    imageStreamDeliveryPolicy.onFrameAcknowledged();
   }
 
   private void setStreamHandler(EventChannel imageStreamChannel) {
+    if (imageStreamFramePool != null) {
+      // Pooled frames are sent to Dart directly, without waiting for a stream subscription.
+      setPooledImageStreamImageAvailableListener(imageStreamFramePool);
+      return;
+    }
+
     imageStreamChannel.setStreamHandler(
         new EventChannel.StreamHandler() {
           @Override
@@ -1141,36 +1986,69 @@ class Camera
           @Override
           public void onCancel(Object o) {
             imageStreamReader.setOnImageAvailableListener(null, backgroundHandler);
+            cameraCaptureCallback.setTrackCaptureProperties(false);
           }
         });
   }
 
   private void setImageStreamImageAvailableListener(final EventChannel.EventSink imageStreamSink) {
+    final ImageStreamDeliveryPolicy deliveryPolicy = imageStreamDeliveryPolicy;
+    final ImageStreamPreprocessor preprocessor = imageStreamPreprocessor;
+    // Frames carry the capture properties, so keep them up to date while streaming.
+    cameraCaptureCallback.setTrackCaptureProperties(true);
     imageStreamReader.setOnImageAvailableListener(
         reader -> {
           Image img = reader.acquireNextImage();
           // Use acquireNextImage since image reader is only for one image.
           if (img == null) return;
 
-          List<Map<String, Object>> planes = new ArrayList<>();
-          for (Image.Plane plane : img.getPlanes()) {
-            ByteBuffer buffer = plane.getBuffer();
+          final CaptureTelemetry telemetry = captureTelemetry;
+          if (!deliveryPolicy.tryDeliver(img.getTimestamp())) {
+            if (telemetry != null) {
+              telemetry.onFrameDropped();
+            }
+            img.close();
+            return;
+          }
 
-            byte[] bytes = new byte[buffer.remaining()];
-            buffer.get(bytes, 0, bytes.length);
+          if (preprocessor != null) {
+            preprocessor.configure(img);
+          }
+          final int planeCount =
+              preprocessor == null ? img.getPlanes().length : preprocessor.getOutputPlaneCount();
 
+          List<Map<String, Object>> planes = new ArrayList<>();
+          for (int i = 0; i < planeCount; i++) {
             Map<String, Object> planeBuffer = new HashMap<>();
-            planeBuffer.put("bytesPerRow", plane.getRowStride());
-            planeBuffer.put("bytesPerPixel", plane.getPixelStride());
+            byte[] bytes;
+            if (preprocessor == null) {
+              Image.Plane plane = img.getPlanes()[i];
+              ByteBuffer buffer = plane.getBuffer();
+
+              bytes = new byte[buffer.remaining()];
+              buffer.get(bytes, 0, bytes.length);
+
+              planeBuffer.put("bytesPerRow", plane.getRowStride());
+              planeBuffer.put("bytesPerPixel", plane.getPixelStride());
+            } else {
+              bytes = new byte[preprocessor.getOutputPlaneSize(img, i)];
+              preprocessor.copyPlane(img, i, ByteBuffer.wrap(bytes));
+
+              planeBuffer.put("bytesPerRow", preprocessor.getOutputRowStride(img, i));
+              planeBuffer.put("bytesPerPixel", preprocessor.getOutputPixelStride(img, i));
+            }
             planeBuffer.put("bytes", bytes);
 
             planes.add(planeBuffer);
           }
 
           Map<String, Object> imageBuffer = new HashMap<>();
-          imageBuffer.put("width", img.getWidth());
-          imageBuffer.put("height", img.getHeight());
-          imageBuffer.put("format", img.getFormat());
+          imageBuffer.put(
+              "width", preprocessor == null ? img.getWidth() : preprocessor.getOutputWidth());
+          imageBuffer.put(
+              "height", preprocessor == null ? img.getHeight() : preprocessor.getOutputHeight());
+          imageBuffer.put(
+              "format", preprocessor == null ? img.getFormat() : preprocessor.getOutputFormat(img));
           imageBuffer.put("planes", planes);
           imageBuffer.put("lensAperture", this.captureProps.getLastLensAperture());
           imageBuffer.put("sensorExposureTime", this.captureProps.getLastSensorExposureTime());
@@ -1178,14 +2056,63 @@ class Camera
           imageBuffer.put(
               "sensorSensitivity", sensorSensitivity == null ? null : (double) sensorSensitivity);
 
-          final Handler handler = new Handler(Looper.getMainLooper());
-          handler.post(() -> imageStreamSink.success(imageBuffer));
+          if (deliveryLane.postFrame(() -> imageStreamSink.success(imageBuffer))) {
+            if (telemetry != null) {
+              telemetry.onFrameDelivered(img.getTimestamp(), SystemClock.elapsedRealtimeNanos());
+            }
+          } else {
+            deliveryPolicy.onFrameDropped();
+            if (telemetry != null) {
+              telemetry.onFrameDropped();
+            }
+          }
+          img.close();
+        },
+        backgroundHandler);
+  }
+
+  private void setPooledImageStreamImageAvailableListener(final ImageStreamFramePool framePool) {
+    final ImageStreamDeliveryPolicy deliveryPolicy = imageStreamDeliveryPolicy;
+    final ImageStreamPreprocessor preprocessor = imageStreamPreprocessor;
+    // Dart acknowledges pooled frames by replying to them.
+    final Runnable onAcknowledged = deliveryPolicy::onFrameAcknowledged;
+    cameraCaptureCallback.setTrackCaptureProperties(true);
+    imageStreamReader.setOnImageAvailableListener(
+        reader -> {
+          Image img = reader.acquireNextImage();
+          // Use acquireNextImage since image reader is only for one image.
+          if (img == null) return;
+
+          final CaptureTelemetry telemetry = captureTelemetry;
+          if (!deliveryPolicy.tryDeliver(img.getTimestamp())) {
+            if (telemetry != null) {
+              telemetry.onFrameDropped();
+            }
+            img.close();
+            return;
+          }
+
+          if (preprocessor != null) {
+            preprocessor.configure(img);
+          }
+          // The frame is copied into a pooled buffer, so the image can be closed right away.
+          if (framePool.publish(img, preprocessor, captureProps, onAcknowledged)) {
+            if (telemetry != null) {
+              telemetry.onFrameDelivered(img.getTimestamp(), SystemClock.elapsedRealtimeNanos());
+            }
+          } else {
+            deliveryPolicy.onFrameDropped();
+            if (telemetry != null) {
+              telemetry.onFrameDropped();
+            }
+          }
           img.close();
         },
         backgroundHandler);
   }
 
   private void closeCaptureSession() {
+    warmSessionConfigured = false;
     if (captureSession != null) {
       Log.i(TAG, "closeCaptureSession");
 
@@ -1197,6 +2124,11 @@ class Camera
   public void close() {
     Log.i(TAG, "close");
 
+    final BurstCapture burst = burstCapture;
+    if (burst != null) {
+      abortBurst(burst, "cameraClosed", "The camera was closed during the burst");
+    }
+
     if (cameraDevice != null) {
       cameraDevice.close();
       cameraDevice = null;
@@ -1217,11 +2149,24 @@ class Camera
       imageStreamReader.close();
       imageStreamReader = null;
     }
+    cameraCaptureCallback.setTrackCaptureProperties(false);
+    cancelStartupTrace();
+    cameraCaptureCallback.setStartupTrace(null);
+    cameraCaptureCallback.setMeteringConvergence(null);
     if (mediaRecorder != null) {
       mediaRecorder.reset();
       mediaRecorder.release();
       mediaRecorder = null;
     }
+    releaseMediaCodecRecorder();
+    if (imageStreamFramePool != null) {
+      imageStreamFramePool.close();
+      imageStreamFramePool = null;
+    }
+    if (prewarmedCamera != null) {
+      prewarmedCamera.release();
+      prewarmedCamera = null;
+    }
 
     stopBackgroundThread();
   }
@@ -1230,10 +2175,60 @@ class Camera
     Log.i(TAG, "dispose");
 
     close();
+    if (ownsImageSaverExecutor) {
+      imageSaverExecutor.shutdown();
+    }
     flutterTexture.release();
     getDeviceOrientationManager().stop();
   }
 
+  /**
+   * Metering regions coalesced from several calls, completing all of their results together.
+   *
+   * <p>Regions left null keep the value of earlier calls, so a burst updating only the focus does
+   * not drop an exposure update coalesced into it.
+   */
+  private static final class PendingMetering implements Result {
+    private final List<Result> results = new ArrayList<>();
+    @Nullable List<MeteringRegion> focusRegions;
+    @Nullable List<MeteringRegion> exposureRegions;
+
+    void add(
+        @NonNull Result result,
+        @Nullable List<MeteringRegion> focusRegions,
+        @Nullable List<MeteringRegion> exposureRegions) {
+      results.add(result);
+      if (focusRegions != null) {
+        this.focusRegions = focusRegions;
+      }
+      if (exposureRegions != null) {
+        this.exposureRegions = exposureRegions;
+      }
+    }
+
+    @Override
+    public void success(@Nullable Object value) {
+      for (Result result : results) {
+        result.success(value);
+      }
+    }
+
+    @Override
+    public void error(
+        @NonNull String errorCode, @Nullable String errorMessage, @Nullable Object errorDetails) {
+      for (Result result : results) {
+        result.error(errorCode, errorMessage, errorDetails);
+      }
+    }
+
+    @Override
+    public void notImplemented() {
+      for (Result result : results) {
+        result.notImplemented();
+      }
+    }
+  }
+
   /** Factory class that assists in creating a {@link HandlerThread} instance. */
   static class HandlerThreadFactory {
     /**
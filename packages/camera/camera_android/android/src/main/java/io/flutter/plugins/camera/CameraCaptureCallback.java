@@ -9,8 +9,10 @@ import android.hardware.camera2.CameraCaptureSession.CaptureCallback;
 import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.CaptureResult;
 import android.hardware.camera2.TotalCaptureResult;
+import android.os.SystemClock;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
 
@@ -24,6 +26,10 @@ class CameraCaptureCallback extends CaptureCallback {
   private CameraState cameraState;
   private final CaptureTimeoutsWrapper captureTimeouts;
   private final CameraCaptureProperties captureProps;
+  private volatile boolean trackCaptureProperties;
+  @Nullable private volatile CaptureTelemetry captureTelemetry;
+  @Nullable private volatile CameraStartupTrace startupTrace;
+  @Nullable private volatile MeteringConvergence meteringConvergence;
 
   private CameraCaptureCallback(
       @NonNull CameraCaptureStateListener cameraStateListener,
@@ -68,31 +74,73 @@ class CameraCaptureCallback extends CaptureCallback {
     cameraState = state;
   }
 
-  private void process(CaptureResult result) {
-    Integer aeState = result.get(CaptureResult.CONTROL_AE_STATE);
-    Integer afState = result.get(CaptureResult.CONTROL_AF_STATE);
+  /**
+   * Sets whether the capture properties are updated from capture results.
+   *
+   * <p>Only image streams read the capture properties, so reading them from every capture result
+   * can be skipped while no stream is running.
+   *
+   * @param trackCaptureProperties whether to update the capture properties.
+   */
+  public void setTrackCaptureProperties(boolean trackCaptureProperties) {
+    this.trackCaptureProperties = trackCaptureProperties;
+  }
 
+  /**
+   * Sets the telemetry that records every completed capture.
+   *
+   * @param captureTelemetry the telemetry to record captures with, or {@code null} to stop
+   *     recording.
+   */
+  public void setCaptureTelemetry(@Nullable CaptureTelemetry captureTelemetry) {
+    this.captureTelemetry = captureTelemetry;
+  }
+
+  /**
+   * Sets the startup trace whose first frame phase ends with the next completed capture.
+   *
+   * @param startupTrace the startup trace, or {@code null} to stop tracing.
+   */
+  public void setStartupTrace(@Nullable CameraStartupTrace startupTrace) {
+    this.startupTrace = startupTrace;
+  }
+
+  /**
+   * Sets the watch that follows the next completed captures until metering settles.
+   *
+   * @param meteringConvergence the watch, or {@code null} to stop watching.
+   */
+  public void setMeteringConvergence(@Nullable MeteringConvergence meteringConvergence) {
+    this.meteringConvergence = meteringConvergence;
+  }
+
+  // Runs for every capture result, i.e. at the preview frame rate, so keep it free of work and
+  // allocations while the preview is running normally.
+  private void process(CaptureResult result) {
     // Update capture properties
-    if (result instanceof TotalCaptureResult) {
-      Float lensAperture = result.get(CaptureResult.LENS_APERTURE);
-      Long sensorExposureTime = result.get(CaptureResult.SENSOR_EXPOSURE_TIME);
-      Integer sensorSensitivity = result.get(CaptureResult.SENSOR_SENSITIVITY);
-      this.captureProps.setLastLensAperture(lensAperture);
-      this.captureProps.setLastSensorExposureTime(sensorExposureTime);
-      this.captureProps.setLastSensorSensitivity(sensorSensitivity);
+    if (trackCaptureProperties && result instanceof TotalCaptureResult) {
+      this.captureProps.setLastLensAperture(result.get(CaptureResult.LENS_APERTURE));
+      this.captureProps.setLastSensorExposureTime(result.get(CaptureResult.SENSOR_EXPOSURE_TIME));
+      this.captureProps.setLastSensorSensitivity(result.get(CaptureResult.SENSOR_SENSITIVITY));
     }
 
-    if (cameraState != CameraState.STATE_PREVIEW) {
-      Log.d(
-          TAG,
-          "CameraCaptureCallback | state: "
-              + cameraState
-              + " | afState: "
-              + afState
-              + " | aeState: "
-              + aeState);
+    if (cameraState == CameraState.STATE_PREVIEW) {
+      // Skip the AE/AF lookups and the logging below for every preview frame.
+      return;
     }
 
+    Integer aeState = result.get(CaptureResult.CONTROL_AE_STATE);
+    Integer afState = result.get(CaptureResult.CONTROL_AF_STATE);
+
+    Log.d(
+        TAG,
+        "CameraCaptureCallback | state: "
+            + cameraState
+            + " | afState: "
+            + afState
+            + " | aeState: "
+            + aeState);
+
     switch (cameraState) {
       case STATE_PREVIEW:
         {
@@ -166,6 +214,25 @@ class CameraCaptureCallback extends CaptureCallback {
       @NonNull CameraCaptureSession session,
       @NonNull CaptureRequest request,
       @NonNull TotalCaptureResult result) {
+    final CameraStartupTrace trace = startupTrace;
+    if (trace != null) {
+      startupTrace = null;
+      trace.endPhase(CameraStartupTrace.PHASE_FIRST_FRAME, SystemClock.elapsedRealtimeNanos());
+    }
+    final CaptureTelemetry telemetry = captureTelemetry;
+    if (telemetry != null) {
+      final Long sensorTimestamp = result.get(CaptureResult.SENSOR_TIMESTAMP);
+      if (sensorTimestamp != null) {
+        telemetry.onCaptureCompleted(
+            result.getFrameNumber(), sensorTimestamp, SystemClock.elapsedRealtimeNanos());
+      }
+    }
+    final MeteringConvergence convergence = meteringConvergence;
+    if (convergence != null && convergence.onCaptureCompleted(request, result)) {
+      if (meteringConvergence == convergence) {
+        meteringConvergence = null;
+      }
+    }
     process(result);
   }
 
@@ -0,0 +1,126 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.CameraMetadata;
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugins.camera.features.resolution.ResolutionFeature;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process wide cache of {@link CameraCharacteristics}.
+ *
+ * <p>Querying the characteristics of a camera is a slow IPC call, while the characteristics of a
+ * built-in camera never change. Entries of external cameras are dropped whenever their availability
+ * changes, since a different device may be connected under the same identifier.
+ *
+ * <p>Availability changes are only watched while the cache is in use, from the first {@link #get}
+ * until {@link #release}.
+ */
+final class CameraCharacteristicsCache {
+  private static final Map<String, CameraCharacteristics> characteristicsByCamera =
+      new ConcurrentHashMap<>();
+  private static final CameraManager.AvailabilityCallback availabilityCallback =
+      new CameraManager.AvailabilityCallback() {
+        @Override
+        public void onCameraAvailable(@NonNull String cameraId) {
+          invalidateIfExternal(cameraId);
+        }
+
+        @Override
+        public void onCameraUnavailable(@NonNull String cameraId) {
+          invalidateIfExternal(cameraId);
+        }
+      };
+  // The manager the callback is registered with, which is needed to unregister it.
+  @Nullable private static CameraManager registeredCameraManager;
+
+  private CameraCharacteristicsCache() {}
+
+  /**
+   * Gets the characteristics of a camera, querying the {@link CameraManager} only on first use.
+   *
+   * @param cameraManager the camera manager to query on a cache miss.
+   * @param cameraName the identifier of the camera.
+   * @return the characteristics of the camera.
+   * @throws CameraAccessException when the camera could not be accessed.
+   */
+  @NonNull
+  static CameraCharacteristics get(@NonNull CameraManager cameraManager, @NonNull String cameraName)
+      throws CameraAccessException {
+    registerAvailabilityCallback(cameraManager);
+
+    CameraCharacteristics characteristics = characteristicsByCamera.get(cameraName);
+    if (characteristics == null) {
+      characteristics = cameraManager.getCameraCharacteristics(cameraName);
+      if (characteristics != null) {
+        characteristicsByCamera.put(cameraName, characteristics);
+      }
+    }
+    return characteristics;
+  }
+
+  private static synchronized void registerAvailabilityCallback(
+      @NonNull CameraManager cameraManager) {
+    // Availability callbacks are process wide, one registration covers every CameraManager.
+    if (registeredCameraManager != null) {
+      return;
+    }
+    cameraManager.registerAvailabilityCallback(
+        availabilityCallback, new Handler(Looper.getMainLooper()));
+    registeredCameraManager = cameraManager;
+  }
+
+  /**
+   * Stops watching the availability of cameras and drops everything cached, as external cameras
+   * may change unnoticed from now on. The next {@link #get} watches them again.
+   */
+  static synchronized void release() {
+    if (registeredCameraManager == null) {
+      return;
+    }
+    registeredCameraManager.unregisterAvailabilityCallback(availabilityCallback);
+    registeredCameraManager = null;
+    for (String cameraName : new ArrayList<>(characteristicsByCamera.keySet())) {
+      invalidate(cameraName);
+    }
+  }
+
+  private static void invalidateIfExternal(@NonNull String cameraId) {
+    final CameraCharacteristics characteristics = characteristicsByCamera.get(cameraId);
+    if (characteristics == null) {
+      return;
+    }
+    final Integer lensFacing = characteristics.get(CameraCharacteristics.LENS_FACING);
+    if (lensFacing != null && lensFacing == CameraMetadata.LENS_FACING_EXTERNAL) {
+      invalidate(cameraId);
+    }
+  }
+
+  /**
+   * Drops everything cached for a camera.
+   *
+   * @param cameraName the identifier of the camera.
+   */
+  static void invalidate(@NonNull String cameraName) {
+    characteristicsByCamera.remove(cameraName);
+    ResolutionFeature.invalidateCache(cameraName);
+  }
+
+  /** Drops all cached characteristics. */
+  @VisibleForTesting
+  static void clear() {
+    characteristicsByCamera.clear();
+  }
+}
@@ -0,0 +1,83 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.os.Handler;
+import androidx.annotation.NonNull;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Posts messages for Dart to the main thread, which platform messages must be sent from.
+ *
+ * <p>Events are always posted. Image stream frames are only posted while fewer than {@code
+ * maxPendingFrames} of them wait for the main thread, so a busy main thread drops frames instead of
+ * queueing up copies of them.
+ */
+class CameraDeliveryLane {
+  /** The number of pending frames used when none is specified. */
+  static final int DEFAULT_MAX_PENDING_FRAMES = 3;
+
+  @NonNull private final Handler handler;
+  private final int maxPendingFrames;
+  private final AtomicInteger pendingFrames = new AtomicInteger();
+  private final AtomicLong droppedFrames = new AtomicLong();
+
+  /**
+   * Creates a new instance of the {@link CameraDeliveryLane} class.
+   *
+   * @param handler a handler managing the main thread.
+   * @param maxPendingFrames the maximum number of frames waiting for the main thread, at least 1.
+   */
+  CameraDeliveryLane(@NonNull Handler handler, int maxPendingFrames) {
+    if (maxPendingFrames < 1) {
+      throw new IllegalArgumentException(
+          "maxPendingFrames must be at least 1, was " + maxPendingFrames);
+    }
+    this.handler = handler;
+    this.maxPendingFrames = maxPendingFrames;
+  }
+
+  /** Returns the handler managing the main thread, for senders that bound their own messages. */
+  @NonNull
+  Handler getHandler() {
+    return handler;
+  }
+
+  /** Posts an event, which is never dropped. */
+  void post(@NonNull Runnable event) {
+    handler.post(event);
+  }
+
+  /**
+   * Posts an image stream frame, unless too many frames are already waiting.
+   *
+   * @param frame the task sending the frame.
+   * @return {@code false} if the frame was dropped.
+   */
+  boolean postFrame(@NonNull Runnable frame) {
+    if (pendingFrames.incrementAndGet() > maxPendingFrames) {
+      pendingFrames.decrementAndGet();
+      droppedFrames.incrementAndGet();
+      return false;
+    }
+    handler.post(
+        () -> {
+          pendingFrames.decrementAndGet();
+          frame.run();
+        });
+    return true;
+  }
+
+  /** Returns the number of frames waiting for the main thread. */
+  int getPendingFrameCount() {
+    return pendingFrames.get();
+  }
+
+  /** Returns the number of frames dropped because too many were waiting. */
+  long getDroppedFrameCount() {
+    return droppedFrames.get();
+  }
+}
@@ -0,0 +1,73 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * The threads shared by all cameras of a plugin instance, split in lanes by the kind of work.
+ *
+ * <ul>
+ *   <li>Control: a {@link CameraThreadPool} of at most {@link CameraThreadPool#DEFAULT_MAX_THREADS}
+ *       looper threads, running Camera2 callbacks, capture requests and 3A state handling.
+ *   <li>I/O: an {@link ImageSaverExecutor} writing captured pictures, with a bounded queue.
+ *   <li>Delivery: a {@link CameraDeliveryLane} sending events and frames to Dart from the main
+ *       thread, with a bounded number of pending frames.
+ * </ul>
+ *
+ * <p>Switching cameras reuses the lanes instead of starting and stopping threads. The lanes live as
+ * long as the plugin is attached to an engine.
+ */
+class CameraExecutors {
+  @NonNull private final CameraThreadPool control;
+  @NonNull private final ImageSaverExecutor io;
+  @NonNull private final CameraDeliveryLane delivery;
+
+  /** Creates the lanes with their default bounds. */
+  CameraExecutors() {
+    this(
+        new CameraThreadPool(CameraThreadPool.DEFAULT_MAX_THREADS),
+        new ImageSaverExecutor(ImageSaverExecutor.DEFAULT_QUEUE_DEPTH),
+        new CameraDeliveryLane(
+            Camera.HandlerFactory.create(Looper.getMainLooper()),
+            CameraDeliveryLane.DEFAULT_MAX_PENDING_FRAMES));
+  }
+
+  @VisibleForTesting
+  CameraExecutors(
+      @NonNull CameraThreadPool control,
+      @NonNull ImageSaverExecutor io,
+      @NonNull CameraDeliveryLane delivery) {
+    this.control = control;
+    this.io = io;
+    this.delivery = delivery;
+  }
+
+  /** Returns the lane running Camera2 callbacks and capture requests. */
+  @NonNull
+  CameraThreadPool getControl() {
+    return control;
+  }
+
+  /** Returns the lane writing captured pictures. */
+  @NonNull
+  ImageSaverExecutor getIo() {
+    return io;
+  }
+
+  /** Returns the lane sending events and frames to Dart. */
+  @NonNull
+  CameraDeliveryLane getDelivery() {
+    return delivery;
+  }
+
+  /** Stops the control threads and stops accepting pictures once the plugin is detached. */
+  void shutdown() {
+    control.shutdown();
+    io.shutdown();
+  }
+}
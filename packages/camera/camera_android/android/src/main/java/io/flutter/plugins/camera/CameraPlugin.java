@@ -4,15 +4,21 @@
 
 package io.flutter.plugins.camera;
 
+import android.Manifest;
 import android.app.Activity;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.hardware.camera2.CameraCharacteristics;
 import android.os.Build;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.embedding.engine.plugins.activity.ActivityAware;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camera.CameraPermissions.PermissionsRegistry;
+import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.view.TextureRegistry;
 
 /**
@@ -29,6 +35,12 @@ public final class CameraPlugin implements FlutterPlugin, ActivityAware {
   private static final String TAG = "CameraPlugin";
   private @Nullable FlutterPluginBinding flutterPluginBinding;
   private @Nullable MethodCallHandlerImpl methodCallHandler;
+  /** The threads shared by the cameras, for as long as the plugin is attached to an engine. */
+  private CameraExecutors cameraExecutors = new CameraExecutors();
+  /** The camera prewarmed on engine attach, until it is passed to the method call handler. */
+  private @Nullable PrewarmedCamera prewarmedCamera;
+
+  private static @Nullable PrewarmOptions prewarmOptions;
 
   /**
    * Initialize this within the {@code #configureFlutterEngine} of a Flutter activity or fragment.
@@ -54,14 +66,47 @@ public final class CameraPlugin implements FlutterPlugin, ActivityAware {
         registrar.view());
   }
 
+  /**
+   * Prewarms a camera whenever the plugin attaches to a Flutter engine, so that creating and
+   * initializing it from Dart hands over work that is already done.
+   *
+   * <p>Prewarming starts the camera background thread, and resolves the properties and preview size
+   * of the first camera facing {@code lensFacing}. When {@code openDevice} is true and the camera
+   * permission is already granted, it also opens the camera device. A prewarmed camera that Dart
+   * does not create within 10 seconds is released. Call this before the engine is created, for
+   * example in {@code Application.onCreate}.
+   *
+   * @param lensFacing the {@link CameraCharacteristics#LENS_FACING} of the camera to prewarm.
+   * @param resolutionPreset the resolution preset the camera will be created with.
+   * @param openDevice whether to also open the camera device.
+   */
+  public static synchronized void enablePrewarm(
+      int lensFacing, @NonNull ResolutionPreset resolutionPreset, boolean openDevice) {
+    prewarmOptions = new PrewarmOptions(lensFacing, resolutionPreset, openDevice);
+  }
+
+  /** Stops prewarming cameras on later engine attaches. */
+  public static synchronized void disablePrewarm() {
+    prewarmOptions = null;
+  }
+
   @Override
   public void onAttachedToEngine(@NonNull FlutterPluginBinding binding) {
     this.flutterPluginBinding = binding;
+    maybePrewarm(binding.getApplicationContext());
   }
 
   @Override
   public void onDetachedFromEngine(@NonNull FlutterPluginBinding binding) {
     this.flutterPluginBinding = null;
+    if (prewarmedCamera != null) {
+      prewarmedCamera.release();
+      prewarmedCamera = null;
+    }
+    cameraExecutors.shutdown();
+    // In case the plugin is attached to an engine again.
+    cameraExecutors = new CameraExecutors();
+    CameraCharacteristicsCache.release();
   }
 
   @Override
@@ -104,6 +149,49 @@ public final class CameraPlugin implements FlutterPlugin, ActivityAware {
 
     methodCallHandler =
         new MethodCallHandlerImpl(
-            activity, messenger, new CameraPermissions(), permissionsRegistry, textureRegistry);
+            activity,
+            messenger,
+            new CameraPermissions(),
+            permissionsRegistry,
+            textureRegistry,
+            cameraExecutors,
+            prewarmedCamera);
+    // The handler releases the prewarmed camera if it is not claimed.
+    prewarmedCamera = null;
+  }
+
+  private void maybePrewarm(@NonNull Context context) {
+    final PrewarmOptions options;
+    synchronized (CameraPlugin.class) {
+      options = prewarmOptions;
+    }
+    if (options == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+      return;
+    }
+
+    // Opening the device without the permission would fail, the create call requests it instead.
+    final boolean openDevice =
+        options.openDevice
+            && ContextCompat.checkSelfPermission(context, Manifest.permission.CAMERA)
+                == PackageManager.PERMISSION_GRANTED;
+    prewarmedCamera =
+        PrewarmedCamera.start(
+            CameraUtils.getCameraManager(context),
+            cameraExecutors.getControl(),
+            options.lensFacing,
+            options.resolutionPreset,
+            openDevice);
+  }
+
+  private static final class PrewarmOptions {
+    final int lensFacing;
+    @NonNull final ResolutionPreset resolutionPreset;
+    final boolean openDevice;
+
+    PrewarmOptions(int lensFacing, @NonNull ResolutionPreset resolutionPreset, boolean openDevice) {
+      this.lensFacing = lensFacing;
+      this.resolutionPreset = resolutionPreset;
+      this.openDevice = openDevice;
+    }
   }
 }
@@ -272,7 +272,7 @@ class CameraPropertiesImpl implements CameraProperties {
   public CameraPropertiesImpl(String cameraName, CameraManager cameraManager)
       throws CameraAccessException {
     this.cameraName = cameraName;
-    this.cameraCharacteristics = cameraManager.getCameraCharacteristics(cameraName);
+    this.cameraCharacteristics = CameraCharacteristicsCache.get(cameraManager, cameraName);
   }
 
   @Override
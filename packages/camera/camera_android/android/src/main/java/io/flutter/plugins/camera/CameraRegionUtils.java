@@ -12,7 +12,11 @@ import android.util.Size;
 import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
+import io.flutter.plugins.camera.features.MeteringRegion;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Utility class offering functions to calculate values regarding the camera boundaries.
@@ -74,6 +78,28 @@ public final class CameraRegionUtils {
       double x,
       double y,
       @NonNull PlatformChannel.DeviceOrientation orientation) {
+    return convertPointToMeteringRectangle(boundaries, x, y, orientation, 1);
+  }
+
+  /**
+   * Converts a point into a weighted {@link MeteringRectangle} with the supplied coordinates as the
+   * center point.
+   *
+   * @param boundaries - The camera boundaries to calculate the metering rectangle for.
+   * @param x x - 1 >= coordinate >= 0.
+   * @param y y - 1 >= coordinate >= 0.
+   * @param orientation the orientation the coordinates are relative to.
+   * @param meteringWeight the weight of the rectangle, between {@link
+   *     MeteringRectangle#METERING_WEIGHT_MIN} and {@link MeteringRectangle#METERING_WEIGHT_MAX}.
+   * @return The dimensions of the metering rectangle based on the supplied coordinates and
+   *     boundaries.
+   */
+  public static MeteringRectangle convertPointToMeteringRectangle(
+      @NonNull Size boundaries,
+      double x,
+      double y,
+      @NonNull PlatformChannel.DeviceOrientation orientation,
+      int meteringWeight) {
     assert (boundaries.getWidth() > 0 && boundaries.getHeight() > 0);
     assert (x >= 0 && x <= 1);
     assert (y >= 0 && y <= 1);
@@ -121,7 +147,43 @@ public final class CameraRegionUtils {
       targetY = maxTargetY;
     }
     // Build the metering rectangle.
-    return MeteringRectangleFactory.create(targetX, targetY, targetWidth, targetHeight, 1);
+    return MeteringRectangleFactory.create(
+        targetX, targetY, targetWidth, targetHeight, meteringWeight);
+  }
+
+  /**
+   * Converts weighted regions into the {@link MeteringRectangle}s of a single request.
+   *
+   * <p>When there are more regions than the camera supports, the regions with the highest weights
+   * are kept.
+   *
+   * @param boundaries - The camera boundaries to calculate the metering rectangles for.
+   * @param regions the regions to convert.
+   * @param maxRegions the maximum number of regions the camera supports.
+   * @param orientation the orientation the coordinates are relative to.
+   * @return the metering rectangles, ordered by descending weight.
+   */
+  @NonNull
+  public static MeteringRectangle[] convertRegionsToMeteringRectangles(
+      @NonNull Size boundaries,
+      @NonNull List<MeteringRegion> regions,
+      int maxRegions,
+      @NonNull PlatformChannel.DeviceOrientation orientation) {
+    final List<MeteringRegion> sortedRegions = new ArrayList<>(regions);
+    // A stable sort, so regions of equal weight keep their order. List#sort needs API 24.
+    Collections.sort(sortedRegions, (a, b) -> Integer.compare(b.weight, a.weight));
+    final int count = Math.max(0, Math.min(sortedRegions.size(), maxRegions));
+    final MeteringRectangle[] rectangles = new MeteringRectangle[count];
+    for (int i = 0; i < count; i++) {
+      final MeteringRegion region = sortedRegions.get(i);
+      final int weight =
+          Math.max(
+              MeteringRectangle.METERING_WEIGHT_MIN,
+              Math.min(region.weight, MeteringRectangle.METERING_WEIGHT_MAX));
+      rectangles[i] =
+          convertPointToMeteringRectangle(boundaries, region.x, region.y, orientation, weight);
+    }
+    return rectangles;
   }
 
   @TargetApi(Build.VERSION_CODES.P)
@@ -0,0 +1,142 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.os.Build;
+import android.os.Trace;
+import androidx.annotation.NonNull;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the phases of opening a camera, from {@link Camera#open} to the first preview frame.
+ *
+ * <p>Every phase is timed and, from Android Q, also recorded as an asynchronous {@link Trace}
+ * section named {@code "Camera." + phase}, as the phases start and end on different threads. Each
+ * phase is measured once, so sessions created after startup do not change the breakdown. When the
+ * first frame arrives, the {@link Listener} receives the durations in milliseconds, keyed by phase
+ * plus {@link #TOTAL} for the whole startup. A startup that never reaches its first frame must be
+ * {@link #cancel() cancelled}, so its trace sections do not stay open.
+ */
+class CameraStartupTrace {
+  /** Receives the startup breakdown. */
+  interface Listener {
+    /**
+     * Called once the first preview frame has been captured.
+     *
+     * @param timings the duration of every measured phase, in milliseconds.
+     */
+    void onStartupCompleted(@NonNull Map<String, Double> timings);
+  }
+
+  /** The allocation of the picture and image stream {@link android.media.ImageReader}s. */
+  static final String PHASE_IMAGE_READERS = "imageReaders";
+  /** From {@code CameraManager.openCamera} until the device is opened. */
+  static final String PHASE_OPEN_CAMERA = "openCamera";
+  /** From creating the preview capture session until it is configured. */
+  static final String PHASE_SESSION_CONFIGURATION = "sessionConfiguration";
+  /** From the first repeating request until its first capture is completed. */
+  static final String PHASE_FIRST_FRAME = "firstFrame";
+  /** The key of the whole startup duration. */
+  static final String TOTAL = "total";
+
+  private static final String TRACE_PREFIX = "Camera.";
+  private static final AtomicInteger nextTraceCookie = new AtomicInteger();
+
+  private final long startNanos;
+  @NonNull private final Listener listener;
+  private final int traceCookie = nextTraceCookie.getAndIncrement();
+  private final Map<String, Long> phaseStartNanos = new HashMap<>();
+  private final Map<String, Double> timings = new LinkedHashMap<>();
+  private boolean completed;
+
+  /**
+   * Creates a new instance of the {@link CameraStartupTrace} class.
+   *
+   * @param startNanos the start of the startup, in {@link
+   *     android.os.SystemClock#elapsedRealtimeNanos()} time.
+   * @param listener the listener receiving the breakdown.
+   */
+  CameraStartupTrace(long startNanos, @NonNull Listener listener) {
+    this.startNanos = startNanos;
+    this.listener = listener;
+    beginTraceSection(TOTAL);
+  }
+
+  /**
+   * Starts a phase, unless it was started before.
+   *
+   * @param phase the name of the phase.
+   * @param nowNanos the current {@link android.os.SystemClock#elapsedRealtimeNanos()} time.
+   */
+  synchronized void beginPhase(@NonNull String phase, long nowNanos) {
+    if (completed || phaseStartNanos.containsKey(phase)) {
+      return;
+    }
+    phaseStartNanos.put(phase, nowNanos);
+    beginTraceSection(phase);
+  }
+
+  /**
+   * Ends a started phase, completing the startup when it is {@link #PHASE_FIRST_FRAME}.
+   *
+   * @param phase the name of the phase.
+   * @param nowNanos the current {@link android.os.SystemClock#elapsedRealtimeNanos()} time.
+   */
+  void endPhase(@NonNull String phase, long nowNanos) {
+    final Map<String, Double> breakdown;
+    synchronized (this) {
+      final Long phaseStart = phaseStartNanos.get(phase);
+      if (completed || phaseStart == null || timings.containsKey(phase)) {
+        return;
+      }
+      timings.put(phase, toMillis(nowNanos - phaseStart));
+      endTraceSection(phase);
+      if (!PHASE_FIRST_FRAME.equals(phase)) {
+        return;
+      }
+      completed = true;
+      timings.put(TOTAL, toMillis(nowNanos - startNanos));
+      endTraceSection(TOTAL);
+      breakdown = new LinkedHashMap<>(timings);
+    }
+    listener.onStartupCompleted(breakdown);
+  }
+
+  /**
+   * Ends the startup without a breakdown, when the camera fails to open or closes before its first
+   * frame, ending the trace sections still open.
+   */
+  synchronized void cancel() {
+    if (completed) {
+      return;
+    }
+    completed = true;
+    for (String phase : phaseStartNanos.keySet()) {
+      if (!timings.containsKey(phase)) {
+        endTraceSection(phase);
+      }
+    }
+    endTraceSection(TOTAL);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+
+  private void beginTraceSection(@NonNull String phase) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      Trace.beginAsyncSection(TRACE_PREFIX + phase, traceCookie);
+    }
+  }
+
+  private void endTraceSection(@NonNull String phase) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      Trace.endAsyncSection(TRACE_PREFIX + phase, traceCookie);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.os.HandlerThread;
+import androidx.annotation.NonNull;
+
+/**
+ * A bounded set of background threads shared by the open cameras.
+ *
+ * <p>Camera2 delivers its callbacks on a {@link android.os.Handler}, so every camera needs a looper
+ * thread. Rather than starting a thread per camera, cameras acquire a lane of this pool: an idle
+ * lane is reused first, a new thread is only started while fewer than {@code maxThreads} lanes are
+ * running, otherwise the least used lane is shared. Lanes keep running once their last camera
+ * releases them, so switching cameras does not restart threads, until {@link #shutdown()}.
+ */
+class CameraThreadPool {
+  /** The number of threads used when none is specified, matching concurrent front and back. */
+  static final int DEFAULT_MAX_THREADS = 2;
+
+  private final HandlerThread[] threads;
+  private final int[] users;
+
+  /**
+   * Creates a new instance of the {@link CameraThreadPool} class.
+   *
+   * @param maxThreads the maximum number of threads running at the same time.
+   */
+  CameraThreadPool(int maxThreads) {
+    if (maxThreads < 1) {
+      throw new IllegalArgumentException("maxThreads must be at least 1, was " + maxThreads);
+    }
+    threads = new HandlerThread[maxThreads];
+    users = new int[maxThreads];
+  }
+
+  /**
+   * Acquires a background thread for a camera.
+   *
+   * @return a started thread, to be returned with {@link #release} once the camera is closed.
+   */
+  @NonNull
+  synchronized HandlerThread acquire() {
+    int lane = -1;
+    int freeLane = -1;
+    for (int i = 0; i < threads.length; i++) {
+      if (threads[i] == null) {
+        if (freeLane < 0) {
+          freeLane = i;
+        }
+      } else if (lane < 0 || users[i] < users[lane]) {
+        lane = i;
+      }
+    }
+    // Only start another thread if every running lane is in use.
+    if (lane < 0 || (users[lane] > 0 && freeLane >= 0)) {
+      lane = freeLane;
+    }
+
+    if (threads[lane] == null) {
+      final HandlerThread thread =
+          Camera.HandlerThreadFactory.create("CameraBackground-" + lane);
+      try {
+        thread.start();
+      } catch (IllegalThreadStateException e) {
+        // Ignore exception in case the thread has already started.
+      }
+      threads[lane] = thread;
+    }
+    users[lane]++;
+    return threads[lane];
+  }
+
+  /**
+   * Releases a thread acquired with {@link #acquire}. The thread keeps running for the next camera.
+   *
+   * @param thread the thread to release.
+   */
+  synchronized void release(@NonNull HandlerThread thread) {
+    for (int i = 0; i < threads.length; i++) {
+      if (threads[i] == thread) {
+        users[i] = Math.max(0, users[i] - 1);
+        return;
+      }
+    }
+  }
+
+  /** Stops all the threads, once no camera can use them anymore. */
+  synchronized void shutdown() {
+    for (int i = 0; i < threads.length; i++) {
+      if (threads[i] != null) {
+        threads[i].quitSafely();
+        threads[i] = null;
+      }
+      users[i] = 0;
+    }
+  }
+
+  /** Returns the number of threads currently running. */
+  synchronized int getThreadCount() {
+    int count = 0;
+    for (HandlerThread thread : threads) {
+      if (thread != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -10,11 +10,13 @@ import android.hardware.camera2.CameraAccessException;
 import android.hardware.camera2.CameraCharacteristics;
 import android.hardware.camera2.CameraManager;
 import android.hardware.camera2.CameraMetadata;
+import android.os.Build;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /** Provides various utilities for camera. */
 public final class CameraUtils {
@@ -108,7 +110,8 @@ public final class CameraUtils {
       }
 
       HashMap<String, Object> details = new HashMap<>();
-      CameraCharacteristics characteristics = cameraManager.getCameraCharacteristics(cameraName);
+      CameraCharacteristics characteristics =
+          CameraCharacteristicsCache.get(cameraManager, cameraName);
       details.put("name", cameraName);
       int sensorOrientation = characteristics.get(CameraCharacteristics.SENSOR_ORIENTATION);
       details.put("sensorOrientation", sensorOrientation);
@@ -129,4 +132,40 @@ public final class CameraUtils {
     }
     return cameras;
   }
+
+  /**
+   * Gets the sets of cameras that can stream at the same time.
+   *
+   * <p>Devices before Android 11 do not report concurrent cameras, in which case the list is empty
+   * and only one camera can be open at a time.
+   *
+   * @param cameraManager the camera manager to query.
+   * @return the sets of camera names that can be open concurrently.
+   */
+  static List<Set<String>> getConcurrentCameras(CameraManager cameraManager) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.R) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(cameraManager.getConcurrentCameraIds());
+  }
+
+  /**
+   * Whether the given cameras can all be open at the same time.
+   *
+   * @param cameraManager the camera manager to query.
+   * @param cameraNames the names of the cameras to open together.
+   * @return true if a single camera is given, or the device reports a concurrent camera set
+   *     containing all of them.
+   */
+  static boolean canOpenConcurrently(CameraManager cameraManager, Set<String> cameraNames) {
+    if (cameraNames.size() <= 1) {
+      return true;
+    }
+    for (Set<String> concurrentCameras : getConcurrentCameras(cameraManager)) {
+      if (concurrentCameras.containsAll(cameraNames)) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
@@ -0,0 +1,248 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects per-frame capture telemetry and reports it as rolling histograms.
+ *
+ * <p>Capture results report the sensor timestamp and frame number of every frame, from which the
+ * frame interval, the jitter between consecutive intervals and frames skipped by the sensor are
+ * derived. Image stream listeners report frames handed to Dart and frames dropped before that, and
+ * the time between the capture result and the hand-off is recorded as the delivery latency.
+ *
+ * <p>Recording does not allocate. Once per report interval the histograms are converted into a
+ * snapshot for the {@link Listener}, and reset.
+ */
+class CaptureTelemetry {
+  /** Receives telemetry snapshots. */
+  interface Listener {
+    /**
+     * Called with the telemetry of the last report interval, on the thread that recorded the frame
+     * ending the interval.
+     *
+     * @param snapshot the telemetry, in the format documented by {@link CaptureTelemetry#createSnapshot}.
+     */
+    void onTelemetry(@NonNull Map<String, Object> snapshot);
+  }
+
+  /** The default interval between two snapshots. */
+  static final long DEFAULT_REPORT_INTERVAL_NANOS = 1_000_000_000L;
+
+  // Upper bounds of the histogram buckets, chosen around the common frame intervals of 60, 30, 24
+  // and 15 fps. The last bucket collects everything above the last bound.
+  private static final long[] BUCKET_BOUNDS_MICROS = {
+    1_000, 2_000, 4_000, 8_000, 12_000, 17_000, 25_000, 34_000, 42_000, 50_000, 67_000, 100_000,
+    200_000
+  };
+
+  // Capture results that are not yet matched by a delivered frame.
+  private static final int PENDING_CAPTURE_CAPACITY = 16;
+
+  private final long reportIntervalNanos;
+  @NonNull private final Listener listener;
+
+  private final Histogram frameIntervals = new Histogram();
+  private final Histogram frameJitter = new Histogram();
+  private final Histogram deliveryLatency = new Histogram();
+  private final long[] pendingSensorTimestamps = new long[PENDING_CAPTURE_CAPACITY];
+  private final long[] pendingCompletionTimes = new long[PENDING_CAPTURE_CAPACITY];
+  private int nextPendingCapture;
+
+  private long windowStartNanos = -1;
+  private long lastFrameNumber = -1;
+  private long lastSensorTimestamp = -1;
+  private long lastFrameInterval = -1;
+  private int capturedFrames;
+  private int skippedFrames;
+  private int deliveredFrames;
+  private int droppedFrames;
+
+  /**
+   * Creates a new instance of the {@link CaptureTelemetry} class.
+   *
+   * @param reportIntervalNanos the interval between two snapshots, in nanoseconds.
+   * @param listener the listener receiving the snapshots.
+   */
+  CaptureTelemetry(long reportIntervalNanos, @NonNull Listener listener) {
+    if (reportIntervalNanos <= 0) {
+      throw new IllegalArgumentException("The report interval must be positive.");
+    }
+    this.reportIntervalNanos = reportIntervalNanos;
+    this.listener = listener;
+    Arrays.fill(pendingSensorTimestamps, -1);
+  }
+
+  /**
+   * Records a completed capture.
+   *
+   * @param frameNumber the frame number of the capture result.
+   * @param sensorTimestamp the sensor timestamp of the capture result, in nanoseconds.
+   * @param nowNanos the current time of {@link android.os.SystemClock#elapsedRealtimeNanos}.
+   */
+  void onCaptureCompleted(long frameNumber, long sensorTimestamp, long nowNanos) {
+    Map<String, Object> snapshot = null;
+    synchronized (this) {
+      if (windowStartNanos < 0) {
+        windowStartNanos = nowNanos;
+      }
+
+      capturedFrames++;
+      if (lastFrameNumber >= 0 && frameNumber > lastFrameNumber + 1) {
+        skippedFrames += (int) (frameNumber - lastFrameNumber - 1);
+      }
+      lastFrameNumber = frameNumber;
+
+      if (lastSensorTimestamp >= 0 && sensorTimestamp > lastSensorTimestamp) {
+        long frameInterval = sensorTimestamp - lastSensorTimestamp;
+        frameIntervals.record(frameInterval);
+        if (lastFrameInterval >= 0) {
+          frameJitter.record(Math.abs(frameInterval - lastFrameInterval));
+        }
+        lastFrameInterval = frameInterval;
+      }
+      lastSensorTimestamp = sensorTimestamp;
+
+      pendingSensorTimestamps[nextPendingCapture] = sensorTimestamp;
+      pendingCompletionTimes[nextPendingCapture] = nowNanos;
+      nextPendingCapture = (nextPendingCapture + 1) % PENDING_CAPTURE_CAPACITY;
+
+      if (nowNanos - windowStartNanos >= reportIntervalNanos) {
+        snapshot = createSnapshot(nowNanos);
+      }
+    }
+
+    if (snapshot != null) {
+      listener.onTelemetry(snapshot);
+    }
+  }
+
+  /**
+   * Records a frame handed to Dart.
+   *
+   * @param sensorTimestamp the timestamp of the delivered image, in nanoseconds.
+   * @param nowNanos the current time of {@link android.os.SystemClock#elapsedRealtimeNanos}.
+   */
+  synchronized void onFrameDelivered(long sensorTimestamp, long nowNanos) {
+    deliveredFrames++;
+    for (int i = 0; i < PENDING_CAPTURE_CAPACITY; i++) {
+      if (pendingSensorTimestamps[i] == sensorTimestamp) {
+        // Images can be available before their capture result, which counts as no latency.
+        deliveryLatency.record(Math.max(0, nowNanos - pendingCompletionTimes[i]));
+        pendingSensorTimestamps[i] = -1;
+        return;
+      }
+    }
+  }
+
+  /** Records a frame that was dropped before it reached Dart. */
+  synchronized void onFrameDropped() {
+    droppedFrames++;
+  }
+
+  /**
+   * Creates the snapshot of the current report interval and starts a new one.
+   *
+   * <p>The snapshot contains the frame counters {@code capturedFrames}, {@code skippedFrames},
+   * {@code deliveredFrames} and {@code droppedFrames}, the {@code durationMicros} of the interval,
+   * the {@code bucketBoundsMicros} shared by all histograms, and the {@code frameInterval}, {@code
+   * frameJitter} and {@code deliveryLatency} histograms.
+   */
+  @VisibleForTesting
+  synchronized Map<String, Object> createSnapshot(long nowNanos) {
+    final Map<String, Object> snapshot = new HashMap<>();
+    snapshot.put("durationMicros", (nowNanos - windowStartNanos) / 1000);
+    snapshot.put("capturedFrames", capturedFrames);
+    snapshot.put("skippedFrames", skippedFrames);
+    snapshot.put("deliveredFrames", deliveredFrames);
+    snapshot.put("droppedFrames", droppedFrames);
+
+    final List<Long> bucketBounds = new ArrayList<>(BUCKET_BOUNDS_MICROS.length);
+    for (long bound : BUCKET_BOUNDS_MICROS) {
+      bucketBounds.add(bound);
+    }
+    snapshot.put("bucketBoundsMicros", bucketBounds);
+    snapshot.put("frameInterval", frameIntervals.toMap());
+    snapshot.put("frameJitter", frameJitter.toMap());
+    snapshot.put("deliveryLatency", deliveryLatency.toMap());
+
+    windowStartNanos = nowNanos;
+    capturedFrames = 0;
+    skippedFrames = 0;
+    deliveredFrames = 0;
+    droppedFrames = 0;
+    frameIntervals.reset();
+    frameJitter.reset();
+    deliveryLatency.reset();
+    return snapshot;
+  }
+
+  /** A fixed bucket histogram of durations. */
+  @VisibleForTesting
+  static class Histogram {
+    private final long[] bucketCounts = new long[BUCKET_BOUNDS_MICROS.length + 1];
+    private long count;
+    private long sumMicros;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros;
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds.
+     */
+    void record(long nanos) {
+      final long micros = nanos / 1000;
+      int bucket = 0;
+      while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+        bucket++;
+      }
+      bucketCounts[bucket]++;
+      count++;
+      sumMicros += micros;
+      minMicros = Math.min(minMicros, micros);
+      maxMicros = Math.max(maxMicros, micros);
+    }
+
+    long getCount() {
+      return count;
+    }
+
+    long getBucketCount(int bucket) {
+      return bucketCounts[bucket];
+    }
+
+    Map<String, Object> toMap() {
+      final Map<String, Object> map = new HashMap<>();
+      map.put("count", count);
+      map.put("minMicros", count == 0 ? 0 : minMicros);
+      map.put("maxMicros", maxMicros);
+      map.put("meanMicros", count == 0 ? 0 : sumMicros / count);
+      final List<Long> counts = new ArrayList<>(bucketCounts.length);
+      for (long bucketCount : bucketCounts) {
+        counts.add(bucketCount);
+      }
+      map.put("bucketCounts", counts);
+      return map;
+    }
+
+    void reset() {
+      for (int i = 0; i < bucketCounts.length; i++) {
+        bucketCounts[i] = 0;
+      }
+      count = 0;
+      sumMicros = 0;
+      minMicros = Long.MAX_VALUE;
+      maxMicros = 0;
+    }
+  }
+}
@@ -40,7 +40,12 @@ public class DartMessenger {
     /** Indicates that the camera is closing. */
     CLOSING("camera_closing"),
     /** Indicates that the camera is initialized. */
-    INITIALIZED("initialized");
+    INITIALIZED("initialized"),
+    /** Indicates that a picture of a burst has been saved. */
+    PICTURE_SAVED("picture_saved"),
+    /** Indicates that the camera has captured its first preview frame. */
+    STARTUP_COMPLETED("startup_completed"),
+    METERING_CONVERGED("metering_converged");
 
     private final String method;
 
@@ -123,6 +128,59 @@ public class DartMessenger {
         });
   }
 
+  /**
+   * Sends a message to the Flutter client informing that a picture of a burst has been saved.
+   *
+   * @param index the index of the picture in the burst.
+   * @param path the absolute path of the saved picture.
+   */
+  void sendPictureSavedEvent(int index, @NonNull String path) {
+    this.send(
+        CameraEventType.PICTURE_SAVED,
+        new HashMap<String, Object>() {
+          {
+            put("index", index);
+            put("path", path);
+          }
+        });
+  }
+
+  /**
+   * Sends a message to the Flutter client informing that the camera has captured its first preview
+   * frame.
+   *
+   * @param timings the duration of every startup phase, in milliseconds.
+   */
+  void sendCameraStartupCompletedEvent(@NonNull Map<String, Double> timings) {
+    this.send(
+        CameraEventType.STARTUP_COMPLETED,
+        new HashMap<String, Object>() {
+          {
+            put("timings", timings);
+          }
+        });
+  }
+
+  /**
+   * Sends a message to the Flutter client informing that metering on new regions has settled.
+   *
+   * @param focusConverged whether the focus converged, or null when the focus regions were not
+   *     changed.
+   * @param exposureConverged whether the exposure converged, or null when the exposure regions
+   *     were not changed.
+   */
+  void sendMeteringConvergedEvent(
+      @Nullable Boolean focusConverged, @Nullable Boolean exposureConverged) {
+    this.send(
+        CameraEventType.METERING_CONVERGED,
+        new HashMap<String, Object>() {
+          {
+            put("focusConverged", focusConverged);
+            put("exposureConverged", exposureConverged);
+          }
+        });
+  }
+
   /** Sends a message to the Flutter client informing that the camera is closing. */
   void sendCameraClosingEvent() {
     send(CameraEventType.CLOSING);
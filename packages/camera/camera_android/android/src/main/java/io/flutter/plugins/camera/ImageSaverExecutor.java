@@ -0,0 +1,171 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.os.Process;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link ImageSaver} tasks on a dedicated low priority thread, so writing pictures to disk
+ * never delays the camera background thread that drives capture requests and 3A state handling.
+ *
+ * <p>At most {@link #getQueueDepth()} pictures are pending at any time, counting the one being
+ * written. Further pictures are rejected instead of queueing up, since every pending picture holds
+ * on to an {@link android.media.ImageReader} buffer.
+ */
+public class ImageSaverExecutor {
+  /**
+   * The queue depth used when none is configured: one picture being written while the next one is
+   * captured, so the capture {@link android.media.ImageReader} holds two buffers.
+   */
+  public static final int DEFAULT_QUEUE_DEPTH = 1;
+
+  private static final String THREAD_NAME = "CameraImageSaver";
+  private static final long KEEP_ALIVE_SECONDS = 10;
+
+  private final int queueDepth;
+  private final ExecutorService executor;
+
+  private final AtomicInteger pendingWrites = new AtomicInteger();
+  private final AtomicInteger maxPendingWrites = new AtomicInteger();
+  private final AtomicLong completedWrites = new AtomicLong();
+  private final AtomicLong rejectedWrites = new AtomicLong();
+
+  /**
+   * Creates a new instance of the {@link ImageSaverExecutor} class.
+   *
+   * @param queueDepth the maximum number of pictures pending to be written, at least 1.
+   */
+  public ImageSaverExecutor(int queueDepth) {
+    this(queueDepth, createExecutor());
+  }
+
+  @VisibleForTesting
+  ImageSaverExecutor(int queueDepth, @NonNull ExecutorService executor) {
+    if (queueDepth < 1) {
+      throw new IllegalArgumentException("queueDepth must be at least 1, was " + queueDepth);
+    }
+    this.queueDepth = queueDepth;
+    this.executor = executor;
+  }
+
+  private static ExecutorService createExecutor() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            // Bounded by pendingWrites.
+            new LinkedBlockingQueue<>(),
+            runnable ->
+                new Thread(
+                    () -> {
+                      Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                      runnable.run();
+                    },
+                    THREAD_NAME));
+    // Do not keep an idle thread around between pictures.
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /** Returns the maximum number of pictures pending to be written. */
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  /**
+   * Schedules a picture to be written.
+   *
+   * @param imageSaver the task writing the picture.
+   * @return {@code false} if the queue is full or the executor was shut down, in which case the
+   *     caller still owns the image of the task.
+   */
+  public boolean execute(@NonNull ImageSaver imageSaver) {
+    return execute(imageSaver, queueDepth);
+  }
+
+  /**
+   * Schedules a picture to be written, allowing up to {@code maxPendingWrites} pending pictures
+   * instead of {@link #getQueueDepth()}.
+   *
+   * <p>Used for the pictures of a burst, which arrive at once and for which the capture {@link
+   * android.media.ImageReader} holds enough buffers.
+   *
+   * @param imageSaver the task writing the picture.
+   * @param maxPendingWrites the maximum number of pending pictures, including this one.
+   * @return {@code false} if the queue is full or the executor was shut down, in which case the
+   *     caller still owns the image of the task.
+   */
+  public boolean execute(@NonNull ImageSaver imageSaver, int maxPendingWrites) {
+    final int pending = pendingWrites.incrementAndGet();
+    if (pending > maxPendingWrites) {
+      pendingWrites.decrementAndGet();
+      rejectedWrites.incrementAndGet();
+      return false;
+    }
+    updateMaxPendingWrites(pending);
+
+    try {
+      executor.execute(
+          () -> {
+            try {
+              imageSaver.run();
+            } finally {
+              pendingWrites.decrementAndGet();
+              completedWrites.incrementAndGet();
+            }
+          });
+      return true;
+    } catch (RejectedExecutionException e) {
+      pendingWrites.decrementAndGet();
+      rejectedWrites.incrementAndGet();
+      return false;
+    }
+  }
+
+  private void updateMaxPendingWrites(int pending) {
+    while (true) {
+      final int max = maxPendingWrites.get();
+      if (pending <= max || maxPendingWrites.compareAndSet(max, pending)) {
+        return;
+      }
+    }
+  }
+
+  /** Returns the number of pictures that are queued or being written. */
+  public int getPendingWriteCount() {
+    return pendingWrites.get();
+  }
+
+  /** Returns the highest number of pictures that were pending at the same time. */
+  public int getMaxPendingWriteCount() {
+    return maxPendingWrites.get();
+  }
+
+  /** Returns the number of pictures that were written, successfully or not. */
+  public long getCompletedWriteCount() {
+    return completedWrites.get();
+  }
+
+  /** Returns the number of pictures that were rejected because the queue was full. */
+  public long getRejectedWriteCount() {
+    return rejectedWrites.get();
+  }
+
+  /** Stops accepting pictures. Pictures that are already queued are still written. */
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,156 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.hardware.camera2.CaptureRequest;
+import android.hardware.camera2.CaptureResult;
+import android.hardware.camera2.params.MeteringRectangle;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Watches the capture results after new metering regions are applied, until focus and exposure
+ * settle on them.
+ *
+ * <p>Results of requests that do not carry the new regions yet are ignored, so the states of frames
+ * metered on the previous regions are not mistaken for convergence. Even the first results carrying
+ * the new regions usually still report the states reached on the previous regions, as continuous
+ * focus and auto exposure only start scanning once they notice the change. A watched state
+ * therefore only counts as settled once it was seen scanning for the new regions, or after {@link
+ * #MIN_SETTLE_FRAMES} results carrying them, for scenes the camera does not need to re-meter.
+ *
+ * <p>The watch ends with the first result whose watched states have all settled, or after {@link
+ * #TIMEOUT_FRAMES} results carrying the new regions, reporting the states reached so far.
+ */
+class MeteringConvergence {
+  /** Receives the outcome of the watch. */
+  interface Listener {
+    /**
+     * Called once metering has settled or timed out.
+     *
+     * @param focusConverged whether the focus converged, or null when it was not watched.
+     * @param exposureConverged whether the exposure converged, or null when it was not watched.
+     */
+    void onMeteringConverged(@Nullable Boolean focusConverged, @Nullable Boolean exposureConverged);
+  }
+
+  /** The number of results carrying the new regions after which the watch gives up. */
+  static final int TIMEOUT_FRAMES = 90;
+
+  /**
+   * The number of results carrying the new regions after which a state that was never seen
+   * scanning is trusted anyway.
+   */
+  static final int MIN_SETTLE_FRAMES = 10;
+
+  private final boolean watchFocus;
+  @Nullable private final MeteringRectangle[] focusRegions;
+  private final boolean watchExposure;
+  @Nullable private final MeteringRectangle[] exposureRegions;
+  @NonNull private final Listener listener;
+  private int framesWithRegions;
+  private boolean focusScanned;
+  private boolean exposureScanned;
+
+  /**
+   * Creates a new instance of the {@link MeteringConvergence} class.
+   *
+   * @param watchFocus whether to wait for the focus to settle.
+   * @param focusRegions the focus regions of the new requests.
+   * @param watchExposure whether to wait for the exposure to settle.
+   * @param exposureRegions the exposure regions of the new requests.
+   * @param listener the listener receiving the outcome.
+   */
+  MeteringConvergence(
+      boolean watchFocus,
+      @Nullable MeteringRectangle[] focusRegions,
+      boolean watchExposure,
+      @Nullable MeteringRectangle[] exposureRegions,
+      @NonNull Listener listener) {
+    this.watchFocus = watchFocus;
+    this.focusRegions = focusRegions;
+    this.watchExposure = watchExposure;
+    this.exposureRegions = exposureRegions;
+    this.listener = listener;
+  }
+
+  /**
+   * Processes a completed capture.
+   *
+   * @param request the request of the capture.
+   * @param result the result of the capture.
+   * @return true when the watch has ended.
+   */
+  boolean onCaptureCompleted(@NonNull CaptureRequest request, @NonNull CaptureResult result) {
+    if (!carriesRegions(request)) {
+      return false;
+    }
+    framesWithRegions++;
+
+    final Integer afState = watchFocus ? result.get(CaptureResult.CONTROL_AF_STATE) : null;
+    final Integer aeState = watchExposure ? result.get(CaptureResult.CONTROL_AE_STATE) : null;
+    focusScanned |= isFocusScanning(afState);
+    exposureScanned |= isExposureSearching(aeState);
+    final boolean trustUnscanned = framesWithRegions >= MIN_SETTLE_FRAMES;
+    final boolean focusSettled =
+        !watchFocus
+            || (isFocusSettled(afState) && (afState == null || focusScanned || trustUnscanned));
+    final boolean exposureSettled =
+        !watchExposure
+            || (isExposureConverged(aeState)
+                && (aeState == null || exposureScanned || trustUnscanned));
+    if (!(focusSettled && exposureSettled) && framesWithRegions < TIMEOUT_FRAMES) {
+      return false;
+    }
+
+    listener.onMeteringConverged(
+        watchFocus ? isFocusConverged(afState) : null,
+        watchExposure ? isExposureConverged(aeState) : null);
+    return true;
+  }
+
+  private boolean carriesRegions(@NonNull CaptureRequest request) {
+    return (!watchFocus
+            || Arrays.equals(focusRegions, request.get(CaptureRequest.CONTROL_AF_REGIONS)))
+        && (!watchExposure
+            || Arrays.equals(exposureRegions, request.get(CaptureRequest.CONTROL_AE_REGIONS)));
+  }
+
+  // CONTROL_AF_STATE and CONTROL_AE_STATE can be null on some devices, which then do not report
+  // metering progress at all.
+  private static boolean isFocusSettled(@Nullable Integer afState) {
+    return afState == null
+        || afState == CaptureResult.CONTROL_AF_STATE_FOCUSED_LOCKED
+        || afState == CaptureResult.CONTROL_AF_STATE_NOT_FOCUSED_LOCKED
+        || afState == CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED
+        || afState == CaptureResult.CONTROL_AF_STATE_PASSIVE_UNFOCUSED;
+  }
+
+  private static boolean isFocusScanning(@Nullable Integer afState) {
+    return afState != null
+        && (afState == CaptureResult.CONTROL_AF_STATE_PASSIVE_SCAN
+            || afState == CaptureResult.CONTROL_AF_STATE_ACTIVE_SCAN);
+  }
+
+  private static boolean isExposureSearching(@Nullable Integer aeState) {
+    return aeState != null
+        && (aeState == CaptureResult.CONTROL_AE_STATE_SEARCHING
+            || aeState == CaptureResult.CONTROL_AE_STATE_PRECAPTURE);
+  }
+
+  private static boolean isFocusConverged(@Nullable Integer afState) {
+    return afState == null
+        || afState == CaptureResult.CONTROL_AF_STATE_FOCUSED_LOCKED
+        || afState == CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED;
+  }
+
+  private static boolean isExposureConverged(@Nullable Integer aeState) {
+    return aeState == null
+        || aeState == CaptureResult.CONTROL_AE_STATE_CONVERGED
+        || aeState == CaptureResult.CONTROL_AE_STATE_FLASH_REQUIRED
+        || aeState == CaptureResult.CONTROL_AE_STATE_LOCKED;
+  }
+}
@@ -6,8 +6,7 @@ package io.flutter.plugins.camera;
 
 import android.app.Activity;
 import android.hardware.camera2.CameraAccessException;
-import android.os.Handler;
-import android.os.Looper;
+import android.hardware.camera2.CameraManager;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
@@ -17,16 +16,33 @@ import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugins.camera.CameraPermissions.PermissionsRegistry;
+import io.flutter.plugins.camera.features.CameraFeatureFactory;
 import io.flutter.plugins.camera.features.CameraFeatureFactoryImpl;
+import io.flutter.plugins.camera.features.CameraSettings;
+import io.flutter.plugins.camera.features.MeteringRegion;
 import io.flutter.plugins.camera.features.Point;
 import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import io.flutter.plugins.camera.features.flash.FlashMode;
+import io.flutter.plugins.camera.features.resolution.ResolutionFeature;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.EncodedChunkSender;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryMode;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
+import io.flutter.plugins.camera.media.ImageStreamFramePool;
+import io.flutter.plugins.camera.media.ImageStreamPreprocessor;
+import io.flutter.plugins.camera.media.MediaCodecRecordingOptions;
+import io.flutter.plugins.camera.media.VideoBitrateMode;
 import io.flutter.view.TextureRegistry;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
   private final Activity activity;
@@ -35,8 +51,13 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
   private final PermissionsRegistry permissionsRegistry;
   private final TextureRegistry textureRegistry;
   private final MethodChannel methodChannel;
-  private final EventChannel imageStreamChannel;
-  private @Nullable Camera camera;
+  private final CameraExecutors cameraExecutors;
+  /** A camera prewarmed when the plugin attached, until a created camera claims it. */
+  private @Nullable PrewarmedCamera prewarmedCamera;
+  /** The created cameras, by the identifier of their texture. */
+  private final Map<Long, Camera> cameras = new LinkedHashMap<>();
+  /** The most recently created camera not yet disposed, used by calls that do not name one. */
+  private @Nullable Camera defaultCamera;
 
   MethodCallHandlerImpl(
       Activity activity,
@@ -44,20 +65,39 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
       CameraPermissions cameraPermissions,
       PermissionsRegistry permissionsAdder,
       TextureRegistry textureRegistry) {
+    this(
+        activity,
+        messenger,
+        cameraPermissions,
+        permissionsAdder,
+        textureRegistry,
+        new CameraExecutors(),
+        null);
+  }
+
+  MethodCallHandlerImpl(
+      Activity activity,
+      BinaryMessenger messenger,
+      CameraPermissions cameraPermissions,
+      PermissionsRegistry permissionsAdder,
+      TextureRegistry textureRegistry,
+      @NonNull CameraExecutors cameraExecutors,
+      @Nullable PrewarmedCamera prewarmedCamera) {
     this.activity = activity;
     this.messenger = messenger;
     this.cameraPermissions = cameraPermissions;
     this.permissionsRegistry = permissionsAdder;
     this.textureRegistry = textureRegistry;
+    this.cameraExecutors = cameraExecutors;
+    this.prewarmedCamera = prewarmedCamera;
 
     methodChannel = new MethodChannel(messenger, "plugins.flutter.io/camera_android");
-    imageStreamChannel =
-        new EventChannel(messenger, "plugins.flutter.io/camera_android/imageStream");
     methodChannel.setMethodCallHandler(this);
   }
 
   @Override
   public void onMethodCall(@NonNull MethodCall call, @NonNull final Result result) {
+    final Camera camera = getCamera(call);
     switch (call.method) {
       case "availableCameras":
         try {
@@ -66,11 +106,19 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           handleException(e, result);
         }
         break;
-      case "create":
+      case "availableConcurrentCameras":
         {
-          if (camera != null) {
-            camera.close();
+          List<List<String>> concurrentCameras = new ArrayList<>();
+          for (Set<String> cameraNames :
+              CameraUtils.getConcurrentCameras(CameraUtils.getCameraManager(activity))) {
+            concurrentCameras.add(new ArrayList<>(cameraNames));
           }
+          result.success(concurrentCameras);
+          break;
+        }
+      case "create":
+        {
+          closeCamerasConflictingWith(call.argument("cameraName"));
 
           cameraPermissions.requestPermissions(
               activity,
@@ -111,6 +159,12 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           camera.takePicture(result);
           break;
         }
+      case "takePictureBurst":
+        {
+          Integer count = call.argument("count");
+          camera.takePictureBurst(result, count == null ? 1 : count);
+          break;
+        }
       case "prepareForVideoRecording":
         {
           // This optimization is not required for Android.
@@ -119,9 +173,26 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
         }
       case "startVideoRecording":
         {
+          if (!configureImageStream(camera, call, result)) {
+            return;
+          }
+          String engine = call.argument("recordingEngine");
+          MediaCodecRecordingOptions mediaCodecOptions = null;
+          if ("mediaCodec".equals(engine)) {
+            mediaCodecOptions = getMediaCodecRecordingOptions(camera, call, result);
+            if (mediaCodecOptions == null) {
+              return;
+            }
+          } else if (engine != null && !"mediaRecorder".equals(engine)) {
+            result.error("videoRecordingFailed", "Unknown recording engine " + engine, null);
+            return;
+          }
           camera.startVideoRecording(
               result,
-              Objects.equals(call.argument("enableStream"), true) ? imageStreamChannel : null);
+              Objects.equals(call.argument("enableStream"), true)
+                  ? getImageStreamChannel(camera)
+                  : null,
+              mediaCodecOptions);
           break;
         }
       case "stopVideoRecording":
@@ -252,10 +323,25 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           }
           break;
         }
+      case "setMeteringRegions":
+        {
+          try {
+            camera.setMeteringRegions(
+                result,
+                getMeteringRegions(call, "focusRegions"),
+                getMeteringRegions(call, "exposureRegions"));
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
       case "startImageStream":
         {
           try {
-            camera.startPreviewWithImageStream(imageStreamChannel);
+            if (!configureImageStream(camera, call, result)) {
+              return;
+            }
+            camera.startPreviewWithImageStream(getImageStreamChannel(camera));
             result.success(null);
           } catch (Exception e) {
             handleException(e, result);
@@ -265,6 +351,7 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
       case "stopImageStream":
         {
           try {
+            camera.setImageStreamFramePool(null);
             camera.startPreview();
             result.success(null);
           } catch (Exception e) {
@@ -272,6 +359,55 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           }
           break;
         }
+      case "acknowledgeImageStreamFrame":
+        {
+          camera.acknowledgeImageStreamFrame();
+          result.success(null);
+          break;
+        }
+      case "getImageStreamStatistics":
+        {
+          ImageStreamDeliveryPolicy deliveryPolicy = camera.getImageStreamDeliveryPolicy();
+          Map<String, Object> statistics = new HashMap<>();
+          statistics.put("deliveredFrames", deliveryPolicy.getDeliveredFrameCount());
+          statistics.put("droppedFrames", deliveryPolicy.getDroppedFrameCount());
+          statistics.put("framesInFlight", deliveryPolicy.getFramesInFlight());
+          result.success(statistics);
+          break;
+        }
+      case "startCaptureTelemetry":
+        {
+          Integer reportIntervalMs = call.argument("reportIntervalMs");
+          try {
+            camera.startCaptureTelemetry(
+                getTelemetryChannel(camera),
+                reportIntervalMs == null
+                    ? CaptureTelemetry.DEFAULT_REPORT_INTERVAL_NANOS
+                    : TimeUnit.MILLISECONDS.toNanos(reportIntervalMs));
+            result.success(null);
+          } catch (IllegalArgumentException e) {
+            result.error("captureTelemetryFailed", e.getMessage(), null);
+          }
+          break;
+        }
+      case "stopCaptureTelemetry":
+        {
+          camera.stopCaptureTelemetry(getTelemetryChannel(camera));
+          result.success(null);
+          break;
+        }
+      case "getImageSaverStatistics":
+        {
+          ImageSaverExecutor imageSaverExecutor = camera.getImageSaverExecutor();
+          Map<String, Object> statistics = new HashMap<>();
+          statistics.put("queueDepth", imageSaverExecutor.getQueueDepth());
+          statistics.put("pendingWrites", imageSaverExecutor.getPendingWriteCount());
+          statistics.put("maxPendingWrites", imageSaverExecutor.getMaxPendingWriteCount());
+          statistics.put("completedWrites", imageSaverExecutor.getCompletedWriteCount());
+          statistics.put("rejectedWrites", imageSaverExecutor.getRejectedWriteCount());
+          result.success(statistics);
+          break;
+        }
       case "getMaxZoomLevel":
         {
           assert camera != null;
@@ -315,6 +451,19 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           }
           break;
         }
+      case "applySettings":
+        {
+          CameraSettings settings = getCameraSettings(call, result);
+          if (settings == null) {
+            return;
+          }
+          try {
+            camera.applySettings(result, settings);
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
       case "lockCaptureOrientation":
         {
           PlatformChannel.DeviceOrientation orientation =
@@ -357,7 +506,17 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
       case "dispose":
         {
           if (camera != null) {
+            camera.stopCaptureTelemetry(getTelemetryChannel(camera));
             camera.dispose();
+            cameras.values().remove(camera);
+            if (camera == defaultCamera) {
+              // Calls that do not name a camera move on to the most recently created camera
+              // still open, so disposing one of several cameras does not strand them.
+              defaultCamera = null;
+              for (Camera openCamera : cameras.values()) {
+                defaultCamera = openCamera;
+              }
+            }
           }
           result.success(null);
           break;
@@ -370,37 +529,313 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
 
   void stopListening() {
     methodChannel.setMethodCallHandler(null);
+    if (prewarmedCamera != null) {
+      prewarmedCamera.release();
+      prewarmedCamera = null;
+    }
+  }
+
+  /**
+   * Returns the camera named by the {@code cameraId} argument of a call, or the most recently
+   * created camera if the call does not name one.
+   */
+  @Nullable
+  private Camera getCamera(MethodCall call) {
+    final Number cameraId = call.hasArgument("cameraId") ? call.argument("cameraId") : null;
+    if (cameraId == null) {
+      return defaultCamera;
+    }
+    return cameras.get(cameraId.longValue());
+  }
+
+  /**
+   * Closes the open cameras that cannot stream together with the camera about to be created.
+   *
+   * <p>Cameras are kept open in creation order for as long as the device reports a concurrent
+   * camera set containing all of them, so front and back cameras can stream at the same time on
+   * devices that support it. Closed cameras stay registered until Dart disposes them.
+   */
+  private void closeCamerasConflictingWith(@Nullable String cameraName) {
+    if (cameras.isEmpty()) {
+      return;
+    }
+    final CameraManager cameraManager = CameraUtils.getCameraManager(activity);
+    final Set<String> keptCameraNames = new HashSet<>();
+    if (cameraName != null) {
+      keptCameraNames.add(cameraName);
+    }
+    for (Camera openCamera : cameras.values()) {
+      final String openCameraName = openCamera.getCameraName();
+      final Set<String> candidates = new HashSet<>(keptCameraNames);
+      candidates.add(openCameraName);
+      // A camera device can only be opened once, so the same name always conflicts.
+      if (!keptCameraNames.contains(openCameraName)
+          && CameraUtils.canOpenConcurrently(cameraManager, candidates)) {
+        keptCameraNames.add(openCameraName);
+      } else {
+        openCamera.close();
+      }
+    }
+  }
+
+  private EventChannel getImageStreamChannel(Camera camera) {
+    return new EventChannel(
+        messenger, "plugins.flutter.io/camera_android/imageStream/" + camera.getTextureId());
+  }
+
+  private EventChannel getTelemetryChannel(Camera camera) {
+    return new EventChannel(
+        messenger, "plugins.flutter.io/camera_android/telemetry/" + camera.getTextureId());
   }
 
   private void instantiateCamera(MethodCall call, Result result) throws CameraAccessException {
     String cameraName = call.argument("cameraName");
     String preset = call.argument("resolutionPreset");
     boolean enableAudio = call.argument("enableAudio");
+    Integer imageSaverQueueDepth = call.argument("imageSaverQueueDepth");
+    Boolean keepCaptureSessionWarm = call.argument("keepCaptureSessionWarm");
+    Boolean enableBurstCapture = call.argument("enableBurstCapture");
 
     TextureRegistry.SurfaceTextureEntry flutterSurfaceTexture =
         textureRegistry.createSurfaceTexture();
     DartMessenger dartMessenger =
         new DartMessenger(
-            messenger, flutterSurfaceTexture.id(), new Handler(Looper.getMainLooper()));
-    CameraProperties cameraProperties =
-        new CameraPropertiesImpl(cameraName, CameraUtils.getCameraManager(activity));
+            messenger, flutterSurfaceTexture.id(), cameraExecutors.getDelivery().getHandler());
     ResolutionPreset resolutionPreset = ResolutionPreset.valueOf(preset);
+    final PrewarmedCamera prewarmed = prewarmedCamera;
+    prewarmedCamera = null;
+    final boolean claimedPrewarmed = prewarmed != null && prewarmed.claim(cameraName);
+    CameraProperties cameraProperties =
+        claimedPrewarmed
+            ? prewarmed.getCameraProperties()
+            : new CameraPropertiesImpl(cameraName, CameraUtils.getCameraManager(activity));
+    CameraFeatureFactory cameraFeatureFactory = new CameraFeatureFactoryImpl();
+    final ResolutionFeature prewarmedResolution =
+        claimedPrewarmed ? prewarmed.getResolutionFeature(resolutionPreset) : null;
+    if (prewarmedResolution != null) {
+      cameraFeatureFactory =
+          new CameraFeatureFactoryImpl() {
+            @Override
+            public ResolutionFeature createResolutionFeature(
+                @NonNull CameraProperties cameraProperties,
+                ResolutionPreset initialSetting,
+                String cameraName) {
+              return prewarmedResolution;
+            }
+          };
+    }
 
-    camera =
+    Camera camera =
         new Camera(
             activity,
             flutterSurfaceTexture,
-            new CameraFeatureFactoryImpl(),
+            cameraFeatureFactory,
             dartMessenger,
             cameraProperties,
             resolutionPreset,
-            enableAudio);
+            enableAudio,
+            cameraExecutors,
+            imageSaverQueueDepth != null ? new ImageSaverExecutor(imageSaverQueueDepth) : null);
+    if (keepCaptureSessionWarm != null) {
+      camera.setKeepSessionWarm(keepCaptureSessionWarm);
+    }
+    if (enableBurstCapture != null) {
+      camera.setBurstCaptureEnabled(enableBurstCapture);
+    }
+    if (claimedPrewarmed) {
+      camera.setPrewarmedCamera(prewarmed);
+    }
+    cameras.put(flutterSurfaceTexture.id(), camera);
+    defaultCamera = camera;
 
     Map<String, Object> reply = new HashMap<>();
     reply.put("cameraId", flutterSurfaceTexture.id());
     result.success(reply);
   }
 
+  /**
+   * Reads the settings of an {@code applySettings} call.
+   *
+   * @return the settings, or null if they are invalid, in which case an error has been sent to
+   *     {@code result}.
+   */
+  @Nullable
+  private static CameraSettings getCameraSettings(MethodCall call, Result result) {
+    CameraSettings.Builder builder = new CameraSettings.Builder();
+
+    String flashModeStr = call.argument("flashMode");
+    if (flashModeStr != null) {
+      FlashMode flashMode = FlashMode.getValueForString(flashModeStr);
+      if (flashMode == null) {
+        result.error("applySettingsFailed", "Unknown flash mode " + flashModeStr, null);
+        return null;
+      }
+      builder.setFlashMode(flashMode);
+    }
+    String exposureModeStr = call.argument("exposureMode");
+    if (exposureModeStr != null) {
+      ExposureMode exposureMode = ExposureMode.getValueForString(exposureModeStr);
+      if (exposureMode == null) {
+        result.error("applySettingsFailed", "Unknown exposure mode " + exposureModeStr, null);
+        return null;
+      }
+      builder.setExposureMode(exposureMode);
+    }
+    String focusModeStr = call.argument("focusMode");
+    if (focusModeStr != null) {
+      FocusMode focusMode = FocusMode.getValueForString(focusModeStr);
+      if (focusMode == null) {
+        result.error("applySettingsFailed", "Unknown focus mode " + focusModeStr, null);
+        return null;
+      }
+      builder.setFocusMode(focusMode);
+    }
+
+    Point exposurePoint = getSettingsPoint(call, "exposurePoint");
+    if (exposurePoint != null) {
+      builder.setExposurePoint(exposurePoint);
+    }
+    Point focusPoint = getSettingsPoint(call, "focusPoint");
+    if (focusPoint != null) {
+      builder.setFocusPoint(focusPoint);
+    }
+    Double exposureOffset = call.argument("exposureOffset");
+    if (exposureOffset != null) {
+      builder.setExposureOffset(exposureOffset);
+    }
+    Double zoom = call.argument("zoom");
+    if (zoom != null) {
+      builder.setZoomLevel(zoom.floatValue());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Reads a point of an {@code applySettings} call, which is either a map of normalized
+   * coordinates, or {@code "reset"} to reset the point.
+   */
+  @Nullable
+  private static Point getSettingsPoint(MethodCall call, String key) {
+    Object point = call.argument(key);
+    if ("reset".equals(point)) {
+      return new Point(null, null);
+    }
+    if (point instanceof Map) {
+      Map<?, ?> coordinates = (Map<?, ?>) point;
+      return new Point(
+          ((Number) coordinates.get("x")).doubleValue(),
+          ((Number) coordinates.get("y")).doubleValue());
+    }
+    return null;
+  }
+
+  /**
+   * Reads the regions of a {@code setMeteringRegions} call, a list of maps of normalized
+   * coordinates and a weight, or null when the regions are not changed.
+   */
+  @Nullable
+  private static List<MeteringRegion> getMeteringRegions(MethodCall call, String key) {
+    List<Map<String, Object>> regions = call.argument(key);
+    if (regions == null) {
+      return null;
+    }
+    List<MeteringRegion> meteringRegions = new ArrayList<>(regions.size());
+    for (Map<String, Object> region : regions) {
+      meteringRegions.add(
+          new MeteringRegion(
+              ((Number) region.get("x")).doubleValue(),
+              ((Number) region.get("y")).doubleValue(),
+              ((Number) region.get("weight")).intValue()));
+    }
+    return meteringRegions;
+  }
+
+  /**
+   * Reads the encoder settings of a {@code startVideoRecording} call using the mediaCodec engine.
+   *
+   * @return the settings, or null if they are invalid, in which case an error has been sent to
+   *     {@code result}.
+   */
+  @Nullable
+  private MediaCodecRecordingOptions getMediaCodecRecordingOptions(
+      Camera camera, MethodCall call, Result result) {
+    String bitrateModeStr = call.argument("bitrateMode");
+    VideoBitrateMode bitrateMode =
+        bitrateModeStr == null
+            ? VideoBitrateMode.vbr
+            : VideoBitrateMode.getValueForString(bitrateModeStr);
+    if (bitrateMode == null) {
+      result.error("videoRecordingFailed", "Unknown bitrate mode " + bitrateModeStr, null);
+      return null;
+    }
+    Integer videoBitrate = call.argument("videoBitrate");
+    Double keyFrameInterval = call.argument("keyFrameInterval");
+    return new MediaCodecRecordingOptions(
+        videoBitrate == null ? 0 : videoBitrate,
+        bitrateMode,
+        keyFrameInterval == null ? 1 : keyFrameInterval.floatValue(),
+        Objects.equals(call.argument("streamEncodedChunks"), true)
+            ? new EncodedChunkSender(
+                messenger,
+                EncodedChunkSender.CHANNEL_NAME + "/" + camera.getTextureId(),
+                cameraExecutors.getDelivery().getHandler())
+            : null);
+  }
+
+  /**
+   * Applies the image stream options of a {@code startImageStream} or {@code startVideoRecording}
+   * call to the camera.
+   *
+   * @return false if the options are invalid, in which case an error has been sent to {@code
+   *     result}.
+   */
+  private boolean configureImageStream(Camera camera, MethodCall call, Result result) {
+    String modeStr = call.argument("deliveryMode");
+    ImageStreamDeliveryMode mode =
+        modeStr == null
+            ? ImageStreamDeliveryMode.all
+            : ImageStreamDeliveryMode.getValueForString(modeStr);
+    if (mode == null) {
+      result.error("imageStreamFailed", "Unknown image stream delivery mode " + modeStr, null);
+      return false;
+    }
+    Integer maxFramesInFlight = call.argument("maxFramesInFlight");
+    Double targetFps = call.argument("targetFps");
+    Integer poolSize = call.argument("framePoolSize");
+    Map<String, Object> region = call.argument("regionOfInterest");
+    Integer subsampleFactor = call.argument("subsampleFactor");
+    boolean lumaOnly = Objects.equals(call.argument("lumaOnly"), true);
+    try {
+      camera.setImageStreamDeliveryPolicy(
+          new ImageStreamDeliveryPolicy(
+              mode,
+              maxFramesInFlight == null ? 0 : maxFramesInFlight,
+              targetFps == null ? 0 : targetFps));
+      camera.setImageStreamFramePool(
+          Objects.equals(call.argument("framePool"), true)
+              ? new ImageStreamFramePool(
+                  messenger,
+                  ImageStreamFramePool.CHANNEL_NAME + "/" + camera.getTextureId(),
+                  cameraExecutors.getDelivery().getHandler(),
+                  poolSize == null ? ImageStreamFramePool.DEFAULT_POOL_SIZE : poolSize)
+              : null);
+      camera.setImageStreamPreprocessor(
+          region != null || (subsampleFactor != null && subsampleFactor != 1) || lumaOnly
+              ? new ImageStreamPreprocessor(
+                  region == null ? 0 : ((Number) region.get("left")).floatValue(),
+                  region == null ? 0 : ((Number) region.get("top")).floatValue(),
+                  region == null ? 1 : ((Number) region.get("width")).floatValue(),
+                  region == null ? 1 : ((Number) region.get("height")).floatValue(),
+                  subsampleFactor == null ? 1 : subsampleFactor,
+                  lumaOnly)
+              : null);
+    } catch (IllegalArgumentException e) {
+      result.error("imageStreamFailed", e.getMessage(), null);
+      return false;
+    }
+    return true;
+  }
+
   // We move catching CameraAccessException out of onMethodCall because it causes a crash
   // on plugin registration for sdks incompatible with Camera2 (< 21). We want this plugin to
   // to be able to compile with <21 sdks for apps that want the camera and support earlier version.
@@ -0,0 +1,279 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraDevice;
+import android.hardware.camera2.CameraManager;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugins.camera.features.resolution.ResolutionFeature;
+import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+
+/**
+ * A camera prepared before Dart creates it, so that creating and initializing it hands over work
+ * that is already done.
+ *
+ * <p>Prewarming acquires a background thread, resolves the {@link CameraProperties} and the preview
+ * size of the first camera facing the requested lens and, optionally, opens the {@link
+ * CameraDevice}. A {@link Camera} created for the same camera claims it, takes over its background
+ * thread and receives the device through {@link #handOff}. A prewarmed camera that is not claimed
+ * within {@link #UNCLAIMED_TIMEOUT_MS} is released, so an unused device does not stay open.
+ */
+final class PrewarmedCamera extends CameraDevice.StateCallback {
+  private static final String TAG = "PrewarmedCamera";
+
+  /** The time after which an unclaimed prewarmed camera is released. */
+  static final long UNCLAIMED_TIMEOUT_MS = 10_000;
+
+  @NonNull private final CameraManager cameraManager;
+  @NonNull private final CameraThreadPool cameraThreadPool;
+  private final int lensFacing;
+  @NonNull private final ResolutionPreset resolutionPreset;
+  private final boolean openDevice;
+  @NonNull private final HandlerThread thread;
+  @NonNull private final Handler handler;
+
+  // Guarded by this.
+  @Nullable private String cameraName;
+  @Nullable private CameraProperties cameraProperties;
+  @Nullable private ResolutionFeature resolutionFeature;
+  private boolean claimed;
+  private boolean released;
+  private boolean opening;
+  @Nullable private CameraDevice device;
+  @Nullable private CameraDevice.StateCallback delegate;
+
+  @VisibleForTesting
+  PrewarmedCamera(
+      @NonNull CameraManager cameraManager,
+      @NonNull CameraThreadPool cameraThreadPool,
+      int lensFacing,
+      @NonNull ResolutionPreset resolutionPreset,
+      boolean openDevice) {
+    this.cameraManager = cameraManager;
+    this.cameraThreadPool = cameraThreadPool;
+    this.lensFacing = lensFacing;
+    this.resolutionPreset = resolutionPreset;
+    this.openDevice = openDevice;
+    this.thread = cameraThreadPool.acquire();
+    this.handler = Camera.HandlerFactory.create(thread.getLooper());
+  }
+
+  /**
+   * Starts prewarming a camera on a thread of the given pool.
+   *
+   * @param cameraManager the camera manager to resolve and open the camera with.
+   * @param cameraThreadPool the pool the {@link Camera} claiming it will release the thread to.
+   * @param lensFacing the {@link CameraCharacteristics#LENS_FACING} of the camera to prewarm.
+   * @param resolutionPreset the resolution preset to resolve the preview size for.
+   * @param openDevice whether to also open the camera device.
+   * @return the prewarmed camera, to be claimed or released.
+   */
+  @NonNull
+  static PrewarmedCamera start(
+      @NonNull CameraManager cameraManager,
+      @NonNull CameraThreadPool cameraThreadPool,
+      int lensFacing,
+      @NonNull ResolutionPreset resolutionPreset,
+      boolean openDevice) {
+    final PrewarmedCamera prewarmedCamera =
+        new PrewarmedCamera(
+            cameraManager, cameraThreadPool, lensFacing, resolutionPreset, openDevice);
+    prewarmedCamera.handler.post(prewarmedCamera::prewarm);
+    prewarmedCamera.handler.postDelayed(
+        prewarmedCamera::releaseIfUnclaimed, UNCLAIMED_TIMEOUT_MS);
+    return prewarmedCamera;
+  }
+
+  @VisibleForTesting
+  void prewarm() {
+    try {
+      final String name = findCamera();
+      if (name == null) {
+        Log.i(TAG, "No camera facing " + lensFacing + " to prewarm.");
+        release();
+        return;
+      }
+      final CameraProperties properties = new CameraPropertiesImpl(name, cameraManager);
+      final ResolutionFeature resolution =
+          new ResolutionFeature(properties, resolutionPreset, name);
+      synchronized (this) {
+        if (released || claimed) {
+          return;
+        }
+        cameraName = name;
+        cameraProperties = properties;
+        resolutionFeature = resolution;
+        if (!openDevice) {
+          return;
+        }
+        opening = true;
+      }
+      cameraManager.openCamera(name, this, handler);
+    } catch (CameraAccessException | SecurityException e) {
+      Log.w(TAG, "Could not prewarm the camera: " + e.getMessage());
+      synchronized (this) {
+        opening = false;
+      }
+    }
+  }
+
+  @Nullable
+  private String findCamera() throws CameraAccessException {
+    for (String name : cameraManager.getCameraIdList()) {
+      final Integer facing =
+          CameraCharacteristicsCache.get(cameraManager, name)
+              .get(CameraCharacteristics.LENS_FACING);
+      if (facing != null && facing == lensFacing) {
+        return name;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Claims this prewarmed camera for a camera about to be created, releasing it instead when it
+   * prewarmed a different camera.
+   *
+   * @param cameraName the identifier of the camera about to be created.
+   * @return true when the caller now owns the background thread and must call {@link #handOff}
+   *     or {@link #release}.
+   */
+  synchronized boolean claim(@Nullable String cameraName) {
+    if (released || claimed || this.cameraName == null || !this.cameraName.equals(cameraName)) {
+      release();
+      return false;
+    }
+    claimed = true;
+    return true;
+  }
+
+  @NonNull
+  HandlerThread getThread() {
+    return thread;
+  }
+
+  @Nullable
+  synchronized CameraProperties getCameraProperties() {
+    return cameraProperties;
+  }
+
+  /**
+   * Returns the prewarmed resolution feature if it was resolved for the given preset.
+   *
+   * @param resolutionPreset the preset of the camera being created.
+   * @return the prewarmed feature, or null when the presets differ.
+   */
+  @Nullable
+  synchronized ResolutionFeature getResolutionFeature(@NonNull ResolutionPreset resolutionPreset) {
+    return this.resolutionPreset == resolutionPreset ? resolutionFeature : null;
+  }
+
+  /**
+   * Hands the camera device over to a claiming {@link Camera}.
+   *
+   * @param callback receives the events of the device, on the thread of this prewarmed camera.
+   * @return true when the device is open or opening, false when the caller has to open it.
+   */
+  synchronized boolean handOff(@NonNull CameraDevice.StateCallback callback) {
+    if (!claimed || released) {
+      return false;
+    }
+    delegate = callback;
+    final CameraDevice openedDevice = device;
+    if (openedDevice != null) {
+      handler.post(() -> callback.onOpened(openedDevice));
+      return true;
+    }
+    return opening;
+  }
+
+  /** Releases this prewarmed camera, closing its device unless it was handed off. */
+  synchronized void release() {
+    if (released) {
+      return;
+    }
+    released = true;
+    if (delegate == null && device != null) {
+      device.close();
+      device = null;
+    }
+    if (!claimed) {
+      cameraThreadPool.release(thread);
+    }
+  }
+
+  private synchronized void releaseIfUnclaimed() {
+    if (!claimed) {
+      release();
+    }
+  }
+
+  @Override
+  public void onOpened(@NonNull CameraDevice camera) {
+    final CameraDevice.StateCallback callback;
+    synchronized (this) {
+      opening = false;
+      callback = delegate;
+      if (callback == null) {
+        if (released) {
+          camera.close();
+        } else {
+          device = camera;
+        }
+        return;
+      }
+    }
+    callback.onOpened(camera);
+  }
+
+  @Override
+  public void onClosed(@NonNull CameraDevice camera) {
+    final CameraDevice.StateCallback callback;
+    synchronized (this) {
+      callback = delegate;
+    }
+    if (callback != null) {
+      callback.onClosed(camera);
+    }
+  }
+
+  @Override
+  public void onDisconnected(@NonNull CameraDevice camera) {
+    final CameraDevice.StateCallback callback;
+    synchronized (this) {
+      opening = false;
+      callback = delegate;
+      if (callback == null) {
+        // The claiming camera opens the device itself and reports the failure.
+        camera.close();
+        device = null;
+        return;
+      }
+    }
+    callback.onDisconnected(camera);
+  }
+
+  @Override
+  public void onError(@NonNull CameraDevice camera, int error) {
+    final CameraDevice.StateCallback callback;
+    synchronized (this) {
+      opening = false;
+      callback = delegate;
+      if (callback == null) {
+        camera.close();
+        device = null;
+        return;
+      }
+    }
+    callback.onError(camera, error);
+  }
+}
@@ -0,0 +1,127 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.features;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugins.camera.features.autofocus.FocusMode;
+import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
+import io.flutter.plugins.camera.features.flash.FlashMode;
+
+/**
+ * A set of feature settings to apply to the camera together, with a single repeating request.
+ *
+ * <p>Settings that are not set keep their current value. Instances are created with {@link
+ * Builder}.
+ */
+public final class CameraSettings {
+  @Nullable private final FlashMode flashMode;
+  @Nullable private final ExposureMode exposureMode;
+  @Nullable private final Point exposurePoint;
+  @Nullable private final Double exposureOffset;
+  @Nullable private final FocusMode focusMode;
+  @Nullable private final Point focusPoint;
+  @Nullable private final Float zoomLevel;
+
+  private CameraSettings(@NonNull Builder builder) {
+    this.flashMode = builder.flashMode;
+    this.exposureMode = builder.exposureMode;
+    this.exposurePoint = builder.exposurePoint;
+    this.exposureOffset = builder.exposureOffset;
+    this.focusMode = builder.focusMode;
+    this.focusPoint = builder.focusPoint;
+    this.zoomLevel = builder.zoomLevel;
+  }
+
+  @Nullable
+  public FlashMode getFlashMode() {
+    return flashMode;
+  }
+
+  @Nullable
+  public ExposureMode getExposureMode() {
+    return exposureMode;
+  }
+
+  /** Returns the new exposure point, whose coordinates are null to reset it, or null to keep it. */
+  @Nullable
+  public Point getExposurePoint() {
+    return exposurePoint;
+  }
+
+  @Nullable
+  public Double getExposureOffset() {
+    return exposureOffset;
+  }
+
+  @Nullable
+  public FocusMode getFocusMode() {
+    return focusMode;
+  }
+
+  /** Returns the new focus point, whose coordinates are null to reset it, or null to keep it. */
+  @Nullable
+  public Point getFocusPoint() {
+    return focusPoint;
+  }
+
+  @Nullable
+  public Float getZoomLevel() {
+    return zoomLevel;
+  }
+
+  /** Builds {@link CameraSettings}, leaving every setting unchanged by default. */
+  public static final class Builder {
+    @Nullable private FlashMode flashMode;
+    @Nullable private ExposureMode exposureMode;
+    @Nullable private Point exposurePoint;
+    @Nullable private Double exposureOffset;
+    @Nullable private FocusMode focusMode;
+    @Nullable private Point focusPoint;
+    @Nullable private Float zoomLevel;
+
+    public Builder setFlashMode(@NonNull FlashMode flashMode) {
+      this.flashMode = flashMode;
+      return this;
+    }
+
+    public Builder setExposureMode(@NonNull ExposureMode exposureMode) {
+      this.exposureMode = exposureMode;
+      return this;
+    }
+
+    /** Sets the exposure point, a point with null coordinates resetting it. */
+    public Builder setExposurePoint(@NonNull Point exposurePoint) {
+      this.exposurePoint = exposurePoint;
+      return this;
+    }
+
+    public Builder setExposureOffset(double exposureOffset) {
+      this.exposureOffset = exposureOffset;
+      return this;
+    }
+
+    public Builder setFocusMode(@NonNull FocusMode focusMode) {
+      this.focusMode = focusMode;
+      return this;
+    }
+
+    /** Sets the focus point, a point with null coordinates resetting it. */
+    public Builder setFocusPoint(@NonNull Point focusPoint) {
+      this.focusPoint = focusPoint;
+      return this;
+    }
+
+    public Builder setZoomLevel(float zoomLevel) {
+      this.zoomLevel = zoomLevel;
+      return this;
+    }
+
+    @NonNull
+    public CameraSettings build() {
+      return new CameraSettings(this);
+    }
+  }
+}
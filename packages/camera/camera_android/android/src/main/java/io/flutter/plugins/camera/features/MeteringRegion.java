@@ -0,0 +1,33 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.features;
+
+import androidx.annotation.NonNull;
+
+/** A weighted point of the frame to meter focus or exposure on. */
+public final class MeteringRegion {
+  /** The x coordinate, normalized to the preview size. */
+  public final double x;
+  /** The y coordinate, normalized to the preview size. */
+  public final double y;
+  /**
+   * The weight of the region relative to the other regions, between {@link
+   * android.hardware.camera2.params.MeteringRectangle#METERING_WEIGHT_MIN} and {@link
+   * android.hardware.camera2.params.MeteringRectangle#METERING_WEIGHT_MAX}.
+   */
+  public final int weight;
+
+  public MeteringRegion(double x, double y, int weight) {
+    this.x = x;
+    this.y = y;
+    this.weight = weight;
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return "MeteringRegion(" + x + ", " + y + ", " + weight + ")";
+  }
+}
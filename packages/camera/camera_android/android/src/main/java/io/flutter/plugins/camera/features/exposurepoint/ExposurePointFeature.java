@@ -8,12 +8,15 @@ import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.params.MeteringRectangle;
 import android.util.Size;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
 import io.flutter.plugins.camera.CameraProperties;
 import io.flutter.plugins.camera.CameraRegionUtils;
 import io.flutter.plugins.camera.features.CameraFeature;
+import io.flutter.plugins.camera.features.MeteringRegion;
 import io.flutter.plugins.camera.features.Point;
 import io.flutter.plugins.camera.features.sensororientation.SensorOrientationFeature;
+import java.util.List;
 
 /** Exposure point controls where in the frame exposure metering will come from. */
 public class ExposurePointFeature extends CameraFeature<Point> {
@@ -21,6 +24,8 @@ public class ExposurePointFeature extends CameraFeature<Point> {
   private Size cameraBoundaries;
   private Point exposurePoint;
   private MeteringRectangle exposureRectangle;
+  private List<MeteringRegion> exposureRegions;
+  private MeteringRectangle[] exposureRegionRectangles;
   private final SensorOrientationFeature sensorOrientationFeature;
 
   /**
@@ -57,6 +62,20 @@ public class ExposurePointFeature extends CameraFeature<Point> {
   @Override
   public void setValue(Point value) {
     this.exposurePoint = (value == null || value.x == null || value.y == null) ? null : value;
+    this.exposureRegions = null;
+    this.buildExposureRectangle();
+  }
+
+  /**
+   * Sets weighted exposure regions, replacing the exposure point.
+   *
+   * <p>Only as many regions as the camera supports are applied, keeping the highest weights.
+   *
+   * @param regions the new regions, null or empty to reset them to the default.
+   */
+  public void setRegions(@Nullable List<MeteringRegion> regions) {
+    this.exposurePoint = null;
+    this.exposureRegions = regions == null || regions.isEmpty() ? null : regions;
     this.buildExposureRectangle();
   }
 
@@ -74,7 +93,9 @@ public class ExposurePointFeature extends CameraFeature<Point> {
     }
     requestBuilder.set(
         CaptureRequest.CONTROL_AE_REGIONS,
-        exposureRectangle == null ? null : new MeteringRectangle[] {exposureRectangle});
+        exposureRegionRectangles != null
+            ? exposureRegionRectangles
+            : exposureRectangle == null ? null : new MeteringRectangle[] {exposureRectangle});
   }
 
   private void buildExposureRectangle() {
@@ -82,18 +103,33 @@ public class ExposurePointFeature extends CameraFeature<Point> {
       throw new AssertionError(
           "The cameraBoundaries should be set (using `ExposurePointFeature.setCameraBoundaries(Size)`) before updating the exposure point.");
     }
-    if (this.exposurePoint == null) {
-      this.exposureRectangle = null;
-    } else {
-      PlatformChannel.DeviceOrientation orientation =
-          this.sensorOrientationFeature.getLockedCaptureOrientation();
-      if (orientation == null) {
-        orientation =
-            this.sensorOrientationFeature.getDeviceOrientationManager().getLastUIOrientation();
-      }
+    this.exposureRectangle = null;
+    this.exposureRegionRectangles = null;
+    if (this.exposureRegions != null) {
+      Integer maxRegions = cameraProperties.getControlMaxRegionsAutoExposure();
+      this.exposureRegionRectangles =
+          CameraRegionUtils.convertRegionsToMeteringRectangles(
+              this.cameraBoundaries,
+              this.exposureRegions,
+              maxRegions == null ? 0 : maxRegions,
+              getMeteringOrientation());
+    } else if (this.exposurePoint != null) {
       this.exposureRectangle =
           CameraRegionUtils.convertPointToMeteringRectangle(
-              this.cameraBoundaries, this.exposurePoint.x, this.exposurePoint.y, orientation);
+              this.cameraBoundaries,
+              this.exposurePoint.x,
+              this.exposurePoint.y,
+              getMeteringOrientation());
+    }
+  }
+
+  private PlatformChannel.DeviceOrientation getMeteringOrientation() {
+    PlatformChannel.DeviceOrientation orientation =
+        this.sensorOrientationFeature.getLockedCaptureOrientation();
+    if (orientation == null) {
+      orientation =
+          this.sensorOrientationFeature.getDeviceOrientationManager().getLastUIOrientation();
     }
+    return orientation;
   }
 }
@@ -8,12 +8,15 @@ import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.params.MeteringRectangle;
 import android.util.Size;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
 import io.flutter.plugins.camera.CameraProperties;
 import io.flutter.plugins.camera.CameraRegionUtils;
 import io.flutter.plugins.camera.features.CameraFeature;
+import io.flutter.plugins.camera.features.MeteringRegion;
 import io.flutter.plugins.camera.features.Point;
 import io.flutter.plugins.camera.features.sensororientation.SensorOrientationFeature;
+import java.util.List;
 
 /** Focus point controls where in the frame focus will come from. */
 public class FocusPointFeature extends CameraFeature<Point> {
@@ -21,6 +24,8 @@ public class FocusPointFeature extends CameraFeature<Point> {
   private Size cameraBoundaries;
   private Point focusPoint;
   private MeteringRectangle focusRectangle;
+  private List<MeteringRegion> focusRegions;
+  private MeteringRectangle[] focusRegionRectangles;
   private final SensorOrientationFeature sensorOrientationFeature;
 
   /**
@@ -57,6 +62,20 @@ public class FocusPointFeature extends CameraFeature<Point> {
   @Override
   public void setValue(Point value) {
     this.focusPoint = value == null || value.x == null || value.y == null ? null : value;
+    this.focusRegions = null;
+    this.buildFocusRectangle();
+  }
+
+  /**
+   * Sets weighted focus regions, replacing the focus point.
+   *
+   * <p>Only as many regions as the camera supports are applied, keeping the highest weights.
+   *
+   * @param regions the new regions, null or empty to reset them to the default.
+   */
+  public void setRegions(@Nullable List<MeteringRegion> regions) {
+    this.focusPoint = null;
+    this.focusRegions = regions == null || regions.isEmpty() ? null : regions;
     this.buildFocusRectangle();
   }
 
@@ -74,7 +93,9 @@ public class FocusPointFeature extends CameraFeature<Point> {
     }
     requestBuilder.set(
         CaptureRequest.CONTROL_AF_REGIONS,
-        focusRectangle == null ? null : new MeteringRectangle[] {focusRectangle});
+        focusRegionRectangles != null
+            ? focusRegionRectangles
+            : focusRectangle == null ? null : new MeteringRectangle[] {focusRectangle});
   }
 
   private void buildFocusRectangle() {
@@ -82,18 +103,33 @@ public class FocusPointFeature extends CameraFeature<Point> {
       throw new AssertionError(
           "The cameraBoundaries should be set (using `FocusPointFeature.setCameraBoundaries(Size)`) before updating the focus point.");
     }
-    if (this.focusPoint == null) {
-      this.focusRectangle = null;
-    } else {
-      PlatformChannel.DeviceOrientation orientation =
-          this.sensorOrientationFeature.getLockedCaptureOrientation();
-      if (orientation == null) {
-        orientation =
-            this.sensorOrientationFeature.getDeviceOrientationManager().getLastUIOrientation();
-      }
+    this.focusRectangle = null;
+    this.focusRegionRectangles = null;
+    if (this.focusRegions != null) {
+      Integer maxRegions = cameraProperties.getControlMaxRegionsAutoFocus();
+      this.focusRegionRectangles =
+          CameraRegionUtils.convertRegionsToMeteringRectangles(
+              this.cameraBoundaries,
+              this.focusRegions,
+              maxRegions == null ? 0 : maxRegions,
+              getMeteringOrientation());
+    } else if (this.focusPoint != null) {
       this.focusRectangle =
           CameraRegionUtils.convertPointToMeteringRectangle(
-              this.cameraBoundaries, this.focusPoint.x, this.focusPoint.y, orientation);
+              this.cameraBoundaries,
+              this.focusPoint.x,
+              this.focusPoint.y,
+              getMeteringOrientation());
+    }
+  }
+
+  private PlatformChannel.DeviceOrientation getMeteringOrientation() {
+    PlatformChannel.DeviceOrientation orientation =
+        this.sensorOrientationFeature.getLockedCaptureOrientation();
+    if (orientation == null) {
+      orientation =
+          this.sensorOrientationFeature.getDeviceOrientationManager().getLastUIOrientation();
     }
+    return orientation;
   }
 }
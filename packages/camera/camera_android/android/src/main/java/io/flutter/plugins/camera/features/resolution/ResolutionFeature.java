@@ -13,7 +13,10 @@ import android.util.Size;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.plugins.camera.CameraProperties;
 import io.flutter.plugins.camera.features.CameraFeature;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Controls the resolutions configuration on the {@link android.hardware.camera2} API.
@@ -23,6 +26,13 @@ import java.util.List;
  * required to configure the resolution using the {@link android.hardware.camera2} API.
  */
 public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
+  // Encoder profiles never change for a camera, so the results of probing them are shared by all
+  // instances and kept for the lifetime of the process. Keyed by cacheKey().
+  private static final Map<String, CamcorderProfile> legacyProfileCache =
+      new ConcurrentHashMap<>();
+  private static final Map<String, EncoderProfiles> profileCache = new ConcurrentHashMap<>();
+  private static final Map<String, Size> previewSizeCache = new ConcurrentHashMap<>();
+
   private Size captureSize;
   private Size previewSize;
   private CamcorderProfile recordingProfileLegacy;
@@ -108,25 +118,66 @@ public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
     // No-op: when setting a resolution there is no need to update the request builder.
   }
 
+  private static String cacheKey(int cameraId, ResolutionPreset preset) {
+    return cameraId + "/" + preset;
+  }
+
+  /**
+   * Drops the cached encoder profiles and preview sizes of a camera.
+   *
+   * @param cameraName Camera identifier of the camera to drop the cached values of.
+   */
+  public static void invalidateCache(String cameraName) {
+    final String prefix = cameraName + "/";
+    removeKeysWithPrefix(legacyProfileCache, prefix);
+    removeKeysWithPrefix(profileCache, prefix);
+    removeKeysWithPrefix(previewSizeCache, prefix);
+  }
+
+  // Collection#removeIf needs API 24.
+  private static void removeKeysWithPrefix(Map<String, ?> cache, String prefix) {
+    for (Iterator<String> keys = cache.keySet().iterator(); keys.hasNext(); ) {
+      if (keys.next().startsWith(prefix)) {
+        keys.remove();
+      }
+    }
+  }
+
+  /** Drops all cached encoder profiles and preview sizes. */
+  @VisibleForTesting
+  public static void clearCache() {
+    legacyProfileCache.clear();
+    profileCache.clear();
+    previewSizeCache.clear();
+  }
+
   @VisibleForTesting
   static Size computeBestPreviewSize(int cameraId, ResolutionPreset preset)
       throws IndexOutOfBoundsException {
     if (preset.ordinal() > ResolutionPreset.high.ordinal()) {
       preset = ResolutionPreset.high;
     }
+    final String key = cacheKey(cameraId, preset);
+    Size previewSize = previewSizeCache.get(key);
+    if (previewSize != null) {
+      return previewSize;
+    }
+
     if (Build.VERSION.SDK_INT >= 31) {
       EncoderProfiles profile =
           getBestAvailableCamcorderProfileForResolutionPreset(cameraId, preset);
       List<EncoderProfiles.VideoProfile> videoProfiles = profile.getVideoProfiles();
       EncoderProfiles.VideoProfile defaultVideoProfile = videoProfiles.get(0);
 
-      return new Size(defaultVideoProfile.getWidth(), defaultVideoProfile.getHeight());
+      previewSize = new Size(defaultVideoProfile.getWidth(), defaultVideoProfile.getHeight());
     } else {
       @SuppressWarnings("deprecation")
       CamcorderProfile profile =
           getBestAvailableCamcorderProfileForResolutionPresetLegacy(cameraId, preset);
-      return new Size(profile.videoFrameWidth, profile.videoFrameHeight);
+      previewSize = new Size(profile.videoFrameWidth, profile.videoFrameHeight);
     }
+    previewSizeCache.put(key, previewSize);
+    return previewSize;
   }
 
   /**
@@ -147,6 +198,21 @@ public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
           "getBestAvailableCamcorderProfileForResolutionPreset can only be used with valid (>=0) camera identifiers.");
     }
 
+    final String key = cacheKey(cameraId, preset);
+    CamcorderProfile profile = legacyProfileCache.get(key);
+    if (profile == null) {
+      profile = probeCamcorderProfileForResolutionPresetLegacy(cameraId, preset);
+      // CamcorderProfile.get returns null for profiles the device does not have, which the map
+      // can't hold, so those are probed again on the next call.
+      if (profile != null) {
+        legacyProfileCache.put(key, profile);
+      }
+    }
+    return profile;
+  }
+
+  private static CamcorderProfile probeCamcorderProfileForResolutionPresetLegacy(
+      int cameraId, ResolutionPreset preset) {
     switch (preset) {
         // All of these cases deliberately fall through to get the best available profile.
       case max:
@@ -191,6 +257,22 @@ public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
           "getBestAvailableCamcorderProfileForResolutionPreset can only be used with valid (>=0) camera identifiers.");
     }
 
+    final String key = cacheKey(cameraId, preset);
+    EncoderProfiles profile = profileCache.get(key);
+    if (profile == null) {
+      profile = probeCamcorderProfileForResolutionPreset(cameraId, preset);
+      // CamcorderProfile.getAll returns null for profiles the device does not have, which the map
+      // can't hold, so those are probed again on the next call.
+      if (profile != null) {
+        profileCache.put(key, profile);
+      }
+    }
+    return profile;
+  }
+
+  @TargetApi(Build.VERSION_CODES.S)
+  private static EncoderProfiles probeCamcorderProfileForResolutionPreset(
+      int cameraId, ResolutionPreset preset) {
     String cameraIdString = Integer.toString(cameraId);
 
     switch (preset) {
@@ -10,10 +10,14 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
 import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.Display;
+import android.view.OrientationEventListener;
 import android.view.Surface;
 import android.view.WindowManager;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel.DeviceOrientation;
@@ -21,18 +25,29 @@ import io.flutter.plugins.camera.DartMessenger;
 
 /**
  * Support class to help to determine the media orientation based on the orientation of the device.
+ *
+ * <p>The last known UI orientation is published together with the photo and video orientations
+ * derived from it as a single immutable snapshot, so capture paths on background threads read them
+ * without locking or querying UI services.
  */
 public class DeviceOrientationManager {
 
   private static final IntentFilter orientationIntentFilter =
       new IntentFilter(Intent.ACTION_CONFIGURATION_CHANGED);
 
+  /** The time the device has to stay in a new sensor orientation before the UI is checked. */
+  @VisibleForTesting static final long SENSOR_SETTLE_MILLIS = 500;
+
   private final Activity activity;
   private final DartMessenger messenger;
   private final boolean isFrontFacing;
   private final int sensorOrientation;
-  private PlatformChannel.DeviceOrientation lastOrientation;
+  @NonNull private final Handler handler;
+  private final Runnable uiOrientationCheck = this::handleUIOrientationChange;
+  @Nullable private volatile OrientationSnapshot snapshot;
   private BroadcastReceiver broadcastReceiver;
+  @Nullable private OrientationEventListener orientationEventListener;
+  private int lastSensorQuadrant = -1;
 
   /** Factory method to create a device orientation manager. */
   public static DeviceOrientationManager create(
@@ -40,18 +55,43 @@ public class DeviceOrientationManager {
       @NonNull DartMessenger messenger,
       boolean isFrontFacing,
       int sensorOrientation) {
-    return new DeviceOrientationManager(activity, messenger, isFrontFacing, sensorOrientation);
+    return new DeviceOrientationManager(
+        activity,
+        messenger,
+        isFrontFacing,
+        sensorOrientation,
+        new Handler(Looper.getMainLooper()));
+  }
+
+  /**
+   * Creates a device orientation manager posting its debounced orientation checks to the given
+   * handler.
+   *
+   * <p>This method is visible for testing purposes only and should never be used outside this
+   * class.
+   */
+  @VisibleForTesting
+  static DeviceOrientationManager create(
+      @NonNull Activity activity,
+      @NonNull DartMessenger messenger,
+      boolean isFrontFacing,
+      int sensorOrientation,
+      @NonNull Handler handler) {
+    return new DeviceOrientationManager(
+        activity, messenger, isFrontFacing, sensorOrientation, handler);
   }
 
   private DeviceOrientationManager(
       @NonNull Activity activity,
       @NonNull DartMessenger messenger,
       boolean isFrontFacing,
-      int sensorOrientation) {
+      int sensorOrientation,
+      @NonNull Handler handler) {
     this.activity = activity;
     this.messenger = messenger;
     this.isFrontFacing = isFrontFacing;
     this.sensorOrientation = sensorOrientation;
+    this.handler = handler;
   }
 
   /**
@@ -61,10 +101,11 @@ public class DeviceOrientationManager {
    * {@link DartMessenger}. This latest value can also be retrieved through the {@link
    * #getVideoOrientation()} accessor.
    *
-   * <p>If the device's ACCELEROMETER_ROTATION setting is enabled the {@link
-   * DeviceOrientationManager} will report orientation updates based on the sensor information. If
-   * the ACCELEROMETER_ROTATION is disabled the {@link DeviceOrientationManager} will fallback to
-   * the deliver orientation updates based on the UI orientation.
+   * <p>The UI orientation is checked on every configuration change. As rotating the device by 180
+   * degrees does not change the configuration, the UI orientation is also checked once the
+   * orientation reported by the device's sensors has settled on a new quadrant for {@link
+   * #SENSOR_SETTLE_MILLIS}. Sensor jitter around a quadrant boundary thus results in a single check
+   * rather than a burst of them.
    */
   public void start() {
     if (broadcastReceiver != null) {
@@ -79,6 +120,17 @@ public class DeviceOrientationManager {
         };
     activity.registerReceiver(broadcastReceiver, orientationIntentFilter);
     broadcastReceiver.onReceive(activity, null);
+
+    orientationEventListener =
+        new OrientationEventListener(activity) {
+          @Override
+          public void onOrientationChanged(int angle) {
+            handleSensorOrientationChange(angle);
+          }
+        };
+    if (orientationEventListener.canDetectOrientation()) {
+      orientationEventListener.enable();
+    }
   }
 
   /** Stops listening for orientation updates. */
@@ -88,6 +140,12 @@ public class DeviceOrientationManager {
     }
     activity.unregisterReceiver(broadcastReceiver);
     broadcastReceiver = null;
+    if (orientationEventListener != null) {
+      orientationEventListener.disable();
+      orientationEventListener = null;
+    }
+    handler.removeCallbacks(uiOrientationCheck);
+    lastSensorQuadrant = -1;
   }
 
   /**
@@ -99,7 +157,8 @@ public class DeviceOrientationManager {
    * @return The device's photo orientation in degrees.
    */
   public int getPhotoOrientation() {
-    return this.getPhotoOrientation(this.lastOrientation);
+    final OrientationSnapshot current = snapshot;
+    return current != null ? current.photoOrientation : this.getPhotoOrientation(null);
   }
 
   /**
@@ -150,7 +209,8 @@ public class DeviceOrientationManager {
    * @return The device's video orientation in clockwise degrees.
    */
   public int getVideoOrientation() {
-    return this.getVideoOrientation(this.lastOrientation);
+    final OrientationSnapshot current = snapshot;
+    return current != null ? current.videoOrientation : this.getVideoOrientation(null);
   }
 
   /**
@@ -201,7 +261,8 @@ public class DeviceOrientationManager {
 
   /** @return the last received UI orientation. */
   public PlatformChannel.DeviceOrientation getLastUIOrientation() {
-    return this.lastOrientation;
+    final OrientationSnapshot current = snapshot;
+    return current != null ? current.orientation : null;
   }
 
   /**
@@ -213,8 +274,42 @@ public class DeviceOrientationManager {
   @VisibleForTesting
   void handleUIOrientationChange() {
     PlatformChannel.DeviceOrientation orientation = getUIOrientation();
-    handleOrientationChange(orientation, lastOrientation, messenger);
-    lastOrientation = orientation;
+    final OrientationSnapshot previous = snapshot;
+    if (previous == null || previous.orientation != orientation) {
+      snapshot =
+          new OrientationSnapshot(
+              orientation, getPhotoOrientation(orientation), getVideoOrientation(orientation));
+    }
+    handleOrientationChange(orientation, previous != null ? previous.orientation : null, messenger);
+  }
+
+  /**
+   * Handles orientation angles reported by the device's sensors, scheduling a check of the UI
+   * orientation once the angle has settled on a new quadrant.
+   *
+   * <p>This method is visible for testing purposes only and should never be used outside this
+   * class.
+   *
+   * @param angle the orientation angle in degrees, or {@link
+   *     OrientationEventListener#ORIENTATION_UNKNOWN} when the device is flat.
+   */
+  @VisibleForTesting
+  void handleSensorOrientationChange(int angle) {
+    if (angle == OrientationEventListener.ORIENTATION_UNKNOWN) {
+      return;
+    }
+    final int quadrant = ((angle + 45) % 360) / 90;
+    if (quadrant == lastSensorQuadrant) {
+      return;
+    }
+    final boolean initial = lastSensorQuadrant == -1;
+    lastSensorQuadrant = quadrant;
+    if (initial) {
+      // The UI orientation was checked when starting.
+      return;
+    }
+    handler.removeCallbacks(uiOrientationCheck);
+    handler.postDelayed(uiOrientationCheck, SENSOR_SETTLE_MILLIS);
   }
 
   /**
@@ -332,4 +427,20 @@ public class DeviceOrientationManager {
   Display getDisplay() {
     return ((WindowManager) activity.getSystemService(Context.WINDOW_SERVICE)).getDefaultDisplay();
   }
+
+  /** The last known UI orientation and the media orientations derived from it. */
+  private static final class OrientationSnapshot {
+    @NonNull final PlatformChannel.DeviceOrientation orientation;
+    final int photoOrientation;
+    final int videoOrientation;
+
+    OrientationSnapshot(
+        @NonNull PlatformChannel.DeviceOrientation orientation,
+        int photoOrientation,
+        int videoOrientation) {
+      this.orientation = orientation;
+      this.photoOrientation = photoOrientation;
+      this.videoOrientation = videoOrientation;
+    }
+  }
 }
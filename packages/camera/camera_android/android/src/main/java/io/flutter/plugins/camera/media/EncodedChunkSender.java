@@ -0,0 +1,134 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.MediaCodec;
+import android.os.Handler;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugin.common.BinaryMessenger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+
+/**
+ * Sends the encoded chunks of a {@link MediaCodecRecorder} to Dart as binary messages.
+ *
+ * <p>Each message holds a little-endian header of the presentation time in microseconds (int64)
+ * and the {@link android.media.MediaCodec} buffer flags (int32), followed by the encoded bytes.
+ *
+ * <p>Chunks are copied into a fixed set of reusable direct buffers, which return to the pool once
+ * Dart replies to their message, so at most {@link #MAX_PENDING_CHUNKS} chunks are in flight. When
+ * Dart falls behind, chunks are dropped until the next key frame, as the frames following a dropped
+ * one cannot be decoded without it.
+ */
+public class EncodedChunkSender implements MediaCodecRecorder.EncodedChunkListener {
+  /** The prefix of the binary channel of each camera the chunks are sent on. */
+  public static final String CHANNEL_NAME = "plugins.flutter.io/camera_android/encodedVideo";
+
+  /** The maximum number of chunks waiting to be sent or acknowledged by Dart. */
+  @VisibleForTesting static final int MAX_PENDING_CHUNKS = 8;
+
+  @VisibleForTesting static final int HEADER_SIZE = 12;
+
+  @NonNull private final BinaryMessenger messenger;
+  @NonNull private final String channelName;
+  @NonNull private final Handler handler;
+  private final ArrayDeque<Chunk> freeChunks = new ArrayDeque<>(MAX_PENDING_CHUNKS);
+  // Only accessed on the encoder thread.
+  private boolean waitingForKeyFrame;
+  private long droppedChunks;
+
+  /**
+   * Creates a new instance of the {@link EncodedChunkSender} class.
+   *
+   * @param messenger the {@link BinaryMessenger} used to send chunks to Dart.
+   * @param channelName the name of the binary channel to send the chunks on.
+   * @param handler a handler managing the main thread, used to send the chunks.
+   */
+  public EncodedChunkSender(
+      @NonNull BinaryMessenger messenger, @NonNull String channelName, @NonNull Handler handler) {
+    this.messenger = messenger;
+    this.channelName = channelName;
+    this.handler = handler;
+    for (int i = 0; i < MAX_PENDING_CHUNKS; i++) {
+      freeChunks.add(new Chunk());
+    }
+  }
+
+  @Override
+  public void onEncodedChunk(@NonNull ByteBuffer data, long presentationTimeUs, int flags) {
+    final boolean startsDecoding =
+        (flags & (MediaCodec.BUFFER_FLAG_KEY_FRAME | MediaCodec.BUFFER_FLAG_CODEC_CONFIG)) != 0;
+    if (waitingForKeyFrame && !startsDecoding) {
+      droppedChunks++;
+      return;
+    }
+
+    final Chunk chunk;
+    synchronized (freeChunks) {
+      chunk = freeChunks.poll();
+    }
+    if (chunk == null) {
+      waitingForKeyFrame = true;
+      droppedChunks++;
+      return;
+    }
+    waitingForKeyFrame = false;
+
+    // The encoder reuses its output buffers, so the chunk has to be copied before posting it.
+    chunk.message = encode(data, presentationTimeUs, flags, chunk.message);
+    handler.post(chunk);
+  }
+
+  /** Returns the number of chunks dropped because Dart did not keep up. */
+  @VisibleForTesting
+  long getDroppedChunkCount() {
+    return droppedChunks;
+  }
+
+  /**
+   * Encodes a chunk into {@code reusable} if it is large enough, or into a new buffer otherwise.
+   */
+  @VisibleForTesting
+  @NonNull
+  static ByteBuffer encode(
+      @NonNull ByteBuffer data,
+      long presentationTimeUs,
+      int flags,
+      @Nullable ByteBuffer reusable) {
+    final int size = HEADER_SIZE + data.remaining();
+    final ByteBuffer message =
+        reusable != null && reusable.capacity() >= size
+            ? reusable
+            // Leave room for larger chunks, so key frames do not reallocate the buffer every time.
+            : ByteBuffer.allocateDirect(size + size / 2);
+    message.clear();
+    message.order(ByteOrder.LITTLE_ENDIAN);
+    message.putLong(presentationTimeUs);
+    message.putInt(flags);
+    message.put(data);
+    // The position marks the end of the message, which is what BinaryMessenger#send expects.
+    return message;
+  }
+
+  /** A pool slot holding a reusable direct buffer for one encoded chunk. */
+  private final class Chunk implements Runnable, BinaryMessenger.BinaryReply {
+    @Nullable private ByteBuffer message;
+
+    @Override
+    public void run() {
+      messenger.send(channelName, message, this);
+    }
+
+    @Override
+    public void reply(@Nullable ByteBuffer reply) {
+      synchronized (freeChunks) {
+        freeChunks.add(this);
+      }
+    }
+  }
+}
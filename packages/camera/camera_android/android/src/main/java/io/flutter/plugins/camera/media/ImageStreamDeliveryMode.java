@@ -0,0 +1,44 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+// Mirrors image_stream_options.dart
+public enum ImageStreamDeliveryMode {
+  /** Delivers every frame, without waiting for Dart to acknowledge previous frames. */
+  all("all"),
+  /** Delivers the most recent frame only once Dart acknowledged the previous one. */
+  latestOnly("latestOnly"),
+  /** Delivers frames as long as fewer than a maximum number of frames are unacknowledged. */
+  maxInFlight("maxInFlight"),
+  /** Delivers frames at no more than a target frame rate. */
+  targetFps("targetFps");
+
+  private final String strValue;
+
+  ImageStreamDeliveryMode(String strValue) {
+    this.strValue = strValue;
+  }
+
+  /**
+   * Tries to convert the supplied string into a {@see ImageStreamDeliveryMode} enum value.
+   *
+   * <p>When the supplied string doesn't match a valid {@see ImageStreamDeliveryMode} enum value,
+   * null is returned.
+   *
+   * @param modeStr String value to convert into an {@see ImageStreamDeliveryMode} enum value.
+   * @return Matching {@see ImageStreamDeliveryMode} enum value, or null if no match is found.
+   */
+  public static ImageStreamDeliveryMode getValueForString(String modeStr) {
+    for (ImageStreamDeliveryMode value : values()) {
+      if (value.strValue.equals(modeStr)) return value;
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return strValue;
+  }
+}
@@ -0,0 +1,174 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which image stream frames are delivered to Dart, so that frames are dropped at the
+ * source instead of piling up in the platform queue when Dart falls behind.
+ *
+ * <p>{@link #tryDeliver(long)} is called for every frame on the image reader thread. Frames that
+ * are delivered count as in flight until Dart acknowledges them through {@link
+ * #onFrameAcknowledged()}, which may happen on any thread.
+ */
+public class ImageStreamDeliveryPolicy {
+  private static final long NANOS_PER_SECOND = 1000000000L;
+  private static final long UNSET = Long.MIN_VALUE;
+
+  @NonNull private final ImageStreamDeliveryMode mode;
+  private final int maxFramesInFlight;
+  private final long minFrameIntervalNs;
+
+  private final AtomicInteger framesInFlight = new AtomicInteger();
+  private final AtomicLong deliveredFrames = new AtomicLong();
+  private final AtomicLong droppedFrames = new AtomicLong();
+
+  // Only accessed from the image reader thread.
+  private long nextFrameDueNs = UNSET;
+
+  /**
+   * Creates a new instance of the {@link ImageStreamDeliveryPolicy} class.
+   *
+   * @param mode the delivery mode.
+   * @param maxFramesInFlight the maximum number of unacknowledged frames for {@link
+   *     ImageStreamDeliveryMode#maxInFlight} and {@link ImageStreamDeliveryMode#targetFps}, or 0
+   *     for no limit with the latter. Ignored by the other modes.
+   * @param targetFps the maximum frame rate for {@link ImageStreamDeliveryMode#targetFps}. Ignored
+   *     by the other modes.
+   */
+  public ImageStreamDeliveryPolicy(
+      @NonNull ImageStreamDeliveryMode mode, int maxFramesInFlight, double targetFps) {
+    this.mode = mode;
+    switch (mode) {
+      case latestOnly:
+        this.maxFramesInFlight = 1;
+        this.minFrameIntervalNs = 0;
+        break;
+      case maxInFlight:
+        if (maxFramesInFlight < 1) {
+          throw new IllegalArgumentException(
+              "maxFramesInFlight must be at least 1, was " + maxFramesInFlight);
+        }
+        this.maxFramesInFlight = maxFramesInFlight;
+        this.minFrameIntervalNs = 0;
+        break;
+      case targetFps:
+        if (targetFps <= 0) {
+          throw new IllegalArgumentException("targetFps must be positive, was " + targetFps);
+        }
+        this.maxFramesInFlight = Math.max(0, maxFramesInFlight);
+        this.minFrameIntervalNs = (long) (NANOS_PER_SECOND / targetFps);
+        break;
+      case all:
+      default:
+        this.maxFramesInFlight = 0;
+        this.minFrameIntervalNs = 0;
+        break;
+    }
+  }
+
+  /** Creates a policy that delivers every frame, which is the behavior without a policy. */
+  @NonNull
+  public static ImageStreamDeliveryPolicy deliverAll() {
+    return new ImageStreamDeliveryPolicy(ImageStreamDeliveryMode.all, 0, 0);
+  }
+
+  /** Returns the delivery mode of this policy. */
+  @NonNull
+  public ImageStreamDeliveryMode getMode() {
+    return mode;
+  }
+
+  /**
+   * Whether Dart has to acknowledge delivered frames.
+   *
+   * <p>Frames are only counted as in flight when this returns {@code true}.
+   */
+  public boolean requiresAcknowledgement() {
+    return maxFramesInFlight > 0;
+  }
+
+  /**
+   * Decides whether a frame should be delivered, and counts it as delivered or dropped.
+   *
+   * @param timestampNs the timestamp of the frame in nanoseconds, as reported by {@link
+   *     android.media.Image#getTimestamp()}.
+   * @return {@code true} if the frame should be sent to Dart.
+   */
+  public boolean tryDeliver(long timestampNs) {
+    if (minFrameIntervalNs > 0
+        && nextFrameDueNs != UNSET
+        // Allow some jitter so a 30 fps source throttled to 15 fps does not skip two frames.
+        && timestampNs < nextFrameDueNs - minFrameIntervalNs / 10) {
+      droppedFrames.incrementAndGet();
+      return false;
+    }
+
+    if (maxFramesInFlight > 0) {
+      while (true) {
+        final int inFlight = framesInFlight.get();
+        if (inFlight >= maxFramesInFlight) {
+          droppedFrames.incrementAndGet();
+          return false;
+        }
+        if (framesInFlight.compareAndSet(inFlight, inFlight + 1)) {
+          break;
+        }
+      }
+    }
+
+    if (minFrameIntervalNs > 0) {
+      // Restart the schedule after a gap instead of delivering a burst to catch up.
+      nextFrameDueNs =
+          nextFrameDueNs == UNSET || timestampNs - nextFrameDueNs > minFrameIntervalNs
+              ? timestampNs + minFrameIntervalNs
+              : nextFrameDueNs + minFrameIntervalNs;
+    }
+    deliveredFrames.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Reverts a frame accepted by {@link #tryDeliver(long)} that could not be sent after all, and
+   * counts it as dropped.
+   */
+  public void onFrameDropped() {
+    deliveredFrames.decrementAndGet();
+    droppedFrames.incrementAndGet();
+    onFrameAcknowledged();
+  }
+
+  /** Marks a delivered frame as consumed by Dart. */
+  public void onFrameAcknowledged() {
+    if (!requiresAcknowledgement()) {
+      return;
+    }
+    while (true) {
+      final int inFlight = framesInFlight.get();
+      // Ignore stray acknowledgements, e.g. for frames sent before the policy was installed.
+      if (inFlight == 0 || framesInFlight.compareAndSet(inFlight, inFlight - 1)) {
+        return;
+      }
+    }
+  }
+
+  /** Returns the number of frames sent to Dart. */
+  public long getDeliveredFrameCount() {
+    return deliveredFrames.get();
+  }
+
+  /** Returns the number of frames dropped by this policy. */
+  public long getDroppedFrameCount() {
+    return droppedFrames.get();
+  }
+
+  /** Returns the number of delivered frames that Dart has not acknowledged yet. */
+  public int getFramesInFlight() {
+    return framesInFlight.get();
+  }
+}
@@ -0,0 +1,136 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.Image;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Encodes image stream frames into the compact binary layout understood by the Dart side of the
+ * plugin.
+ *
+ * <p>All values are little-endian. The frame starts with a fixed size header:
+ *
+ * <pre>
+ *   int32   width
+ *   int32   height
+ *   int32   format
+ *   int32   plane count
+ *   int32   flags (bit 0: lens aperture, bit 1: exposure time, bit 2: sensitivity present)
+ *   int32   reserved
+ *   float64 lens aperture
+ *   int64   sensor exposure time (ns)
+ *   float64 sensor sensitivity
+ * </pre>
+ *
+ * <p>followed by every plane as {@code int32 bytesPerRow, int32 bytesPerPixel, int32 length} and
+ * {@code length} bytes of pixel data.
+ *
+ * <p>When an {@link ImageStreamPreprocessor} is supplied, the frame geometry and planes are taken
+ * from its output instead, and it must have been configured for the image.
+ */
+public final class ImageStreamFrameEncoder {
+  /** Size in bytes of the fixed frame header. */
+  public static final int HEADER_SIZE = 48;
+  /** Size in bytes of the header written in front of every plane. */
+  public static final int PLANE_HEADER_SIZE = 12;
+
+  static final int FLAG_LENS_APERTURE = 1;
+  static final int FLAG_SENSOR_EXPOSURE_TIME = 1 << 1;
+  static final int FLAG_SENSOR_SENSITIVITY = 1 << 2;
+
+  private ImageStreamFrameEncoder() {}
+
+  /**
+   * Computes the number of bytes needed to encode the supplied image.
+   *
+   * @param image the image to measure.
+   * @param preprocessor the preprocessor configured for the image, or {@code null}.
+   * @return the encoded size of the frame in bytes.
+   */
+  public static int getEncodedSize(
+      @NonNull Image image, @Nullable ImageStreamPreprocessor preprocessor) {
+    int size = HEADER_SIZE;
+    if (preprocessor != null) {
+      for (int i = 0; i < preprocessor.getOutputPlaneCount(); i++) {
+        size += PLANE_HEADER_SIZE + preprocessor.getOutputPlaneSize(image, i);
+      }
+      return size;
+    }
+    for (Image.Plane plane : image.getPlanes()) {
+      size += PLANE_HEADER_SIZE + plane.getBuffer().remaining();
+    }
+    return size;
+  }
+
+  /**
+   * Writes the supplied image and capture properties into {@code output}, starting at position 0.
+   *
+   * <p>When this method returns the position of {@code output} marks the end of the frame, which
+   * is what {@link io.flutter.plugin.common.BinaryMessenger#send} expects.
+   *
+   * @param image the image to encode.
+   * @param preprocessor the preprocessor configured for the image, or {@code null}.
+   * @param captureProps the last known capture properties to attach as frame metadata.
+   * @param output the buffer to write into, must have at least {@link #getEncodedSize(Image,
+   *     ImageStreamPreprocessor)} bytes of capacity.
+   */
+  public static void encode(
+      @NonNull Image image,
+      @Nullable ImageStreamPreprocessor preprocessor,
+      @NonNull CameraCaptureProperties captureProps,
+      @NonNull ByteBuffer output) {
+    int flags = 0;
+    if (captureProps.hasLastLensAperture()) {
+      flags |= FLAG_LENS_APERTURE;
+    }
+    if (captureProps.hasLastSensorExposureTime()) {
+      flags |= FLAG_SENSOR_EXPOSURE_TIME;
+    }
+    if (captureProps.hasLastSensorSensitivity()) {
+      flags |= FLAG_SENSOR_SENSITIVITY;
+    }
+
+    output.clear();
+    output.order(ByteOrder.LITTLE_ENDIAN);
+    if (preprocessor != null) {
+      output.putInt(preprocessor.getOutputWidth());
+      output.putInt(preprocessor.getOutputHeight());
+      output.putInt(preprocessor.getOutputFormat(image));
+      output.putInt(preprocessor.getOutputPlaneCount());
+    } else {
+      output.putInt(image.getWidth());
+      output.putInt(image.getHeight());
+      output.putInt(image.getFormat());
+      output.putInt(image.getPlanes().length);
+    }
+    output.putInt(flags);
+    output.putInt(0);
+    output.putDouble(captureProps.getLastLensApertureValue());
+    output.putLong(captureProps.getLastSensorExposureTimeValue());
+    output.putDouble(captureProps.getLastSensorSensitivityValue());
+
+    if (preprocessor != null) {
+      for (int i = 0; i < preprocessor.getOutputPlaneCount(); i++) {
+        output.putInt(preprocessor.getOutputRowStride(image, i));
+        output.putInt(preprocessor.getOutputPixelStride(image, i));
+        output.putInt(preprocessor.getOutputPlaneSize(image, i));
+        preprocessor.copyPlane(image, i, output);
+      }
+      return;
+    }
+    for (Image.Plane plane : image.getPlanes()) {
+      final ByteBuffer pixels = plane.getBuffer();
+      output.putInt(plane.getRowStride());
+      output.putInt(plane.getPixelStride());
+      output.putInt(pixels.remaining());
+      output.put(pixels);
+    }
+  }
+}
@@ -0,0 +1,191 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.Image;
+import android.os.Handler;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Sends image stream frames to Dart as binary messages using a fixed set of reusable direct
+ * buffers.
+ *
+ * <p>Every frame is encoded with {@link ImageStreamFrameEncoder} into the buffer of a free pool
+ * slot and sent over a binary channel. The slot is returned to the pool once Dart replies to
+ * the message, so in steady state no buffers are allocated and at most {@code poolSize} frames are
+ * in flight. Frames arriving while all slots are in use are dropped.
+ */
+public class ImageStreamFramePool {
+  /**
+   * The name of the binary channel the encoded frames are sent on, or the prefix of the channel of
+   * each camera when several cameras stream concurrently.
+   */
+  public static final String CHANNEL_NAME = "plugins.flutter.io/camera_android/imageStream/frames";
+
+  /** The number of pool slots used when none is specified by Dart. */
+  public static final int DEFAULT_POOL_SIZE = 3;
+
+  @NonNull private final BinaryMessenger messenger;
+  @NonNull private final String channelName;
+  @NonNull private final Handler handler;
+  private final ArrayDeque<Frame> freeFrames;
+  private volatile boolean closed;
+
+  /**
+   * Creates a new instance of the {@link ImageStreamFramePool} class.
+   *
+   * @param messenger the {@link BinaryMessenger} used to send frames to Dart.
+   * @param handler a handler managing the main thread, used to send the frames.
+   * @param poolSize the number of reusable frame buffers, which is also the maximum number of
+   *     frames in flight.
+   */
+  public ImageStreamFramePool(
+      @NonNull BinaryMessenger messenger, @NonNull Handler handler, int poolSize) {
+    this(messenger, CHANNEL_NAME, handler, poolSize);
+  }
+
+  /**
+   * Creates a new instance of the {@link ImageStreamFramePool} class sending frames on the given
+   * channel.
+   *
+   * @param messenger the {@link BinaryMessenger} used to send frames to Dart.
+   * @param channelName the name of the binary channel to send the frames on.
+   * @param handler a handler managing the main thread, used to send the frames.
+   * @param poolSize the number of reusable frame buffers, which is also the maximum number of
+   *     frames in flight.
+   */
+  public ImageStreamFramePool(
+      @NonNull BinaryMessenger messenger,
+      @NonNull String channelName,
+      @NonNull Handler handler,
+      int poolSize) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("poolSize must be at least 1, was " + poolSize);
+    }
+    this.messenger = messenger;
+    this.channelName = channelName;
+    this.handler = handler;
+    this.freeFrames = new ArrayDeque<>(poolSize);
+    for (int i = 0; i < poolSize; i++) {
+      freeFrames.add(new Frame());
+    }
+  }
+
+  /**
+   * Encodes the supplied image into a free pool buffer and schedules it to be sent to Dart.
+   *
+   * <p>The image is fully copied before this method returns, so the caller may close it right away.
+   *
+   * @param image the image to send.
+   * @param preprocessor the preprocessor configured for the image, or {@code null} to send the
+   *     image unchanged.
+   * @param captureProps the last known capture properties to attach to the frame.
+   * @param onAcknowledged optionally run on the main thread once Dart acknowledged the frame.
+   * @return {@code true} if the frame was queued, {@code false} if it was dropped because all pool
+   *     buffers are still in flight or the pool is closed.
+   */
+  public boolean publish(
+      @NonNull Image image,
+      @Nullable ImageStreamPreprocessor preprocessor,
+      @NonNull CameraCaptureProperties captureProps,
+      @Nullable Runnable onAcknowledged) {
+    if (closed) {
+      return false;
+    }
+
+    final Frame frame;
+    synchronized (freeFrames) {
+      frame = freeFrames.poll();
+    }
+    if (frame == null) {
+      return false;
+    }
+
+    frame.encode(image, preprocessor, captureProps);
+    frame.onAcknowledged = onAcknowledged;
+    handler.post(frame);
+    return true;
+  }
+
+  /** Returns the number of pool slots that are free to receive a new frame. */
+  @VisibleForTesting
+  int getAvailableFrameCount() {
+    synchronized (freeFrames) {
+      return freeFrames.size();
+    }
+  }
+
+  /**
+   * Stops sending frames and releases all pooled buffers.
+   *
+   * <p>Frames that are in flight are discarded when Dart acknowledges them, and frames that were
+   * queued but not sent yet are discarded without being sent. The acknowledgement callbacks of
+   * both still run.
+   */
+  public void close() {
+    closed = true;
+    synchronized (freeFrames) {
+      freeFrames.clear();
+    }
+  }
+
+  private void recycle(@NonNull Frame frame) {
+    if (closed) {
+      return;
+    }
+    synchronized (freeFrames) {
+      freeFrames.add(frame);
+    }
+  }
+
+  /** A pool slot holding a reusable direct buffer for one encoded frame. */
+  private final class Frame implements Runnable, BinaryMessenger.BinaryReply {
+    @Nullable private ByteBuffer buffer;
+    @Nullable private Runnable onAcknowledged;
+
+    void encode(
+        @NonNull Image image,
+        @Nullable ImageStreamPreprocessor preprocessor,
+        @NonNull CameraCaptureProperties captureProps) {
+      final int size = ImageStreamFrameEncoder.getEncodedSize(image, preprocessor);
+      if (buffer == null || buffer.capacity() < size) {
+        // Only happens for the first frames, or when the stream resolution changes.
+        buffer = ByteBuffer.allocateDirect(size);
+      }
+      ImageStreamFrameEncoder.encode(image, preprocessor, captureProps, buffer);
+    }
+
+    @Override
+    public void run() {
+      if (closed) {
+        // The frame is never sent, but its acknowledgement callback still runs so that whoever
+        // counts the frames in flight releases it.
+        release();
+        return;
+      }
+      messenger.send(channelName, buffer, this);
+    }
+
+    @Override
+    public void reply(@Nullable ByteBuffer reply) {
+      release();
+    }
+
+    private void release() {
+      final Runnable callback = onAcknowledged;
+      onAcknowledged = null;
+      recycle(this);
+      if (callback != null) {
+        callback.run();
+      }
+    }
+  }
+}
@@ -0,0 +1,228 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import androidx.annotation.NonNull;
+import java.nio.ByteBuffer;
+
+/**
+ * Crops, subsamples and strips the chroma planes of image stream frames before they are
+ * serialized, so only the pixels a stream consumer needs cross the platform channel.
+ *
+ * <p>Only {@link ImageFormat#YUV_420_888} frames are processed, other formats pass through
+ * unchanged. The output planes are tightly packed, with a pixel stride of 1 and a row stride equal
+ * to the plane width. Luma-only frames are reported as {@link #FORMAT_Y8}, as they no longer hold
+ * the three planes of a {@link ImageFormat#YUV_420_888} frame.
+ *
+ * <p>Usage per frame: call {@link #configure(Image)}, then read the output geometry and copy each
+ * output plane with {@link #copyPlane(Image, int, ByteBuffer)}. Instances keep per-frame state and
+ * must only be used from one thread.
+ */
+public class ImageStreamPreprocessor {
+  /** The value of {@code ImageFormat.Y8}, which is only defined from API 29. */
+  public static final int FORMAT_Y8 = 0x20203859;
+
+  private final float regionLeft;
+  private final float regionTop;
+  private final float regionWidth;
+  private final float regionHeight;
+  private final int subsampleFactor;
+  private final boolean lumaOnly;
+
+  // Geometry of the frame passed to the last configure() call.
+  private boolean passThrough;
+  private int cropX;
+  private int cropY;
+  private int outputWidth;
+  private int outputHeight;
+  private int outputPlaneCount;
+
+  /**
+   * Creates a new instance of the {@link ImageStreamPreprocessor} class.
+   *
+   * @param regionLeft left edge of the region of interest, as a fraction of the frame width.
+   * @param regionTop top edge of the region of interest, as a fraction of the frame height.
+   * @param regionWidth width of the region of interest, as a fraction of the frame width.
+   * @param regionHeight height of the region of interest, as a fraction of the frame height.
+   * @param subsampleFactor keep every n-th pixel in both directions, 1 keeps all pixels.
+   * @param lumaOnly whether to only deliver the Y plane.
+   */
+  public ImageStreamPreprocessor(
+      float regionLeft,
+      float regionTop,
+      float regionWidth,
+      float regionHeight,
+      int subsampleFactor,
+      boolean lumaOnly) {
+    if (regionLeft < 0
+        || regionTop < 0
+        || regionWidth <= 0
+        || regionHeight <= 0
+        || regionLeft + regionWidth > 1
+        || regionTop + regionHeight > 1) {
+      throw new IllegalArgumentException("The region of interest must lie within the frame.");
+    }
+    if (subsampleFactor < 1) {
+      throw new IllegalArgumentException(
+          "subsampleFactor must be at least 1, was " + subsampleFactor);
+    }
+    this.regionLeft = regionLeft;
+    this.regionTop = regionTop;
+    this.regionWidth = regionWidth;
+    this.regionHeight = regionHeight;
+    this.subsampleFactor = subsampleFactor;
+    this.lumaOnly = lumaOnly;
+  }
+
+  /**
+   * Computes the output geometry for the supplied frame.
+   *
+   * @param image the frame that is about to be processed.
+   */
+  public void configure(@NonNull Image image) {
+    final int width = image.getWidth();
+    final int height = image.getHeight();
+    passThrough = image.getFormat() != ImageFormat.YUV_420_888;
+    if (passThrough) {
+      cropX = 0;
+      cropY = 0;
+      outputWidth = width;
+      outputHeight = height;
+      outputPlaneCount = image.getPlanes().length;
+      return;
+    }
+
+    // Keep the crop aligned to the 2x2 chroma blocks, and a multiple of the subsample factor, so
+    // the chroma planes line up with the luma plane.
+    final int alignment = 2 * subsampleFactor;
+    cropX = align((int) (regionLeft * width), 2);
+    cropY = align((int) (regionTop * height), 2);
+    final int cropWidth = Math.max(alignment, align((int) (regionWidth * width), alignment));
+    final int cropHeight = Math.max(alignment, align((int) (regionHeight * height), alignment));
+    cropX = Math.max(0, Math.min(cropX, align(width - cropWidth, 2)));
+    cropY = Math.max(0, Math.min(cropY, align(height - cropHeight, 2)));
+    outputWidth = Math.min(cropWidth, width) / subsampleFactor;
+    outputHeight = Math.min(cropHeight, height) / subsampleFactor;
+    outputPlaneCount = lumaOnly ? 1 : image.getPlanes().length;
+  }
+
+  /** Returns whether the last configured frame is delivered unchanged. */
+  public boolean isPassThrough() {
+    return passThrough;
+  }
+
+  /**
+   * Returns the format of the processed frame.
+   *
+   * @param image the configured frame.
+   */
+  public int getOutputFormat(@NonNull Image image) {
+    return !passThrough && lumaOnly ? FORMAT_Y8 : image.getFormat();
+  }
+
+  /** Returns the width of the processed frame. */
+  public int getOutputWidth() {
+    return outputWidth;
+  }
+
+  /** Returns the height of the processed frame. */
+  public int getOutputHeight() {
+    return outputHeight;
+  }
+
+  /** Returns the number of planes of the processed frame. */
+  public int getOutputPlaneCount() {
+    return outputPlaneCount;
+  }
+
+  /**
+   * Returns the row stride of an output plane.
+   *
+   * @param image the configured frame.
+   * @param planeIndex the index of the plane.
+   */
+  public int getOutputRowStride(@NonNull Image image, int planeIndex) {
+    if (passThrough) {
+      return image.getPlanes()[planeIndex].getRowStride();
+    }
+    return planeIndex == 0 ? outputWidth : outputWidth / 2;
+  }
+
+  /**
+   * Returns the pixel stride of an output plane.
+   *
+   * @param image the configured frame.
+   * @param planeIndex the index of the plane.
+   */
+  public int getOutputPixelStride(@NonNull Image image, int planeIndex) {
+    return passThrough ? image.getPlanes()[planeIndex].getPixelStride() : 1;
+  }
+
+  /**
+   * Returns the size in bytes of an output plane.
+   *
+   * @param image the configured frame.
+   * @param planeIndex the index of the plane.
+   */
+  public int getOutputPlaneSize(@NonNull Image image, int planeIndex) {
+    if (passThrough) {
+      return image.getPlanes()[planeIndex].getBuffer().remaining();
+    }
+    return planeIndex == 0 ? outputWidth * outputHeight : (outputWidth / 2) * (outputHeight / 2);
+  }
+
+  /**
+   * Writes an output plane into {@code output} at its current position.
+   *
+   * @param image the configured frame.
+   * @param planeIndex the index of the plane.
+   * @param output the buffer to write to, with at least {@link #getOutputPlaneSize(Image, int)}
+   *     bytes remaining.
+   */
+  public void copyPlane(@NonNull Image image, int planeIndex, @NonNull ByteBuffer output) {
+    final Image.Plane plane = image.getPlanes()[planeIndex];
+    final ByteBuffer source = plane.getBuffer();
+    if (passThrough) {
+      output.put(source);
+      return;
+    }
+
+    // Chroma planes of YUV_420_888 are subsampled by 2 in both directions.
+    final int shift = planeIndex == 0 ? 0 : 1;
+    final int width = outputWidth >> shift;
+    final int height = outputHeight >> shift;
+    final int rowStride = plane.getRowStride();
+    final int pixelStride = plane.getPixelStride();
+    final int left = cropX >> shift;
+    final int top = cropY >> shift;
+    final int sourceLimit = source.limit();
+
+    if (subsampleFactor == 1 && pixelStride == 1) {
+      for (int row = 0; row < height; row++) {
+        final int start = (top + row) * rowStride + left;
+        source.limit(start + width);
+        source.position(start);
+        output.put(source);
+        source.limit(sourceLimit);
+      }
+      return;
+    }
+
+    final int step = subsampleFactor * pixelStride;
+    for (int row = 0; row < height; row++) {
+      int index = (top + row * subsampleFactor) * rowStride + left * pixelStride;
+      for (int column = 0; column < width; column++) {
+        output.put(source.get(index));
+        index += step;
+      }
+    }
+  }
+
+  private static int align(int value, int alignment) {
+    return value - (value % alignment);
+  }
+}
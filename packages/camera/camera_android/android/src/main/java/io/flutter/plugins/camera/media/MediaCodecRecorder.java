@@ -0,0 +1,283 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.MediaCodec;
+import android.media.MediaMuxer;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.nio.ByteBuffer;
+
+/**
+ * Records video with a hardware {@link MediaCodec} encoder fed by an input surface, writing the
+ * encoded stream to a file with {@link MediaMuxer}.
+ *
+ * <p>Unlike {@link android.media.MediaRecorder}, the encoded chunks can be tapped while the file is
+ * being written, and pausing only suspends the encoder input instead of stopping the pipeline.
+ * Encoded output is drained on a dedicated thread, which also finishes the file and releases the
+ * encoder, so stopping never blocks the caller. Instances are created with {@link
+ * MediaCodecRecorderBuilder}.
+ */
+public class MediaCodecRecorder {
+  /** Receives the encoded video stream. */
+  public interface EncodedChunkListener {
+    /**
+     * Called on the encoder thread for every encoded chunk, including codec configuration data.
+     *
+     * @param data the encoded bytes, only valid for the duration of the call.
+     * @param presentationTimeUs the presentation time of the chunk in microseconds, excluding
+     *     paused time.
+     * @param flags the {@link MediaCodec} buffer flags of the chunk.
+     */
+    void onEncodedChunk(@NonNull ByteBuffer data, long presentationTimeUs, int flags);
+  }
+
+  /** Receives the outcome of {@link #stop}. */
+  public interface OnStoppedListener {
+    /**
+     * Called once the file has been written and the encoder released, on the encoder thread.
+     *
+     * @param completed false if the encoder did not drain in time, in which case the file may be
+     *     truncated.
+     */
+    void onStopped(boolean completed);
+  }
+
+  private static final String TAG = "MediaCodecRecorder";
+  private static final long DRAIN_TIMEOUT_US = 10_000;
+  private static final long STOP_TIMEOUT_MS = 3_000;
+
+  @NonNull private final MediaCodec encoder;
+  @NonNull private final Surface inputSurface;
+  @NonNull private final MediaMuxer muxer;
+  @Nullable private final EncodedChunkListener chunkListener;
+  private final long frameIntervalUs;
+  private final MediaCodec.BufferInfo bufferInfo = new MediaCodec.BufferInfo();
+
+  @Nullable private Thread drainThread;
+  // Guarded by this.
+  private boolean drainFinished;
+  private boolean released;
+  @Nullable private OnStoppedListener onStoppedListener;
+  // The uptime after which the drain thread stops waiting for the end of the stream, or 0.
+  private volatile long stopDeadlineMs;
+  private volatile boolean paused;
+  private volatile boolean resumed;
+  private int trackIndex = -1;
+  private boolean muxerStarted;
+  private long lastPresentationTimeUs = -1;
+  private long pausedDurationUs;
+
+  MediaCodecRecorder(
+      @NonNull MediaCodec encoder,
+      @NonNull Surface inputSurface,
+      @NonNull MediaMuxer muxer,
+      @Nullable EncodedChunkListener chunkListener,
+      int frameRate) {
+    this.encoder = encoder;
+    this.inputSurface = inputSurface;
+    this.muxer = muxer;
+    this.chunkListener = chunkListener;
+    this.frameIntervalUs = 1_000_000L / Math.max(1, frameRate);
+  }
+
+  /** Returns the surface to add to the capture session, which feeds the encoder. */
+  @NonNull
+  public Surface getInputSurface() {
+    return inputSurface;
+  }
+
+  /** Starts encoding the frames rendered to the input surface. */
+  public synchronized void start() {
+    encoder.start();
+    drainThread = new Thread(this::drain, "CameraVideoEncoder");
+    drainThread.start();
+  }
+
+  /** Stops feeding frames to the encoder, without stopping the encoder itself. */
+  public void pause() {
+    paused = true;
+    setInputSuspended(true);
+  }
+
+  /**
+   * Feeds frames to the encoder again, starting with a key frame. The paused time is removed from
+   * the timestamps of the recording.
+   */
+  public void resume() {
+    resumed = true;
+    paused = false;
+    setInputSuspended(false);
+    final Bundle parameters = new Bundle();
+    parameters.putInt(MediaCodec.PARAMETER_KEY_REQUEST_SYNC_FRAME, 0);
+    encoder.setParameters(parameters);
+  }
+
+  private void setInputSuspended(boolean suspended) {
+    final Bundle parameters = new Bundle();
+    parameters.putInt(MediaCodec.PARAMETER_KEY_SUSPEND, suspended ? 1 : 0);
+    encoder.setParameters(parameters);
+  }
+
+  /**
+   * Finishes the recording without waiting for it: the encoder drains on its own thread, which
+   * then writes the end of the file and releases the encoder.
+   *
+   * @param listener notified once the file has been written, on the encoder thread.
+   */
+  public void stop(@NonNull OnStoppedListener listener) {
+    final Thread thread;
+    synchronized (this) {
+      thread = drainFinished ? null : drainThread;
+      if (thread != null) {
+        onStoppedListener = listener;
+      }
+    }
+    if (thread == null) {
+      // Nothing is draining, so finish right away.
+      releaseResources();
+      listener.onStopped(false);
+      return;
+    }
+    stopDeadlineMs = SystemClock.uptimeMillis() + STOP_TIMEOUT_MS;
+    try {
+      encoder.signalEndOfInputStream();
+    } catch (IllegalStateException e) {
+      // The encoder failed, so the end of the stream will never come.
+      thread.interrupt();
+    }
+  }
+
+  /**
+   * Abandons the recording, releasing the encoder, the input surface and the muxer. While the
+   * encoder is draining, this only asks the drain thread to release them, without waiting for it.
+   */
+  public void release() {
+    synchronized (this) {
+      if (drainThread != null && !drainFinished) {
+        drainThread.interrupt();
+        return;
+      }
+    }
+    releaseResources();
+  }
+
+  private synchronized void releaseResources() {
+    if (released) {
+      return;
+    }
+    released = true;
+    try {
+      encoder.stop();
+    } catch (IllegalStateException e) {
+      // The encoder was never started, or already failed.
+    }
+    encoder.release();
+    inputSurface.release();
+    try {
+      if (muxerStarted) {
+        muxer.stop();
+      }
+    } catch (IllegalStateException e) {
+      Log.w(TAG, "Failed to finish the recording: " + e.getMessage());
+    }
+    muxerStarted = false;
+    muxer.release();
+  }
+
+  private void drain() {
+    boolean completed = false;
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        if (drainOnce(DRAIN_TIMEOUT_US)) {
+          completed = true;
+          break;
+        }
+        final long deadline = stopDeadlineMs;
+        if (deadline != 0 && SystemClock.uptimeMillis() > deadline) {
+          break;
+        }
+      }
+    } catch (IllegalStateException e) {
+      Log.w(TAG, "Video encoder failed: " + e.getMessage());
+    } finally {
+      final OnStoppedListener listener;
+      synchronized (this) {
+        drainFinished = true;
+        listener = onStoppedListener;
+        onStoppedListener = null;
+      }
+      releaseResources();
+      if (listener != null) {
+        listener.onStopped(completed);
+      }
+    }
+  }
+
+  /**
+   * Handles one output buffer of the encoder.
+   *
+   * @param timeoutUs how long to wait for output, in microseconds.
+   * @return true once the end of the stream has been reached.
+   */
+  @VisibleForTesting
+  boolean drainOnce(long timeoutUs) {
+    final int index = encoder.dequeueOutputBuffer(bufferInfo, timeoutUs);
+    if (index == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+      trackIndex = muxer.addTrack(encoder.getOutputFormat());
+      muxer.start();
+      muxerStarted = true;
+      return false;
+    }
+    if (index < 0) {
+      return false;
+    }
+
+    final boolean endOfStream = (bufferInfo.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0;
+    final ByteBuffer data = encoder.getOutputBuffer(index);
+    if (data != null && bufferInfo.size > 0) {
+      writeChunk(data);
+    }
+    encoder.releaseOutputBuffer(index, false);
+    return endOfStream;
+  }
+
+  private void writeChunk(@NonNull ByteBuffer data) {
+    final boolean codecConfig = (bufferInfo.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) != 0;
+    if (!codecConfig) {
+      if (paused) {
+        // Frames that were already queued when the recording was paused.
+        return;
+      }
+      if (resumed) {
+        // Close the gap left by the pause, keeping one frame interval between the chunks.
+        resumed = false;
+        if (lastPresentationTimeUs >= 0) {
+          final long gapUs =
+              bufferInfo.presentationTimeUs - pausedDurationUs - lastPresentationTimeUs;
+          pausedDurationUs += Math.max(0, gapUs - frameIntervalUs);
+        }
+      }
+      bufferInfo.presentationTimeUs -= pausedDurationUs;
+      lastPresentationTimeUs = bufferInfo.presentationTimeUs;
+    }
+
+    data.position(bufferInfo.offset);
+    data.limit(bufferInfo.offset + bufferInfo.size);
+    // The muxer takes the codec configuration from the output format instead.
+    if (!codecConfig && muxerStarted) {
+      muxer.writeSampleData(trackIndex, data, bufferInfo);
+    }
+    if (chunkListener != null) {
+      data.position(bufferInfo.offset);
+      chunkListener.onEncodedChunk(data, bufferInfo.presentationTimeUs, bufferInfo.flags);
+    }
+  }
+}
@@ -0,0 +1,189 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.CamcorderProfile;
+import android.media.EncoderProfiles;
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaFormat;
+import android.media.MediaMuxer;
+import android.media.MediaRecorder;
+import android.os.Build;
+import android.util.Log;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.io.IOException;
+
+public class MediaCodecRecorderBuilder {
+  static class MediaCodecFactory {
+    MediaCodec makeEncoder(String mimeType) throws IOException {
+      return MediaCodec.createEncoderByType(mimeType);
+    }
+
+    MediaMuxer makeMuxer(String outputFilePath) throws IOException {
+      return new MediaMuxer(outputFilePath, MediaMuxer.OutputFormat.MUXER_OUTPUT_MPEG_4);
+    }
+  }
+
+  private static final String TAG = "MediaCodecRecorderBldr";
+
+  private final String outputFilePath;
+  private final CamcorderProfile camcorderProfile;
+  private final EncoderProfiles encoderProfiles;
+  private final MediaCodecFactory codecFactory;
+
+  private int mediaOrientation;
+  private int videoBitrate;
+  @NonNull private VideoBitrateMode bitrateMode = VideoBitrateMode.vbr;
+  private float keyFrameIntervalSeconds = 1;
+  @Nullable private MediaCodecRecorder.EncodedChunkListener chunkListener;
+
+  public MediaCodecRecorderBuilder(
+      @NonNull CamcorderProfile camcorderProfile, @NonNull String outputFilePath) {
+    this(camcorderProfile, outputFilePath, new MediaCodecFactory());
+  }
+
+  public MediaCodecRecorderBuilder(
+      @NonNull EncoderProfiles encoderProfiles, @NonNull String outputFilePath) {
+    this(encoderProfiles, outputFilePath, new MediaCodecFactory());
+  }
+
+  MediaCodecRecorderBuilder(
+      @NonNull CamcorderProfile camcorderProfile,
+      @NonNull String outputFilePath,
+      MediaCodecFactory helper) {
+    this.outputFilePath = outputFilePath;
+    this.camcorderProfile = camcorderProfile;
+    this.encoderProfiles = null;
+    this.codecFactory = helper;
+  }
+
+  MediaCodecRecorderBuilder(
+      @NonNull EncoderProfiles encoderProfiles,
+      @NonNull String outputFilePath,
+      MediaCodecFactory helper) {
+    this.outputFilePath = outputFilePath;
+    this.encoderProfiles = encoderProfiles;
+    this.camcorderProfile = null;
+    this.codecFactory = helper;
+  }
+
+  public MediaCodecRecorderBuilder setMediaOrientation(int orientation) {
+    this.mediaOrientation = orientation;
+    return this;
+  }
+
+  /** Overrides the bitrate of the recording profile, in bits per second. Ignored when 0. */
+  public MediaCodecRecorderBuilder setVideoBitrate(int videoBitrate) {
+    this.videoBitrate = videoBitrate;
+    return this;
+  }
+
+  /** Sets the bitrate mode, falling back to {@link VideoBitrateMode#vbr} when unsupported. */
+  public MediaCodecRecorderBuilder setBitrateMode(@NonNull VideoBitrateMode bitrateMode) {
+    this.bitrateMode = bitrateMode;
+    return this;
+  }
+
+  /** Sets the time between key frames, 0 making every frame a key frame. */
+  public MediaCodecRecorderBuilder setKeyFrameIntervalSeconds(float keyFrameIntervalSeconds) {
+    this.keyFrameIntervalSeconds = keyFrameIntervalSeconds;
+    return this;
+  }
+
+  public MediaCodecRecorderBuilder setEncodedChunkListener(
+      @Nullable MediaCodecRecorder.EncodedChunkListener chunkListener) {
+    this.chunkListener = chunkListener;
+    return this;
+  }
+
+  public MediaCodecRecorder build()
+      throws IOException, NullPointerException, IndexOutOfBoundsException {
+    final int codec;
+    final int width;
+    final int height;
+    final int frameRate;
+    final int profileBitrate;
+    if (Build.VERSION.SDK_INT >= 31) {
+      EncoderProfiles.VideoProfile videoProfile = encoderProfiles.getVideoProfiles().get(0);
+      codec = videoProfile.getCodec();
+      width = videoProfile.getWidth();
+      height = videoProfile.getHeight();
+      frameRate = videoProfile.getFrameRate();
+      profileBitrate = videoProfile.getBitrate();
+    } else {
+      codec = camcorderProfile.videoCodec;
+      width = camcorderProfile.videoFrameWidth;
+      height = camcorderProfile.videoFrameHeight;
+      frameRate = camcorderProfile.videoFrameRate;
+      profileBitrate = camcorderProfile.videoBitRate;
+    }
+
+    final String mimeType = getMimeType(codec);
+    MediaFormat format = MediaFormat.createVideoFormat(mimeType, width, height);
+    format.setInteger(
+        MediaFormat.KEY_COLOR_FORMAT, MediaCodecInfo.CodecCapabilities.COLOR_FormatSurface);
+    format.setInteger(MediaFormat.KEY_BIT_RATE, videoBitrate > 0 ? videoBitrate : profileBitrate);
+    format.setInteger(MediaFormat.KEY_FRAME_RATE, frameRate);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N_MR1) {
+      format.setFloat(MediaFormat.KEY_I_FRAME_INTERVAL, keyFrameIntervalSeconds);
+    } else {
+      format.setInteger(MediaFormat.KEY_I_FRAME_INTERVAL, Math.round(keyFrameIntervalSeconds));
+    }
+
+    MediaCodec encoder = codecFactory.makeEncoder(mimeType);
+    MediaMuxer muxer = null;
+    try {
+      if (isBitrateModeSupported(encoder, mimeType, bitrateMode)) {
+        format.setInteger(MediaFormat.KEY_BITRATE_MODE, bitrateMode.getCodecBitrateMode());
+      } else {
+        Log.w(TAG, "Bitrate mode " + bitrateMode + " is not supported, using the default.");
+      }
+      encoder.configure(format, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+      Surface inputSurface = encoder.createInputSurface();
+
+      muxer = codecFactory.makeMuxer(outputFilePath);
+      muxer.setOrientationHint(mediaOrientation);
+
+      return new MediaCodecRecorder(encoder, inputSurface, muxer, chunkListener, frameRate);
+    } catch (IOException | RuntimeException e) {
+      encoder.release();
+      if (muxer != null) {
+        muxer.release();
+      }
+      throw e;
+    }
+  }
+
+  /** Returns the MIME type to encode with, as the MP4 muxer only accepts some of the codecs. */
+  @VisibleForTesting
+  static String getMimeType(int videoEncoder) {
+    switch (videoEncoder) {
+      case MediaRecorder.VideoEncoder.HEVC:
+        return MediaFormat.MIMETYPE_VIDEO_HEVC;
+      case MediaRecorder.VideoEncoder.MPEG_4_SP:
+        return MediaFormat.MIMETYPE_VIDEO_MPEG4;
+      case MediaRecorder.VideoEncoder.H263:
+        return MediaFormat.MIMETYPE_VIDEO_H263;
+      default:
+        return MediaFormat.MIMETYPE_VIDEO_AVC;
+    }
+  }
+
+  private static boolean isBitrateModeSupported(
+      MediaCodec encoder, String mimeType, VideoBitrateMode bitrateMode) {
+    try {
+      MediaCodecInfo.EncoderCapabilities capabilities =
+          encoder.getCodecInfo().getCapabilitiesForType(mimeType).getEncoderCapabilities();
+      return capabilities != null
+          && capabilities.isBitrateModeSupported(bitrateMode.getCodecBitrateMode());
+    } catch (IllegalArgumentException | NullPointerException e) {
+      return false;
+    }
+  }
+}
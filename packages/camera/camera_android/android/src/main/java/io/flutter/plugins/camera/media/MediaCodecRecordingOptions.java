@@ -0,0 +1,46 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/** Encoder settings of a recording made with {@link MediaCodecRecorder}. */
+public final class MediaCodecRecordingOptions {
+  private final int videoBitrate;
+  @NonNull private final VideoBitrateMode bitrateMode;
+  private final float keyFrameIntervalSeconds;
+  @Nullable private final MediaCodecRecorder.EncodedChunkListener chunkListener;
+
+  /**
+   * Creates a new instance of the {@link MediaCodecRecordingOptions} class.
+   *
+   * @param videoBitrate the bitrate in bits per second, or 0 to use the one of the recording
+   *     profile.
+   * @param bitrateMode the bitrate mode of the encoder.
+   * @param keyFrameIntervalSeconds the time between key frames.
+   * @param chunkListener receives the encoded chunks while recording, or null.
+   */
+  public MediaCodecRecordingOptions(
+      int videoBitrate,
+      @NonNull VideoBitrateMode bitrateMode,
+      float keyFrameIntervalSeconds,
+      @Nullable MediaCodecRecorder.EncodedChunkListener chunkListener) {
+    this.videoBitrate = videoBitrate;
+    this.bitrateMode = bitrateMode;
+    this.keyFrameIntervalSeconds = keyFrameIntervalSeconds;
+    this.chunkListener = chunkListener;
+  }
+
+  /** Applies these options to the given builder. */
+  @NonNull
+  public MediaCodecRecorderBuilder applyTo(@NonNull MediaCodecRecorderBuilder builder) {
+    return builder
+        .setVideoBitrate(videoBitrate)
+        .setBitrateMode(bitrateMode)
+        .setKeyFrameIntervalSeconds(keyFrameIntervalSeconds)
+        .setEncodedChunkListener(chunkListener);
+  }
+}
@@ -0,0 +1,51 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.MediaCodecInfo;
+
+// Mirrors video_recording_options.dart
+public enum VideoBitrateMode {
+  /** Varies the bitrate with the complexity of the scene, around the target bitrate. */
+  vbr("vbr", MediaCodecInfo.EncoderCapabilities.BITRATE_MODE_VBR),
+  /** Keeps the bitrate constant, which suits live streaming. */
+  cbr("cbr", MediaCodecInfo.EncoderCapabilities.BITRATE_MODE_CBR),
+  /** Keeps the quality constant, ignoring the target bitrate. */
+  cq("cq", MediaCodecInfo.EncoderCapabilities.BITRATE_MODE_CQ);
+
+  private final String strValue;
+  private final int codecBitrateMode;
+
+  VideoBitrateMode(String strValue, int codecBitrateMode) {
+    this.strValue = strValue;
+    this.codecBitrateMode = codecBitrateMode;
+  }
+
+  /** Returns the matching {@link MediaCodecInfo.EncoderCapabilities} bitrate mode. */
+  public int getCodecBitrateMode() {
+    return codecBitrateMode;
+  }
+
+  /**
+   * Tries to convert the supplied string into a {@see VideoBitrateMode} enum value.
+   *
+   * <p>When the supplied string doesn't match a valid {@see VideoBitrateMode} enum value, null is
+   * returned.
+   *
+   * @param modeStr String value to convert into an {@see VideoBitrateMode} enum value.
+   * @return Matching {@see VideoBitrateMode} enum value, or null if no match is found.
+   */
+  public static VideoBitrateMode getValueForString(String modeStr) {
+    for (VideoBitrateMode value : values()) {
+      if (value.strValue.equals(modeStr)) return value;
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return strValue;
+  }
+}
@@ -4,11 +4,21 @@
 
 package io.flutter.plugins.camera.types;
 
+/**
+ * The last known capture properties of the camera.
+ *
+ * <p>Values are stored as primitives, as they are updated for every preview frame. The boxed
+ * getters return {@code null} for unknown values and allocate, so per-frame readers should use the
+ * {@code has*} and {@code get*Value} accessors instead.
+ */
 public class CameraCaptureProperties {
 
-  private Float lastLensAperture;
-  private Long lastSensorExposureTime;
-  private Integer lastSensorSensitivity;
+  private boolean hasLastLensAperture;
+  private float lastLensAperture;
+  private boolean hasLastSensorExposureTime;
+  private long lastSensorExposureTime;
+  private boolean hasLastSensorSensitivity;
+  private int lastSensorSensitivity;
 
   /**
    * Gets the last known lens aperture. (As f-stop value)
@@ -16,7 +26,7 @@ public class CameraCaptureProperties {
    * @return the last known lens aperture. (As f-stop value)
    */
   public Float getLastLensAperture() {
-    return lastLensAperture;
+    return hasLastLensAperture ? lastLensAperture : null;
   }
 
   /**
@@ -25,7 +35,18 @@ public class CameraCaptureProperties {
    * @param lastLensAperture - The last known lens aperture to set. (As f-stop value)
    */
   public void setLastLensAperture(Float lastLensAperture) {
-    this.lastLensAperture = lastLensAperture;
+    this.hasLastLensAperture = lastLensAperture != null;
+    this.lastLensAperture = lastLensAperture == null ? 0 : lastLensAperture;
+  }
+
+  /** Whether the lens aperture is known. */
+  public boolean hasLastLensAperture() {
+    return hasLastLensAperture;
+  }
+
+  /** Gets the last known lens aperture without boxing it, or 0 if it is unknown. */
+  public float getLastLensApertureValue() {
+    return lastLensAperture;
   }
 
   /**
@@ -34,7 +55,7 @@ public class CameraCaptureProperties {
    * @return the last known sensor exposure time in nanoseconds.
    */
   public Long getLastSensorExposureTime() {
-    return lastSensorExposureTime;
+    return hasLastSensorExposureTime ? lastSensorExposureTime : null;
   }
 
   /**
@@ -43,7 +64,18 @@ public class CameraCaptureProperties {
    * @param lastSensorExposureTime - The last known sensor exposure time to set, in nanoseconds.
    */
   public void setLastSensorExposureTime(Long lastSensorExposureTime) {
-    this.lastSensorExposureTime = lastSensorExposureTime;
+    this.hasLastSensorExposureTime = lastSensorExposureTime != null;
+    this.lastSensorExposureTime = lastSensorExposureTime == null ? 0 : lastSensorExposureTime;
+  }
+
+  /** Whether the sensor exposure time is known. */
+  public boolean hasLastSensorExposureTime() {
+    return hasLastSensorExposureTime;
+  }
+
+  /** Gets the last known sensor exposure time without boxing it, or 0 if it is unknown. */
+  public long getLastSensorExposureTimeValue() {
+    return lastSensorExposureTime;
   }
 
   /**
@@ -52,7 +84,7 @@ public class CameraCaptureProperties {
    * @return the last known sensor sensitivity in ISO arithmetic units.
    */
   public Integer getLastSensorSensitivity() {
-    return lastSensorSensitivity;
+    return hasLastSensorSensitivity ? lastSensorSensitivity : null;
   }
 
   /**
@@ -62,6 +94,17 @@ public class CameraCaptureProperties {
    *     units.
    */
   public void setLastSensorSensitivity(Integer lastSensorSensitivity) {
-    this.lastSensorSensitivity = lastSensorSensitivity;
+    this.hasLastSensorSensitivity = lastSensorSensitivity != null;
+    this.lastSensorSensitivity = lastSensorSensitivity == null ? 0 : lastSensorSensitivity;
+  }
+
+  /** Whether the sensor sensitivity is known. */
+  public boolean hasLastSensorSensitivity() {
+    return hasLastSensorSensitivity;
+  }
+
+  /** Gets the last known sensor sensitivity without boxing it, or 0 if it is unknown. */
+  public int getLastSensorSensitivityValue() {
+    return lastSensorSensitivity;
   }
 }
@@ -0,0 +1,118 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.flutter.plugin.common.MethodChannel;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BurstCaptureTest {
+  private MethodChannel.Result mockResult;
+  private DartMessenger mockDartMessenger;
+  private List<File> mockFiles;
+  private BurstCapture burstCapture;
+
+  @Before
+  public void before() {
+    mockResult = mock(MethodChannel.Result.class);
+    mockDartMessenger = mock(DartMessenger.class);
+    mockFiles = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      mockFiles.add(mock(File.class));
+    }
+    burstCapture = new BurstCapture(new ArrayList<>(mockFiles), mockResult, mockDartMessenger);
+  }
+
+  @Test
+  public void nextImageIndex_shouldHandOutEveryPictureOnce() {
+    assertEquals(0, burstCapture.nextImageIndex());
+    assertEquals(1, burstCapture.nextImageIndex());
+    assertFalse(burstCapture.hasReceivedAllImages());
+    assertEquals(2, burstCapture.nextImageIndex());
+
+    assertTrue(burstCapture.hasReceivedAllImages());
+    assertEquals(-1, burstCapture.nextImageIndex());
+  }
+
+  @Test
+  public void saverCallbacks_shouldReportPicturesAndFinishInCaptureOrder() {
+    burstCapture.createSaverCallback(1).onComplete("path/1");
+    burstCapture.createSaverCallback(0).onComplete("path/0");
+
+    verify(mockDartMessenger, times(1)).sendPictureSavedEvent(1, "path/1");
+    verify(mockDartMessenger, times(1)).sendPictureSavedEvent(0, "path/0");
+    verify(mockDartMessenger, never()).finish(any(), any());
+
+    burstCapture.createSaverCallback(2).onComplete("path/2");
+
+    verify(mockDartMessenger, times(1))
+        .finish(mockResult, Arrays.asList("path/0", "path/1", "path/2"));
+  }
+
+  @Test
+  public void onCaptureFailed_shouldFinishWithRemainingPictures() {
+    burstCapture.nextImageIndex();
+    burstCapture.nextImageIndex();
+    burstCapture.onCaptureFailed("captureFailed", "message");
+
+    assertTrue(burstCapture.hasReceivedAllImages());
+    verify(mockFiles.get(2), times(1)).delete();
+
+    burstCapture.createSaverCallback(0).onComplete("path/0");
+    burstCapture.createSaverCallback(1).onError("IOError", "Failed saving image");
+
+    verify(mockFiles.get(1), times(1)).delete();
+    verify(mockDartMessenger, times(1)).finish(mockResult, Arrays.asList("path/0"));
+  }
+
+  @Test
+  public void onCaptureAborted_shouldFailPicturesNotReceived() {
+    burstCapture.nextImageIndex();
+    burstCapture.onCaptureAborted("captureAborted", "message");
+
+    assertTrue(burstCapture.hasReceivedAllImages());
+    verify(mockFiles.get(1), times(1)).delete();
+    verify(mockFiles.get(2), times(1)).delete();
+
+    burstCapture.createSaverCallback(0).onComplete("path/0");
+
+    verify(mockDartMessenger, times(1)).finish(mockResult, Arrays.asList("path/0"));
+  }
+
+  @Test
+  public void onCaptureAborted_shouldCompleteResultOnlyOnce() {
+    burstCapture.onCaptureAborted("captureAborted", "message");
+    burstCapture.onCaptureAborted("cameraClosed", "message");
+    burstCapture.onPictureFailed("imageSaverQueueFull", "message");
+
+    verify(mockDartMessenger, times(1)).error(mockResult, "captureAborted", "message", null);
+    verify(mockDartMessenger, never()).error(eq(mockResult), eq("cameraClosed"), any(), any());
+  }
+
+  @Test
+  public void onPictureFailed_shouldReportLastErrorWhenNothingWasSaved() {
+    for (int i = 0; i < 3; i++) {
+      burstCapture.onPictureFailed("imageSaverQueueFull", "message");
+    }
+
+    verify(mockDartMessenger, never()).sendPictureSavedEvent(anyInt(), any());
+    verify(mockDartMessenger, times(1)).error(mockResult, "imageSaverQueueFull", "message", null);
+  }
+}
@@ -0,0 +1,107 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import android.hardware.camera2.CameraCaptureSession;
+import android.hardware.camera2.CaptureRequest;
+import android.hardware.camera2.CaptureResult;
+import android.hardware.camera2.TotalCaptureResult;
+import android.util.Log;
+import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockedStatic;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Guards the per-frame path of {@link CameraCaptureCallback} against allocations creeping back in.
+ *
+ * <p>Instead of measuring allocated bytes, which depends on the JIT, this counts the calls that
+ * allocate on a device: every {@link CaptureResult#get} boxes its value and every log message
+ * builds a string. {@link CameraCaptureCallbackBenchmarkTest} measures the actual bytes.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CameraCaptureCallbackAllocationTest {
+  private static final int FRAMES = 1_000;
+
+  private CameraCaptureCallback.CameraCaptureStateListener mockCaptureStateListener;
+  private CameraCaptureProperties captureProps;
+  private CameraCaptureCallback cameraCaptureCallback;
+  private CameraCaptureSession mockSession;
+  private CaptureRequest mockRequest;
+  private TotalCaptureResult mockResult;
+
+  @Before
+  public void setUp() {
+    mockCaptureStateListener = mock(CameraCaptureCallback.CameraCaptureStateListener.class);
+    captureProps = new CameraCaptureProperties();
+    cameraCaptureCallback =
+        CameraCaptureCallback.create(
+            mockCaptureStateListener, mock(CaptureTimeoutsWrapper.class), captureProps);
+    mockSession = mock(CameraCaptureSession.class);
+    mockRequest = mock(CaptureRequest.class);
+    mockResult = mock(TotalCaptureResult.class);
+    when(mockResult.get(CaptureResult.LENS_APERTURE)).thenReturn(1.8f);
+    when(mockResult.get(CaptureResult.SENSOR_EXPOSURE_TIME)).thenReturn(16_000_000L);
+    when(mockResult.get(CaptureResult.SENSOR_SENSITIVITY)).thenReturn(100);
+  }
+
+  @Test
+  public void previewFrames_shouldNotReadCaptureResultsOrLog() {
+    try (MockedStatic<Log> mockLog = mockStatic(Log.class)) {
+      runFrames(FRAMES);
+
+      verify(mockResult, never()).get(any());
+      mockLog.verifyNoInteractions();
+    }
+    verifyNoInteractions(mockCaptureStateListener);
+  }
+
+  @Test
+  public void previewFrames_shouldOnlyReadTrackedCaptureProperties() {
+    cameraCaptureCallback.setTrackCaptureProperties(true);
+
+    try (MockedStatic<Log> mockLog = mockStatic(Log.class)) {
+      runFrames(FRAMES);
+
+      verify(mockResult, times(FRAMES)).get(CaptureResult.LENS_APERTURE);
+      verify(mockResult, times(FRAMES)).get(CaptureResult.SENSOR_EXPOSURE_TIME);
+      verify(mockResult, times(FRAMES)).get(CaptureResult.SENSOR_SENSITIVITY);
+      verify(mockResult, never()).get(CaptureResult.CONTROL_AE_STATE);
+      verify(mockResult, never()).get(CaptureResult.CONTROL_AF_STATE);
+      mockLog.verifyNoInteractions();
+    }
+  }
+
+  @Test
+  public void previewFrames_shouldStoreCapturePropertiesUnboxed() {
+    cameraCaptureCallback.setTrackCaptureProperties(true);
+
+    runFrames(FRAMES);
+
+    // The values are kept as primitives, so storing them does not hold on to the boxed results.
+    assertEquals(1.8f, captureProps.getLastLensApertureValue(), 0);
+    assertEquals(16_000_000L, captureProps.getLastSensorExposureTimeValue());
+    assertEquals(100, captureProps.getLastSensorSensitivityValue());
+  }
+
+  private void runFrames(int frames) {
+    for (int i = 0; i < frames; i++) {
+      cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+    }
+  }
+}
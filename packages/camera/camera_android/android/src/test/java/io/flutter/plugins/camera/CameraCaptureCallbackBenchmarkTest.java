@@ -0,0 +1,87 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import android.hardware.camera2.CameraCaptureSession;
+import android.hardware.camera2.CaptureRequest;
+import android.hardware.camera2.CaptureResult;
+import android.hardware.camera2.TotalCaptureResult;
+import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Micro benchmark of the per-frame work done by {@link CameraCaptureCallback}, guarding against
+ * allocations creeping back into the preview path.
+ *
+ * <p>Follows the warmup and measurement structure of a JMH benchmark. Allocated bytes depend on
+ * the JIT and on Robolectric, so this is excluded from the default test task and only runs with
+ * {@code -PrunBenchmarks}. {@link CameraCaptureCallbackAllocationTest} covers the same path
+ * deterministically in the default test task.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CameraCaptureCallbackBenchmarkTest {
+  private static final int WARMUP_FRAMES = 20_000;
+  private static final int MEASURED_FRAMES = 100_000;
+  // Leaves room for the occasional allocation done by the test harness itself.
+  private static final double MAX_ALLOCATED_BYTES_PER_FRAME = 1;
+
+  private CameraCaptureCallback cameraCaptureCallback;
+  private CameraCaptureSession mockSession;
+  private CaptureRequest mockRequest;
+  private TotalCaptureResult mockResult;
+
+  @Before
+  public void setUp() {
+    cameraCaptureCallback =
+        CameraCaptureCallback.create(
+            mock(CameraCaptureCallback.CameraCaptureStateListener.class),
+            mock(CaptureTimeoutsWrapper.class),
+            new CameraCaptureProperties());
+    mockSession = mock(CameraCaptureSession.class, withSettings().stubOnly());
+    mockRequest = mock(CaptureRequest.class, withSettings().stubOnly());
+    mockResult = mock(TotalCaptureResult.class, withSettings().stubOnly());
+    when(mockResult.get(CaptureResult.LENS_APERTURE)).thenReturn(1.8f);
+    when(mockResult.get(CaptureResult.SENSOR_EXPOSURE_TIME)).thenReturn(16_000_000L);
+    when(mockResult.get(CaptureResult.SENSOR_SENSITIVITY)).thenReturn(100);
+  }
+
+  @Test
+  public void previewFrames_doNotAllocate() {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+    assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+    allocationBean.setThreadAllocatedMemoryEnabled(true);
+    long threadId = Thread.currentThread().getId();
+
+    runFrames(WARMUP_FRAMES);
+    long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+    runFrames(MEASURED_FRAMES);
+    long allocatedAfter = allocationBean.getThreadAllocatedBytes(threadId);
+
+    double bytesPerFrame = (double) (allocatedAfter - allocatedBefore) / MEASURED_FRAMES;
+    assertTrue(
+        "Preview frames allocated " + bytesPerFrame + " bytes/frame",
+        bytesPerFrame < MAX_ALLOCATED_BYTES_PER_FRAME);
+  }
+
+  private void runFrames(int frames) {
+    for (int i = 0; i < frames; i++) {
+      cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+    }
+  }
+}
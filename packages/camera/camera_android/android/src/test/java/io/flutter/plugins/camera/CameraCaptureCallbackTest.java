@@ -7,6 +7,7 @@ package io.flutter.plugins.camera;
 import static org.mockito.ArgumentMatchers.anyFloat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -62,6 +63,7 @@ public class CameraCaptureCallbackTest {
     when(mockResult.get(CaptureResult.LENS_APERTURE)).thenReturn(1.0f);
     when(mockResult.get(CaptureResult.SENSOR_EXPOSURE_TIME)).thenReturn(2L);
     when(mockResult.get(CaptureResult.SENSOR_SENSITIVITY)).thenReturn(3);
+    cameraCaptureCallback.setTrackCaptureProperties(true);
 
     cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
 
@@ -69,4 +71,59 @@ public class CameraCaptureCallbackTest {
     verify(mockCaptureProps, times(1)).setLastSensorExposureTime(2L);
     verify(mockCaptureProps, times(1)).setLastSensorSensitivity(3);
   }
+
+  @Test
+  public void onCaptureCompleted_doesNotReadCameraCapturePropertiesWhenNotTracked() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verify(mockResult, never()).get(CaptureResult.LENS_APERTURE);
+    verify(mockResult, never()).get(CaptureResult.SENSOR_EXPOSURE_TIME);
+    verify(mockResult, never()).get(CaptureResult.SENSOR_SENSITIVITY);
+    verify(mockCaptureProps, never()).setLastLensAperture(anyFloat());
+  }
+
+  @Test
+  public void onCaptureCompleted_doesNotReadStatesInPreview() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verify(mockResult, never()).get(CaptureResult.CONTROL_AE_STATE);
+    verify(mockResult, never()).get(CaptureResult.CONTROL_AF_STATE);
+  }
+
+  @Test
+  public void onCaptureCompleted_recordsCaptureTelemetry() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+    CaptureTelemetry mockTelemetry = mock(CaptureTelemetry.class);
+    when(mockResult.get(CaptureResult.SENSOR_TIMESTAMP)).thenReturn(42L);
+    when(mockResult.getFrameNumber()).thenReturn(7L);
+    cameraCaptureCallback.setCaptureTelemetry(mockTelemetry);
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verify(mockTelemetry, times(1)).onCaptureCompleted(eq(7L), eq(42L), anyLong());
+  }
+
+  @Test
+  public void onCaptureCompleted_endsStartupTraceOnce() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+    CameraStartupTrace mockTrace = mock(CameraStartupTrace.class);
+    cameraCaptureCallback.setStartupTrace(mockTrace);
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verify(mockTrace, times(1)).endPhase(eq(CameraStartupTrace.PHASE_FIRST_FRAME), anyLong());
+  }
 }
@@ -0,0 +1,71 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class CameraCharacteristicsCacheTest {
+  private static final String CAMERA_NAME = "test_camera";
+  private CameraManager mockCameraManager;
+
+  @Before
+  public void before() throws CameraAccessException {
+    CameraCharacteristicsCache.release();
+    CameraCharacteristicsCache.clear();
+    mockCameraManager = mock(CameraManager.class);
+    when(mockCameraManager.getCameraCharacteristics(CAMERA_NAME))
+        .thenReturn(mock(CameraCharacteristics.class));
+  }
+
+  @After
+  public void after() {
+    CameraCharacteristicsCache.release();
+  }
+
+  @Test
+  public void get_shouldRegisterAvailabilityCallbackOnce() throws CameraAccessException {
+    CameraCharacteristicsCache.get(mockCameraManager, CAMERA_NAME);
+    CameraCharacteristicsCache.get(mockCameraManager, CAMERA_NAME);
+
+    verify(mockCameraManager, times(1)).registerAvailabilityCallback(any(), any());
+    verify(mockCameraManager, times(1)).getCameraCharacteristics(CAMERA_NAME);
+  }
+
+  @Test
+  public void release_shouldUnregisterAvailabilityCallbackAndDropEntries()
+      throws CameraAccessException {
+    CameraCharacteristicsCache.get(mockCameraManager, CAMERA_NAME);
+    ArgumentCaptor<CameraManager.AvailabilityCallback> callbackCaptor =
+        ArgumentCaptor.forClass(CameraManager.AvailabilityCallback.class);
+    verify(mockCameraManager).registerAvailabilityCallback(callbackCaptor.capture(), any());
+
+    CameraCharacteristicsCache.release();
+
+    verify(mockCameraManager, times(1)).unregisterAvailabilityCallback(callbackCaptor.getValue());
+    CameraCharacteristicsCache.get(mockCameraManager, CAMERA_NAME);
+    verify(mockCameraManager, times(2)).registerAvailabilityCallback(any(), any());
+    verify(mockCameraManager, times(2)).getCameraCharacteristics(CAMERA_NAME);
+  }
+
+  @Test
+  public void release_shouldDoNothingWhenUnused() {
+    CameraCharacteristicsCache.release();
+
+    verify(mockCameraManager, never()).unregisterAvailabilityCallback(any());
+  }
+}
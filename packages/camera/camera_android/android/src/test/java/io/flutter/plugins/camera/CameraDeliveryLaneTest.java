@@ -0,0 +1,83 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.os.Handler;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CameraDeliveryLaneTest {
+  private Handler mockHandler;
+  private List<Runnable> postedTasks;
+
+  @Before
+  public void before() {
+    mockHandler = mock(Handler.class);
+    postedTasks = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              postedTasks.add(invocation.getArgument(0));
+              return true;
+            })
+        .when(mockHandler)
+        .post(any(Runnable.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ctor_shouldRejectEmptyFrameQueue() {
+    new CameraDeliveryLane(mockHandler, 0);
+  }
+
+  @Test
+  public void postFrame_shouldDropFramesBeyondMaxPendingFrames() {
+    CameraDeliveryLane lane = new CameraDeliveryLane(mockHandler, 2);
+
+    assertTrue(lane.postFrame(() -> {}));
+    assertTrue(lane.postFrame(() -> {}));
+    assertFalse(lane.postFrame(() -> {}));
+
+    assertEquals(2, postedTasks.size());
+    assertEquals(2, lane.getPendingFrameCount());
+    assertEquals(1, lane.getDroppedFrameCount());
+  }
+
+  @Test
+  public void postFrame_shouldAcceptFramesOnceTheMainThreadCatchesUp() {
+    CameraDeliveryLane lane = new CameraDeliveryLane(mockHandler, 1);
+    final int[] sentFrames = {0};
+
+    assertTrue(lane.postFrame(() -> sentFrames[0]++));
+    assertFalse(lane.postFrame(() -> sentFrames[0]++));
+    postedTasks.get(0).run();
+
+    assertEquals(1, sentFrames[0]);
+    assertEquals(0, lane.getPendingFrameCount());
+    assertTrue(lane.postFrame(() -> sentFrames[0]++));
+  }
+
+  @Test
+  public void post_shouldNeverDropEvents() {
+    CameraDeliveryLane lane = new CameraDeliveryLane(mockHandler, 1);
+    Runnable event = () -> {};
+
+    lane.postFrame(() -> {});
+    lane.post(event);
+    lane.post(event);
+
+    verify(mockHandler, times(3)).post(any(Runnable.class));
+    assertEquals(1, lane.getPendingFrameCount());
+  }
+}
@@ -32,6 +32,7 @@ public class CameraPropertiesImplTest {
 
   @Before
   public void before() {
+    CameraCharacteristicsCache.clear();
     try {
       when(mockCameraManager.getCameraCharacteristics(CAMERA_NAME)).thenReturn(mockCharacteristics);
       cameraProperties = new CameraPropertiesImpl(CAMERA_NAME, mockCameraManager);
@@ -46,6 +47,15 @@ public class CameraPropertiesImplTest {
     assertNotNull(cameraProperties);
   }
 
+  @Test
+  public void ctor_shouldReuseCachedCharacteristics() throws CameraAccessException {
+    CameraPropertiesImpl otherCameraProperties =
+        new CameraPropertiesImpl(CAMERA_NAME, mockCameraManager);
+
+    verify(mockCameraManager, times(1)).getCameraCharacteristics(CAMERA_NAME);
+    assertNotNull(otherCameraProperties);
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   public void getControlAutoExposureAvailableTargetFpsRangesTest() {
@@ -0,0 +1,137 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+
+import android.os.Build;
+import android.os.Trace;
+import io.flutter.plugins.camera.utils.TestUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+public class CameraStartupTraceTest {
+  private static final long MILLIS = 1_000_000L;
+
+  private List<Map<String, Double>> breakdowns;
+  private CameraStartupTrace trace;
+
+  @Before
+  public void before() {
+    breakdowns = new ArrayList<>();
+    trace = new CameraStartupTrace(100 * MILLIS, breakdowns::add);
+  }
+
+  @Test
+  public void endPhase_shouldReportBreakdownOnFirstFrame() {
+    trace.beginPhase(CameraStartupTrace.PHASE_IMAGE_READERS, 100 * MILLIS);
+    trace.endPhase(CameraStartupTrace.PHASE_IMAGE_READERS, 110 * MILLIS);
+    trace.beginPhase(CameraStartupTrace.PHASE_OPEN_CAMERA, 110 * MILLIS);
+    trace.endPhase(CameraStartupTrace.PHASE_OPEN_CAMERA, 410 * MILLIS);
+    trace.beginPhase(CameraStartupTrace.PHASE_SESSION_CONFIGURATION, 420 * MILLIS);
+    trace.endPhase(CameraStartupTrace.PHASE_SESSION_CONFIGURATION, 620 * MILLIS);
+    trace.beginPhase(CameraStartupTrace.PHASE_FIRST_FRAME, 620 * MILLIS);
+
+    assertEquals(0, breakdowns.size());
+
+    trace.endPhase(CameraStartupTrace.PHASE_FIRST_FRAME, 700 * MILLIS);
+
+    assertEquals(1, breakdowns.size());
+    Map<String, Double> breakdown = breakdowns.get(0);
+    assertEquals(
+        Arrays.asList(
+            CameraStartupTrace.PHASE_IMAGE_READERS,
+            CameraStartupTrace.PHASE_OPEN_CAMERA,
+            CameraStartupTrace.PHASE_SESSION_CONFIGURATION,
+            CameraStartupTrace.PHASE_FIRST_FRAME,
+            CameraStartupTrace.TOTAL),
+        new ArrayList<>(breakdown.keySet()));
+    assertEquals(10.0, breakdown.get(CameraStartupTrace.PHASE_IMAGE_READERS), 0);
+    assertEquals(300.0, breakdown.get(CameraStartupTrace.PHASE_OPEN_CAMERA), 0);
+    assertEquals(200.0, breakdown.get(CameraStartupTrace.PHASE_SESSION_CONFIGURATION), 0);
+    assertEquals(80.0, breakdown.get(CameraStartupTrace.PHASE_FIRST_FRAME), 0);
+    assertEquals(600.0, breakdown.get(CameraStartupTrace.TOTAL), 0);
+  }
+
+  @Test
+  public void beginPhase_shouldKeepFirstStartOfPhase() {
+    trace.beginPhase(CameraStartupTrace.PHASE_SESSION_CONFIGURATION, 100 * MILLIS);
+    trace.beginPhase(CameraStartupTrace.PHASE_SESSION_CONFIGURATION, 150 * MILLIS);
+    trace.endPhase(CameraStartupTrace.PHASE_SESSION_CONFIGURATION, 200 * MILLIS);
+    trace.beginPhase(CameraStartupTrace.PHASE_FIRST_FRAME, 200 * MILLIS);
+    trace.endPhase(CameraStartupTrace.PHASE_FIRST_FRAME, 200 * MILLIS);
+
+    assertEquals(100.0, breakdowns.get(0).get(CameraStartupTrace.PHASE_SESSION_CONFIGURATION), 0);
+  }
+
+  @Test
+  public void endPhase_shouldIgnorePhasesThatWereNotStarted() {
+    trace.endPhase(CameraStartupTrace.PHASE_OPEN_CAMERA, 200 * MILLIS);
+    trace.endPhase(CameraStartupTrace.PHASE_FIRST_FRAME, 200 * MILLIS);
+
+    assertEquals(0, breakdowns.size());
+  }
+
+  @Test
+  public void endPhase_shouldReportOnlyOnce() {
+    trace.beginPhase(CameraStartupTrace.PHASE_FIRST_FRAME, 100 * MILLIS);
+    trace.endPhase(CameraStartupTrace.PHASE_FIRST_FRAME, 200 * MILLIS);
+    trace.beginPhase(CameraStartupTrace.PHASE_SESSION_CONFIGURATION, 300 * MILLIS);
+    trace.endPhase(CameraStartupTrace.PHASE_FIRST_FRAME, 400 * MILLIS);
+
+    assertEquals(1, breakdowns.size());
+    assertFalse(breakdowns.get(0).containsKey(CameraStartupTrace.PHASE_SESSION_CONFIGURATION));
+  }
+
+  @Test
+  public void cancel_shouldEndOpenTraceSections() {
+    final int sdkVersion = Build.VERSION.SDK_INT;
+    TestUtils.setFinalStatic(Build.VERSION.class, "SDK_INT", Build.VERSION_CODES.Q);
+    try (MockedStatic<Trace> mockTrace = mockStatic(Trace.class)) {
+      CameraStartupTrace tracedStartup = new CameraStartupTrace(100 * MILLIS, breakdowns::add);
+      tracedStartup.beginPhase(CameraStartupTrace.PHASE_IMAGE_READERS, 100 * MILLIS);
+      tracedStartup.endPhase(CameraStartupTrace.PHASE_IMAGE_READERS, 110 * MILLIS);
+      tracedStartup.beginPhase(CameraStartupTrace.PHASE_OPEN_CAMERA, 110 * MILLIS);
+
+      tracedStartup.cancel();
+
+      mockTrace.verify(
+          () -> Trace.endAsyncSection(eq("Camera." + CameraStartupTrace.TOTAL), anyInt()),
+          times(1));
+      mockTrace.verify(
+          () ->
+              Trace.endAsyncSection(
+                  eq("Camera." + CameraStartupTrace.PHASE_OPEN_CAMERA), anyInt()),
+          times(1));
+      mockTrace.verify(
+          () ->
+              Trace.endAsyncSection(
+                  eq("Camera." + CameraStartupTrace.PHASE_IMAGE_READERS), anyInt()),
+          times(1));
+    } finally {
+      TestUtils.setFinalStatic(Build.VERSION.class, "SDK_INT", sdkVersion);
+    }
+  }
+
+  @Test
+  public void cancel_shouldPreventLaterBreakdown() {
+    trace.beginPhase(CameraStartupTrace.PHASE_FIRST_FRAME, 100 * MILLIS);
+
+    trace.cancel();
+    trace.endPhase(CameraStartupTrace.PHASE_FIRST_FRAME, 200 * MILLIS);
+
+    assertEquals(0, breakdowns.size());
+  }
+}
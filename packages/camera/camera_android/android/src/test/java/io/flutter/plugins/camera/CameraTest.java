@@ -7,6 +7,7 @@ package io.flutter.plugins.camera;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
@@ -18,6 +19,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.app.Activity;
+import android.graphics.ImageFormat;
 import android.graphics.SurfaceTexture;
 import android.hardware.camera2.CameraAccessException;
 import android.hardware.camera2.CameraCaptureSession;
@@ -25,6 +27,7 @@ import android.hardware.camera2.CameraDevice;
 import android.hardware.camera2.CameraMetadata;
 import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.params.SessionConfiguration;
+import android.media.Image;
 import android.media.ImageReader;
 import android.media.MediaRecorder;
 import android.os.Build;
@@ -36,9 +39,12 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LifecycleObserver;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
+import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugins.camera.features.CameraFeatureFactory;
 import io.flutter.plugins.camera.features.CameraFeatures;
+import io.flutter.plugins.camera.features.CameraSettings;
+import io.flutter.plugins.camera.features.MeteringRegion;
 import io.flutter.plugins.camera.features.Point;
 import io.flutter.plugins.camera.features.autofocus.AutoFocusFeature;
 import io.flutter.plugins.camera.features.autofocus.FocusMode;
@@ -56,13 +62,20 @@ import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.sensororientation.SensorOrientationFeature;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
+import io.flutter.plugins.camera.media.MediaCodecRecorder;
+import io.flutter.plugins.camera.media.MediaCodecRecordingOptions;
+import io.flutter.plugins.camera.media.VideoBitrateMode;
 import io.flutter.plugins.camera.utils.TestUtils;
 import io.flutter.view.TextureRegistry;
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 
 class FakeCameraDeviceWrapper implements CameraDeviceWrapper {
@@ -156,6 +169,54 @@ public class CameraTest {
     assertFalse(LifecycleObserver.class.isAssignableFrom(cameraClass));
   }
 
+  @Test
+  public void shouldOnlyShutDownImageSaverExecutorOwnedByTheCamera() {
+    final CameraExecutors mockCameraExecutors = mock(CameraExecutors.class);
+    final CameraThreadPool mockCameraThreadPool = mock(CameraThreadPool.class);
+    final ImageSaverExecutor mockSharedExecutor = mock(ImageSaverExecutor.class);
+    final ImageSaverExecutor mockOwnedExecutor = mock(ImageSaverExecutor.class);
+    when(mockCameraExecutors.getControl()).thenReturn(mockCameraThreadPool);
+    when(mockCameraExecutors.getIo()).thenReturn(mockSharedExecutor);
+    when(mockCameraExecutors.getDelivery()).thenReturn(mock(CameraDeliveryLane.class));
+    when(mockCameraThreadPool.acquire()).thenReturn(mockHandlerThread);
+    SensorOrientationFeature mockSensorOrientationFeature =
+        mockCameraFeatureFactory.createSensorOrientationFeature(mockCameraProperties, null, null);
+    when(mockSensorOrientationFeature.getDeviceOrientationManager())
+        .thenReturn(mock(DeviceOrientationManager.class));
+
+    Camera sharingCamera =
+        new Camera(
+            mock(Activity.class),
+            mock(TextureRegistry.SurfaceTextureEntry.class),
+            mockCameraFeatureFactory,
+            mockDartMessenger,
+            mockCameraProperties,
+            ResolutionPreset.high,
+            false,
+            mockCameraExecutors);
+    Camera owningCamera =
+        new Camera(
+            mock(Activity.class),
+            mock(TextureRegistry.SurfaceTextureEntry.class),
+            mockCameraFeatureFactory,
+            mockDartMessenger,
+            mockCameraProperties,
+            ResolutionPreset.high,
+            false,
+            mockCameraExecutors,
+            mockOwnedExecutor);
+
+    verify(mockCameraThreadPool, times(2)).acquire();
+    assertEquals(mockSharedExecutor, sharingCamera.getImageSaverExecutor());
+    assertEquals(mockOwnedExecutor, owningCamera.getImageSaverExecutor());
+
+    sharingCamera.dispose();
+    owningCamera.dispose();
+
+    verify(mockSharedExecutor, never()).shutdown();
+    verify(mockOwnedExecutor, times(1)).shutdown();
+  }
+
   @Test
   public void shouldCreateCameraPluginAndSetAllFeatures() {
     final Activity mockActivity = mock(Activity.class);
@@ -517,6 +578,158 @@ public class CameraTest {
     verify(mockResult, times(1)).error("setZoomLevelFailed", "Could not set zoom level.", null);
   }
 
+  @Test
+  public void applySettings_shouldIssueSingleRepeatingRequest() throws CameraAccessException {
+    FlashFeature mockFlashFeature =
+        mockCameraFeatureFactory.createFlashFeature(mockCameraProperties);
+    ExposureLockFeature mockExposureLockFeature =
+        mockCameraFeatureFactory.createExposureLockFeature(mockCameraProperties);
+    ExposureOffsetFeature mockExposureOffsetFeature =
+        mockCameraFeatureFactory.createExposureOffsetFeature(mockCameraProperties);
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    FocusPointFeature mockFocusPointFeature =
+        mockCameraFeatureFactory.createFocusPointFeature(
+            mockCameraProperties, mock(SensorOrientationFeature.class));
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(0f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(2f);
+    when(mockExposureOffsetFeature.getValue()).thenReturn(0.9);
+
+    camera.applySettings(
+        mockResult,
+        new CameraSettings.Builder()
+            .setFlashMode(FlashMode.torch)
+            .setExposureMode(ExposureMode.locked)
+            .setExposureOffset(1.0)
+            .setZoomLevel(1.5f)
+            .build());
+
+    verify(mockFlashFeature, times(1)).setValue(FlashMode.torch);
+    verify(mockFlashFeature, times(1)).updateBuilder(mockPreviewRequestBuilder);
+    verify(mockExposureLockFeature, times(1)).setValue(ExposureMode.locked);
+    verify(mockExposureLockFeature, times(1)).updateBuilder(mockPreviewRequestBuilder);
+    verify(mockExposureOffsetFeature, times(1)).setValue(1.0);
+    verify(mockExposureOffsetFeature, times(1)).updateBuilder(mockPreviewRequestBuilder);
+    verify(mockZoomLevelFeature, times(1)).setValue(1.5f);
+    verify(mockZoomLevelFeature, times(1)).updateBuilder(mockPreviewRequestBuilder);
+    verify(mockFocusPointFeature, never()).updateBuilder(any());
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+    // The offset is clamped and rounded by the feature, so the applied one is returned.
+    verify(mockResult, times(1)).success(0.9);
+  }
+
+  @Test
+  public void applySettings_shouldReturnNullWhenExposureOffsetIsUnchanged() {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    camera.applySettings(
+        mockResult, new CameraSettings.Builder().setFlashMode(FlashMode.torch).build());
+
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void setMeteringRegions_shouldCoalesceBurstIntoSingleRequest()
+      throws CameraAccessException {
+    ExposurePointFeature mockExposurePointFeature =
+        mockCameraFeatureFactory.createExposurePointFeature(
+            mockCameraProperties, mock(SensorOrientationFeature.class));
+    MethodChannel.Result mockFirstResult = mock(MethodChannel.Result.class);
+    MethodChannel.Result mockLastResult = mock(MethodChannel.Result.class);
+    List<MeteringRegion> lastRegions = Collections.singletonList(new MeteringRegion(0.6, 0.6, 10));
+
+    camera.setMeteringRegions(
+        mockFirstResult, null, Collections.singletonList(new MeteringRegion(0.5, 0.5, 10)));
+    camera.setMeteringRegions(mockLastResult, null, lastRegions);
+
+    verify(mockHandler, times(1)).postDelayed(any(Runnable.class), eq(0L));
+    verify(mockCaptureSession, never()).setRepeatingRequest(any(), any(), any());
+
+    camera.applyPendingMetering();
+
+    verify(mockExposurePointFeature, times(1)).setRegions(lastRegions);
+    verify(mockExposurePointFeature, times(1)).updateBuilder(mockPreviewRequestBuilder);
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+    verify(mockFirstResult, times(1)).success(null);
+    verify(mockLastResult, times(1)).success(null);
+  }
+
+  @Test
+  public void setMeteringRegions_shouldKeepRegionsOfCoalescedCalls() {
+    FocusPointFeature mockFocusPointFeature =
+        mockCameraFeatureFactory.createFocusPointFeature(
+            mockCameraProperties, mock(SensorOrientationFeature.class));
+    ExposurePointFeature mockExposurePointFeature =
+        mockCameraFeatureFactory.createExposurePointFeature(
+            mockCameraProperties, mock(SensorOrientationFeature.class));
+    AutoFocusFeature mockAutoFocusFeature =
+        mockCameraFeatureFactory.createAutoFocusFeature(mockCameraProperties, false);
+    when(mockAutoFocusFeature.getValue()).thenReturn(FocusMode.auto);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    List<MeteringRegion> focusRegions = Collections.singletonList(new MeteringRegion(0.2, 0.2, 5));
+    List<MeteringRegion> exposureRegions = Collections.emptyList();
+
+    camera.setMeteringRegions(mockResult, focusRegions, null);
+    camera.setMeteringRegions(mockResult, null, exposureRegions);
+    camera.applyPendingMetering();
+
+    verify(mockFocusPointFeature, times(1)).setRegions(focusRegions);
+    verify(mockExposurePointFeature, times(1)).setRegions(exposureRegions);
+    verify(mockResult, times(2)).success(null);
+  }
+
+  @Test
+  public void setMeteringRegions_shouldCallErrorOnResultOnCameraAccessException()
+      throws CameraAccessException {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    when(mockCaptureSession.setRepeatingRequest(any(), any(), any()))
+        .thenThrow(new CameraAccessException(0, ""));
+
+    camera.setMeteringRegions(mockResult, null, Collections.emptyList());
+    camera.applyPendingMetering();
+
+    verify(mockResult, never()).success(any());
+    verify(mockResult, times(1))
+        .error("setMeteringRegionsFailed", "Could not set metering regions.", null);
+  }
+
+  @Test
+  public void applySettings_shouldNotApplyAnythingWhenZoomIsOutOfBounds()
+      throws CameraAccessException {
+    FlashFeature mockFlashFeature =
+        mockCameraFeatureFactory.createFlashFeature(mockCameraProperties);
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(1f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(2f);
+
+    camera.applySettings(
+        mockResult,
+        new CameraSettings.Builder().setFlashMode(FlashMode.torch).setZoomLevel(3f).build());
+
+    verify(mockResult, times(1)).error(eq("ZOOM_ERROR"), any(), eq(null));
+    verify(mockFlashFeature, never()).setValue(any());
+    verify(mockZoomLevelFeature, never()).setValue(any());
+    verify(mockCaptureSession, never()).setRepeatingRequest(any(), any(), any());
+  }
+
+  @Test
+  public void applySettings_shouldCallErrorOnResultOnCameraAccessException()
+      throws CameraAccessException {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    when(mockCaptureSession.setRepeatingRequest(any(), any(), any()))
+        .thenThrow(new CameraAccessException(0, ""));
+
+    camera.applySettings(
+        mockResult, new CameraSettings.Builder().setFlashMode(FlashMode.always).build());
+
+    verify(mockResult, never()).success(any());
+    verify(mockResult, times(1))
+        .error("applySettingsFailed", "Could not apply camera settings.", null);
+  }
+
   @Test
   public void pauseVideoRecording_shouldSendNullResultWhenNotRecording() {
     TestUtils.setPrivateField(camera, "recordingVideo", false);
@@ -637,6 +850,63 @@ public class CameraTest {
     verify(mockResult, never()).success(any());
   }
 
+  @Test
+  public void pauseVideoRecording_shouldSuspendMediaCodecRecorderBelowAPIN() {
+    MediaCodecRecorder mockMediaCodecRecorder = mock(MediaCodecRecorder.class);
+    TestUtils.setPrivateField(camera, "mediaCodecRecorder", mockMediaCodecRecorder);
+    TestUtils.setPrivateField(camera, "recordingVideo", true);
+    TestUtils.setFinalStatic(Build.VERSION.class, "SDK_INT", 23);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    camera.pauseVideoRecording(mockResult);
+    camera.resumeVideoRecording(mockResult);
+
+    verify(mockMediaCodecRecorder, times(1)).pause();
+    verify(mockMediaCodecRecorder, times(1)).resume();
+    verify(mockResult, times(2)).success(null);
+    verify(mockResult, never()).error(any(), any(), any());
+  }
+
+  @Test
+  public void startVideoRecording_shouldRejectMediaCodecRecorderWhenAudioIsEnabled() {
+    TestUtils.setPrivateField(camera, "enableAudio", true);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    camera.startVideoRecording(
+        mockResult, null, new MediaCodecRecordingOptions(0, VideoBitrateMode.vbr, 1, null));
+
+    verify(mockResult, times(1)).error(eq("videoRecordingFailed"), any(), eq(null));
+    verify(mockResult, never()).success(any());
+  }
+
+  @Test
+  public void stopVideoRecording_shouldStopMediaCodecRecorder() throws CameraAccessException {
+    MediaCodecRecorder mockMediaCodecRecorder = mock(MediaCodecRecorder.class);
+    MediaRecorder mockMediaRecorder = mock(MediaRecorder.class);
+    TestUtils.setPrivateField(camera, "mediaCodecRecorder", mockMediaCodecRecorder);
+    TestUtils.setPrivateField(camera, "mediaRecorder", mockMediaRecorder);
+    TestUtils.setPrivateField(camera, "recordingVideo", true);
+    TestUtils.setPrivateField(camera, "captureFile", new File("REC.mp4"));
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    ArgumentCaptor<MediaCodecRecorder.OnStoppedListener> stoppedCaptor =
+        ArgumentCaptor.forClass(MediaCodecRecorder.OnStoppedListener.class);
+
+    camera.stopVideoRecording(mockResult);
+
+    verify(mockCaptureSession, times(1)).abortCaptures();
+    verify(mockMediaCodecRecorder, times(1)).stop(stoppedCaptor.capture());
+    verify(mockMediaRecorder, never()).stop();
+    assertNull(TestUtils.getPrivateField(camera, "mediaCodecRecorder"));
+    // The result only completes once the encoder thread has written the file.
+    verify(mockResult, never()).success(any());
+    verify(mockDartMessenger, never()).finish(any(), any());
+
+    stoppedCaptor.getValue().onStopped(true);
+
+    verify(mockDartMessenger, times(1))
+        .finish(mockResult, new File("REC.mp4").getAbsolutePath());
+  }
+
   @Test
   public void setFocusMode_shouldUpdateAutoFocusFeature() {
     AutoFocusFeature mockAutoFocusFeature =
@@ -896,6 +1166,174 @@ public class CameraTest {
     verify(mockCaptureSession, never()).close();
   }
 
+  @Test
+  public void startPreview_shouldDeclareImageStreamOutputWhenKeepingSessionWarm()
+      throws CameraAccessException {
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mock(CaptureRequest.Builder.class));
+    TestUtils.setPrivateField(
+        camera, "cameraDevice", new FakeCameraDeviceWrapper(mockRequestBuilders));
+    TextureRegistry.SurfaceTextureEntry cameraFlutterTexture =
+        (TextureRegistry.SurfaceTextureEntry) TestUtils.getPrivateField(camera, "flutterTexture");
+    ResolutionFeature resolutionFeature =
+        (ResolutionFeature)
+            TestUtils.getPrivateField(mockCameraFeatureFactory, "mockResolutionFeature");
+    when(cameraFlutterTexture.surfaceTexture()).thenReturn(mock(SurfaceTexture.class));
+    when(resolutionFeature.getPreviewSize()).thenReturn(mock(Size.class));
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    when(mockPictureImageReader.getSurface()).thenReturn(mock(Surface.class));
+    TestUtils.setPrivateField(camera, "pictureImageReader", mockPictureImageReader);
+    mockImageStreamReader(ImageFormat.YUV_420_888);
+
+    camera.setKeepSessionWarm(true);
+    camera.startPreview();
+
+    assertEquals(true, TestUtils.getPrivateField(camera, "warmSessionConfigured"));
+  }
+
+  @Test
+  public void startPreview_shouldNotKeepSessionWarmForJpegImageStreams()
+      throws CameraAccessException {
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mock(CaptureRequest.Builder.class));
+    TestUtils.setPrivateField(
+        camera, "cameraDevice", new FakeCameraDeviceWrapper(mockRequestBuilders));
+    TextureRegistry.SurfaceTextureEntry cameraFlutterTexture =
+        (TextureRegistry.SurfaceTextureEntry) TestUtils.getPrivateField(camera, "flutterTexture");
+    ResolutionFeature resolutionFeature =
+        (ResolutionFeature)
+            TestUtils.getPrivateField(mockCameraFeatureFactory, "mockResolutionFeature");
+    when(cameraFlutterTexture.surfaceTexture()).thenReturn(mock(SurfaceTexture.class));
+    when(resolutionFeature.getPreviewSize()).thenReturn(mock(Size.class));
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    when(mockPictureImageReader.getSurface()).thenReturn(mock(Surface.class));
+    TestUtils.setPrivateField(camera, "pictureImageReader", mockPictureImageReader);
+    mockImageStreamReader(ImageFormat.JPEG);
+
+    camera.setKeepSessionWarm(true);
+    camera.startPreview();
+
+    assertEquals(false, TestUtils.getPrivateField(camera, "warmSessionConfigured"));
+  }
+
+  @Test
+  public void startPreviewWithImageStream_shouldRetargetWarmSession()
+      throws CameraAccessException {
+    // The fake camera has no request builders, so creating a new session would fail.
+    TestUtils.setPrivateField(
+        camera, "cameraDevice", new FakeCameraDeviceWrapper(new ArrayList<>()));
+    Surface streamSurface = mockImageStreamReader(ImageFormat.YUV_420_888);
+    TestUtils.setPrivateField(camera, "warmSessionConfigured", true);
+
+    camera.startPreviewWithImageStream(mock(EventChannel.class));
+
+    verify(mockPreviewRequestBuilder, times(1)).addTarget(streamSurface);
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+  }
+
+  @Test
+  public void imageStream_shouldCountFramesRejectedByDeliveryLaneAsDropped()
+      throws CameraAccessException {
+    TestUtils.setPrivateField(
+        camera, "cameraDevice", new FakeCameraDeviceWrapper(new ArrayList<>()));
+    mockImageStreamReader(ImageFormat.YUV_420_888);
+    TestUtils.setPrivateField(camera, "warmSessionConfigured", true);
+    ImageReader mockImageStreamReader =
+        (ImageReader) TestUtils.getPrivateField(camera, "imageStreamReader");
+    CameraDeliveryLane mockDeliveryLane =
+        (CameraDeliveryLane) TestUtils.getPrivateField(camera, "deliveryLane");
+    when(mockDeliveryLane.postFrame(any())).thenReturn(false);
+    Image mockImage = mock(Image.class);
+    when(mockImage.getPlanes()).thenReturn(new Image.Plane[0]);
+    when(mockImageStreamReader.acquireNextImage()).thenReturn(mockImage);
+    EventChannel mockImageStreamChannel = mock(EventChannel.class);
+    ArgumentCaptor<EventChannel.StreamHandler> streamHandlerCaptor =
+        ArgumentCaptor.forClass(EventChannel.StreamHandler.class);
+    ArgumentCaptor<ImageReader.OnImageAvailableListener> listenerCaptor =
+        ArgumentCaptor.forClass(ImageReader.OnImageAvailableListener.class);
+
+    camera.startPreviewWithImageStream(mockImageStreamChannel);
+    verify(mockImageStreamChannel).setStreamHandler(streamHandlerCaptor.capture());
+    streamHandlerCaptor.getValue().onListen(null, mock(EventChannel.EventSink.class));
+    verify(mockImageStreamReader).setOnImageAvailableListener(listenerCaptor.capture(), any());
+    listenerCaptor.getValue().onImageAvailable(mockImageStreamReader);
+
+    ImageStreamDeliveryPolicy deliveryPolicy = camera.getImageStreamDeliveryPolicy();
+    assertEquals(0, deliveryPolicy.getDeliveredFrameCount());
+    assertEquals(1, deliveryPolicy.getDroppedFrameCount());
+    verify(mockImage).close();
+  }
+
+  @Test
+  public void startPreview_shouldRemoveImageStreamTargetOfWarmSession()
+      throws CameraAccessException {
+    TestUtils.setPrivateField(
+        camera, "cameraDevice", new FakeCameraDeviceWrapper(new ArrayList<>()));
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    when(mockPictureImageReader.getSurface()).thenReturn(mock(Surface.class));
+    TestUtils.setPrivateField(camera, "pictureImageReader", mockPictureImageReader);
+    Surface streamSurface = mockImageStreamReader(ImageFormat.YUV_420_888);
+    TestUtils.setPrivateField(camera, "warmSessionConfigured", true);
+
+    camera.startPreview();
+
+    verify(mockPreviewRequestBuilder, times(1)).removeTarget(streamSurface);
+    verify(mockPreviewRequestBuilder, never()).addTarget(streamSurface);
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+  }
+
+  @Test
+  public void close_shouldResetWarmSession() {
+    TestUtils.setPrivateField(camera, "warmSessionConfigured", true);
+
+    camera.close();
+
+    assertEquals(false, TestUtils.getPrivateField(camera, "warmSessionConfigured"));
+  }
+
+  @Test
+  public void close_shouldCancelStartupTrace() {
+    CameraStartupTrace mockStartupTrace = mock(CameraStartupTrace.class);
+    TestUtils.setPrivateField(camera, "startupTrace", mockStartupTrace);
+
+    camera.close();
+
+    verify(mockStartupTrace, times(1)).cancel();
+    assertNull(TestUtils.getPrivateField(camera, "startupTrace"));
+  }
+
+  @Test
+  public void close_shouldAbortBurstInProgress() {
+    BurstCapture mockBurstCapture = mock(BurstCapture.class);
+    TestUtils.setPrivateField(camera, "burstCapture", mockBurstCapture);
+
+    camera.close();
+
+    verify(mockBurstCapture, times(1)).onCaptureAborted(eq("cameraClosed"), any());
+    assertNull(TestUtils.getPrivateField(camera, "burstCapture"));
+  }
+
+  @Test
+  public void takePictureBurst_shouldFailUnlessBurstCaptureEnabled() {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    camera.takePictureBurst(mockResult, 2);
+
+    verify(mockResult, times(1)).error(eq("burstCaptureDisabled"), any(), any());
+    assertNull(TestUtils.getPrivateField(camera, "burstCapture"));
+  }
+
+  @Test
+  public void takePictureBurst_shouldRejectBurstLargerThanMaxSize() {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    camera.setBurstCaptureEnabled(true);
+
+    camera.takePictureBurst(mockResult, BurstCapture.MAX_SIZE + 1);
+
+    verify(mockResult, times(1)).error(eq("invalidBurstSize"), any(), any());
+    assertNull(TestUtils.getPrivateField(camera, "burstCapture"));
+  }
+
   @Test
   public void close_doesCloseCaptureSessionWhenCameraDeviceNull() {
     camera.close();
@@ -915,6 +1353,15 @@ public class CameraTest {
     verify(mockCaptureSession, never()).close();
   }
 
+  private Surface mockImageStreamReader(int imageFormat) {
+    ImageReader mockImageStreamReader = mock(ImageReader.class);
+    Surface streamSurface = mock(Surface.class);
+    when(mockImageStreamReader.getImageFormat()).thenReturn(imageFormat);
+    when(mockImageStreamReader.getSurface()).thenReturn(streamSurface);
+    TestUtils.setPrivateField(camera, "imageStreamReader", mockImageStreamReader);
+    return streamSurface;
+  }
+
   private static class TestCameraFeatureFactory implements CameraFeatureFactory {
     private final AutoFocusFeature mockAutoFocusFeature;
     private final ExposureLockFeature mockExposureLockFeature;
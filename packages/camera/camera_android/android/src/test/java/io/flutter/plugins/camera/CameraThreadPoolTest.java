@@ -0,0 +1,100 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.os.HandlerThread;
+import android.os.Looper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+public class CameraThreadPoolTest {
+  private MockedStatic<Camera.HandlerThreadFactory> mockHandlerThreadFactory;
+
+  @Before
+  public void before() {
+    mockHandlerThreadFactory = mockStatic(Camera.HandlerThreadFactory.class);
+    mockHandlerThreadFactory
+        .when(() -> Camera.HandlerThreadFactory.create(anyString()))
+        .thenAnswer(invocation -> mock(HandlerThread.class));
+  }
+
+  @After
+  public void after() {
+    mockHandlerThreadFactory.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ctor_shouldRejectEmptyPool() {
+    new CameraThreadPool(0);
+  }
+
+  @Test
+  public void acquire_shouldStartThreadsUpToLimitThenShare() {
+    CameraThreadPool pool = new CameraThreadPool(2);
+
+    HandlerThread first = pool.acquire();
+    HandlerThread second = pool.acquire();
+    HandlerThread third = pool.acquire();
+
+    assertNotSame(first, second);
+    assertSame(first, third);
+    assertEquals(2, pool.getThreadCount());
+    verify(first, times(1)).start();
+    verify(second, times(1)).start();
+  }
+
+  @Test
+  public void release_shouldKeepThreadRunningOnceUnused() {
+    CameraThreadPool pool = new CameraThreadPool(1);
+    HandlerThread thread = pool.acquire();
+
+    pool.release(thread);
+
+    verify(thread, never()).quitSafely();
+    assertEquals(1, pool.getThreadCount());
+  }
+
+  @Test
+  public void acquire_shouldReuseLooperOfReleasedThreadWhenSwitchingCameras() {
+    CameraThreadPool pool = new CameraThreadPool(2);
+    HandlerThread disposed = pool.acquire();
+    when(disposed.getLooper()).thenReturn(mock(Looper.class));
+    Looper disposedLooper = disposed.getLooper();
+
+    pool.release(disposed);
+    HandlerThread created = pool.acquire();
+
+    assertSame(disposedLooper, created.getLooper());
+    assertEquals(1, pool.getThreadCount());
+    verify(disposed, times(1)).start();
+  }
+
+  @Test
+  public void shutdown_shouldQuitAllThreads() {
+    CameraThreadPool pool = new CameraThreadPool(2);
+    HandlerThread first = pool.acquire();
+    HandlerThread second = pool.acquire();
+    pool.release(second);
+
+    pool.shutdown();
+
+    verify(first, times(1)).quitSafely();
+    verify(second, times(1)).quitSafely();
+    assertEquals(0, pool.getThreadCount());
+  }
+}
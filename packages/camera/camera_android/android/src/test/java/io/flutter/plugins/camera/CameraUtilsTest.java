@@ -5,6 +5,8 @@
 package io.flutter.plugins.camera;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
@@ -16,9 +18,16 @@ import android.hardware.camera2.CameraAccessException;
 import android.hardware.camera2.CameraCharacteristics;
 import android.hardware.camera2.CameraManager;
 import android.hardware.camera2.CameraMetadata;
+import android.os.Build;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel;
+import io.flutter.plugins.camera.utils.TestUtils;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
 import org.junit.Test;
 
 public class CameraUtilsTest {
@@ -65,6 +74,11 @@ public class CameraUtilsTest {
     CameraUtils.deserializeDeviceOrientation(null);
   }
 
+  @Before
+  public void before() {
+    CameraCharacteristicsCache.clear();
+  }
+
   @Test
   public void getAvailableCameras_retrievesValidCameras()
       throws CameraAccessException, NumberFormatException {
@@ -97,4 +111,34 @@ public class CameraUtilsTest {
     assertEquals(availableCameras.get(1).get("sensorOrientation"), mockSensorOrientation2);
     assertEquals(availableCameras.get(1).get("lensFacing"), "external");
   }
+
+  @Test
+  public void canOpenConcurrently_shouldMatchReportedCameraSets() {
+    TestUtils.setFinalStatic(Build.VERSION.class, "SDK_INT", 30);
+    try {
+      CameraManager mockCameraManager = mock(CameraManager.class);
+      Set<Set<String>> concurrentCameras = new HashSet<>();
+      concurrentCameras.add(new HashSet<>(Arrays.asList("0", "1")));
+      when(mockCameraManager.getConcurrentCameraIds()).thenReturn(concurrentCameras);
+
+      assertTrue(
+          CameraUtils.canOpenConcurrently(
+              mockCameraManager, new HashSet<>(Arrays.asList("0", "1"))));
+      assertFalse(
+          CameraUtils.canOpenConcurrently(
+              mockCameraManager, new HashSet<>(Arrays.asList("0", "2"))));
+      assertTrue(CameraUtils.canOpenConcurrently(mockCameraManager, Collections.singleton("2")));
+    } finally {
+      TestUtils.setFinalStatic(Build.VERSION.class, "SDK_INT", 0);
+    }
+  }
+
+  @Test
+  public void canOpenConcurrently_shouldRejectMultipleCamerasBeforeAndroid11() {
+    CameraManager mockCameraManager = mock(CameraManager.class);
+
+    assertFalse(
+        CameraUtils.canOpenConcurrently(
+            mockCameraManager, new HashSet<>(Arrays.asList("0", "1"))));
+  }
 }
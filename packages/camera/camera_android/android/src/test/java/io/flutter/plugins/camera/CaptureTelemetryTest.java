@@ -0,0 +1,116 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CaptureTelemetryTest {
+  private static final long MILLIS = 1_000_000L;
+
+  private List<Map<String, Object>> snapshots;
+  private CaptureTelemetry telemetry;
+
+  @Before
+  public void before() {
+    snapshots = new ArrayList<>();
+    telemetry = new CaptureTelemetry(1000 * MILLIS, snapshots::add);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ctor_shouldRejectEmptyReportInterval() {
+    new CaptureTelemetry(0, snapshot -> {});
+  }
+
+  @Test
+  public void onCaptureCompleted_shouldReportOncePerInterval() {
+    for (int frame = 0; frame <= 30; frame++) {
+      telemetry.onCaptureCompleted(frame, frame * 33 * MILLIS, frame * 33 * MILLIS);
+    }
+
+    assertEquals(0, snapshots.size());
+
+    telemetry.onCaptureCompleted(31, 31 * 33 * MILLIS, 31 * 33 * MILLIS);
+
+    assertEquals(1, snapshots.size());
+    Map<String, Object> snapshot = snapshots.get(0);
+    assertEquals(32, snapshot.get("capturedFrames"));
+    assertEquals(1_023_000L, snapshot.get("durationMicros"));
+    assertEquals(31L, histogram(snapshot, "frameInterval").get("count"));
+    assertEquals(33_000L, histogram(snapshot, "frameInterval").get("meanMicros"));
+    assertEquals(0L, histogram(snapshot, "frameJitter").get("maxMicros"));
+  }
+
+  @Test
+  public void onCaptureCompleted_shouldCountSkippedFramesAndJitter() {
+    telemetry.onCaptureCompleted(0, 0, 0);
+    telemetry.onCaptureCompleted(1, 33 * MILLIS, 33 * MILLIS);
+    telemetry.onCaptureCompleted(3, 99 * MILLIS, 99 * MILLIS);
+
+    Map<String, Object> snapshot = telemetry.createSnapshot(100 * MILLIS);
+
+    assertEquals(3, snapshot.get("capturedFrames"));
+    assertEquals(1, snapshot.get("skippedFrames"));
+    assertEquals(66_000L, histogram(snapshot, "frameInterval").get("maxMicros"));
+    assertEquals(33_000L, histogram(snapshot, "frameJitter").get("maxMicros"));
+  }
+
+  @Test
+  public void onFrameDelivered_shouldRecordLatencySinceCaptureResult() {
+    telemetry.onCaptureCompleted(0, 5 * MILLIS, 10 * MILLIS);
+    telemetry.onFrameDelivered(5 * MILLIS, 13 * MILLIS);
+    // Frames without a matching capture result are counted, but have no latency.
+    telemetry.onFrameDelivered(7 * MILLIS, 14 * MILLIS);
+    telemetry.onFrameDropped();
+
+    Map<String, Object> snapshot = telemetry.createSnapshot(20 * MILLIS);
+
+    assertEquals(2, snapshot.get("deliveredFrames"));
+    assertEquals(1, snapshot.get("droppedFrames"));
+    assertEquals(1L, histogram(snapshot, "deliveryLatency").get("count"));
+    assertEquals(3_000L, histogram(snapshot, "deliveryLatency").get("meanMicros"));
+  }
+
+  @Test
+  public void createSnapshot_shouldResetCounters() {
+    telemetry.onCaptureCompleted(0, 0, 0);
+    telemetry.onCaptureCompleted(1, 33 * MILLIS, 33 * MILLIS);
+    telemetry.onFrameDropped();
+    telemetry.createSnapshot(40 * MILLIS);
+
+    Map<String, Object> snapshot = telemetry.createSnapshot(80 * MILLIS);
+
+    assertEquals(40_000L, snapshot.get("durationMicros"));
+    assertEquals(0, snapshot.get("capturedFrames"));
+    assertEquals(0, snapshot.get("droppedFrames"));
+    assertEquals(0L, histogram(snapshot, "frameInterval").get("count"));
+  }
+
+  @Test
+  public void histogram_shouldSortDurationsIntoBuckets() {
+    CaptureTelemetry.Histogram histogram = new CaptureTelemetry.Histogram();
+
+    histogram.record(500_000L);
+    histogram.record(16_600_000L);
+    histogram.record(16_700_000L);
+    histogram.record(1_000 * MILLIS);
+
+    assertEquals(4, histogram.getCount());
+    assertEquals(1, histogram.getBucketCount(0));
+    // The 17ms bucket holds 60 fps frames.
+    assertEquals(2, histogram.getBucketCount(5));
+    assertEquals(1, histogram.getBucketCount(13));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> histogram(Map<String, Object> snapshot, String name) {
+    return (Map<String, Object>) snapshot.get(name);
+  }
+}
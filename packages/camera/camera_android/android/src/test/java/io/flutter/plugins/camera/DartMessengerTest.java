@@ -20,7 +20,9 @@ import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
@@ -102,6 +104,47 @@ public class DartMessengerTest {
     assertNull(call.argument("description"));
   }
 
+  @Test
+  public void sendPictureSavedEvent_includesIndexAndPath() {
+    doAnswer(createPostHandlerAnswer()).when(mockHandler).post(any(Runnable.class));
+    dartMessenger.sendPictureSavedEvent(2, "absolute/path");
+
+    List<ByteBuffer> sentMessages = fakeBinaryMessenger.getMessages();
+    assertEquals(1, sentMessages.size());
+    MethodCall call = decodeSentMessage(sentMessages.get(0));
+    assertEquals("picture_saved", call.method);
+    assertEquals(2, (int) call.argument("index"));
+    assertEquals("absolute/path", call.argument("path"));
+  }
+
+  @Test
+  public void sendCameraStartupCompletedEvent_includesTimings() {
+    doAnswer(createPostHandlerAnswer()).when(mockHandler).post(any(Runnable.class));
+    Map<String, Double> timings = new HashMap<>();
+    timings.put("openCamera", 300.0);
+    timings.put("total", 600.0);
+    dartMessenger.sendCameraStartupCompletedEvent(timings);
+
+    List<ByteBuffer> sentMessages = fakeBinaryMessenger.getMessages();
+    assertEquals(1, sentMessages.size());
+    MethodCall call = decodeSentMessage(sentMessages.get(0));
+    assertEquals("startup_completed", call.method);
+    assertEquals(timings, call.argument("timings"));
+  }
+
+  @Test
+  public void sendMeteringConvergedEvent_includesConvergence() {
+    doAnswer(createPostHandlerAnswer()).when(mockHandler).post(any(Runnable.class));
+    dartMessenger.sendMeteringConvergedEvent(true, null);
+
+    List<ByteBuffer> sentMessages = fakeBinaryMessenger.getMessages();
+    assertEquals(1, sentMessages.size());
+    MethodCall call = decodeSentMessage(sentMessages.get(0));
+    assertEquals("metering_converged", call.method);
+    assertEquals(true, call.argument("focusConverged"));
+    assertNull(call.argument("exposureConverged"));
+  }
+
   @Test
   public void sendDeviceOrientationChangedEvent() {
     doAnswer(createPostHandlerAnswer()).when(mockHandler).post(any(Runnable.class));
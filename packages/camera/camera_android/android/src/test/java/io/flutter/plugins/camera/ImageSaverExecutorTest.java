@@ -0,0 +1,113 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ImageSaverExecutorTest {
+  private ExecutorService mockExecutorService;
+  private List<Runnable> queuedTasks;
+
+  @Before
+  public void before() {
+    mockExecutorService = mock(ExecutorService.class);
+    queuedTasks = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              queuedTasks.add(invocation.getArgument(0));
+              return null;
+            })
+        .when(mockExecutorService)
+        .execute(any(Runnable.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ctor_shouldRejectEmptyQueue() {
+    new ImageSaverExecutor(0, mockExecutorService);
+  }
+
+  @Test
+  public void execute_shouldRejectPicturesBeyondQueueDepth() {
+    ImageSaverExecutor executor = new ImageSaverExecutor(2, mockExecutorService);
+
+    assertTrue(executor.execute(mock(ImageSaver.class)));
+    assertTrue(executor.execute(mock(ImageSaver.class)));
+    assertFalse(executor.execute(mock(ImageSaver.class)));
+
+    assertEquals(2, queuedTasks.size());
+    assertEquals(2, executor.getPendingWriteCount());
+    assertEquals(2, executor.getMaxPendingWriteCount());
+    assertEquals(1, executor.getRejectedWriteCount());
+  }
+
+  @Test
+  public void execute_shouldAdmitUpToGivenPendingWrites() {
+    ImageSaverExecutor executor = new ImageSaverExecutor(1, mockExecutorService);
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(executor.execute(mock(ImageSaver.class), 3));
+    }
+    assertFalse(executor.execute(mock(ImageSaver.class), 3));
+    assertFalse(executor.execute(mock(ImageSaver.class)));
+
+    assertEquals(3, queuedTasks.size());
+    assertEquals(2, executor.getRejectedWriteCount());
+  }
+
+  @Test
+  public void execute_shouldRunSaverAndReleaseQueueSlot() {
+    ImageSaverExecutor executor = new ImageSaverExecutor(1, mockExecutorService);
+    ImageSaver mockImageSaver = mock(ImageSaver.class);
+
+    assertTrue(executor.execute(mockImageSaver));
+    queuedTasks.get(0).run();
+
+    verify(mockImageSaver, times(1)).run();
+    assertEquals(0, executor.getPendingWriteCount());
+    assertEquals(1, executor.getMaxPendingWriteCount());
+    assertEquals(1, executor.getCompletedWriteCount());
+    assertTrue(executor.execute(mock(ImageSaver.class)));
+  }
+
+  @Test
+  public void execute_shouldReturnFalseAfterShutdown() {
+    doThrow(new RejectedExecutionException())
+        .when(mockExecutorService)
+        .execute(any(Runnable.class));
+    ImageSaverExecutor executor = new ImageSaverExecutor(1, mockExecutorService);
+    ImageSaver mockImageSaver = mock(ImageSaver.class);
+
+    assertFalse(executor.execute(mockImageSaver));
+
+    verify(mockImageSaver, never()).run();
+    assertEquals(0, executor.getPendingWriteCount());
+    assertEquals(1, executor.getRejectedWriteCount());
+  }
+
+  @Test
+  public void shutdown_shouldShutDownExecutorService() {
+    ImageSaverExecutor executor = new ImageSaverExecutor(1, mockExecutorService);
+
+    executor.shutdown();
+
+    verify(mockExecutorService, times(1)).shutdown();
+  }
+}
@@ -0,0 +1,201 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.hardware.camera2.CaptureRequest;
+import android.hardware.camera2.CaptureResult;
+import android.hardware.camera2.params.MeteringRectangle;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class MeteringConvergenceTest {
+  private final MeteringRectangle[] focusRegions = new MeteringRectangle[1];
+  private final MeteringRectangle[] previousFocusRegions = new MeteringRectangle[1];
+  private List<Boolean[]> reports;
+  private MeteringConvergence convergence;
+
+  @Before
+  public void before() {
+    reports = new ArrayList<>();
+    convergence =
+        new MeteringConvergence(
+            true,
+            focusRegions,
+            true,
+            null,
+            (focusConverged, exposureConverged) ->
+                reports.add(new Boolean[] {focusConverged, exposureConverged}));
+  }
+
+  @Test
+  public void onCaptureCompleted_shouldIgnoreResultsOfPreviousRegions() {
+    CaptureResult result =
+        mockResult(
+            CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED,
+            CaptureResult.CONTROL_AE_STATE_CONVERGED);
+
+    assertFalse(convergence.onCaptureCompleted(mockRequest(previousFocusRegions), result));
+    assertEquals(0, reports.size());
+  }
+
+  @Test
+  public void onCaptureCompleted_shouldWaitUntilFocusAndExposureSettle() {
+    CaptureRequest request = mockRequest(focusRegions);
+
+    assertFalse(
+        convergence.onCaptureCompleted(
+            request,
+            mockResult(
+                CaptureResult.CONTROL_AF_STATE_ACTIVE_SCAN,
+                CaptureResult.CONTROL_AE_STATE_SEARCHING)));
+    assertFalse(
+        convergence.onCaptureCompleted(
+            request,
+            mockResult(
+                CaptureResult.CONTROL_AF_STATE_FOCUSED_LOCKED,
+                CaptureResult.CONTROL_AE_STATE_SEARCHING)));
+    assertTrue(
+        convergence.onCaptureCompleted(
+            request,
+            mockResult(
+                CaptureResult.CONTROL_AF_STATE_FOCUSED_LOCKED,
+                CaptureResult.CONTROL_AE_STATE_CONVERGED)));
+
+    assertEquals(1, reports.size());
+    assertTrue(reports.get(0)[0]);
+    assertTrue(reports.get(0)[1]);
+  }
+
+  @Test
+  public void onCaptureCompleted_shouldIgnoreStatesSettledBeforeRescan() {
+    CaptureRequest request = mockRequest(focusRegions);
+    CaptureResult staleResult =
+        mockResult(
+            CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED,
+            CaptureResult.CONTROL_AE_STATE_CONVERGED);
+
+    assertFalse(convergence.onCaptureCompleted(request, staleResult));
+    assertFalse(convergence.onCaptureCompleted(request, staleResult));
+    assertFalse(
+        convergence.onCaptureCompleted(
+            request,
+            mockResult(
+                CaptureResult.CONTROL_AF_STATE_PASSIVE_SCAN,
+                CaptureResult.CONTROL_AE_STATE_SEARCHING)));
+    assertEquals(0, reports.size());
+
+    assertTrue(convergence.onCaptureCompleted(request, staleResult));
+    assertEquals(1, reports.size());
+  }
+
+  @Test
+  public void onCaptureCompleted_shouldTrustSettledStatesAfterMinimumFrames() {
+    CaptureRequest request = mockRequest(focusRegions);
+    CaptureResult result =
+        mockResult(
+            CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED,
+            CaptureResult.CONTROL_AE_STATE_CONVERGED);
+
+    for (int i = 1; i < MeteringConvergence.MIN_SETTLE_FRAMES; i++) {
+      assertFalse(convergence.onCaptureCompleted(request, result));
+    }
+    assertTrue(convergence.onCaptureCompleted(request, result));
+
+    assertTrue(reports.get(0)[0]);
+    assertTrue(reports.get(0)[1]);
+  }
+
+  @Test
+  public void onCaptureCompleted_shouldReportFocusThatSettledUnfocused() {
+    CaptureRequest request = mockRequest(focusRegions);
+
+    assertFalse(
+        convergence.onCaptureCompleted(
+            request,
+            mockResult(
+                CaptureResult.CONTROL_AF_STATE_ACTIVE_SCAN,
+                CaptureResult.CONTROL_AE_STATE_SEARCHING)));
+    assertTrue(
+        convergence.onCaptureCompleted(
+            request,
+            mockResult(
+                CaptureResult.CONTROL_AF_STATE_NOT_FOCUSED_LOCKED,
+                CaptureResult.CONTROL_AE_STATE_CONVERGED)));
+
+    assertFalse(reports.get(0)[0]);
+    assertTrue(reports.get(0)[1]);
+  }
+
+  @Test
+  public void onCaptureCompleted_shouldReportUnwatchedStatesAsNull() {
+    MeteringConvergence focusOnly =
+        new MeteringConvergence(
+            true,
+            focusRegions,
+            false,
+            null,
+            (focusConverged, exposureConverged) ->
+                reports.add(new Boolean[] {focusConverged, exposureConverged}));
+
+    assertFalse(
+        focusOnly.onCaptureCompleted(
+            mockRequest(focusRegions),
+            mockResult(
+                CaptureResult.CONTROL_AF_STATE_PASSIVE_SCAN,
+                CaptureResult.CONTROL_AE_STATE_SEARCHING)));
+    assertTrue(
+        focusOnly.onCaptureCompleted(
+            mockRequest(focusRegions),
+            mockResult(
+                CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED,
+                CaptureResult.CONTROL_AE_STATE_SEARCHING)));
+
+    assertTrue(reports.get(0)[0]);
+    assertNull(reports.get(0)[1]);
+  }
+
+  @Test
+  public void onCaptureCompleted_shouldTimeOutWithStatesReachedSoFar() {
+    CaptureRequest request = mockRequest(focusRegions);
+    CaptureResult result =
+        mockResult(
+            CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED,
+            CaptureResult.CONTROL_AE_STATE_SEARCHING);
+
+    for (int i = 1; i < MeteringConvergence.TIMEOUT_FRAMES; i++) {
+      assertFalse(convergence.onCaptureCompleted(request, result));
+    }
+    assertTrue(convergence.onCaptureCompleted(request, result));
+
+    assertEquals(1, reports.size());
+    assertTrue(reports.get(0)[0]);
+    assertFalse(reports.get(0)[1]);
+  }
+
+  private static CaptureRequest mockRequest(MeteringRectangle[] focusRegions) {
+    CaptureRequest request = mock(CaptureRequest.class);
+    when(request.get(CaptureRequest.CONTROL_AF_REGIONS)).thenReturn(focusRegions);
+    return request;
+  }
+
+  private static CaptureResult mockResult(int afState, int aeState) {
+    CaptureResult result = mock(CaptureResult.class);
+    when(result.get(CaptureResult.CONTROL_AF_STATE)).thenReturn(afState);
+    when(result.get(CaptureResult.CONTROL_AE_STATE)).thenReturn(aeState);
+    return result;
+  }
+}
@@ -4,22 +4,43 @@
 
 package io.flutter.plugins.camera;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.app.Activity;
 import android.hardware.camera2.CameraAccessException;
 import androidx.lifecycle.LifecycleObserver;
 import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugins.camera.features.CameraSettings;
+import io.flutter.plugins.camera.features.autofocus.FocusMode;
+import io.flutter.plugins.camera.features.flash.FlashMode;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
+import io.flutter.plugins.camera.media.ImageStreamFramePool;
+import io.flutter.plugins.camera.media.ImageStreamPreprocessor;
+import io.flutter.plugins.camera.media.MediaCodecRecordingOptions;
 import io.flutter.plugins.camera.utils.TestUtils;
 import io.flutter.view.TextureRegistry;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 public class MethodCallHandlerImplTest {
 
@@ -38,7 +59,7 @@ public class MethodCallHandlerImplTest {
             mock(TextureRegistry.class));
     mockResult = mock(MethodChannel.Result.class);
     mockCamera = mock(Camera.class);
-    TestUtils.setPrivateField(handler, "camera", mockCamera);
+    TestUtils.setPrivateField(handler, "defaultCamera", mockCamera);
   }
 
   @Test
@@ -74,4 +95,291 @@ public class MethodCallHandlerImplTest {
     verify(mockCamera, times(1)).resumePreview();
     verify(mockResult, times(1)).success(null);
   }
+
+  @Test
+  public void onMethodCall_takePictureBurst_shouldForwardCountToCamera() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("count", 5);
+
+    handler.onMethodCall(new MethodCall("takePictureBurst", arguments), mockResult);
+
+    verify(mockCamera, times(1)).takePictureBurst(mockResult, 5);
+  }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldUseEventChannelByDefault()
+      throws CameraAccessException {
+    handler.onMethodCall(new MethodCall("startImageStream", null), mockResult);
+
+    verify(mockCamera, times(1)).setImageStreamFramePool(isNull());
+    verify(mockCamera, times(1)).setImageStreamPreprocessor(isNull());
+    verify(mockCamera, times(1)).startPreviewWithImageStream(any());
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldInstallFramePoolWhenRequested()
+      throws CameraAccessException {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("framePool", true);
+    arguments.put("framePoolSize", 2);
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+
+    verify(mockCamera, times(1)).setImageStreamFramePool(any(ImageStreamFramePool.class));
+    verify(mockCamera, times(1)).startPreviewWithImageStream(any());
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_stopImageStream_shouldReleaseFramePool() throws CameraAccessException {
+    handler.onMethodCall(new MethodCall("stopImageStream", null), mockResult);
+
+    verify(mockCamera, times(1)).setImageStreamFramePool(isNull());
+    verify(mockCamera, times(1)).startPreview();
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldApplyDeliveryPolicy()
+      throws CameraAccessException {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("deliveryMode", "latestOnly");
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+
+    verify(mockCamera, times(1))
+        .setImageStreamDeliveryPolicy(any(ImageStreamDeliveryPolicy.class));
+    verify(mockCamera, times(1)).startPreviewWithImageStream(any());
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldInstallPreprocessorForRegionOfInterest()
+      throws CameraAccessException {
+    Map<String, Object> region = new HashMap<>();
+    region.put("left", 0.25);
+    region.put("top", 0.25);
+    region.put("width", 0.5);
+    region.put("height", 0.5);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("regionOfInterest", region);
+    arguments.put("subsampleFactor", 2);
+    arguments.put("lumaOnly", true);
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+
+    verify(mockCamera, times(1)).setImageStreamPreprocessor(any(ImageStreamPreprocessor.class));
+    verify(mockCamera, times(1)).startPreviewWithImageStream(any());
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldRejectRegionOutsideFrame()
+      throws CameraAccessException {
+    Map<String, Object> region = new HashMap<>();
+    region.put("left", 0.75);
+    region.put("top", 0.0);
+    region.put("width", 0.5);
+    region.put("height", 1.0);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("regionOfInterest", region);
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+
+    verify(mockCamera, never()).startPreviewWithImageStream(any());
+    verify(mockResult, times(1))
+        .error("imageStreamFailed", "The region of interest must lie within the frame.", null);
+  }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldRejectUnknownDeliveryMode()
+      throws CameraAccessException {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("deliveryMode", "sometimes");
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+
+    verify(mockCamera, never()).startPreviewWithImageStream(any());
+    verify(mockResult, times(1))
+        .error("imageStreamFailed", "Unknown image stream delivery mode sometimes", null);
+  }
+
+  @Test
+  public void onMethodCall_acknowledgeImageStreamFrame_shouldForwardToCamera() {
+    handler.onMethodCall(new MethodCall("acknowledgeImageStreamFrame", null), mockResult);
+
+    verify(mockCamera, times(1)).acknowledgeImageStreamFrame();
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_getImageSaverStatistics_shouldReturnQueueMetrics() {
+    when(mockCamera.getImageSaverExecutor()).thenReturn(new ImageSaverExecutor(3));
+
+    handler.onMethodCall(new MethodCall("getImageSaverStatistics", null), mockResult);
+
+    Map<String, Object> statistics = new HashMap<>();
+    statistics.put("queueDepth", 3);
+    statistics.put("pendingWrites", 0);
+    statistics.put("maxPendingWrites", 0);
+    statistics.put("completedWrites", 0L);
+    statistics.put("rejectedWrites", 0L);
+    verify(mockResult, times(1)).success(statistics);
+  }
+
+  @Test
+  public void onMethodCall_startCaptureTelemetry_shouldUseReportInterval() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("reportIntervalMs", 500);
+
+    handler.onMethodCall(new MethodCall("startCaptureTelemetry", arguments), mockResult);
+
+    verify(mockCamera, times(1)).startCaptureTelemetry(any(EventChannel.class), eq(500_000_000L));
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_startCaptureTelemetry_shouldReportInvalidInterval() {
+    doThrow(new IllegalArgumentException("The report interval must be positive."))
+        .when(mockCamera)
+        .startCaptureTelemetry(any(EventChannel.class), anyLong());
+
+    handler.onMethodCall(new MethodCall("startCaptureTelemetry", null), mockResult);
+
+    verify(mockResult, times(1))
+        .error("captureTelemetryFailed", "The report interval must be positive.", null);
+  }
+
+  @Test
+  public void onMethodCall_stopCaptureTelemetry_shouldStopTelemetry() {
+    handler.onMethodCall(new MethodCall("stopCaptureTelemetry", null), mockResult);
+
+    verify(mockCamera, times(1)).stopCaptureTelemetry(any(EventChannel.class));
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_startVideoRecording_shouldUseMediaRecorderByDefault() {
+    handler.onMethodCall(new MethodCall("startVideoRecording", null), mockResult);
+
+    verify(mockCamera, times(1)).startVideoRecording(eq(mockResult), isNull(), isNull());
+  }
+
+  @Test
+  public void onMethodCall_startVideoRecording_shouldPassMediaCodecOptions() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("recordingEngine", "mediaCodec");
+    arguments.put("videoBitrate", 4_000_000);
+    arguments.put("bitrateMode", "cbr");
+    arguments.put("keyFrameInterval", 0.5);
+
+    handler.onMethodCall(new MethodCall("startVideoRecording", arguments), mockResult);
+
+    verify(mockCamera, times(1))
+        .startVideoRecording(eq(mockResult), isNull(), any(MediaCodecRecordingOptions.class));
+  }
+
+  @Test
+  public void onMethodCall_startVideoRecording_shouldRejectUnknownBitrateMode() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("recordingEngine", "mediaCodec");
+    arguments.put("bitrateMode", "lossless");
+
+    handler.onMethodCall(new MethodCall("startVideoRecording", arguments), mockResult);
+
+    verify(mockResult, times(1))
+        .error("videoRecordingFailed", "Unknown bitrate mode lossless", null);
+    verify(mockCamera, never()).startVideoRecording(any(), any(), any());
+  }
+
+  @Test
+  public void onMethodCall_applySettings_shouldForwardAllSettingsAtOnce() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("flashMode", "torch");
+    arguments.put("focusMode", "locked");
+    Map<String, Object> exposurePoint = new HashMap<>();
+    exposurePoint.put("x", 0.25);
+    exposurePoint.put("y", 0.75);
+    arguments.put("exposurePoint", exposurePoint);
+    arguments.put("focusPoint", "reset");
+    arguments.put("zoom", 2.0);
+    ArgumentCaptor<CameraSettings> settingsCaptor = ArgumentCaptor.forClass(CameraSettings.class);
+
+    handler.onMethodCall(new MethodCall("applySettings", arguments), mockResult);
+
+    verify(mockCamera, times(1)).applySettings(eq(mockResult), settingsCaptor.capture());
+    CameraSettings settings = settingsCaptor.getValue();
+    assertEquals(FlashMode.torch, settings.getFlashMode());
+    assertEquals(FocusMode.locked, settings.getFocusMode());
+    assertNull(settings.getExposureMode());
+    assertEquals(0.25, settings.getExposurePoint().x, 0);
+    assertEquals(0.75, settings.getExposurePoint().y, 0);
+    assertNull(settings.getFocusPoint().x);
+    assertNull(settings.getExposureOffset());
+    assertEquals(2f, settings.getZoomLevel(), 0);
+  }
+
+  @Test
+  public void onMethodCall_applySettings_shouldRejectUnknownMode() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("flashMode", "torch");
+    arguments.put("exposureMode", "manual");
+
+    handler.onMethodCall(new MethodCall("applySettings", arguments), mockResult);
+
+    verify(mockResult, times(1))
+        .error("applySettingsFailed", "Unknown exposure mode manual", null);
+    verify(mockCamera, never()).applySettings(any(), any());
+  }
+
+  @Test
+  public void onMethodCall_shouldRouteCallsToNamedCamera() {
+    Camera mockOtherCamera = mock(Camera.class);
+    Map<Long, Camera> cameras = new HashMap<>();
+    cameras.put(1L, mockCamera);
+    cameras.put(2L, mockOtherCamera);
+    TestUtils.setPrivateField(handler, "cameras", cameras);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("cameraId", 2);
+
+    handler.onMethodCall(new MethodCall("resumePreview", arguments), mockResult);
+
+    verify(mockOtherCamera, times(1)).resumePreview();
+    verify(mockCamera, never()).resumePreview();
+  }
+
+  @Test
+  public void onMethodCall_dispose_shouldOnlyDisposeNamedCamera() {
+    Camera mockOtherCamera = mock(Camera.class);
+    Map<Long, Camera> cameras = new HashMap<>();
+    cameras.put(1L, mockCamera);
+    cameras.put(2L, mockOtherCamera);
+    TestUtils.setPrivateField(handler, "cameras", cameras);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("cameraId", 1);
+
+    handler.onMethodCall(new MethodCall("dispose", arguments), mockResult);
+
+    verify(mockCamera, times(1)).dispose();
+    verify(mockOtherCamera, never()).dispose();
+    assertFalse(cameras.containsKey(1L));
+    assertTrue(cameras.containsKey(2L));
+  }
+
+  @Test
+  public void onMethodCall_dispose_shouldRouteUnnamedCallsToRemainingCamera() {
+    Camera mockOtherCamera = mock(Camera.class);
+    Map<Long, Camera> cameras = new LinkedHashMap<>();
+    cameras.put(1L, mockOtherCamera);
+    cameras.put(2L, mockCamera);
+    TestUtils.setPrivateField(handler, "cameras", cameras);
+
+    handler.onMethodCall(new MethodCall("dispose", null), mockResult);
+    handler.onMethodCall(new MethodCall("resumePreview", null), mockResult);
+
+    verify(mockCamera, times(1)).dispose();
+    verify(mockCamera, never()).resumePreview();
+    verify(mockOtherCamera, times(1)).resumePreview();
+  }
 }
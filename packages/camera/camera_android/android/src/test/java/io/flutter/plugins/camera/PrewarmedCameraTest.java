@@ -0,0 +1,191 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraDevice;
+import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.CameraMetadata;
+import android.os.Handler;
+import android.os.HandlerThread;
+import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+
+public class PrewarmedCameraTest {
+  private MockedStatic<Camera.HandlerFactory> mockHandlerFactory;
+  private Handler mockHandler;
+  private HandlerThread mockThread;
+  private CameraThreadPool mockCameraThreadPool;
+  private CameraManager mockCameraManager;
+  private CameraDevice mockDevice;
+
+  @Before
+  public void before() throws CameraAccessException {
+    mockHandler = mock(Handler.class);
+    mockHandlerFactory = mockStatic(Camera.HandlerFactory.class);
+    mockHandlerFactory.when(() -> Camera.HandlerFactory.create(any())).thenReturn(mockHandler);
+    mockThread = mock(HandlerThread.class);
+    mockCameraThreadPool = mock(CameraThreadPool.class);
+    when(mockCameraThreadPool.acquire()).thenReturn(mockThread);
+    mockCameraManager = mock(CameraManager.class);
+    mockDevice = mock(CameraDevice.class);
+
+    CameraCharacteristicsCache.clear();
+    when(mockCameraManager.getCameraIdList()).thenReturn(new String[] {"front", "back"});
+    mockLensFacing("front", CameraMetadata.LENS_FACING_FRONT);
+    mockLensFacing("back", CameraMetadata.LENS_FACING_BACK);
+  }
+
+  @After
+  public void after() {
+    mockHandlerFactory.close();
+    CameraCharacteristicsCache.clear();
+  }
+
+  @Test
+  public void start_shouldPrewarmOnAcquiredThread() {
+    PrewarmedCamera prewarmedCamera =
+        PrewarmedCamera.start(
+            mockCameraManager,
+            mockCameraThreadPool,
+            CameraMetadata.LENS_FACING_BACK,
+            ResolutionPreset.high,
+            true);
+
+    assertEquals(mockThread, prewarmedCamera.getThread());
+    verify(mockHandler, times(1)).post(any(Runnable.class));
+    verify(mockHandler, times(1))
+        .postDelayed(any(Runnable.class), eq(PrewarmedCamera.UNCLAIMED_TIMEOUT_MS));
+  }
+
+  @Test
+  public void prewarm_shouldOpenCameraFacingLens() throws CameraAccessException {
+    PrewarmedCamera prewarmedCamera = createPrewarmedCamera(true);
+
+    prewarmedCamera.prewarm();
+
+    verify(mockCameraManager, times(1)).openCamera("back", prewarmedCamera, mockHandler);
+    assertTrue(prewarmedCamera.claim("back"));
+    assertNotNull(prewarmedCamera.getCameraProperties());
+    assertNotNull(prewarmedCamera.getResolutionFeature(ResolutionPreset.high));
+    assertNull(prewarmedCamera.getResolutionFeature(ResolutionPreset.low));
+  }
+
+  @Test
+  public void prewarm_shouldNotOpenDeviceUnlessRequested() throws CameraAccessException {
+    PrewarmedCamera prewarmedCamera = createPrewarmedCamera(false);
+
+    prewarmedCamera.prewarm();
+
+    verify(mockCameraManager, never()).openCamera(anyString(), any(), any());
+    assertTrue(prewarmedCamera.claim("back"));
+    assertFalse(prewarmedCamera.handOff(mock(CameraDevice.StateCallback.class)));
+  }
+
+  @Test
+  public void handOff_shouldForwardOpenedDevice() {
+    PrewarmedCamera prewarmedCamera = createPrewarmedCamera(true);
+    CameraDevice.StateCallback mockCallback = mock(CameraDevice.StateCallback.class);
+    prewarmedCamera.prewarm();
+    prewarmedCamera.onOpened(mockDevice);
+
+    assertTrue(prewarmedCamera.claim("back"));
+    assertTrue(prewarmedCamera.handOff(mockCallback));
+
+    ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockHandler, times(1)).post(runnableCaptor.capture());
+    runnableCaptor.getValue().run();
+    verify(mockCallback, times(1)).onOpened(mockDevice);
+  }
+
+  @Test
+  public void handOff_shouldForwardEventsOfOpeningDevice() {
+    PrewarmedCamera prewarmedCamera = createPrewarmedCamera(true);
+    CameraDevice.StateCallback mockCallback = mock(CameraDevice.StateCallback.class);
+    prewarmedCamera.prewarm();
+
+    assertTrue(prewarmedCamera.claim("back"));
+    assertTrue(prewarmedCamera.handOff(mockCallback));
+    prewarmedCamera.onOpened(mockDevice);
+    prewarmedCamera.onError(mockDevice, CameraDevice.StateCallback.ERROR_CAMERA_DEVICE);
+
+    verify(mockCallback, times(1)).onOpened(mockDevice);
+    verify(mockCallback, times(1))
+        .onError(mockDevice, CameraDevice.StateCallback.ERROR_CAMERA_DEVICE);
+    verify(mockDevice, never()).close();
+  }
+
+  @Test
+  public void claim_shouldReleaseWhenCameraDiffers() {
+    PrewarmedCamera prewarmedCamera = createPrewarmedCamera(true);
+    prewarmedCamera.prewarm();
+    prewarmedCamera.onOpened(mockDevice);
+
+    assertFalse(prewarmedCamera.claim("front"));
+
+    verify(mockDevice, times(1)).close();
+    verify(mockCameraThreadPool, times(1)).release(mockThread);
+  }
+
+  @Test
+  public void release_shouldNotReleaseThreadOfClaimedCamera() {
+    PrewarmedCamera prewarmedCamera = createPrewarmedCamera(true);
+    prewarmedCamera.prewarm();
+    prewarmedCamera.onOpened(mockDevice);
+    assertTrue(prewarmedCamera.claim("back"));
+
+    prewarmedCamera.release();
+
+    verify(mockDevice, times(1)).close();
+    verify(mockCameraThreadPool, never()).release(any());
+  }
+
+  @Test
+  public void onOpened_shouldCloseDeviceOfReleasedCamera() {
+    PrewarmedCamera prewarmedCamera = createPrewarmedCamera(true);
+    prewarmedCamera.prewarm();
+
+    prewarmedCamera.release();
+    prewarmedCamera.onOpened(mockDevice);
+
+    verify(mockDevice, times(1)).close();
+    verify(mockCameraThreadPool, times(1)).release(mockThread);
+  }
+
+  private PrewarmedCamera createPrewarmedCamera(boolean openDevice) {
+    return new PrewarmedCamera(
+        mockCameraManager,
+        mockCameraThreadPool,
+        CameraMetadata.LENS_FACING_BACK,
+        ResolutionPreset.high,
+        openDevice);
+  }
+
+  private void mockLensFacing(String cameraName, int lensFacing) throws CameraAccessException {
+    CameraCharacteristics mockCharacteristics = mock(CameraCharacteristics.class);
+    when(mockCharacteristics.get(CameraCharacteristics.LENS_FACING)).thenReturn(lensFacing);
+    when(mockCameraManager.getCameraCharacteristics(cameraName)).thenReturn(mockCharacteristics);
+  }
+}
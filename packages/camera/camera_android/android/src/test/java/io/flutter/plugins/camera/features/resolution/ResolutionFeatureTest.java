@@ -5,9 +5,11 @@
 package io.flutter.plugins.camera.features.resolution;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 import android.media.CamcorderProfile;
@@ -32,6 +34,7 @@ public class ResolutionFeatureTest {
   @Before
   @SuppressWarnings("deprecation")
   public void beforeLegacy() {
+    ResolutionFeature.clearCache();
     mockedStaticProfile = mockStatic(CamcorderProfile.class);
     mockProfileLowLegacy = mock(CamcorderProfile.class);
     CamcorderProfile mockProfileLegacy = mock(CamcorderProfile.class);
@@ -221,6 +224,67 @@ public class ResolutionFeatureTest {
             1, ResolutionPreset.max));
   }
 
+  @Config(maxSdk = 30)
+  @SuppressWarnings("deprecation")
+  @Test
+  public void computeBestPreviewSize_shouldMemoizePreviewSizePerCameraAndPresetLegacy() {
+    ResolutionFeature.computeBestPreviewSize(1, ResolutionPreset.medium);
+    ResolutionFeature.computeBestPreviewSize(1, ResolutionPreset.medium);
+
+    mockedStaticProfile.verify(
+        () -> CamcorderProfile.hasProfile(1, CamcorderProfile.QUALITY_480P), times(1));
+    mockedStaticProfile.verify(() -> CamcorderProfile.get(1, CamcorderProfile.QUALITY_480P));
+  }
+
+  @Config(minSdk = 31)
+  @Test
+  public void getBestAvailableCamcorderProfileForResolutionPreset_shouldNotCacheMissingProfile() {
+    mockedStaticProfile
+        .when(() -> CamcorderProfile.getAll("1", CamcorderProfile.QUALITY_HIGH))
+        .thenReturn(null);
+
+    assertNull(
+        ResolutionFeature.getBestAvailableCamcorderProfileForResolutionPreset(
+            1, ResolutionPreset.max));
+    assertNull(
+        ResolutionFeature.getBestAvailableCamcorderProfileForResolutionPreset(
+            1, ResolutionPreset.max));
+
+    mockedStaticProfile.verify(
+        () -> CamcorderProfile.getAll("1", CamcorderProfile.QUALITY_HIGH), times(2));
+  }
+
+  @Config(maxSdk = 30)
+  @SuppressWarnings("deprecation")
+  @Test
+  public void getBestAvailableCamcorderProfileLegacy_shouldNotCacheMissingProfile() {
+    mockedStaticProfile
+        .when(() -> CamcorderProfile.get(1, CamcorderProfile.QUALITY_HIGH))
+        .thenReturn(null);
+
+    assertNull(
+        ResolutionFeature.getBestAvailableCamcorderProfileForResolutionPresetLegacy(
+            1, ResolutionPreset.max));
+    assertNull(
+        ResolutionFeature.getBestAvailableCamcorderProfileForResolutionPresetLegacy(
+            1, ResolutionPreset.max));
+
+    mockedStaticProfile.verify(
+        () -> CamcorderProfile.get(1, CamcorderProfile.QUALITY_HIGH), times(2));
+  }
+
+  @Config(maxSdk = 30)
+  @SuppressWarnings("deprecation")
+  @Test
+  public void invalidateCache_shouldProbeProfilesAgain() {
+    ResolutionFeature.computeBestPreviewSize(1, ResolutionPreset.low);
+    ResolutionFeature.invalidateCache(cameraName);
+    ResolutionFeature.computeBestPreviewSize(1, ResolutionPreset.low);
+
+    mockedStaticProfile.verify(
+        () -> CamcorderProfile.get(1, CamcorderProfile.QUALITY_QVGA), times(2));
+  }
+
   @Config(maxSdk = 30)
   @SuppressWarnings("deprecation")
   @Test
@@ -7,6 +7,7 @@ package io.flutter.plugins.camera.features.sensororientation;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
@@ -18,14 +19,17 @@ import android.app.Activity;
 import android.content.Context;
 import android.content.res.Configuration;
 import android.content.res.Resources;
+import android.os.Handler;
 import android.provider.Settings;
 import android.view.Display;
+import android.view.OrientationEventListener;
 import android.view.Surface;
 import android.view.WindowManager;
 import io.flutter.embedding.engine.systemchannels.PlatformChannel.DeviceOrientation;
 import io.flutter.plugins.camera.DartMessenger;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 
 public class DeviceOrientationManagerTest {
@@ -169,6 +173,63 @@ public class DeviceOrientationManagerTest {
         .sendDeviceOrientationChangeEvent(DeviceOrientation.LANDSCAPE_LEFT);
   }
 
+  @Test
+  public void getPhotoOrientation_shouldReadSnapshotWithoutQueryingUI() {
+    setUpUIOrientationMocks(Configuration.ORIENTATION_LANDSCAPE, Surface.ROTATION_0);
+    deviceOrientationManager.handleUIOrientationChange();
+    clearInvocations(mockDisplay, mockActivity);
+
+    assertEquals(270, deviceOrientationManager.getPhotoOrientation());
+    assertEquals(270, deviceOrientationManager.getVideoOrientation());
+    assertEquals(DeviceOrientation.LANDSCAPE_LEFT, deviceOrientationManager.getLastUIOrientation());
+    verify(mockDisplay, never()).getRotation();
+    verify(mockActivity, never()).getResources();
+  }
+
+  @Test
+  public void handleSensorOrientationChange_shouldCheckUIOrientationOnceSettled() {
+    Handler mockHandler = mock(Handler.class);
+    DeviceOrientationManager orientationManager =
+        DeviceOrientationManager.create(mockActivity, mockDartMessenger, false, 0, mockHandler);
+    setUpUIOrientationMocks(Configuration.ORIENTATION_PORTRAIT, Surface.ROTATION_0);
+    orientationManager.handleUIOrientationChange();
+
+    orientationManager.handleSensorOrientationChange(10);
+    orientationManager.handleSensorOrientationChange(170);
+    orientationManager.handleSensorOrientationChange(190);
+
+    ArgumentCaptor<Runnable> checkCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockHandler, times(1))
+        .postDelayed(checkCaptor.capture(), eq(DeviceOrientationManager.SENSOR_SETTLE_MILLIS));
+
+    // Rotating by 180 degrees does not change the configuration, only the display rotation.
+    setUpUIOrientationMocks(Configuration.ORIENTATION_PORTRAIT, Surface.ROTATION_180);
+    checkCaptor.getValue().run();
+
+    verify(mockDartMessenger, times(1))
+        .sendDeviceOrientationChangeEvent(DeviceOrientation.PORTRAIT_DOWN);
+    assertEquals(180, orientationManager.getPhotoOrientation());
+  }
+
+  @Test
+  public void handleSensorOrientationChange_shouldDebounceJitterAroundQuadrantBoundary() {
+    Handler mockHandler = mock(Handler.class);
+    DeviceOrientationManager orientationManager =
+        DeviceOrientationManager.create(mockActivity, mockDartMessenger, false, 0, mockHandler);
+
+    orientationManager.handleSensorOrientationChange(40);
+    orientationManager.handleSensorOrientationChange(50);
+    orientationManager.handleSensorOrientationChange(40);
+    orientationManager.handleSensorOrientationChange(50);
+    orientationManager.handleSensorOrientationChange(OrientationEventListener.ORIENTATION_UNKNOWN);
+
+    // Every quadrant change replaces the pending check, so only the last one runs.
+    verify(mockHandler, times(3)).removeCallbacks(any(Runnable.class));
+    verify(mockHandler, times(3))
+        .postDelayed(any(Runnable.class), eq(DeviceOrientationManager.SENSOR_SETTLE_MILLIS));
+    verify(mockDartMessenger, never()).sendDeviceOrientationChangeEvent(any());
+  }
+
   @Test
   public void handleOrientationChange_shouldSendMessageWhenOrientationIsUpdated() {
     DeviceOrientation previousOrientation = DeviceOrientation.PORTRAIT_UP;
@@ -0,0 +1,108 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.media.MediaCodec;
+import android.os.Handler;
+import io.flutter.plugin.common.BinaryMessenger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class EncodedChunkSenderTest {
+  private BinaryMessenger mockMessenger;
+  private List<Runnable> postedChunks;
+  private EncodedChunkSender sender;
+
+  @Before
+  public void before() {
+    mockMessenger = mock(BinaryMessenger.class);
+    Handler mockHandler = mock(Handler.class);
+    postedChunks = new ArrayList<>();
+    when(mockHandler.post(any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              postedChunks.add(invocation.getArgument(0));
+              return true;
+            });
+    sender = new EncodedChunkSender(mockMessenger, "channel", mockHandler);
+  }
+
+  @Test
+  public void encode_shouldWriteHeaderAndLeavePositionAtEnd() {
+    ByteBuffer message =
+        EncodedChunkSender.encode(
+            ByteBuffer.wrap(new byte[] {1, 2, 3}), 42, MediaCodec.BUFFER_FLAG_KEY_FRAME, null);
+
+    assertEquals(EncodedChunkSender.HEADER_SIZE + 3, message.position());
+    assertEquals(ByteOrder.LITTLE_ENDIAN, message.order());
+    assertEquals(42, message.getLong(0));
+    assertEquals(MediaCodec.BUFFER_FLAG_KEY_FRAME, message.getInt(8));
+    assertEquals(3, message.get(EncodedChunkSender.HEADER_SIZE + 2));
+  }
+
+  @Test
+  public void encode_shouldReuseLargeEnoughBuffer() {
+    ByteBuffer reusable = ByteBuffer.allocateDirect(64);
+
+    ByteBuffer message =
+        EncodedChunkSender.encode(ByteBuffer.wrap(new byte[] {1, 2, 3}), 0, 0, reusable);
+
+    assertSame(reusable, message);
+  }
+
+  @Test
+  public void onEncodedChunk_shouldReuseBufferOnceDartReplies() {
+    sender.onEncodedChunk(ByteBuffer.wrap(new byte[8]), 0, MediaCodec.BUFFER_FLAG_KEY_FRAME);
+    BinaryMessenger.BinaryReply reply = sendPostedChunk(0);
+    reply.reply(null);
+
+    for (int i = 1; i <= EncodedChunkSender.MAX_PENDING_CHUNKS; i++) {
+      sender.onEncodedChunk(ByteBuffer.wrap(new byte[8]), i, 0);
+    }
+
+    assertEquals(EncodedChunkSender.MAX_PENDING_CHUNKS + 1, postedChunks.size());
+    assertEquals(0, sender.getDroppedChunkCount());
+  }
+
+  @Test
+  public void onEncodedChunk_shouldDropUntilNextKeyFrameWhenDartFallsBehind() {
+    for (int i = 0; i < EncodedChunkSender.MAX_PENDING_CHUNKS; i++) {
+      sender.onEncodedChunk(ByteBuffer.wrap(new byte[8]), i, 0);
+    }
+    sender.onEncodedChunk(ByteBuffer.wrap(new byte[8]), 100, 0);
+    BinaryMessenger.BinaryReply reply = sendPostedChunk(0);
+    reply.reply(null);
+
+    // The frame depends on the dropped one, so it is dropped even though a buffer is free.
+    sender.onEncodedChunk(ByteBuffer.wrap(new byte[8]), 101, 0);
+    assertEquals(EncodedChunkSender.MAX_PENDING_CHUNKS, postedChunks.size());
+
+    sender.onEncodedChunk(ByteBuffer.wrap(new byte[8]), 102, MediaCodec.BUFFER_FLAG_KEY_FRAME);
+    assertEquals(EncodedChunkSender.MAX_PENDING_CHUNKS + 1, postedChunks.size());
+    assertEquals(2, sender.getDroppedChunkCount());
+  }
+
+  private BinaryMessenger.BinaryReply sendPostedChunk(int index) {
+    postedChunks.get(index).run();
+    ArgumentCaptor<BinaryMessenger.BinaryReply> replyCaptor =
+        ArgumentCaptor.forClass(BinaryMessenger.BinaryReply.class);
+    verify(mockMessenger, times(1)).send(eq("channel"), any(), replyCaptor.capture());
+    return replyCaptor.getValue();
+  }
+}
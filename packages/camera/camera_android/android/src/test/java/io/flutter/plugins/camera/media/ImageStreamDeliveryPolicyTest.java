@@ -0,0 +1,99 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ImageStreamDeliveryPolicyTest {
+  private static final long FRAME_30_FPS_NS = 33333333L;
+
+  @Test
+  public void deliverAll_shouldDeliverEveryFrameWithoutAcknowledgement() {
+    ImageStreamDeliveryPolicy policy = ImageStreamDeliveryPolicy.deliverAll();
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(policy.tryDeliver(i * FRAME_30_FPS_NS));
+    }
+
+    assertFalse(policy.requiresAcknowledgement());
+    assertEquals(10, policy.getDeliveredFrameCount());
+    assertEquals(0, policy.getDroppedFrameCount());
+    assertEquals(0, policy.getFramesInFlight());
+  }
+
+  @Test
+  public void latestOnly_shouldDropFramesUntilAcknowledged() {
+    ImageStreamDeliveryPolicy policy =
+        new ImageStreamDeliveryPolicy(ImageStreamDeliveryMode.latestOnly, 0, 0);
+
+    assertTrue(policy.tryDeliver(0));
+    assertFalse(policy.tryDeliver(FRAME_30_FPS_NS));
+    assertFalse(policy.tryDeliver(2 * FRAME_30_FPS_NS));
+    policy.onFrameAcknowledged();
+    assertTrue(policy.tryDeliver(3 * FRAME_30_FPS_NS));
+
+    assertEquals(2, policy.getDeliveredFrameCount());
+    assertEquals(2, policy.getDroppedFrameCount());
+    assertEquals(1, policy.getFramesInFlight());
+  }
+
+  @Test
+  public void maxInFlight_shouldAllowConfiguredNumberOfFrames() {
+    ImageStreamDeliveryPolicy policy =
+        new ImageStreamDeliveryPolicy(ImageStreamDeliveryMode.maxInFlight, 2, 0);
+
+    assertTrue(policy.tryDeliver(0));
+    assertTrue(policy.tryDeliver(FRAME_30_FPS_NS));
+    assertFalse(policy.tryDeliver(2 * FRAME_30_FPS_NS));
+
+    assertEquals(2, policy.getFramesInFlight());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void maxInFlight_shouldRejectZeroFrames() {
+    new ImageStreamDeliveryPolicy(ImageStreamDeliveryMode.maxInFlight, 0, 0);
+  }
+
+  @Test
+  public void targetFps_shouldHalveA30FpsStreamTo15Fps() {
+    ImageStreamDeliveryPolicy policy =
+        new ImageStreamDeliveryPolicy(ImageStreamDeliveryMode.targetFps, 0, 15);
+
+    for (int i = 0; i < 30; i++) {
+      policy.tryDeliver(i * FRAME_30_FPS_NS);
+    }
+
+    assertEquals(15, policy.getDeliveredFrameCount());
+    assertEquals(15, policy.getDroppedFrameCount());
+  }
+
+  @Test
+  public void onFrameDropped_shouldReleaseInFlightSlot() {
+    ImageStreamDeliveryPolicy policy =
+        new ImageStreamDeliveryPolicy(ImageStreamDeliveryMode.latestOnly, 0, 0);
+
+    assertTrue(policy.tryDeliver(0));
+    policy.onFrameDropped();
+
+    assertEquals(0, policy.getFramesInFlight());
+    assertEquals(0, policy.getDeliveredFrameCount());
+    assertEquals(1, policy.getDroppedFrameCount());
+    assertTrue(policy.tryDeliver(FRAME_30_FPS_NS));
+  }
+
+  @Test
+  public void onFrameAcknowledged_shouldIgnoreStrayAcknowledgements() {
+    ImageStreamDeliveryPolicy policy =
+        new ImageStreamDeliveryPolicy(ImageStreamDeliveryMode.latestOnly, 0, 0);
+
+    policy.onFrameAcknowledged();
+
+    assertEquals(0, policy.getFramesInFlight());
+  }
+}
@@ -0,0 +1,169 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import android.os.Handler;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ImageStreamFramePoolTest {
+  private BinaryMessenger mockMessenger;
+  private Handler mockHandler;
+  private List<Runnable> postedRunnables;
+
+  @Before
+  public void before() {
+    mockMessenger = mock(BinaryMessenger.class);
+    mockHandler = mock(Handler.class);
+    postedRunnables = new ArrayList<>();
+    when(mockHandler.post(any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              postedRunnables.add(invocation.getArgument(0));
+              return true;
+            });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ctor_shouldRejectEmptyPool() {
+    new ImageStreamFramePool(mockMessenger, mockHandler, 0);
+  }
+
+  @Test
+  public void publish_shouldEncodeHeaderAndPlanes() {
+    ImageStreamFramePool pool = new ImageStreamFramePool(mockMessenger, mockHandler, 1);
+    CameraCaptureProperties captureProps = new CameraCaptureProperties();
+    captureProps.setLastLensAperture(1.8f);
+    captureProps.setLastSensorExposureTime(9991324L);
+
+    assertTrue(pool.publish(mockImage(new byte[] {1, 2, 3, 4}), null, captureProps, null));
+    postedRunnables.get(0).run();
+
+    ArgumentCaptor<ByteBuffer> bufferCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(mockMessenger)
+        .send(
+            eq(ImageStreamFramePool.CHANNEL_NAME),
+            bufferCaptor.capture(),
+            any(BinaryMessenger.BinaryReply.class));
+    ByteBuffer frame = bufferCaptor.getValue();
+    assertTrue(frame.isDirect());
+    assertEquals(
+        ImageStreamFrameEncoder.HEADER_SIZE + ImageStreamFrameEncoder.PLANE_HEADER_SIZE + 4,
+        frame.position());
+
+    frame.flip();
+    frame.order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(4, frame.getInt());
+    assertEquals(1, frame.getInt());
+    assertEquals(ImageFormat.YUV_420_888, frame.getInt());
+    assertEquals(1, frame.getInt());
+    assertEquals(
+        ImageStreamFrameEncoder.FLAG_LENS_APERTURE
+            | ImageStreamFrameEncoder.FLAG_SENSOR_EXPOSURE_TIME,
+        frame.getInt());
+    frame.getInt();
+    assertEquals(1.8, frame.getDouble(), 0.0001);
+    assertEquals(9991324L, frame.getLong());
+    assertEquals(0, frame.getDouble(), 0);
+    assertEquals(4, frame.getInt());
+    assertEquals(1, frame.getInt());
+    assertEquals(4, frame.getInt());
+    assertEquals(1, frame.get());
+    assertEquals(4, frame.get(frame.limit() - 1));
+  }
+
+  @Test
+  public void publish_shouldDropFramesWhenAllBuffersAreInFlight() {
+    ImageStreamFramePool pool = new ImageStreamFramePool(mockMessenger, mockHandler, 1);
+    CameraCaptureProperties captureProps = new CameraCaptureProperties();
+
+    assertTrue(pool.publish(mockImage(new byte[] {1}), null, captureProps, null));
+    assertFalse(pool.publish(mockImage(new byte[] {2}), null, captureProps, null));
+    assertEquals(1, postedRunnables.size());
+  }
+
+  @Test
+  public void reply_shouldRecycleBufferForNextFrame() {
+    ImageStreamFramePool pool = new ImageStreamFramePool(mockMessenger, mockHandler, 1);
+    CameraCaptureProperties captureProps = new CameraCaptureProperties();
+
+    pool.publish(mockImage(new byte[] {1}), null, captureProps, null);
+    postedRunnables.get(0).run();
+    ArgumentCaptor<ByteBuffer> bufferCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+    ArgumentCaptor<BinaryMessenger.BinaryReply> replyCaptor =
+        ArgumentCaptor.forClass(BinaryMessenger.BinaryReply.class);
+    verify(mockMessenger).send(any(), bufferCaptor.capture(), replyCaptor.capture());
+    assertEquals(0, pool.getAvailableFrameCount());
+
+    replyCaptor.getValue().reply(null);
+    assertEquals(1, pool.getAvailableFrameCount());
+
+    assertTrue(pool.publish(mockImage(new byte[] {2}), null, captureProps, null));
+    postedRunnables.get(1).run();
+    verify(mockMessenger, times(2)).send(any(), bufferCaptor.capture(), any());
+    assertSame(bufferCaptor.getAllValues().get(0), bufferCaptor.getAllValues().get(2));
+  }
+
+  @Test
+  public void close_shouldStopSendingFrames() {
+    ImageStreamFramePool pool = new ImageStreamFramePool(mockMessenger, mockHandler, 2);
+
+    pool.publish(mockImage(new byte[] {1}), null, new CameraCaptureProperties(), null);
+    pool.close();
+    postedRunnables.get(0).run();
+
+    verify(mockMessenger, never()).send(any(), any(), any());
+    assertFalse(
+        pool.publish(mockImage(new byte[] {2}), null, new CameraCaptureProperties(), null));
+  }
+
+  @Test
+  public void close_shouldStillAcknowledgeQueuedFrames() {
+    ImageStreamFramePool pool = new ImageStreamFramePool(mockMessenger, mockHandler, 2);
+    Runnable mockOnAcknowledged = mock(Runnable.class);
+
+    pool.publish(
+        mockImage(new byte[] {1}), null, new CameraCaptureProperties(), mockOnAcknowledged);
+    pool.close();
+    postedRunnables.get(0).run();
+
+    verify(mockMessenger, never()).send(any(), any(), any());
+    verify(mockOnAcknowledged).run();
+  }
+
+  private static Image mockImage(byte[] bytes) {
+    Image mockImage = mock(Image.class);
+    Image.Plane mockPlane = mock(Image.Plane.class);
+    when(mockPlane.getBuffer()).thenReturn(ByteBuffer.wrap(bytes));
+    when(mockPlane.getRowStride()).thenReturn(bytes.length);
+    when(mockPlane.getPixelStride()).thenReturn(1);
+    when(mockImage.getPlanes()).thenReturn(new Image.Plane[] {mockPlane});
+    when(mockImage.getWidth()).thenReturn(bytes.length);
+    when(mockImage.getHeight()).thenReturn(1);
+    when(mockImage.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+    return mockImage;
+  }
+}
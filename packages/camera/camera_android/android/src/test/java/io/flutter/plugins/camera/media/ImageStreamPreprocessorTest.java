@@ -0,0 +1,127 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class ImageStreamPreprocessorTest {
+  private static final int WIDTH = 8;
+  private static final int HEIGHT = 4;
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ctor_shouldRejectRegionOutsideFrame() {
+    new ImageStreamPreprocessor(0.5f, 0, 0.75f, 1, 1, false);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ctor_shouldRejectSubsampleFactorBelowOne() {
+    new ImageStreamPreprocessor(0, 0, 1, 1, 0, false);
+  }
+
+  @Test
+  public void configure_shouldPassThroughNonYuvFrames() {
+    Image image = mock(Image.class);
+    Image.Plane plane = mockPlane(new byte[] {1, 2, 3}, 3, 1);
+    when(image.getFormat()).thenReturn(ImageFormat.JPEG);
+    when(image.getWidth()).thenReturn(WIDTH);
+    when(image.getHeight()).thenReturn(HEIGHT);
+    when(image.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    ImageStreamPreprocessor preprocessor = new ImageStreamPreprocessor(0, 0, 0.5f, 0.5f, 2, true);
+
+    preprocessor.configure(image);
+
+    assertTrue(preprocessor.isPassThrough());
+    assertEquals(ImageFormat.JPEG, preprocessor.getOutputFormat(image));
+    assertEquals(WIDTH, preprocessor.getOutputWidth());
+    assertEquals(HEIGHT, preprocessor.getOutputHeight());
+    assertEquals(1, preprocessor.getOutputPlaneCount());
+    assertEquals(3, preprocessor.getOutputPlaneSize(image, 0));
+  }
+
+  @Test
+  public void copyPlane_shouldCropLumaPlane() {
+    Image image = mockYuvImage(1);
+    ImageStreamPreprocessor preprocessor =
+        new ImageStreamPreprocessor(0.25f, 0.5f, 0.5f, 0.5f, 1, true);
+
+    preprocessor.configure(image);
+    ByteBuffer output = ByteBuffer.allocate(preprocessor.getOutputPlaneSize(image, 0));
+    preprocessor.copyPlane(image, 0, output);
+
+    assertFalse(preprocessor.isPassThrough());
+    assertEquals(ImageStreamPreprocessor.FORMAT_Y8, preprocessor.getOutputFormat(image));
+    assertEquals(1, preprocessor.getOutputPlaneCount());
+    assertEquals(4, preprocessor.getOutputWidth());
+    assertEquals(2, preprocessor.getOutputHeight());
+    assertEquals(4, preprocessor.getOutputRowStride(image, 0));
+    assertArrayEquals(new byte[] {18, 19, 20, 21, 26, 27, 28, 29}, output.array());
+  }
+
+  @Test
+  public void copyPlane_shouldSubsampleInterleavedChromaPlanes() {
+    Image image = mockYuvImage(2);
+    ImageStreamPreprocessor preprocessor = new ImageStreamPreprocessor(0, 0, 1, 1, 2, false);
+
+    preprocessor.configure(image);
+    ByteBuffer luma = ByteBuffer.allocate(preprocessor.getOutputPlaneSize(image, 0));
+    ByteBuffer chroma = ByteBuffer.allocate(preprocessor.getOutputPlaneSize(image, 1));
+    preprocessor.copyPlane(image, 0, luma);
+    preprocessor.copyPlane(image, 1, chroma);
+
+    assertEquals(ImageFormat.YUV_420_888, preprocessor.getOutputFormat(image));
+    assertEquals(3, preprocessor.getOutputPlaneCount());
+    assertEquals(4, preprocessor.getOutputWidth());
+    assertEquals(2, preprocessor.getOutputHeight());
+    assertEquals(1, preprocessor.getOutputPixelStride(image, 1));
+    assertArrayEquals(new byte[] {0, 2, 4, 6, 16, 18, 20, 22}, luma.array());
+    // Every second chroma sample, at pixel stride 2.
+    assertArrayEquals(new byte[] {100, 104}, chroma.array());
+  }
+
+  /** Creates an 8x4 YUV_420_888 image whose luma values are their pixel index. */
+  private static Image mockYuvImage(int chromaPixelStride) {
+    byte[] luma = new byte[WIDTH * HEIGHT];
+    for (int i = 0; i < luma.length; i++) {
+      luma[i] = (byte) i;
+    }
+    int chromaRowStride = WIDTH / 2 * chromaPixelStride;
+    byte[] chroma = new byte[chromaRowStride * HEIGHT / 2];
+    for (int i = 0; i < chroma.length; i++) {
+      chroma[i] = (byte) (100 + i);
+    }
+
+    Image image = mock(Image.class);
+    Image.Plane[] planes =
+        new Image.Plane[] {
+          mockPlane(luma, WIDTH, 1),
+          mockPlane(chroma, chromaRowStride, chromaPixelStride),
+          mockPlane(chroma.clone(), chromaRowStride, chromaPixelStride)
+        };
+    when(image.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+    when(image.getWidth()).thenReturn(WIDTH);
+    when(image.getHeight()).thenReturn(HEIGHT);
+    when(image.getPlanes()).thenReturn(planes);
+    return image;
+  }
+
+  private static Image.Plane mockPlane(byte[] bytes, int rowStride, int pixelStride) {
+    Image.Plane plane = mock(Image.Plane.class);
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(pixelStride);
+    return plane;
+  }
+}
@@ -0,0 +1,178 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.media.CamcorderProfile;
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaFormat;
+import android.media.MediaMuxer;
+import android.media.MediaRecorder;
+import android.view.Surface;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(maxSdk = 30)
+public class MediaCodecRecorderBuilderTest {
+  private MediaCodecRecorderBuilder.MediaCodecFactory mockFactory;
+  private MediaCodec mockEncoder;
+  private MediaMuxer mockMuxer;
+  private Surface mockSurface;
+  private CamcorderProfile recorderProfile;
+
+  @Before
+  public void before() throws IOException {
+    mockFactory = mock(MediaCodecRecorderBuilder.MediaCodecFactory.class);
+    mockEncoder = mock(MediaCodec.class);
+    mockMuxer = mock(MediaMuxer.class);
+    mockSurface = mock(Surface.class);
+    recorderProfile = getCamcorderProfile();
+    when(mockFactory.makeEncoder(MediaFormat.MIMETYPE_VIDEO_AVC)).thenReturn(mockEncoder);
+    when(mockFactory.makeMuxer("mock_video_file_path")).thenReturn(mockMuxer);
+    when(mockEncoder.createInputSurface()).thenReturn(mockSurface);
+  }
+
+  @Test
+  public void build_shouldConfigureEncoderFromProfile() throws IOException {
+    MediaCodecRecorder recorder =
+        new MediaCodecRecorderBuilder(recorderProfile, "mock_video_file_path", mockFactory)
+            .setMediaOrientation(90)
+            .build();
+
+    MediaFormat format = captureFormat();
+    assertEquals(MediaFormat.MIMETYPE_VIDEO_AVC, format.getString(MediaFormat.KEY_MIME));
+    assertEquals(1920, format.getInteger(MediaFormat.KEY_WIDTH));
+    assertEquals(1080, format.getInteger(MediaFormat.KEY_HEIGHT));
+    assertEquals(30, format.getInteger(MediaFormat.KEY_FRAME_RATE));
+    assertEquals(12_000_000, format.getInteger(MediaFormat.KEY_BIT_RATE));
+    assertEquals(
+        MediaCodecInfo.CodecCapabilities.COLOR_FormatSurface,
+        format.getInteger(MediaFormat.KEY_COLOR_FORMAT));
+    assertEquals(1f, format.getFloat(MediaFormat.KEY_I_FRAME_INTERVAL), 0);
+    verify(mockMuxer).setOrientationHint(90);
+    assertSame(mockSurface, recorder.getInputSurface());
+  }
+
+  @Test
+  public void build_shouldApplyEncoderSettings() throws IOException {
+    MediaCodecInfo.EncoderCapabilities mockEncoderCapabilities =
+        mock(MediaCodecInfo.EncoderCapabilities.class);
+    mockCodecInfo(mockEncoderCapabilities);
+    when(mockEncoderCapabilities.isBitrateModeSupported(anyInt())).thenReturn(true);
+
+    new MediaCodecRecorderBuilder(recorderProfile, "mock_video_file_path", mockFactory)
+        .setVideoBitrate(4_000_000)
+        .setBitrateMode(VideoBitrateMode.cbr)
+        .setKeyFrameIntervalSeconds(0.5f)
+        .build();
+
+    MediaFormat format = captureFormat();
+    assertEquals(4_000_000, format.getInteger(MediaFormat.KEY_BIT_RATE));
+    assertEquals(
+        MediaCodecInfo.EncoderCapabilities.BITRATE_MODE_CBR,
+        format.getInteger(MediaFormat.KEY_BITRATE_MODE));
+    assertEquals(0.5f, format.getFloat(MediaFormat.KEY_I_FRAME_INTERVAL), 0);
+  }
+
+  @Test
+  public void build_shouldSkipUnsupportedBitrateMode() throws IOException {
+    MediaCodecInfo.EncoderCapabilities mockEncoderCapabilities =
+        mock(MediaCodecInfo.EncoderCapabilities.class);
+    mockCodecInfo(mockEncoderCapabilities);
+    when(mockEncoderCapabilities.isBitrateModeSupported(anyInt())).thenReturn(false);
+
+    new MediaCodecRecorderBuilder(recorderProfile, "mock_video_file_path", mockFactory)
+        .setBitrateMode(VideoBitrateMode.cq)
+        .build();
+
+    assertFalse(captureFormat().containsKey(MediaFormat.KEY_BITRATE_MODE));
+  }
+
+  @Test
+  public void build_shouldReleaseEncoderWhenConfigurationFails() throws IOException {
+    doThrow(new IllegalArgumentException("unsupported size"))
+        .when(mockEncoder)
+        .configure(any(MediaFormat.class), isNull(), isNull(), anyInt());
+
+    try {
+      new MediaCodecRecorderBuilder(recorderProfile, "mock_video_file_path", mockFactory).build();
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      assertEquals("unsupported size", e.getMessage());
+    }
+
+    verify(mockEncoder).release();
+    verify(mockFactory, never()).makeMuxer(any());
+  }
+
+  @Test
+  public void getMimeType_shouldFallBackToAvc() {
+    assertEquals(
+        MediaFormat.MIMETYPE_VIDEO_HEVC,
+        MediaCodecRecorderBuilder.getMimeType(MediaRecorder.VideoEncoder.HEVC));
+    assertEquals(
+        MediaFormat.MIMETYPE_VIDEO_AVC,
+        MediaCodecRecorderBuilder.getMimeType(MediaRecorder.VideoEncoder.VP8));
+  }
+
+  private MediaFormat captureFormat() {
+    ArgumentCaptor<MediaFormat> formatCaptor = ArgumentCaptor.forClass(MediaFormat.class);
+    verify(mockEncoder)
+        .configure(
+            formatCaptor.capture(), isNull(), isNull(), eq(MediaCodec.CONFIGURE_FLAG_ENCODE));
+    assertNotNull(formatCaptor.getValue());
+    return formatCaptor.getValue();
+  }
+
+  private void mockCodecInfo(MediaCodecInfo.EncoderCapabilities encoderCapabilities) {
+    MediaCodecInfo mockCodecInfo = mock(MediaCodecInfo.class);
+    MediaCodecInfo.CodecCapabilities mockCapabilities =
+        mock(MediaCodecInfo.CodecCapabilities.class);
+    when(mockEncoder.getCodecInfo()).thenReturn(mockCodecInfo);
+    when(mockCodecInfo.getCapabilitiesForType(MediaFormat.MIMETYPE_VIDEO_AVC))
+        .thenReturn(mockCapabilities);
+    when(mockCapabilities.getEncoderCapabilities()).thenReturn(encoderCapabilities);
+  }
+
+  @SuppressWarnings("deprecation")
+  private static CamcorderProfile getCamcorderProfile() {
+    try {
+      Constructor<CamcorderProfile> constructor =
+          CamcorderProfile.class.getDeclaredConstructor(
+              int.class, int.class, int.class, int.class, int.class, int.class, int.class,
+              int.class, int.class, int.class, int.class, int.class);
+
+      constructor.setAccessible(true);
+      // duration, quality, fileFormat, videoCodec, videoBitRate, videoFrameRate, videoWidth,
+      // videoHeight, audioCodec, audioBitRate, audioSampleRate, audioChannels.
+      return constructor.newInstance(
+          0, 0, 0, MediaRecorder.VideoEncoder.H264, 12_000_000, 30, 1920, 1080, 0, 0, 0, 0);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
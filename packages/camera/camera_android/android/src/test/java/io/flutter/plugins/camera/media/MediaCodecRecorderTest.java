@@ -0,0 +1,235 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.media.MediaCodec;
+import android.media.MediaFormat;
+import android.media.MediaMuxer;
+import android.view.Surface;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class MediaCodecRecorderTest {
+  private static final long FRAME_INTERVAL_US = 33_333;
+
+  private MediaCodec mockEncoder;
+  private MediaMuxer mockMuxer;
+  private List<Long> chunkTimestamps;
+  private List<Integer> chunkFlags;
+  private List<Long> writtenTimestamps;
+  private MediaCodecRecorder recorder;
+
+  @Before
+  public void before() {
+    mockEncoder = mock(MediaCodec.class);
+    mockMuxer = mock(MediaMuxer.class);
+    chunkTimestamps = new ArrayList<>();
+    chunkFlags = new ArrayList<>();
+    writtenTimestamps = new ArrayList<>();
+    when(mockEncoder.getOutputFormat()).thenReturn(new MediaFormat());
+    when(mockMuxer.addTrack(any())).thenReturn(0);
+    when(mockEncoder.getOutputBuffer(0)).thenAnswer(invocation -> ByteBuffer.allocate(16));
+    doAnswer(
+            invocation -> {
+              MediaCodec.BufferInfo info = invocation.getArgument(2);
+              writtenTimestamps.add(info.presentationTimeUs);
+              return null;
+            })
+        .when(mockMuxer)
+        .writeSampleData(eq(0), any(ByteBuffer.class), any(MediaCodec.BufferInfo.class));
+    recorder =
+        new MediaCodecRecorder(
+            mockEncoder,
+            mock(Surface.class),
+            mockMuxer,
+            (data, presentationTimeUs, flags) -> {
+              chunkTimestamps.add(presentationTimeUs);
+              chunkFlags.add(flags);
+            },
+            30);
+  }
+
+  @Test
+  public void drainOnce_shouldStartMuxerOnFormatChange() {
+    when(mockEncoder.dequeueOutputBuffer(any(), anyLong()))
+        .thenReturn(MediaCodec.INFO_OUTPUT_FORMAT_CHANGED);
+
+    assertFalse(recorder.drainOnce(0));
+
+    verify(mockMuxer).addTrack(any());
+    verify(mockMuxer).start();
+  }
+
+  @Test
+  public void drainOnce_shouldDeliverCodecConfigWithoutWritingIt() {
+    startMuxer();
+    queueOutput(0, MediaCodec.BUFFER_FLAG_CODEC_CONFIG);
+
+    recorder.drainOnce(0);
+
+    verify(mockMuxer, never()).writeSampleData(anyInt(), any(), any());
+    assertEquals(1, chunkFlags.size());
+    assertEquals(MediaCodec.BUFFER_FLAG_CODEC_CONFIG, (int) chunkFlags.get(0));
+    verify(mockEncoder).releaseOutputBuffer(0, false);
+  }
+
+  @Test
+  public void drainOnce_shouldWriteFramesAndReportEndOfStream() {
+    startMuxer();
+    queueOutput(1000, MediaCodec.BUFFER_FLAG_KEY_FRAME);
+    assertFalse(recorder.drainOnce(0));
+
+    queueOutput(2000, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+    assertTrue(recorder.drainOnce(0));
+
+    assertEquals(2, writtenTimestamps.size());
+    assertEquals(2, chunkTimestamps.size());
+    verify(mockEncoder, times(2)).releaseOutputBuffer(0, false);
+  }
+
+  @Test
+  public void drainOnce_shouldRemovePausedTimeFromTimestamps() {
+    startMuxer();
+    queueOutput(0, 0);
+    recorder.drainOnce(0);
+    queueOutput(FRAME_INTERVAL_US, 0);
+    recorder.drainOnce(0);
+
+    recorder.pause();
+    // A frame encoded just before the encoder input was suspended is dropped.
+    queueOutput(2 * FRAME_INTERVAL_US, 0);
+    recorder.drainOnce(0);
+    recorder.resume();
+    queueOutput(5_000_000, MediaCodec.BUFFER_FLAG_KEY_FRAME);
+    recorder.drainOnce(0);
+    queueOutput(5_000_000 + FRAME_INTERVAL_US, 0);
+    recorder.drainOnce(0);
+
+    assertEquals(4, writtenTimestamps.size());
+    assertEquals(2 * FRAME_INTERVAL_US, (long) writtenTimestamps.get(2));
+    assertEquals(3 * FRAME_INTERVAL_US, (long) writtenTimestamps.get(3));
+    assertEquals(writtenTimestamps, chunkTimestamps);
+  }
+
+  @Test
+  public void release_shouldReleaseEncoderAndMuxer() {
+    startMuxer();
+
+    recorder.release();
+
+    verify(mockEncoder).release();
+    verify(mockMuxer).stop();
+    verify(mockMuxer).release();
+  }
+
+  @Test
+  public void stop_shouldFinishFileOnEncoderThread() throws InterruptedException {
+    AtomicBoolean endOfInput = new AtomicBoolean();
+    doAnswer(
+            invocation -> {
+              endOfInput.set(true);
+              return null;
+            })
+        .when(mockEncoder)
+        .signalEndOfInputStream();
+    when(mockEncoder.dequeueOutputBuffer(any(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              if (!endOfInput.get()) {
+                Thread.sleep(1);
+                return MediaCodec.INFO_TRY_AGAIN_LATER;
+              }
+              MediaCodec.BufferInfo info = invocation.getArgument(0);
+              info.offset = 0;
+              info.size = 0;
+              info.flags = MediaCodec.BUFFER_FLAG_END_OF_STREAM;
+              return 0;
+            });
+    CountDownLatch stopped = new CountDownLatch(1);
+    AtomicBoolean completed = new AtomicBoolean();
+    recorder.start();
+
+    recorder.stop(
+        result -> {
+          completed.set(result);
+          stopped.countDown();
+        });
+
+    assertTrue(stopped.await(5, TimeUnit.SECONDS));
+    assertTrue(completed.get());
+    verify(mockEncoder).release();
+    verify(mockMuxer).release();
+  }
+
+  @Test
+  public void stop_shouldFinishRightAwayWhenNotStarted() {
+    AtomicBoolean completed = new AtomicBoolean(true);
+
+    recorder.stop(completed::set);
+
+    assertFalse(completed.get());
+    verify(mockEncoder).release();
+    verify(mockMuxer).release();
+  }
+
+  @Test
+  public void release_shouldNotWaitForDrainThread() {
+    when(mockEncoder.dequeueOutputBuffer(any(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(1);
+              return MediaCodec.INFO_TRY_AGAIN_LATER;
+            });
+    recorder.start();
+
+    recorder.release();
+
+    verify(mockEncoder, timeout(5000)).release();
+    verify(mockMuxer, timeout(5000)).release();
+  }
+
+  private void startMuxer() {
+    when(mockEncoder.dequeueOutputBuffer(any(), anyLong()))
+        .thenReturn(MediaCodec.INFO_OUTPUT_FORMAT_CHANGED);
+    recorder.drainOnce(0);
+  }
+
+  private void queueOutput(long presentationTimeUs, int flags) {
+    when(mockEncoder.dequeueOutputBuffer(any(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              MediaCodec.BufferInfo info = invocation.getArgument(0);
+              info.offset = 0;
+              info.size = 16;
+              info.presentationTimeUs = presentationTimeUs;
+              info.flags = flags;
+              return 0;
+            });
+  }
+}
@@ -3,3 +3,11 @@
 // found in the LICENSE file.
 
 export 'src/android_camera.dart';
+export 'src/burst_capture.dart';
+export 'src/camera_settings.dart';
+export 'src/camera_startup.dart';
+export 'src/capture_telemetry.dart';
+export 'src/image_saver_statistics.dart';
+export 'src/image_stream_options.dart';
+export 'src/metering.dart';
+export 'src/video_recording_options.dart';
@@ -4,6 +4,9 @@
 
 import 'dart:async';
 import 'dart:math';
+// TODO(a14n): remove this import once Flutter 3.1 or later reaches stable (including flutter/flutter#104231)
+// ignore: unnecessary_import
+import 'dart:typed_data';
 
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/foundation.dart';
@@ -11,8 +14,16 @@ import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
 import 'package:stream_transform/stream_transform.dart';
 
+import 'burst_capture.dart';
+import 'camera_settings.dart';
+import 'camera_startup.dart';
+import 'capture_telemetry.dart';
+import 'image_saver_statistics.dart';
+import 'image_stream_options.dart';
+import 'metering.dart';
 import 'type_conversion.dart';
 import 'utils.dart';
+import 'video_recording_options.dart';
 
 const MethodChannel _channel =
     MethodChannel('plugins.flutter.io/camera_android');
@@ -58,11 +69,76 @@ class AndroidCamera extends CameraPlatform {
     return StreamController<DeviceEvent>.broadcast();
   }
 
-  // The stream to receive frames from the native code.
-  StreamSubscription<dynamic>? _platformImageStreamSubscription;
+  /// The maximum number of captured pictures that can wait to be written to
+  /// disk, for cameras created after it is set.
+  ///
+  /// Pictures taken while the queue is full fail with an
+  /// `imageSaverQueueFull` error. Every pending picture holds a capture buffer,
+  /// so larger values use more memory. Null uses the platform default of 1.
+  int? imageSaverQueueDepth;
+
+  /// Whether cameras created after it is set keep their capture session
+  /// configured for image streams while previewing.
+  ///
+  /// Starting and stopping an image stream then only changes the outputs of
+  /// the preview request, instead of reconfiguring the capture session, which
+  /// avoids a preview stall of up to several hundred milliseconds. This
+  /// applies to YUV image streams, and costs the memory of the idle stream
+  /// buffers. Video recordings still reconfigure the session.
+  bool keepCaptureSessionWarm = false;
+
+  /// Whether cameras created after it is set can take bursts with
+  /// [takePictureBurst].
+  ///
+  /// A camera allowing bursts holds a capture buffer for every picture of the
+  /// largest burst, [maxBurstSize] full resolution pictures, for as long as it
+  /// is open, so only enable it for cameras that take bursts.
+  bool enableBurstCapture = false;
+
+  /// Android specific options applied to image streams started after they
+  /// are set.
+  AndroidImageStreamOptions imageStreamOptions =
+      const AndroidImageStreamOptions();
+
+  /// Android specific options applied to video recordings started after they
+  /// are set.
+  AndroidVideoRecordingOptions videoRecordingOptions =
+      const AndroidVideoRecordingOptions();
+
+  /// The prefix of the binary channels encoded video chunks are sent on,
+  /// followed by the camera id.
+  @visibleForTesting
+  static const String encodedVideoChannelName =
+      'plugins.flutter.io/camera_android/encodedVideo';
+
+  /// The prefix of the binary channels pooled image stream frames are sent
+  /// on, followed by the camera id.
+  @visibleForTesting
+  static const String imageStreamFramesChannelName =
+      'plugins.flutter.io/camera_android/imageStream/frames';
 
-  // The stream for vending frames to platform interface clients.
-  StreamController<CameraImageData>? _frameStreamController;
+  /// The prefix of the event channels image stream frames are sent on,
+  /// followed by the camera id.
+  @visibleForTesting
+  static const String imageStreamChannelName =
+      'plugins.flutter.io/camera_android/imageStream';
+
+  // Empty reply acknowledging a pooled frame, which lets the platform side
+  // reuse its buffer.
+  static final ByteData _frameAcknowledgement = ByteData(0);
+
+  // The streams receiving frames from the native code, by camera id.
+  final Map<int, StreamSubscription<dynamic>>
+      _platformImageStreamSubscriptions = <int, StreamSubscription<dynamic>>{};
+
+  // The frame pool channels currently receiving frames, by camera id.
+  final Map<int, BasicMessageChannel<ByteData>> _imageStreamFramesChannels =
+      <int, BasicMessageChannel<ByteData>>{};
+
+  // The streams for vending frames to platform interface clients, by camera
+  // id.
+  final Map<int, StreamController<CameraImageData>> _frameStreamControllers =
+      <int, StreamController<CameraImageData>>{};
 
   Stream<CameraEvent> _cameraEvents(int cameraId) =>
       cameraEventStreamController.stream
@@ -91,6 +167,22 @@ class AndroidCamera extends CameraPlatform {
     }
   }
 
+  /// Returns the sets of camera names that can stream at the same time.
+  ///
+  /// Cameras of a set can be created and initialized together, for example
+  /// to show the front and back cameras side by side. Creating a camera that
+  /// is not part of a set with the open cameras closes them. The list is
+  /// empty on devices before Android 11, which only support one open camera.
+  Future<List<Set<String>>> availableConcurrentCameras() async {
+    final List<dynamic>? cameraSets =
+        await _channel.invokeListMethod<dynamic>('availableConcurrentCameras');
+
+    return (cameraSets ?? <dynamic>[])
+        .map((dynamic cameraSet) =>
+            (cameraSet as List<dynamic>).cast<String>().toSet())
+        .toList();
+  }
+
   @override
   Future<int> createCamera(
     CameraDescription cameraDescription,
@@ -105,6 +197,10 @@ class AndroidCamera extends CameraPlatform {
             ? _serializeResolutionPreset(resolutionPreset)
             : null,
         'enableAudio': enableAudio,
+        if (imageSaverQueueDepth != null)
+          'imageSaverQueueDepth': imageSaverQueueDepth,
+        if (keepCaptureSessionWarm) 'keepCaptureSessionWarm': true,
+        if (enableBurstCapture) 'enableBurstCapture': true,
       });
 
       return reply!['cameraId']! as int;
@@ -186,6 +282,23 @@ class AndroidCamera extends CameraPlatform {
     return _cameraEvents(cameraId).whereType<CameraClosingEvent>();
   }
 
+  /// The pictures of bursts started with [takePictureBurst] as they are saved.
+  Stream<AndroidPictureSavedEvent> onPictureSaved(int cameraId) {
+    return _cameraEvents(cameraId).whereType<AndroidPictureSavedEvent>();
+  }
+
+  /// The startup breakdown of the camera, sent once it has captured its
+  /// first preview frame.
+  Stream<AndroidCameraStartupEvent> onCameraStartup(int cameraId) {
+    return _cameraEvents(cameraId).whereType<AndroidCameraStartupEvent>();
+  }
+
+  /// Focus and exposure settling on the regions set with
+  /// [setMeteringRegions].
+  Stream<AndroidMeteringConvergedEvent> onMeteringConverged(int cameraId) {
+    return _cameraEvents(cameraId).whereType<AndroidMeteringConvergedEvent>();
+  }
+
   @override
   Stream<CameraErrorEvent> onCameraError(int cameraId) {
     return _cameraEvents(cameraId).whereType<CameraErrorEvent>();
@@ -241,6 +354,31 @@ class AndroidCamera extends CameraPlatform {
     return XFile(path);
   }
 
+  /// The maximum number of pictures in a burst taken with [takePictureBurst].
+  // Mirrors BurstCapture.MAX_SIZE in BurstCapture.java.
+  static const int maxBurstSize = 8;
+
+  /// Captures a burst of [count] pictures, with focus and exposure locked once
+  /// for the whole burst.
+  ///
+  /// Pictures are reported through [onPictureSaved] as soon as they are
+  /// written. The returned future completes with the saved pictures in capture
+  /// order once the burst has finished. [count] must be between 1 and
+  /// [maxBurstSize], so that every picture of the burst can be held until it is
+  /// written.
+  ///
+  /// The camera must have been created with [enableBurstCapture] set, otherwise
+  /// this fails with a `burstCaptureDisabled` error.
+  Future<List<XFile>> takePictureBurst(int cameraId, int count) async {
+    assert(count > 0 && count <= maxBurstSize);
+    final List<String>? paths = await _channel.invokeListMethod<String>(
+      'takePictureBurst',
+      <String, dynamic>{'cameraId': cameraId, 'count': count},
+    );
+
+    return paths!.map((String path) => XFile(path)).toList();
+  }
+
   @override
   Future<void> prepareForVideoRecording() =>
       _channel.invokeMethod<void>('prepareForVideoRecording');
@@ -260,15 +398,50 @@ class AndroidCamera extends CameraPlatform {
         'cameraId': options.cameraId,
         'maxVideoDuration': options.maxDuration?.inMilliseconds,
         'enableStream': options.streamCallback != null,
+        if (options.streamCallback != null && !imageStreamOptions.isDefault)
+          ...imageStreamOptions.toArguments(),
+        if (!videoRecordingOptions.isDefault)
+          ...videoRecordingOptions.toArguments(),
       },
     );
 
     if (options.streamCallback != null) {
-      _installStreamController().stream.listen(options.streamCallback);
-      _startStreamListener();
+      _installStreamController(options.cameraId)
+          .stream
+          .listen(options.streamCallback);
+      _startStreamListener(options.cameraId);
     }
   }
 
+  /// Returns the encoded video stream of the recordings of the given camera.
+  ///
+  /// Chunks are only sent for recordings started with
+  /// [AndroidRecordingEngine.mediaCodec] and
+  /// [AndroidVideoRecordingOptions.streamEncodedChunks] set. Listen before
+  /// starting the recording to receive the codec configuration chunk.
+  ///
+  /// At most 8 chunks are in flight at once. When the listener falls behind,
+  /// chunks are dropped until the next key frame, so the stream can always be
+  /// decoded but may skip frames.
+  Stream<AndroidEncodedVideoChunk> onEncodedVideoChunk(int cameraId) {
+    final BasicMessageChannel<ByteData> chunksChannel =
+        BasicMessageChannel<ByteData>(
+            '$encodedVideoChannelName/$cameraId', BinaryCodec());
+    late final StreamController<AndroidEncodedVideoChunk> controller;
+    controller = StreamController<AndroidEncodedVideoChunk>(
+      onListen: () {
+        chunksChannel.setMessageHandler((ByteData? chunk) async {
+          if (chunk != null) {
+            controller.add(encodedVideoChunkFromPlatformBytes(chunk));
+          }
+          return ByteData(0);
+        });
+      },
+      onCancel: () => chunksChannel.setMessageHandler(null),
+    );
+    return controller.stream;
+  }
+
   @override
   Future<XFile> stopVideoRecording(int cameraId) async {
     final String? path = await _channel.invokeMethod<String>(
@@ -302,45 +475,83 @@ class AndroidCamera extends CameraPlatform {
   @override
   Stream<CameraImageData> onStreamedFrameAvailable(int cameraId,
       {CameraImageStreamOptions? options}) {
-    _installStreamController(onListen: _onFrameStreamListen);
-    return _frameStreamController!.stream;
+    return _installStreamController(cameraId,
+            onListen: () => _onFrameStreamListen(cameraId))
+        .stream;
   }
 
-  StreamController<CameraImageData> _installStreamController(
+  StreamController<CameraImageData> _installStreamController(int cameraId,
       {Function()? onListen}) {
-    _frameStreamController = StreamController<CameraImageData>(
+    final StreamController<CameraImageData> controller =
+        StreamController<CameraImageData>(
       onListen: onListen ?? () {},
       onPause: _onFrameStreamPauseResume,
       onResume: _onFrameStreamPauseResume,
-      onCancel: _onFrameStreamCancel,
+      onCancel: () => _onFrameStreamCancel(cameraId),
     );
-    return _frameStreamController!;
+    _frameStreamControllers[cameraId] = controller;
+    return controller;
   }
 
-  void _onFrameStreamListen() {
-    _startPlatformStream();
+  void _onFrameStreamListen(int cameraId) {
+    _startPlatformStream(cameraId);
   }
 
-  Future<void> _startPlatformStream() async {
-    await _channel.invokeMethod<void>('startImageStream');
-    _startStreamListener();
+  Future<void> _startPlatformStream(int cameraId) async {
+    await _channel.invokeMethod<void>(
+      'startImageStream',
+      <String, dynamic>{
+        'cameraId': cameraId,
+        if (!imageStreamOptions.isDefault) ...imageStreamOptions.toArguments(),
+      },
+    );
+    _startStreamListener(cameraId);
   }
 
-  void _startStreamListener() {
-    const EventChannel cameraEventChannel =
-        EventChannel('plugins.flutter.io/camera_android/imageStream');
-    _platformImageStreamSubscription =
+  void _startStreamListener(int cameraId) {
+    if (imageStreamOptions.useFramePool) {
+      final BasicMessageChannel<ByteData> framesChannel =
+          BasicMessageChannel<ByteData>(
+              '$imageStreamFramesChannelName/$cameraId', BinaryCodec());
+      _imageStreamFramesChannels[cameraId] = framesChannel;
+      framesChannel.setMessageHandler((ByteData? frame) async {
+        if (frame != null) {
+          _frameStreamControllers[cameraId]
+              ?.add(cameraImageFromPlatformBytes(frame));
+          // Replying acknowledges the frame, so wait until the listener ran.
+          await Future<void>.microtask(() {});
+        }
+        return _frameAcknowledgement;
+      });
+      return;
+    }
+
+    final bool acknowledgeFrames = imageStreamOptions.requiresAcknowledgement;
+
+    final EventChannel cameraEventChannel =
+        EventChannel('$imageStreamChannelName/$cameraId');
+    _platformImageStreamSubscriptions[cameraId] =
         cameraEventChannel.receiveBroadcastStream().listen((dynamic imageData) {
-      _frameStreamController!
+      _frameStreamControllers[cameraId]!
           .add(cameraImageFromPlatformData(imageData as Map<dynamic, dynamic>));
+      if (acknowledgeFrames) {
+        // Acknowledge the frame once the listener ran.
+        scheduleMicrotask(() {
+          _channel.invokeMethod<void>('acknowledgeImageStreamFrame',
+              <String, dynamic>{'cameraId': cameraId});
+        });
+      }
     });
   }
 
-  FutureOr<void> _onFrameStreamCancel() async {
-    await _channel.invokeMethod<void>('stopImageStream');
-    await _platformImageStreamSubscription?.cancel();
-    _platformImageStreamSubscription = null;
-    _frameStreamController = null;
+  FutureOr<void> _onFrameStreamCancel(int cameraId) async {
+    await _channel.invokeMethod<void>(
+      'stopImageStream',
+      <String, dynamic>{'cameraId': cameraId},
+    );
+    await _platformImageStreamSubscriptions.remove(cameraId)?.cancel();
+    _imageStreamFramesChannels.remove(cameraId)?.setMessageHandler(null);
+    _frameStreamControllers.remove(cameraId);
   }
 
   void _onFrameStreamPauseResume() {
@@ -348,6 +559,92 @@ class AndroidCamera extends CameraPlatform {
         'Pause and resume are not supported for onStreamedFrameAvailable');
   }
 
+  /// The prefix of the event channels capture telemetry is sent on, followed
+  /// by the camera id.
+  static const String captureTelemetryChannelName =
+      'plugins.flutter.io/camera_android/telemetry';
+
+  /// Returns a stream of frame timing reports of the given camera.
+  ///
+  /// While the stream has a listener, the platform side records the interval
+  /// and jitter between sensor frames, frames skipped by the sensor, and the
+  /// latency and drops of image stream frames, and reports them once per
+  /// [reportInterval]. Nothing is recorded without a listener.
+  Stream<AndroidCaptureTelemetry> onCaptureTelemetry(
+    int cameraId, {
+    Duration reportInterval = const Duration(seconds: 1),
+  }) {
+    StreamSubscription<dynamic>? platformSubscription;
+    late StreamController<AndroidCaptureTelemetry> controller;
+    controller = StreamController<AndroidCaptureTelemetry>(
+      onListen: () async {
+        await _channel.invokeMethod<void>(
+          'startCaptureTelemetry',
+          <String, dynamic>{
+            'cameraId': cameraId,
+            'reportIntervalMs': reportInterval.inMilliseconds,
+          },
+        );
+        final EventChannel telemetryChannel =
+            EventChannel('$captureTelemetryChannelName/$cameraId');
+        platformSubscription = telemetryChannel
+            .receiveBroadcastStream()
+            .listen((dynamic snapshot) {
+          controller.add(captureTelemetryFromPlatformData(
+              snapshot as Map<dynamic, dynamic>));
+        });
+      },
+      onCancel: () async {
+        await platformSubscription?.cancel();
+        await _channel.invokeMethod<void>(
+          'stopCaptureTelemetry',
+          <String, dynamic>{'cameraId': cameraId},
+        );
+      },
+    );
+    return controller.stream;
+  }
+
+  /// Returns the frame counters of the current image stream.
+  ///
+  /// Frames are only dropped on the platform side with an
+  /// [AndroidImageStreamOptions.deliveryMode] other than
+  /// [AndroidImageStreamDeliveryMode.all], or when all buffers of the frame
+  /// pool are in flight.
+  Future<AndroidImageStreamStatistics> getImageStreamStatistics(
+      int cameraId) async {
+    final Map<String, dynamic>? statistics =
+        await _channel.invokeMapMethod<String, dynamic>(
+      'getImageStreamStatistics',
+      <String, dynamic>{'cameraId': cameraId},
+    );
+
+    return AndroidImageStreamStatistics(
+      deliveredFrames: statistics!['deliveredFrames']! as int,
+      droppedFrames: statistics['droppedFrames']! as int,
+      framesInFlight: statistics['framesInFlight']! as int,
+    );
+  }
+
+  /// Returns the queue metrics of the thread that writes captured pictures to
+  /// disk.
+  Future<AndroidImageSaverStatistics> getImageSaverStatistics(
+      int cameraId) async {
+    final Map<String, dynamic>? statistics =
+        await _channel.invokeMapMethod<String, dynamic>(
+      'getImageSaverStatistics',
+      <String, dynamic>{'cameraId': cameraId},
+    );
+
+    return AndroidImageSaverStatistics(
+      queueDepth: statistics!['queueDepth']! as int,
+      pendingWrites: statistics['pendingWrites']! as int,
+      maxPendingWrites: statistics['maxPendingWrites']! as int,
+      completedWrites: statistics['completedWrites']! as int,
+      rejectedWrites: statistics['rejectedWrites']! as int,
+    );
+  }
+
   @override
   Future<void> setFlashMode(int cameraId, FlashMode mode) =>
       _channel.invokeMethod<void>(
@@ -488,6 +785,97 @@ class AndroidCamera extends CameraPlatform {
     }
   }
 
+  /// Applies several camera settings at once.
+  ///
+  /// The preview is updated once for all settings instead of once per
+  /// setting, which avoids intermediate frames when switching between
+  /// shooting modes. If any setting is invalid, none is applied.
+  ///
+  /// Returns the exposure offset that was applied, which is the requested
+  /// [AndroidCameraSettings.exposureOffset] clamped and rounded to the steps
+  /// supported by the camera, as [setExposureOffset] does, or null when the
+  /// settings do not set an exposure offset.
+  Future<double?> applySettings(
+      int cameraId, AndroidCameraSettings settings) async {
+    assert(settings.exposurePoint == null ||
+        _isNormalizedPoint(settings.exposurePoint!));
+    assert(settings.focusPoint == null ||
+        _isNormalizedPoint(settings.focusPoint!));
+
+    try {
+      return await _channel.invokeMethod<double>(
+        'applySettings',
+        <String, dynamic>{
+          'cameraId': cameraId,
+          if (settings.flashMode != null)
+            'flashMode': _serializeFlashMode(settings.flashMode!),
+          if (settings.exposureMode != null)
+            'exposureMode': serializeExposureMode(settings.exposureMode!),
+          if (settings.resetExposurePoint) 'exposurePoint': 'reset',
+          if (settings.exposurePoint != null)
+            'exposurePoint': _serializePoint(settings.exposurePoint!),
+          if (settings.exposureOffset != null)
+            'exposureOffset': settings.exposureOffset,
+          if (settings.focusMode != null)
+            'focusMode': serializeFocusMode(settings.focusMode!),
+          if (settings.resetFocusPoint) 'focusPoint': 'reset',
+          if (settings.focusPoint != null)
+            'focusPoint': _serializePoint(settings.focusPoint!),
+          if (settings.zoomLevel != null) 'zoom': settings.zoomLevel,
+        },
+      );
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
+  /// Sets weighted regions to meter focus and exposure on.
+  ///
+  /// Regions left null keep their current value, and empty lists reset them
+  /// to the default. Only as many regions as the camera supports are used,
+  /// keeping the highest weights.
+  ///
+  /// Calls made faster than the preview frame rate, such as while dragging
+  /// over the preview, are coalesced so only the latest regions are applied.
+  /// [onMeteringConverged] reports when focus and exposure have settled.
+  Future<void> setMeteringRegions(
+    int cameraId, {
+    List<AndroidMeteringRegion>? focusRegions,
+    List<AndroidMeteringRegion>? exposureRegions,
+  }) async {
+    assert(focusRegions == null ||
+        focusRegions.every((AndroidMeteringRegion region) =>
+            _isNormalizedPoint(region.point)));
+    assert(exposureRegions == null ||
+        exposureRegions.every((AndroidMeteringRegion region) =>
+            _isNormalizedPoint(region.point)));
+
+    try {
+      await _channel.invokeMethod<void>(
+        'setMeteringRegions',
+        <String, dynamic>{
+          'cameraId': cameraId,
+          if (focusRegions != null)
+            'focusRegions': focusRegions
+                .map((AndroidMeteringRegion region) => region.toArguments())
+                .toList(),
+          if (exposureRegions != null)
+            'exposureRegions': exposureRegions
+                .map((AndroidMeteringRegion region) => region.toArguments())
+                .toList(),
+        },
+      );
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
+  static bool _isNormalizedPoint(Point<double> point) =>
+      point.x >= 0 && point.x <= 1 && point.y >= 0 && point.y <= 1;
+
+  static Map<String, double> _serializePoint(Point<double> point) =>
+      <String, double>{'x': point.x, 'y': point.y};
+
   @override
   Future<void> pausePreview(int cameraId) async {
     await _channel.invokeMethod<double>(
@@ -600,6 +988,29 @@ class AndroidCamera extends CameraPlatform {
               : null,
         ));
         break;
+      case 'picture_saved':
+        final Map<String, Object?> arguments = _getArgumentDictionary(call);
+        cameraEventStreamController.add(AndroidPictureSavedEvent(
+          cameraId,
+          arguments['index']! as int,
+          XFile(arguments['path']! as String),
+        ));
+        break;
+      case 'startup_completed':
+        final Map<String, Object?> arguments = _getArgumentDictionary(call);
+        cameraEventStreamController.add(AndroidCameraStartupEvent.fromTimings(
+          cameraId,
+          arguments['timings']! as Map<Object?, Object?>,
+        ));
+        break;
+      case 'metering_converged':
+        final Map<String, Object?> arguments = _getArgumentDictionary(call);
+        cameraEventStreamController.add(AndroidMeteringConvergedEvent(
+          cameraId,
+          focusConverged: arguments['focusConverged'] as bool?,
+          exposureConverged: arguments['exposureConverged'] as bool?,
+        ));
+        break;
       case 'error':
         final Map<String, Object?> arguments = _getArgumentDictionary(call);
         cameraEventStreamController.add(CameraErrorEvent(
@@ -0,0 +1,35 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+
+/// An event fired when a picture of a burst started with
+/// [AndroidCamera.takePictureBurst] has been saved.
+class AndroidPictureSavedEvent extends CameraEvent {
+  /// Build a picture saved event triggered from the camera represented by
+  /// `cameraId`.
+  ///
+  /// The `index` is the position of the picture in the burst, and `file`
+  /// holds the saved picture.
+  const AndroidPictureSavedEvent(int cameraId, this.index, this.file)
+      : super(cameraId);
+
+  /// The position of the picture in the burst.
+  final int index;
+
+  /// The saved picture.
+  final XFile file;
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      super == other &&
+          other is AndroidPictureSavedEvent &&
+          runtimeType == other.runtimeType &&
+          index == other.index &&
+          file.path == other.file.path;
+
+  @override
+  int get hashCode => Object.hash(super.hashCode, index, file.path);
+}
@@ -0,0 +1,55 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:math';
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// Camera settings applied together by [AndroidCamera.applySettings].
+///
+/// Settings left null keep their current value.
+@immutable
+class AndroidCameraSettings {
+  /// Creates a new set of camera settings.
+  const AndroidCameraSettings({
+    this.flashMode,
+    this.exposureMode,
+    this.exposurePoint,
+    this.resetExposurePoint = false,
+    this.exposureOffset,
+    this.focusMode,
+    this.focusPoint,
+    this.resetFocusPoint = false,
+    this.zoomLevel,
+  })  : assert(exposurePoint == null || !resetExposurePoint),
+        assert(focusPoint == null || !resetFocusPoint);
+
+  /// The new flash mode.
+  final FlashMode? flashMode;
+
+  /// The new exposure mode.
+  final ExposureMode? exposureMode;
+
+  /// The new exposure point, in coordinates normalized to the preview size.
+  final Point<double>? exposurePoint;
+
+  /// Whether the exposure point is reset to the default.
+  final bool resetExposurePoint;
+
+  /// The new exposure offset, in EV units.
+  final double? exposureOffset;
+
+  /// The new focus mode.
+  final FocusMode? focusMode;
+
+  /// The new focus point, in coordinates normalized to the preview size.
+  final Point<double>? focusPoint;
+
+  /// Whether the focus point is reset to the default.
+  final bool resetFocusPoint;
+
+  /// The new zoom level.
+  final double? zoomLevel;
+}
@@ -0,0 +1,73 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+
+/// An event fired when a camera has captured its first preview frame after
+/// [AndroidCamera.initializeCamera], with the duration of every startup phase.
+///
+/// The same phases are recorded as `Camera.<phase>` trace sections on
+/// Android Q and above, for system tracing tools.
+class AndroidCameraStartupEvent extends CameraEvent {
+  /// Build a startup event triggered from the camera represented by
+  /// `cameraId`.
+  const AndroidCameraStartupEvent(
+    int cameraId, {
+    required this.imageReaders,
+    required this.openCamera,
+    required this.sessionConfiguration,
+    required this.firstFrame,
+    required this.total,
+  }) : super(cameraId);
+
+  /// Builds a startup event from the phase durations sent by the platform, in
+  /// milliseconds.
+  factory AndroidCameraStartupEvent.fromTimings(
+      int cameraId, Map<Object?, Object?> timings) {
+    Duration phase(String name) => Duration(
+        microseconds: (((timings[name] as num?) ?? 0) * 1000).round());
+    return AndroidCameraStartupEvent(
+      cameraId,
+      imageReaders: phase('imageReaders'),
+      openCamera: phase('openCamera'),
+      sessionConfiguration: phase('sessionConfiguration'),
+      firstFrame: phase('firstFrame'),
+      total: phase('total'),
+    );
+  }
+
+  /// The time spent allocating the picture and image stream buffers.
+  final Duration imageReaders;
+
+  /// The time between requesting the camera device and it being opened.
+  final Duration openCamera;
+
+  /// The time between creating the preview capture session and it being
+  /// configured.
+  final Duration sessionConfiguration;
+
+  /// The time between the first preview request and its first captured
+  /// frame.
+  final Duration firstFrame;
+
+  /// The time between starting to open the camera and its first captured
+  /// frame, including the time between the phases.
+  final Duration total;
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      super == other &&
+          other is AndroidCameraStartupEvent &&
+          runtimeType == other.runtimeType &&
+          imageReaders == other.imageReaders &&
+          openCamera == other.openCamera &&
+          sessionConfiguration == other.sessionConfiguration &&
+          firstFrame == other.firstFrame &&
+          total == other.total;
+
+  @override
+  int get hashCode => Object.hash(super.hashCode, imageReaders, openCamera,
+      sessionConfiguration, firstFrame, total);
+}
@@ -0,0 +1,102 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart';
+
+/// A histogram of durations recorded during one telemetry report interval.
+@immutable
+class AndroidTelemetryHistogram {
+  /// Creates a new histogram.
+  const AndroidTelemetryHistogram({
+    required this.count,
+    required this.min,
+    required this.max,
+    required this.mean,
+    required this.bucketBounds,
+    required this.bucketCounts,
+  });
+
+  /// The number of recorded durations.
+  final int count;
+
+  /// The shortest recorded duration, or zero if nothing was recorded.
+  final Duration min;
+
+  /// The longest recorded duration, or zero if nothing was recorded.
+  final Duration max;
+
+  /// The average recorded duration, or zero if nothing was recorded.
+  final Duration mean;
+
+  /// The inclusive upper bounds of the buckets.
+  ///
+  /// The last bucket of [bucketCounts] has no upper bound and collects every
+  /// duration above the last bound.
+  final List<Duration> bucketBounds;
+
+  /// The number of durations per bucket, one more than [bucketBounds].
+  final List<int> bucketCounts;
+
+  /// Returns the upper bound of the bucket holding the given [percentile],
+  /// between 0 and 100, or [max] if it falls into the unbounded bucket.
+  ///
+  /// Returns null if nothing was recorded.
+  Duration? percentile(double percentile) {
+    assert(percentile >= 0 && percentile <= 100);
+    if (count == 0) {
+      return null;
+    }
+    final double rank = count * percentile / 100;
+    int seen = 0;
+    for (int i = 0; i < bucketBounds.length; i++) {
+      seen += bucketCounts[i];
+      if (seen >= rank) {
+        return bucketBounds[i];
+      }
+    }
+    return max;
+  }
+}
+
+/// Frame timing of a camera, reported once per report interval by
+/// [AndroidCamera.onCaptureTelemetry].
+@immutable
+class AndroidCaptureTelemetry {
+  /// Creates a new telemetry report.
+  const AndroidCaptureTelemetry({
+    required this.duration,
+    required this.capturedFrames,
+    required this.skippedFrames,
+    required this.deliveredFrames,
+    required this.droppedFrames,
+    required this.frameInterval,
+    required this.frameJitter,
+    required this.deliveryLatency,
+  });
+
+  /// The length of the report interval.
+  final Duration duration;
+
+  /// The number of frames captured by the sensor.
+  final int capturedFrames;
+
+  /// The number of frames missing from the sequence of capture results.
+  final int skippedFrames;
+
+  /// The number of image stream frames handed to Dart.
+  final int deliveredFrames;
+
+  /// The number of image stream frames dropped before they reached Dart.
+  final int droppedFrames;
+
+  /// The time between the sensor timestamps of consecutive frames.
+  final AndroidTelemetryHistogram frameInterval;
+
+  /// The difference between consecutive frame intervals.
+  final AndroidTelemetryHistogram frameJitter;
+
+  /// The time from a capture result to its image stream frame being sent to
+  /// Dart.
+  final AndroidTelemetryHistogram deliveryLatency;
+}
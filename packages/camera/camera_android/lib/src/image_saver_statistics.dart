@@ -0,0 +1,34 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart';
+
+/// Queue metrics of the thread that writes captured pictures to disk, see
+/// [AndroidCamera.getImageSaverStatistics].
+@immutable
+class AndroidImageSaverStatistics {
+  /// Creates a new set of image saver statistics.
+  const AndroidImageSaverStatistics({
+    required this.queueDepth,
+    required this.pendingWrites,
+    required this.maxPendingWrites,
+    required this.completedWrites,
+    required this.rejectedWrites,
+  });
+
+  /// The maximum number of pictures that can wait to be written.
+  final int queueDepth;
+
+  /// The number of pictures that are queued or being written.
+  final int pendingWrites;
+
+  /// The highest number of pictures that were pending at the same time.
+  final int maxPendingWrites;
+
+  /// The number of pictures that were written, successfully or not.
+  final int completedWrites;
+
+  /// The number of pictures that failed because the queue was full.
+  final int rejectedWrites;
+}
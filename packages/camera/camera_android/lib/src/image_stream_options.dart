@@ -0,0 +1,169 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:ui' show Rect;
+
+import 'package:camera_platform_interface/camera_platform_interface.dart'
+    show CameraImageFormat, ImageFormatGroup;
+import 'package:flutter/foundation.dart';
+
+/// The raw format of luma-only image stream frames, the value of
+/// `android.graphics.ImageFormat.Y8`.
+///
+/// See [AndroidImageStreamOptions.lumaOnly].
+const int androidImageFormatY8 = 0x20203859;
+
+/// How image stream frames are delivered when Dart does not keep up with the
+/// camera.
+// Mirrors ImageStreamDeliveryMode.java
+enum AndroidImageStreamDeliveryMode {
+  /// Delivers every frame, without waiting for previous frames to be
+  /// consumed.
+  all,
+
+  /// Delivers the most recent frame only after the previous one has been
+  /// consumed, dropping frames in between.
+  latestOnly,
+
+  /// Delivers frames as long as fewer than
+  /// [AndroidImageStreamOptions.maxFramesInFlight] frames are unconsumed.
+  maxInFlight,
+
+  /// Delivers frames at no more than [AndroidImageStreamOptions.targetFps].
+  targetFps,
+}
+
+/// Android specific options for the image stream started through
+/// `onStreamedFrameAvailable` or `startVideoCapturing`.
+///
+/// Set these on [AndroidCamera.imageStreamOptions] before starting a stream.
+@immutable
+class AndroidImageStreamOptions {
+  /// Creates a new set of image stream options.
+  const AndroidImageStreamOptions({
+    this.useFramePool = false,
+    this.framePoolSize = 3,
+    this.deliveryMode = AndroidImageStreamDeliveryMode.all,
+    this.maxFramesInFlight = 2,
+    this.targetFps,
+    this.regionOfInterest,
+    this.subsampleFactor = 1,
+    this.lumaOnly = false,
+  })  : assert(framePoolSize > 0),
+        assert(subsampleFactor > 0),
+        assert(maxFramesInFlight >= 0),
+        assert(deliveryMode != AndroidImageStreamDeliveryMode.maxInFlight ||
+            maxFramesInFlight > 0),
+        assert(deliveryMode != AndroidImageStreamDeliveryMode.targetFps ||
+            (targetFps != null && targetFps > 0));
+
+  /// Whether frames are delivered as compact binary messages backed by a pool
+  /// of reusable native buffers.
+  ///
+  /// This avoids allocating a map and a copy of every plane for each frame on
+  /// the platform side. The resulting [CameraImageData] carries the same
+  /// information as in the default mode, but its plane bytes are views into
+  /// the received message.
+  final bool useFramePool;
+
+  /// The number of reusable native frame buffers when [useFramePool] is set.
+  ///
+  /// This is also the maximum number of frames in flight between the platform
+  /// and Dart. Frames produced while all buffers are in flight are dropped.
+  final int framePoolSize;
+
+  /// Which frames are delivered when Dart does not keep up with the camera.
+  ///
+  /// With any mode other than [AndroidImageStreamDeliveryMode.all], every
+  /// frame is acknowledged once the stream listener has run, and frames are
+  /// dropped on the platform side instead of queueing up.
+  final AndroidImageStreamDeliveryMode deliveryMode;
+
+  /// The maximum number of unacknowledged frames for
+  /// [AndroidImageStreamDeliveryMode.maxInFlight] and
+  /// [AndroidImageStreamDeliveryMode.targetFps].
+  ///
+  /// Must be positive for [AndroidImageStreamDeliveryMode.maxInFlight]. For
+  /// [AndroidImageStreamDeliveryMode.targetFps] 0 means no limit.
+  final int maxFramesInFlight;
+
+  /// The maximum frame rate for [AndroidImageStreamDeliveryMode.targetFps].
+  final double? targetFps;
+
+  /// The part of the frame to deliver, in coordinates normalized to the frame
+  /// size, or null for the full frame.
+  ///
+  /// The region is snapped to even pixel coordinates so the chroma planes stay
+  /// aligned with the luma plane.
+  final Rect? regionOfInterest;
+
+  /// Keeps every n-th pixel in both directions, 1 delivers all pixels.
+  final int subsampleFactor;
+
+  /// Whether only the luma (Y) plane of YUV frames is delivered.
+  ///
+  /// Luma-only frames have a single plane, so they are not reported as YUV
+  /// frames: their [CameraImageFormat.raw] is [androidImageFormatY8] and their
+  /// [CameraImageFormat.group] is [ImageFormatGroup.unknown].
+  final bool lumaOnly;
+
+  /// Whether frames are cropped, subsampled or stripped on the platform side.
+  ///
+  /// Only YUV frames are preprocessed, other formats are delivered unchanged.
+  /// Preprocessed planes are tightly packed, with one byte per pixel.
+  bool get preprocessesFrames =>
+      regionOfInterest != null || subsampleFactor != 1 || lumaOnly;
+
+  /// Whether these options select the default event channel delivery.
+  bool get isDefault =>
+      !useFramePool &&
+      deliveryMode == AndroidImageStreamDeliveryMode.all &&
+      !preprocessesFrames;
+
+  /// Whether delivered frames have to be acknowledged by Dart.
+  bool get requiresAcknowledgement =>
+      deliveryMode == AndroidImageStreamDeliveryMode.latestOnly ||
+      deliveryMode == AndroidImageStreamDeliveryMode.maxInFlight ||
+      (deliveryMode == AndroidImageStreamDeliveryMode.targetFps &&
+          maxFramesInFlight > 0);
+
+  /// Serializes these options into method channel call arguments.
+  Map<String, dynamic> toArguments() => <String, dynamic>{
+        'framePool': useFramePool,
+        'framePoolSize': framePoolSize,
+        'deliveryMode': describeEnum(deliveryMode),
+        'maxFramesInFlight': maxFramesInFlight,
+        'targetFps': targetFps,
+        if (regionOfInterest != null)
+          'regionOfInterest': <String, double>{
+            'left': regionOfInterest!.left,
+            'top': regionOfInterest!.top,
+            'width': regionOfInterest!.width,
+            'height': regionOfInterest!.height,
+          },
+        'subsampleFactor': subsampleFactor,
+        'lumaOnly': lumaOnly,
+      };
+}
+
+/// Frame counters of the current image stream, see
+/// [AndroidCamera.getImageStreamStatistics].
+@immutable
+class AndroidImageStreamStatistics {
+  /// Creates a new set of image stream statistics.
+  const AndroidImageStreamStatistics({
+    required this.deliveredFrames,
+    required this.droppedFrames,
+    required this.framesInFlight,
+  });
+
+  /// The number of frames sent to Dart.
+  final int deliveredFrames;
+
+  /// The number of frames dropped on the platform side by the delivery mode.
+  final int droppedFrames;
+
+  /// The number of delivered frames that have not been acknowledged yet.
+  final int framesInFlight;
+}
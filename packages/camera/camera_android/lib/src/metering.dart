@@ -0,0 +1,84 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:math';
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// A weighted region of the preview to meter focus or exposure on, see
+/// [AndroidCamera.setMeteringRegions].
+@immutable
+class AndroidMeteringRegion {
+  /// Creates a new metering region centered on [point].
+  const AndroidMeteringRegion(this.point, {this.weight = maxWeight})
+      : assert(weight >= minWeight && weight <= maxWeight);
+
+  /// The lowest weight, which makes the region ignored.
+  static const int minWeight = 0;
+
+  /// The highest weight.
+  static const int maxWeight = 1000;
+
+  /// The center of the region, in coordinates normalized to the preview
+  /// size.
+  final Point<double> point;
+
+  /// The weight of the region relative to the other regions.
+  final int weight;
+
+  /// Serializes this region into method channel call arguments.
+  Map<String, Object> toArguments() => <String, Object>{
+        'x': point.x,
+        'y': point.y,
+        'weight': weight,
+      };
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      other is AndroidMeteringRegion &&
+          runtimeType == other.runtimeType &&
+          point == other.point &&
+          weight == other.weight;
+
+  @override
+  int get hashCode => Object.hash(point, weight);
+}
+
+/// An event fired when focus and exposure have settled on the regions set
+/// with [AndroidCamera.setMeteringRegions].
+///
+/// The event is also fired when metering does not settle within about 90
+/// frames, with the states reached so far.
+class AndroidMeteringConvergedEvent extends CameraEvent {
+  /// Build a metering converged event triggered from the camera represented
+  /// by `cameraId`.
+  const AndroidMeteringConvergedEvent(
+    int cameraId, {
+    this.focusConverged,
+    this.exposureConverged,
+  }) : super(cameraId);
+
+  /// Whether the focus converged, or null when the focus regions were not
+  /// changed or the camera cannot set them.
+  final bool? focusConverged;
+
+  /// Whether the exposure converged, or null when the exposure regions were
+  /// not changed or the camera cannot set them.
+  final bool? exposureConverged;
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      super == other &&
+          other is AndroidMeteringConvergedEvent &&
+          runtimeType == other.runtimeType &&
+          focusConverged == other.focusConverged &&
+          exposureConverged == other.exposureConverged;
+
+  @override
+  int get hashCode =>
+      Object.hash(super.hashCode, focusConverged, exposureConverged);
+}
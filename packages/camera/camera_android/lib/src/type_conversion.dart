@@ -8,6 +8,9 @@ import 'dart:typed_data';
 
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 
+import 'capture_telemetry.dart';
+import 'video_recording_options.dart';
+
 /// Converts method channel call [data] for `receivedImageStreamData` to a
 /// [CameraImageData].
 CameraImageData cameraImageFromPlatformData(Map<dynamic, dynamic> data) {
@@ -24,6 +27,108 @@ CameraImageData cameraImageFromPlatformData(Map<dynamic, dynamic> data) {
                   planeData as Map<dynamic, dynamic>))));
 }
 
+/// The size in bytes of the fixed header of a pooled binary frame.
+const int _frameHeaderSize = 48;
+
+/// The size in bytes of the header in front of every plane of a pooled binary
+/// frame.
+const int _framePlaneHeaderSize = 12;
+
+/// Converts a pooled binary image stream frame into a [CameraImageData].
+///
+/// See `ImageStreamFrameEncoder` on the platform side for the layout. The
+/// plane bytes are views into [data] rather than copies.
+CameraImageData cameraImageFromPlatformBytes(ByteData data) {
+  final int width = data.getInt32(0, Endian.little);
+  final int height = data.getInt32(4, Endian.little);
+  final int format = data.getInt32(8, Endian.little);
+  final int planeCount = data.getInt32(12, Endian.little);
+  final int flags = data.getInt32(16, Endian.little);
+
+  final List<CameraImagePlane> planes = <CameraImagePlane>[];
+  int offset = _frameHeaderSize;
+  for (int i = 0; i < planeCount; i++) {
+    final int bytesPerRow = data.getInt32(offset, Endian.little);
+    final int bytesPerPixel = data.getInt32(offset + 4, Endian.little);
+    final int length = data.getInt32(offset + 8, Endian.little);
+    offset += _framePlaneHeaderSize;
+    planes.add(CameraImagePlane(
+      bytes: data.buffer.asUint8List(data.offsetInBytes + offset, length),
+      bytesPerRow: bytesPerRow,
+      bytesPerPixel: bytesPerPixel,
+    ));
+    offset += length;
+  }
+
+  return CameraImageData(
+    format: _cameraImageFormatFromPlatformData(format),
+    height: height,
+    width: width,
+    lensAperture: flags & 1 != 0 ? data.getFloat64(24, Endian.little) : null,
+    sensorExposureTime:
+        flags & 2 != 0 ? data.getInt64(32, Endian.little) : null,
+    sensorSensitivity:
+        flags & 4 != 0 ? data.getFloat64(40, Endian.little) : null,
+    planes: List<CameraImagePlane>.unmodifiable(planes),
+  );
+}
+
+/// The size in bytes of the header in front of every encoded video chunk.
+const int _encodedChunkHeaderSize = 12;
+
+/// Converts a binary encoded video chunk into an [AndroidEncodedVideoChunk].
+///
+/// See `EncodedChunkSender` on the platform side for the layout. The chunk
+/// bytes are a view into [data] rather than a copy.
+AndroidEncodedVideoChunk encodedVideoChunkFromPlatformBytes(ByteData data) {
+  final int presentationTimeUs = data.getInt64(0, Endian.little);
+  final int flags = data.getInt32(8, Endian.little);
+  return AndroidEncodedVideoChunk(
+    bytes: data.buffer.asUint8List(
+        data.offsetInBytes + _encodedChunkHeaderSize,
+        data.lengthInBytes - _encodedChunkHeaderSize),
+    presentationTime: Duration(microseconds: presentationTimeUs),
+    // The MediaCodec.BUFFER_FLAG_* values.
+    isKeyFrame: flags & 1 != 0,
+    isCodecConfig: flags & 2 != 0,
+    isEndOfStream: flags & 4 != 0,
+  );
+}
+
+/// Converts a telemetry snapshot sent on the telemetry event channel to an
+/// [AndroidCaptureTelemetry].
+AndroidCaptureTelemetry captureTelemetryFromPlatformData(
+    Map<dynamic, dynamic> data) {
+  final List<Duration> bucketBounds = List<Duration>.unmodifiable(
+      (data['bucketBoundsMicros'] as List<dynamic>).map<Duration>(
+          (dynamic bound) => Duration(microseconds: bound as int)));
+  return AndroidCaptureTelemetry(
+    duration: Duration(microseconds: data['durationMicros'] as int),
+    capturedFrames: data['capturedFrames'] as int,
+    skippedFrames: data['skippedFrames'] as int,
+    deliveredFrames: data['deliveredFrames'] as int,
+    droppedFrames: data['droppedFrames'] as int,
+    frameInterval: _telemetryHistogramFromPlatformData(
+        data['frameInterval'] as Map<dynamic, dynamic>, bucketBounds),
+    frameJitter: _telemetryHistogramFromPlatformData(
+        data['frameJitter'] as Map<dynamic, dynamic>, bucketBounds),
+    deliveryLatency: _telemetryHistogramFromPlatformData(
+        data['deliveryLatency'] as Map<dynamic, dynamic>, bucketBounds),
+  );
+}
+
+AndroidTelemetryHistogram _telemetryHistogramFromPlatformData(
+    Map<dynamic, dynamic> data, List<Duration> bucketBounds) {
+  return AndroidTelemetryHistogram(
+    count: data['count'] as int,
+    min: Duration(microseconds: data['minMicros'] as int),
+    max: Duration(microseconds: data['maxMicros'] as int),
+    mean: Duration(microseconds: data['meanMicros'] as int),
+    bucketBounds: bucketBounds,
+    bucketCounts: List<int>.unmodifiable(data['bucketCounts'] as List<dynamic>),
+  );
+}
+
 CameraImageFormat _cameraImageFormatFromPlatformData(dynamic data) {
   return CameraImageFormat(_imageFormatGroupFromPlatformData(data), raw: data);
 }
@@ -0,0 +1,116 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+// TODO(a14n): remove this import once Flutter 3.1 or later reaches stable (including flutter/flutter#104231)
+// ignore: unnecessary_import
+import 'dart:typed_data';
+
+import 'package:flutter/foundation.dart';
+
+/// The platform component encoding video recordings.
+enum AndroidRecordingEngine {
+  /// Records with `MediaRecorder`, including audio when the camera was
+  /// created with audio enabled.
+  mediaRecorder,
+
+  /// Records video only with a hardware `MediaCodec` encoder, which allows
+  /// tuning the encoder and receiving the encoded stream through
+  /// [AndroidCamera.onEncodedVideoChunk].
+  ///
+  /// Cameras recording with this engine must be created with audio disabled.
+  mediaCodec,
+}
+
+/// How the encoder of [AndroidRecordingEngine.mediaCodec] spends its bitrate.
+// Mirrors VideoBitrateMode.java
+enum AndroidVideoBitrateMode {
+  /// Varies the bitrate with the complexity of the scene, around the target
+  /// bitrate.
+  vbr,
+
+  /// Keeps the bitrate constant, which suits live streaming.
+  cbr,
+
+  /// Keeps the quality constant, ignoring the target bitrate.
+  cq,
+}
+
+/// Android specific options for video recordings.
+///
+/// Set these on [AndroidCamera.videoRecordingOptions] before starting a
+/// recording. Unsupported bitrate modes fall back to
+/// [AndroidVideoBitrateMode.vbr].
+@immutable
+class AndroidVideoRecordingOptions {
+  /// Creates a new set of video recording options.
+  const AndroidVideoRecordingOptions({
+    this.engine = AndroidRecordingEngine.mediaRecorder,
+    this.videoBitrate,
+    this.bitrateMode = AndroidVideoBitrateMode.vbr,
+    this.keyFrameInterval = const Duration(seconds: 1),
+    this.streamEncodedChunks = false,
+  }) : assert(videoBitrate == null || videoBitrate > 0);
+
+  /// The component encoding the recording.
+  ///
+  /// The other options only apply to [AndroidRecordingEngine.mediaCodec].
+  final AndroidRecordingEngine engine;
+
+  /// The target bitrate in bits per second, or null to use the bitrate of
+  /// the resolution preset.
+  final int? videoBitrate;
+
+  /// How the encoder spends its bitrate.
+  final AndroidVideoBitrateMode bitrateMode;
+
+  /// The time between key frames, [Duration.zero] making every frame a key
+  /// frame.
+  final Duration keyFrameInterval;
+
+  /// Whether the encoded chunks are sent to
+  /// [AndroidCamera.onEncodedVideoChunk] while recording.
+  final bool streamEncodedChunks;
+
+  /// Whether these options select the default `MediaRecorder` recording.
+  bool get isDefault => engine == AndroidRecordingEngine.mediaRecorder;
+
+  /// Serializes these options into method channel call arguments.
+  Map<String, dynamic> toArguments() => <String, dynamic>{
+        'recordingEngine': describeEnum(engine),
+        if (videoBitrate != null) 'videoBitrate': videoBitrate,
+        'bitrateMode': describeEnum(bitrateMode),
+        'keyFrameInterval': keyFrameInterval.inMicroseconds / 1000000,
+        'streamEncodedChunks': streamEncodedChunks,
+      };
+}
+
+/// A chunk of the encoded video stream of a recording, see
+/// [AndroidCamera.onEncodedVideoChunk].
+@immutable
+class AndroidEncodedVideoChunk {
+  /// Creates a new encoded chunk.
+  const AndroidEncodedVideoChunk({
+    required this.bytes,
+    required this.presentationTime,
+    required this.isKeyFrame,
+    required this.isCodecConfig,
+    required this.isEndOfStream,
+  });
+
+  /// The encoded bytes.
+  final Uint8List bytes;
+
+  /// The presentation time of the chunk, excluding paused time.
+  final Duration presentationTime;
+
+  /// Whether the chunk can be decoded without previous chunks.
+  final bool isKeyFrame;
+
+  /// Whether the chunk holds codec configuration data, such as the H.264
+  /// SPS and PPS, rather than a frame.
+  final bool isCodecConfig;
+
+  /// Whether this is the last chunk of the recording.
+  final bool isEndOfStream;
+}
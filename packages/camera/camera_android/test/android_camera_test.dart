@@ -4,10 +4,20 @@
 
 import 'dart:async';
 import 'dart:math';
+// TODO(a14n): remove this import once Flutter 3.1 or later reaches stable (including flutter/flutter#104231)
+// ignore: unnecessary_import
+import 'dart:typed_data';
 
 import 'package:async/async.dart';
 import 'package:camera_android/src/android_camera.dart';
+import 'package:camera_android/src/burst_capture.dart';
+import 'package:camera_android/src/camera_settings.dart';
+import 'package:camera_android/src/camera_startup.dart';
+import 'package:camera_android/src/capture_telemetry.dart';
+import 'package:camera_android/src/image_saver_statistics.dart';
+import 'package:camera_android/src/image_stream_options.dart';
 import 'package:camera_android/src/utils.dart';
+import 'package:camera_android/src/video_recording_options.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
@@ -79,6 +89,112 @@ void main() {
       expect(cameraId, 1);
     });
 
+    test('Should send the image saver queue depth when set', () async {
+      // Arrange
+      final MethodChannelMock cameraMockChannel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{
+            'create': <String, dynamic>{
+              'cameraId': 1,
+              'imageFormatGroup': 'unknown',
+            }
+          });
+      final AndroidCamera camera = AndroidCamera()..imageSaverQueueDepth = 4;
+
+      // Act
+      await camera.createCamera(
+        const CameraDescription(
+            name: 'Test',
+            lensDirection: CameraLensDirection.back,
+            sensorOrientation: 0),
+        ResolutionPreset.high,
+      );
+
+      // Assert
+      expect(cameraMockChannel.log, <Matcher>[
+        isMethodCall(
+          'create',
+          arguments: <String, Object?>{
+            'cameraName': 'Test',
+            'resolutionPreset': 'high',
+            'enableAudio': false,
+            'imageSaverQueueDepth': 4,
+          },
+        ),
+      ]);
+    });
+
+    test('Should send keepCaptureSessionWarm when set', () async {
+      // Arrange
+      final MethodChannelMock cameraMockChannel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{
+            'create': <String, dynamic>{
+              'cameraId': 1,
+              'imageFormatGroup': 'unknown',
+            }
+          });
+      final AndroidCamera camera = AndroidCamera()
+        ..keepCaptureSessionWarm = true;
+
+      // Act
+      await camera.createCamera(
+        const CameraDescription(
+            name: 'Test',
+            lensDirection: CameraLensDirection.back,
+            sensorOrientation: 0),
+        ResolutionPreset.high,
+      );
+
+      // Assert
+      expect(cameraMockChannel.log, <Matcher>[
+        isMethodCall(
+          'create',
+          arguments: <String, Object?>{
+            'cameraName': 'Test',
+            'resolutionPreset': 'high',
+            'enableAudio': false,
+            'keepCaptureSessionWarm': true,
+          },
+        ),
+      ]);
+    });
+
+    test('Should send enableBurstCapture when set', () async {
+      // Arrange
+      final MethodChannelMock cameraMockChannel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{
+            'create': <String, dynamic>{
+              'cameraId': 1,
+              'imageFormatGroup': 'unknown',
+            }
+          });
+      final AndroidCamera camera = AndroidCamera()..enableBurstCapture = true;
+
+      // Act
+      await camera.createCamera(
+        const CameraDescription(
+            name: 'Test',
+            lensDirection: CameraLensDirection.back,
+            sensorOrientation: 0),
+        ResolutionPreset.high,
+      );
+
+      // Assert
+      expect(cameraMockChannel.log, <Matcher>[
+        isMethodCall(
+          'create',
+          arguments: <String, Object?>{
+            'cameraName': 'Test',
+            'resolutionPreset': 'high',
+            'enableAudio': false,
+            'enableBurstCapture': true,
+          },
+        ),
+      ]);
+    });
+
     test('Should throw CameraException when create throws a PlatformException',
         () {
       // Arrange
@@ -384,6 +500,93 @@ void main() {
       await streamQueue.cancel();
     });
 
+    test('Should receive picture saved events', () async {
+      // Act
+      final Stream<AndroidPictureSavedEvent> eventStream =
+          camera.onPictureSaved(cameraId);
+      final StreamQueue<AndroidPictureSavedEvent> streamQueue =
+          StreamQueue<AndroidPictureSavedEvent>(eventStream);
+
+      // Emit test events
+      await camera.handleCameraMethodCall(
+          const MethodCall('picture_saved',
+              <String, Object?>{'index': 0, 'path': '/test/0.jpg'}),
+          cameraId);
+      await camera.handleCameraMethodCall(
+          const MethodCall('picture_saved',
+              <String, Object?>{'index': 1, 'path': '/test/1.jpg'}),
+          cameraId);
+
+      // Assert
+      expect(await streamQueue.next,
+          AndroidPictureSavedEvent(cameraId, 0, XFile('/test/0.jpg')));
+      expect(await streamQueue.next,
+          AndroidPictureSavedEvent(cameraId, 1, XFile('/test/1.jpg')));
+
+      // Clean up
+      await streamQueue.cancel();
+    });
+
+    test('Should receive camera startup events', () async {
+      // Act
+      final Stream<AndroidCameraStartupEvent> eventStream =
+          camera.onCameraStartup(cameraId);
+      final StreamQueue<AndroidCameraStartupEvent> streamQueue =
+          StreamQueue<AndroidCameraStartupEvent>(eventStream);
+
+      // Emit test events
+      await camera.handleCameraMethodCall(
+          const MethodCall('startup_completed', <String, Object?>{
+            'timings': <String, Object?>{
+              'imageReaders': 10.5,
+              'openCamera': 300.0,
+              'sessionConfiguration': 200.0,
+              'firstFrame': 80.0,
+              'total': 600.25,
+            },
+          }),
+          cameraId);
+
+      // Assert
+      expect(
+          await streamQueue.next,
+          AndroidCameraStartupEvent(
+            cameraId,
+            imageReaders: const Duration(microseconds: 10500),
+            openCamera: const Duration(milliseconds: 300),
+            sessionConfiguration: const Duration(milliseconds: 200),
+            firstFrame: const Duration(milliseconds: 80),
+            total: const Duration(microseconds: 600250),
+          ));
+
+      // Clean up
+      await streamQueue.cancel();
+    });
+
+    test('Should receive metering converged events', () async {
+      // Act
+      final Stream<AndroidMeteringConvergedEvent> eventStream =
+          camera.onMeteringConverged(cameraId);
+      final StreamQueue<AndroidMeteringConvergedEvent> streamQueue =
+          StreamQueue<AndroidMeteringConvergedEvent>(eventStream);
+
+      // Emit test events
+      await camera.handleCameraMethodCall(
+          const MethodCall('metering_converged', <String, Object?>{
+            'focusConverged': true,
+            'exposureConverged': null,
+          }),
+          cameraId);
+
+      // Assert
+      expect(
+          await streamQueue.next,
+          AndroidMeteringConvergedEvent(cameraId, focusConverged: true));
+
+      // Clean up
+      await streamQueue.cancel();
+    });
+
     test('Should receive camera error events', () async {
       // Act
       final Stream<CameraErrorEvent> errorStream =
@@ -558,6 +761,29 @@ void main() {
       expect(file.path, '/test/path.jpg');
     });
 
+    test('Should take a burst of pictures and return XFile instances',
+        () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{
+            'takePictureBurst': <String>['/test/0.jpg', '/test/1.jpg'],
+          });
+
+      // Act
+      final List<XFile> files = await camera.takePictureBurst(cameraId, 2);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('takePictureBurst', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'count': 2,
+        }),
+      ]);
+      expect(files.map((XFile file) => file.path),
+          <String>['/test/0.jpg', '/test/1.jpg']);
+    });
+
     test('Should prepare for video recording', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -643,6 +869,67 @@ void main() {
       ]);
     });
 
+    test('Should pass video recording options when starting recording a video',
+        () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'startVideoRecording': null},
+      );
+      camera.videoRecordingOptions = const AndroidVideoRecordingOptions(
+        engine: AndroidRecordingEngine.mediaCodec,
+        videoBitrate: 4000000,
+        bitrateMode: AndroidVideoBitrateMode.cbr,
+        keyFrameInterval: Duration(milliseconds: 500),
+        streamEncodedChunks: true,
+      );
+
+      // Act
+      await camera.startVideoRecording(cameraId);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startVideoRecording', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'maxVideoDuration': null,
+          'enableStream': false,
+          'recordingEngine': 'mediaCodec',
+          'videoBitrate': 4000000,
+          'bitrateMode': 'cbr',
+          'keyFrameInterval': 0.5,
+          'streamEncodedChunks': true,
+        }),
+      ]);
+    });
+
+    test('Should receive encoded video chunks', () async {
+      // Arrange
+      final ByteData chunk = ByteData(12 + 2);
+      chunk.setInt64(0, 1000, Endian.little);
+      chunk.setInt32(8, 2, Endian.little);
+      final List<AndroidEncodedVideoChunk> chunks =
+          <AndroidEncodedVideoChunk>[];
+      final StreamSubscription<AndroidEncodedVideoChunk> subscription = camera
+          .onEncodedVideoChunk(cameraId)
+          .listen(chunks.add);
+
+      // Act
+      await TestDefaultBinaryMessengerBinding.instance!.defaultBinaryMessenger
+          .handlePlatformMessage(
+              '${AndroidCamera.encodedVideoChannelName}/$cameraId',
+              chunk,
+              (ByteData? reply) {});
+      await Future<void>.delayed(Duration.zero);
+
+      // Assert
+      expect(chunks.length, 1);
+      expect(chunks[0].isCodecConfig, isTrue);
+      expect(chunks[0].presentationTime, const Duration(milliseconds: 1));
+      expect(chunks[0].bytes.length, 2);
+
+      await subscription.cancel();
+    });
+
     test('Should stop a video recording and return the file', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -1003,6 +1290,108 @@ void main() {
                   'Illegal zoom error')));
     });
 
+    test('Should apply several settings at once', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'applySettings': null},
+      );
+
+      // Act
+      final double? appliedExposureOffset = await camera.applySettings(
+        cameraId,
+        const AndroidCameraSettings(
+          flashMode: FlashMode.torch,
+          exposureMode: ExposureMode.locked,
+          exposurePoint: Point<double>(0.25, 0.75),
+          focusMode: FocusMode.auto,
+          resetFocusPoint: true,
+          zoomLevel: 2.0,
+        ),
+      );
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('applySettings', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'flashMode': 'torch',
+          'exposureMode': 'locked',
+          'exposurePoint': <String, double>{'x': 0.25, 'y': 0.75},
+          'focusMode': 'auto',
+          'focusPoint': 'reset',
+          'zoom': 2.0,
+        }),
+      ]);
+      expect(appliedExposureOffset, isNull);
+    });
+
+    test('Should return the applied exposure offset', () async {
+      // Arrange
+      MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'applySettings': 0.6},
+      );
+
+      // Act
+      final double? appliedExposureOffset = await camera.applySettings(
+        cameraId,
+        const AndroidCameraSettings(exposureOffset: 0.5),
+      );
+
+      // Assert
+      expect(appliedExposureOffset, 0.6);
+    });
+
+    test('Should throw CameraException when settings are rejected', () async {
+      // Arrange
+      MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'applySettings': PlatformException(
+            code: 'ZOOM_ERROR',
+            message: 'Illegal zoom error',
+          )
+        },
+      );
+
+      // Act & assert
+      expect(
+          () => camera.applySettings(
+              cameraId, const AndroidCameraSettings(zoomLevel: -1.0)),
+          throwsA(isA<CameraException>()
+              .having((CameraException e) => e.code, 'code', 'ZOOM_ERROR')));
+    });
+
+    test('Should set weighted metering regions', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'setMeteringRegions': null},
+      );
+
+      // Act
+      await camera.setMeteringRegions(
+        cameraId,
+        focusRegions: const <AndroidMeteringRegion>[
+          AndroidMeteringRegion(Point<double>(0.25, 0.75)),
+          AndroidMeteringRegion(Point<double>(0.5, 0.5), weight: 200),
+        ],
+        exposureRegions: const <AndroidMeteringRegion>[],
+      );
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('setMeteringRegions', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'focusRegions': <Map<String, Object>>[
+            <String, Object>{'x': 0.25, 'y': 0.75, 'weight': 1000},
+            <String, Object>{'x': 0.5, 'y': 0.5, 'weight': 200},
+          ],
+          'exposureRegions': <Map<String, Object>>[],
+        }),
+      ]);
+    });
+
     test('Should lock the capture orientation', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -1091,12 +1480,235 @@ void main() {
 
       // Assert
       expect(channel.log, <Matcher>[
-        isMethodCall('startImageStream', arguments: null),
+        isMethodCall('startImageStream',
+            arguments: <String, Object?>{'cameraId': cameraId}),
       ]);
 
       subscription.cancel();
     });
 
+    test('Should start streaming with a frame pool', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'stopImageStream': null,
+        },
+      );
+      camera.imageStreamOptions =
+          const AndroidImageStreamOptions(useFramePool: true, framePoolSize: 2);
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId)
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'framePool': true,
+          'framePoolSize': 2,
+          'deliveryMode': 'all',
+          'maxFramesInFlight': 2,
+          'targetFps': null,
+          'subsampleFactor': 1,
+          'lumaOnly': false,
+        }),
+      ]);
+
+      subscription.cancel();
+    });
+
+    test('Should start streaming with a delivery mode', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'stopImageStream': null,
+        },
+      );
+      camera.imageStreamOptions = const AndroidImageStreamOptions(
+        deliveryMode: AndroidImageStreamDeliveryMode.targetFps,
+        targetFps: 15,
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId)
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'framePool': false,
+          'framePoolSize': 3,
+          'deliveryMode': 'targetFps',
+          'maxFramesInFlight': 2,
+          'targetFps': 15.0,
+          'subsampleFactor': 1,
+          'lumaOnly': false,
+        }),
+      ]);
+
+      subscription.cancel();
+    });
+
+    test('Should start streaming with a region of interest', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'stopImageStream': null,
+        },
+      );
+      camera.imageStreamOptions = const AndroidImageStreamOptions(
+        regionOfInterest: Rect.fromLTWH(0.25, 0.25, 0.5, 0.5),
+        subsampleFactor: 2,
+        lumaOnly: true,
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId)
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'framePool': false,
+          'framePoolSize': 3,
+          'deliveryMode': 'all',
+          'maxFramesInFlight': 2,
+          'targetFps': null,
+          'regionOfInterest': <String, double>{
+            'left': 0.25,
+            'top': 0.25,
+            'width': 0.5,
+            'height': 0.5,
+          },
+          'subsampleFactor': 2,
+          'lumaOnly': true,
+        }),
+      ]);
+
+      subscription.cancel();
+    });
+
+    test('Should get the image stream statistics', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'getImageStreamStatistics': <String, dynamic>{
+            'deliveredFrames': 10,
+            'droppedFrames': 5,
+            'framesInFlight': 1,
+          },
+        },
+      );
+
+      // Act
+      final AndroidImageStreamStatistics statistics =
+          await camera.getImageStreamStatistics(cameraId);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('getImageStreamStatistics',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+      ]);
+      expect(statistics.deliveredFrames, 10);
+      expect(statistics.droppedFrames, 5);
+      expect(statistics.framesInFlight, 1);
+    });
+
+    test('Should get the image saver statistics', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'getImageSaverStatistics': <String, dynamic>{
+            'queueDepth': 2,
+            'pendingWrites': 1,
+            'maxPendingWrites': 2,
+            'completedWrites': 7,
+            'rejectedWrites': 1,
+          },
+        },
+      );
+
+      // Act
+      final AndroidImageSaverStatistics statistics =
+          await camera.getImageSaverStatistics(cameraId);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('getImageSaverStatistics',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+      ]);
+      expect(statistics.queueDepth, 2);
+      expect(statistics.pendingWrites, 1);
+      expect(statistics.maxPendingWrites, 2);
+      expect(statistics.completedWrites, 7);
+      expect(statistics.rejectedWrites, 1);
+    });
+
+    test('Should get the concurrent cameras', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'availableConcurrentCameras': <dynamic>[
+            <dynamic>['0', '1'],
+          ],
+        },
+      );
+
+      // Act
+      final List<Set<String>> concurrentCameras =
+          await camera.availableConcurrentCameras();
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('availableConcurrentCameras', arguments: null),
+      ]);
+      expect(concurrentCameras, <Set<String>>[
+        <String>{'0', '1'},
+      ]);
+    });
+
+    test('Should start capture telemetry', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startCaptureTelemetry': null,
+          'stopCaptureTelemetry': null,
+        },
+      );
+
+      // Act
+      final StreamSubscription<AndroidCaptureTelemetry> subscription = camera
+          .onCaptureTelemetry(cameraId,
+              reportInterval: const Duration(milliseconds: 500))
+          .listen((AndroidCaptureTelemetry telemetry) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startCaptureTelemetry', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'reportIntervalMs': 500,
+        }),
+      ]);
+
+      await subscription.cancel();
+    });
+
     test('Should stop streaming', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -1115,9 +1727,43 @@ void main() {
 
       // Assert
       expect(channel.log, <Matcher>[
-        isMethodCall('startImageStream', arguments: null),
-        isMethodCall('stopImageStream', arguments: null),
+        isMethodCall('startImageStream',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+        isMethodCall('stopImageStream',
+            arguments: <String, Object?>{'cameraId': cameraId}),
       ]);
     });
+
+    test('Should stream from several cameras at the same time', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'stopImageStream': null,
+        },
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId)
+          .listen((CameraImageData imageData) {});
+      final StreamSubscription<CameraImageData> otherSubscription = camera
+          .onStreamedFrameAvailable(cameraId + 1)
+          .listen((CameraImageData imageData) {});
+      subscription.cancel();
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+        isMethodCall('startImageStream',
+            arguments: <String, Object?>{'cameraId': cameraId + 1}),
+        isMethodCall('stopImageStream',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+      ]);
+
+      otherSubscription.cancel();
+    });
   });
 }
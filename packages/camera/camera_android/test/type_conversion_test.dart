@@ -6,7 +6,10 @@
 // ignore: unnecessary_import
 import 'dart:typed_data';
 
+import 'package:camera_android/src/capture_telemetry.dart';
+import 'package:camera_android/src/image_stream_options.dart';
 import 'package:camera_android/src/type_conversion.dart';
+import 'package:camera_android/src/video_recording_options.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter_test/flutter_test.dart';
 
@@ -57,4 +60,106 @@ void main() {
     });
     expect(cameraImage.format.group, ImageFormatGroup.yuv420);
   });
+
+  test('CameraImageData can be created from a pooled binary frame', () {
+    final ByteData frame = ByteData(48 + 12 + 4);
+    frame.setInt32(0, 4, Endian.little);
+    frame.setInt32(4, 1, Endian.little);
+    frame.setInt32(8, 35, Endian.little);
+    frame.setInt32(12, 1, Endian.little);
+    frame.setInt32(16, 1 | 2, Endian.little);
+    frame.setFloat64(24, 1.8, Endian.little);
+    frame.setInt64(32, 9991324, Endian.little);
+    frame.setInt32(48, 4, Endian.little);
+    frame.setInt32(52, 1, Endian.little);
+    frame.setInt32(56, 4, Endian.little);
+    frame.buffer.asUint8List(60, 4).setAll(0, <int>[1, 2, 3, 4]);
+
+    final CameraImageData cameraImage = cameraImageFromPlatformBytes(frame);
+
+    expect(cameraImage.width, 4);
+    expect(cameraImage.height, 1);
+    expect(cameraImage.format.group, ImageFormatGroup.yuv420);
+    expect(cameraImage.lensAperture, 1.8);
+    expect(cameraImage.sensorExposureTime, 9991324);
+    expect(cameraImage.sensorSensitivity, isNull);
+    expect(cameraImage.planes.length, 1);
+    expect(cameraImage.planes[0].bytesPerRow, 4);
+    expect(cameraImage.planes[0].bytesPerPixel, 1);
+    expect(cameraImage.planes[0].bytes, <int>[1, 2, 3, 4]);
+  });
+
+  test('CameraImageData reports luma-only frames as Y8', () {
+    final ByteData frame = ByteData(48 + 12 + 4);
+    frame.setInt32(0, 4, Endian.little);
+    frame.setInt32(4, 1, Endian.little);
+    frame.setInt32(8, androidImageFormatY8, Endian.little);
+    frame.setInt32(12, 1, Endian.little);
+    frame.setInt32(48, 4, Endian.little);
+    frame.setInt32(52, 1, Endian.little);
+    frame.setInt32(56, 4, Endian.little);
+    frame.buffer.asUint8List(60, 4).setAll(0, <int>[1, 2, 3, 4]);
+
+    final CameraImageData cameraImage = cameraImageFromPlatformBytes(frame);
+
+    expect(cameraImage.format.raw, androidImageFormatY8);
+    expect(cameraImage.format.group, ImageFormatGroup.unknown);
+    expect(cameraImage.planes.length, 1);
+  });
+
+  test('AndroidEncodedVideoChunk can be created from a binary chunk', () {
+    final ByteData chunk = ByteData(12 + 3);
+    chunk.setInt64(0, 66666, Endian.little);
+    chunk.setInt32(8, 1, Endian.little);
+    chunk.buffer.asUint8List(12, 3).setAll(0, <int>[0, 0, 1]);
+
+    final AndroidEncodedVideoChunk encodedChunk =
+        encodedVideoChunkFromPlatformBytes(chunk);
+
+    expect(encodedChunk.presentationTime, const Duration(microseconds: 66666));
+    expect(encodedChunk.isKeyFrame, isTrue);
+    expect(encodedChunk.isCodecConfig, isFalse);
+    expect(encodedChunk.isEndOfStream, isFalse);
+    expect(encodedChunk.bytes, <int>[0, 0, 1]);
+  });
+
+  test('AndroidCaptureTelemetry can be created', () {
+    Map<dynamic, dynamic> histogram(int count, List<int> bucketCounts) =>
+        <dynamic, dynamic>{
+          'count': count,
+          'minMicros': 16000,
+          'maxMicros': 40000,
+          'meanMicros': 20000,
+          'bucketCounts': bucketCounts,
+        };
+    final AndroidCaptureTelemetry telemetry =
+        captureTelemetryFromPlatformData(<dynamic, dynamic>{
+      'durationMicros': 1000000,
+      'capturedFrames': 30,
+      'skippedFrames': 1,
+      'deliveredFrames': 25,
+      'droppedFrames': 5,
+      'bucketBoundsMicros': <dynamic>[17000, 34000],
+      'frameInterval': histogram(29, <int>[20, 8, 1]),
+      'frameJitter': histogram(0, <int>[0, 0, 0]),
+      'deliveryLatency': histogram(25, <int>[25, 0, 0]),
+    });
+
+    expect(telemetry.duration, const Duration(seconds: 1));
+    expect(telemetry.capturedFrames, 30);
+    expect(telemetry.skippedFrames, 1);
+    expect(telemetry.deliveredFrames, 25);
+    expect(telemetry.droppedFrames, 5);
+    expect(telemetry.frameInterval.count, 29);
+    expect(telemetry.frameInterval.mean, const Duration(milliseconds: 20));
+    expect(telemetry.frameInterval.bucketBounds,
+        const <Duration>[Duration(milliseconds: 17), Duration(milliseconds: 34)]);
+    expect(telemetry.frameInterval.percentile(50),
+        const Duration(milliseconds: 17));
+    expect(telemetry.frameInterval.percentile(90),
+        const Duration(milliseconds: 34));
+    expect(telemetry.frameInterval.percentile(100),
+        const Duration(milliseconds: 40));
+    expect(telemetry.frameJitter.percentile(50), isNull);
+  });
 }
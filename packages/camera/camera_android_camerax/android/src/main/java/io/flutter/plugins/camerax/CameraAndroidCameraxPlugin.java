@@ -10,6 +10,8 @@ import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.embedding.engine.plugins.activity.ActivityAware;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.plugin.common.BinaryMessenger;
+import java.util.ArrayList;
+import java.util.List;
 
 /** Platform implementation of the camera_plugin implemented with the CameraX library. */
 public final class CameraAndroidCameraxPlugin implements FlutterPlugin, ActivityAware {
@@ -28,9 +30,13 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
     // Set up instance manager.
     instanceManager =
         InstanceManager.open(
-            identifier -> {
+            identifiers -> {
+              final List<Long> finalizedIdentifiers = new ArrayList<>(identifiers.length);
+              for (long identifier : identifiers) {
+                finalizedIdentifiers.add(identifier);
+              }
               new GeneratedCameraXLibrary.JavaObjectFlutterApi(binaryMessenger)
-                  .dispose(identifier, reply -> {});
+                  .disposeAll(finalizedIdentifiers, reply -> {});
             });
 
     // Set up Host APIs.
@@ -44,6 +50,8 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
         new ProcessCameraProviderHostApiImpl(binaryMessenger, instanceManager, context);
     GeneratedCameraXLibrary.ProcessCameraProviderHostApi.setup(
         binaryMessenger, processCameraProviderHostApi);
+    GeneratedCameraXLibrary.ImageAnalysisHostApi.setup(
+        binaryMessenger, new ImageAnalysisHostApiImpl(binaryMessenger, instanceManager));
   }
 
   @Override
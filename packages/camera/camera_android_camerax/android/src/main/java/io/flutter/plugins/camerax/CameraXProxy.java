@@ -4,10 +4,43 @@
 
 package io.flutter.plugins.camerax;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.core.CameraInfo;
 import androidx.camera.core.CameraSelector;
+import androidx.camera.core.ImageAnalysis;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class CameraXProxy {
   public CameraSelector.Builder createCameraSelectorBuilder() {
     return new CameraSelector.Builder();
   }
+
+  /**
+   * Returns the lens facing of the camera described by {@code cameraInfo}, or null if it faces
+   * neither the front nor the back.
+   */
+  @Nullable
+  public Integer getLensFacing(@NonNull CameraInfo cameraInfo) {
+    for (int lensFacing :
+        new int[] {CameraSelector.LENS_FACING_BACK, CameraSelector.LENS_FACING_FRONT}) {
+      final CameraSelector cameraSelector =
+          createCameraSelectorBuilder().requireLensFacing(lensFacing).build();
+      if (!cameraSelector.filter(Collections.singletonList(cameraInfo)).isEmpty()) {
+        return lensFacing;
+      }
+    }
+    return null;
+  }
+
+  public ImageAnalysis.Builder createImageAnalysisBuilder() {
+    return new ImageAnalysis.Builder();
+  }
+
+  /** Creates the executor an {@link ImageAnalysis.Analyzer} runs on, off the main thread. */
+  public ExecutorService createAnalyzerExecutor() {
+    return Executors.newSingleThreadExecutor();
+  }
 }
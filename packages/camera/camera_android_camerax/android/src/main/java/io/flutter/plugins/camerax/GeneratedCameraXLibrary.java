@@ -108,6 +108,17 @@ public class GeneratedCameraXLibrary {
             callback.reply(null);
           });
     }
+
+    public void disposeAll(@NonNull List<Long> identifiersArg, Reply<Void> callback) {
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(
+              binaryMessenger, "dev.flutter.pigeon.JavaObjectFlutterApi.disposeAll", getCodec());
+      channel.send(
+          new ArrayList<Object>(Arrays.asList(identifiersArg)),
+          channelReply -> {
+            callback.reply(null);
+          });
+    }
   }
 
   private static class CameraInfoHostApiCodec extends StandardMessageCodec {
@@ -194,6 +205,22 @@ public class GeneratedCameraXLibrary {
             callback.reply(null);
           });
     }
+
+    public void createAll(
+        @NonNull List<Long> identifiersArg,
+        @NonNull List<Long> lensFacingsArg,
+        @NonNull List<Long> sensorRotationsDegreesArg,
+        Reply<Void> callback) {
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(
+              binaryMessenger, "dev.flutter.pigeon.CameraInfoFlutterApi.createAll", getCodec());
+      channel.send(
+          new ArrayList<Object>(
+              Arrays.asList(identifiersArg, lensFacingsArg, sensorRotationsDegreesArg)),
+          channelReply -> {
+            callback.reply(null);
+          });
+    }
   }
 
   private static class CameraSelectorHostApiCodec extends StandardMessageCodec {
@@ -445,6 +472,135 @@ public class GeneratedCameraXLibrary {
     }
   }
 
+  private static class ImageAnalysisHostApiCodec extends StandardMessageCodec {
+    public static final ImageAnalysisHostApiCodec INSTANCE = new ImageAnalysisHostApiCodec();
+
+    private ImageAnalysisHostApiCodec() {}
+  }
+
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+  public interface ImageAnalysisHostApi {
+    void create(
+        @NonNull Long identifier,
+        @Nullable Long backpressureStrategy,
+        @Nullable Long imageQueueDepth,
+        @Nullable Long outputImageFormat);
+
+    void setAnalyzer(
+        @NonNull Long identifier, @NonNull Boolean lumaOnly, @NonNull Long framePoolSize);
+
+    void clearAnalyzer(@NonNull Long identifier);
+
+    /** The codec used by ImageAnalysisHostApi. */
+    static MessageCodec<Object> getCodec() {
+      return ImageAnalysisHostApiCodec.INSTANCE;
+    }
+
+    /**
+     * Sets up an instance of `ImageAnalysisHostApi` to handle messages through the
+     * `binaryMessenger`.
+     */
+    static void setup(BinaryMessenger binaryMessenger, ImageAnalysisHostApi api) {
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.ImageAnalysisHostApi.create", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  Number backpressureStrategyArg = (Number) args.get(1);
+                  Number imageQueueDepthArg = (Number) args.get(2);
+                  Number outputImageFormatArg = (Number) args.get(3);
+                  api.create(
+                      (identifierArg == null) ? null : identifierArg.longValue(),
+                      (backpressureStrategyArg == null)
+                          ? null
+                          : backpressureStrategyArg.longValue(),
+                      (imageQueueDepthArg == null) ? null : imageQueueDepthArg.longValue(),
+                      (outputImageFormatArg == null) ? null : outputImageFormatArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.ImageAnalysisHostApi.setAnalyzer", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  Boolean lumaOnlyArg = (Boolean) args.get(1);
+                  if (lumaOnlyArg == null) {
+                    throw new NullPointerException("lumaOnlyArg unexpectedly null.");
+                  }
+                  Number framePoolSizeArg = (Number) args.get(2);
+                  if (framePoolSizeArg == null) {
+                    throw new NullPointerException("framePoolSizeArg unexpectedly null.");
+                  }
+                  api.setAnalyzer(
+                      (identifierArg == null) ? null : identifierArg.longValue(),
+                      lumaOnlyArg,
+                      (framePoolSizeArg == null) ? null : framePoolSizeArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.ImageAnalysisHostApi.clearAnalyzer",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  api.clearAnalyzer((identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+    }
+  }
+
   private static Map<String, Object> wrapError(Throwable exception) {
     Map<String, Object> errorMap = new HashMap<>();
     errorMap.put("message", exception.toString());
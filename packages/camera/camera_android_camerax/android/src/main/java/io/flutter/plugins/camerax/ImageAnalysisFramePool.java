@@ -0,0 +1,195 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import android.os.Handler;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+import io.flutter.plugin.common.BinaryMessenger;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * An {@link ImageAnalysis.Analyzer} sending the analyzed images to Dart as binary messages, using
+ * a fixed set of reusable direct buffers.
+ *
+ * <p>Every image is copied into the buffer of a free pool slot and closed right away, so CameraX
+ * can produce the next image while Dart processes this one. The slot is returned to the pool once
+ * Dart replies to the message, so in steady state no buffers are allocated and at most {@code
+ * poolSize} images are in flight. Images arriving while all slots are in use are dropped, which
+ * with {@link ImageAnalysis#STRATEGY_KEEP_ONLY_LATEST} keeps Dart on the latest images.
+ *
+ * <p>A message holds, in big-endian order, the width, height, format, rotation degrees and plane
+ * count as 32-bit integers around the 64-bit timestamp in nanoseconds, then for every plane its
+ * row stride, pixel stride and byte length as 32-bit integers followed by its bytes.
+ */
+class ImageAnalysisFramePool implements ImageAnalysis.Analyzer {
+  /** The prefix of the binary channel of an {@link ImageAnalysis}, followed by its identifier. */
+  static final String CHANNEL_PREFIX = "plugins.flutter.io/camerax/imageAnalysis/";
+
+  private static final int HEADER_SIZE = 5 * Integer.BYTES + Long.BYTES;
+  private static final int PLANE_HEADER_SIZE = 3 * Integer.BYTES;
+
+  @NonNull private final BinaryMessenger messenger;
+  @NonNull private final String channelName;
+  @NonNull private final Handler handler;
+  private final boolean lumaOnly;
+  private final ArrayDeque<Frame> freeFrames;
+  private volatile boolean closed;
+  private long droppedFrameCount;
+
+  /**
+   * Creates a new instance of the {@link ImageAnalysisFramePool} class.
+   *
+   * @param messenger the {@link BinaryMessenger} used to send images to Dart.
+   * @param channelName the name of the binary channel to send the images on.
+   * @param handler a handler managing the main thread, used to send the images.
+   * @param poolSize the number of reusable buffers, which is also the maximum number of images in
+   *     flight.
+   * @param lumaOnly whether to only send the first plane, the luma of YUV images.
+   */
+  ImageAnalysisFramePool(
+      @NonNull BinaryMessenger messenger,
+      @NonNull String channelName,
+      @NonNull Handler handler,
+      int poolSize,
+      boolean lumaOnly) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("poolSize must be at least 1, was " + poolSize);
+    }
+    this.messenger = messenger;
+    this.channelName = channelName;
+    this.handler = handler;
+    this.lumaOnly = lumaOnly;
+    this.freeFrames = new ArrayDeque<>(poolSize);
+    for (int i = 0; i < poolSize; i++) {
+      freeFrames.add(new Frame());
+    }
+  }
+
+  @Override
+  public void analyze(@NonNull ImageProxy image) {
+    try {
+      publish(image);
+    } finally {
+      image.close();
+    }
+  }
+
+  private void publish(@NonNull ImageProxy image) {
+    if (closed) {
+      return;
+    }
+    final Frame frame;
+    synchronized (freeFrames) {
+      frame = freeFrames.poll();
+    }
+    if (frame == null) {
+      droppedFrameCount++;
+      return;
+    }
+    frame.encode(image);
+    handler.post(frame);
+  }
+
+  /** Returns the number of images dropped because all buffers were in flight. */
+  @VisibleForTesting
+  long getDroppedFrameCount() {
+    return droppedFrameCount;
+  }
+
+  /** Returns the number of pool slots that are free to receive a new image. */
+  @VisibleForTesting
+  int getAvailableFrameCount() {
+    synchronized (freeFrames) {
+      return freeFrames.size();
+    }
+  }
+
+  /**
+   * Stops sending images and releases all pooled buffers.
+   *
+   * <p>Images that are in flight are discarded when Dart acknowledges them.
+   */
+  void close() {
+    closed = true;
+    synchronized (freeFrames) {
+      freeFrames.clear();
+    }
+  }
+
+  private void recycle(@NonNull Frame frame) {
+    if (closed) {
+      return;
+    }
+    synchronized (freeFrames) {
+      freeFrames.add(frame);
+    }
+  }
+
+  @VisibleForTesting
+  static int getEncodedSize(@NonNull ImageProxy image, boolean lumaOnly) {
+    final ImageProxy.PlaneProxy[] planes = image.getPlanes();
+    final int planeCount = lumaOnly ? Math.min(1, planes.length) : planes.length;
+    int size = HEADER_SIZE;
+    for (int i = 0; i < planeCount; i++) {
+      size += PLANE_HEADER_SIZE + planes[i].getBuffer().remaining();
+    }
+    return size;
+  }
+
+  @VisibleForTesting
+  static void encode(@NonNull ImageProxy image, boolean lumaOnly, @NonNull ByteBuffer output) {
+    final ImageProxy.PlaneProxy[] planes = image.getPlanes();
+    final int planeCount = lumaOnly ? Math.min(1, planes.length) : planes.length;
+    output.clear();
+    output.putInt(image.getWidth());
+    output.putInt(image.getHeight());
+    output.putInt(image.getFormat());
+    output.putInt(image.getImageInfo().getRotationDegrees());
+    output.putLong(image.getImageInfo().getTimestamp());
+    output.putInt(planeCount);
+    for (int i = 0; i < planeCount; i++) {
+      final ImageProxy.PlaneProxy plane = planes[i];
+      // Duplicate, so the position of the buffer owned by the image is left untouched.
+      final ByteBuffer bytes = plane.getBuffer().duplicate();
+      output.putInt(plane.getRowStride());
+      output.putInt(plane.getPixelStride());
+      output.putInt(bytes.remaining());
+      output.put(bytes);
+    }
+    // The position marks the end of the frame, which is what BinaryMessenger#send expects.
+  }
+
+  /** A pool slot holding a reusable direct buffer for one encoded image. */
+  private final class Frame implements Runnable, BinaryMessenger.BinaryReply {
+    @Nullable private ByteBuffer buffer;
+
+    void encode(@NonNull ImageProxy image) {
+      final int size = getEncodedSize(image, lumaOnly);
+      if (buffer == null || buffer.capacity() < size) {
+        // Only happens for the first images, or when the analysis resolution changes.
+        buffer = ByteBuffer.allocateDirect(size);
+      }
+      ImageAnalysisFramePool.encode(image, lumaOnly, buffer);
+    }
+
+    @Override
+    public void run() {
+      if (closed) {
+        return;
+      }
+      messenger.send(channelName, buffer, this);
+    }
+
+    @Override
+    public void reply(@Nullable ByteBuffer reply) {
+      recycle(this);
+    }
+  }
+}
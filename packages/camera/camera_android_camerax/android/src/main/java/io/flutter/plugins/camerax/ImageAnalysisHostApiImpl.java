@@ -0,0 +1,101 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.core.ImageAnalysis;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageAnalysisHostApi;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
+  private final BinaryMessenger binaryMessenger;
+  private final InstanceManager instanceManager;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final Map<Long, ImageAnalysisFramePool> framePools = new HashMap<>();
+  private final Map<Long, ExecutorService> analyzerExecutors = new HashMap<>();
+
+  @VisibleForTesting public CameraXProxy cameraXProxy = new CameraXProxy();
+
+  public ImageAnalysisHostApiImpl(
+      BinaryMessenger binaryMessenger, InstanceManager instanceManager) {
+    this.binaryMessenger = binaryMessenger;
+    this.instanceManager = instanceManager;
+  }
+
+  /**
+   * Creates an {@link ImageAnalysis} use case, keeping only the latest image unless another
+   * backpressure strategy is specified.
+   */
+  @Override
+  public void create(
+      @NonNull Long identifier,
+      @Nullable Long backpressureStrategy,
+      @Nullable Long imageQueueDepth,
+      @Nullable Long outputImageFormat) {
+    ImageAnalysis.Builder imageAnalysisBuilder = cameraXProxy.createImageAnalysisBuilder();
+
+    imageAnalysisBuilder.setBackpressureStrategy(
+        backpressureStrategy == null
+            ? ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST
+            : Math.toIntExact(backpressureStrategy));
+    if (imageQueueDepth != null) {
+      imageAnalysisBuilder.setImageQueueDepth(Math.toIntExact(imageQueueDepth));
+    }
+    if (outputImageFormat != null) {
+      // CameraX converts YUV images to RGBA natively when requested.
+      imageAnalysisBuilder.setOutputImageFormat(Math.toIntExact(outputImageFormat));
+    }
+
+    instanceManager.addDartCreatedInstance(imageAnalysisBuilder.build(), identifier);
+  }
+
+  /**
+   * Sends the analyzed images to Dart on the binary channel of the {@link ImageAnalysis}, from a
+   * background executor.
+   */
+  @Override
+  public void setAnalyzer(
+      @NonNull Long identifier, @NonNull Boolean lumaOnly, @NonNull Long framePoolSize) {
+    ImageAnalysis imageAnalysis = (ImageAnalysis) instanceManager.getInstance(identifier);
+
+    ImageAnalysisFramePool framePool =
+        new ImageAnalysisFramePool(
+            binaryMessenger,
+            ImageAnalysisFramePool.CHANNEL_PREFIX + identifier,
+            mainHandler,
+            Math.toIntExact(framePoolSize),
+            lumaOnly);
+    ExecutorService analyzerExecutor = cameraXProxy.createAnalyzerExecutor();
+    ImageAnalysisFramePool previousFramePool = framePools.put(identifier, framePool);
+    ExecutorService previousAnalyzerExecutor = analyzerExecutors.put(identifier, analyzerExecutor);
+    imageAnalysis.setAnalyzer(analyzerExecutor, framePool);
+    // Only released once replaced, so CameraX never hands an image to a shut down executor.
+    release(previousFramePool, previousAnalyzerExecutor);
+  }
+
+  @Override
+  public void clearAnalyzer(@NonNull Long identifier) {
+    ImageAnalysis imageAnalysis = (ImageAnalysis) instanceManager.getInstance(identifier);
+    imageAnalysis.clearAnalyzer();
+    release(framePools.remove(identifier), analyzerExecutors.remove(identifier));
+  }
+
+  private static void release(
+      @Nullable ImageAnalysisFramePool framePool, @Nullable ExecutorService analyzerExecutor) {
+    if (framePool != null) {
+      framePool.close();
+    }
+    if (analyzerExecutor != null) {
+      analyzerExecutor.shutdown();
+    }
+  }
+}
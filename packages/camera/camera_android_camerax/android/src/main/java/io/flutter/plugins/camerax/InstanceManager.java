@@ -6,11 +6,15 @@ package io.flutter.plugins.camerax;
 
 import android.os.Handler;
 import android.os.Looper;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.collection.LongSparseArray;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Maintains instances used to communicate with the corresponding objects in Dart.
@@ -23,6 +27,12 @@ import java.util.WeakHashMap;
  * is removed and then the identifier is retrieved with the intention to pass the identifier to Dart
  * (e.g. calling {@link #getIdentifierForStrongReference(Object)}), the strong reference to the
  * instance is recreated. The strong reference will then need to be removed manually again.
+ *
+ * <p>The manager is safe to use from any thread. Instances are stored in stripes keyed by their
+ * identifier, each guarded by its own lock, so camera objects created off the main thread do not
+ * contend with lookups made on it. Finalized instances are collected on the main thread every
+ * `clearFinalizedWeakReferencesInterval` milliseconds and reported to the `finalizationListener`
+ * in a single batch.
  */
 @SuppressWarnings("unchecked")
 public class InstanceManager {
@@ -32,25 +42,50 @@ public class InstanceManager {
   // 0 <= n < 2^16.
   private static final long MIN_HOST_CREATED_IDENTIFIER = 65536;
   private static final long CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL = 30000;
+  // Must be a power of two, so an identifier is mapped to its stripe with a mask.
+  private static final int STRIPE_COUNT = 16;
 
-  /** Interface for listening when a weak reference of an instance is removed from the manager. */
+  /** Interface for listening when weak references of instances are removed from the manager. */
   public interface FinalizationListener {
-    void onFinalize(long identifier);
+    /**
+     * Called with the identifiers of all instances finalized since the previous call.
+     *
+     * @param identifiers the identifiers of the finalized instances, never empty.
+     */
+    void onFinalize(@NonNull long[] identifiers);
+  }
+
+  /** A weak reference that knows the identifier it was added with. */
+  private static final class IdentifiedWeakReference extends WeakReference<Object> {
+    final long identifier;
+
+    IdentifiedWeakReference(Object instance, long identifier, ReferenceQueue<Object> queue) {
+      super(instance, queue);
+      this.identifier = identifier;
+    }
+  }
+
+  /** The instances whose identifiers map to the same stripe, guarded by the stripe itself. */
+  private static final class Stripe {
+    final LongSparseArray<IdentifiedWeakReference> weakInstances = new LongSparseArray<>();
+    final LongSparseArray<Object> strongInstances = new LongSparseArray<>();
   }
 
+  // Guarded by itself. Always acquired before the lock of a stripe, never after.
   private final WeakHashMap<Object, Long> identifiers = new WeakHashMap<>();
-  private final HashMap<Long, WeakReference<Object>> weakInstances = new HashMap<>();
-  private final HashMap<Long, Object> strongInstances = new HashMap<>();
+  private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
 
   private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
-  private final HashMap<WeakReference<Object>, Long> weakReferencesToIdentifiers = new HashMap<>();
 
   private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable releaseAllFinalizedInstances = this::releaseAllFinalizedInstances;
+  private final long clearFinalizedWeakReferencesInterval;
 
   private final FinalizationListener finalizationListener;
 
-  private long nextIdentifier = MIN_HOST_CREATED_IDENTIFIER;
-  private boolean isClosed = false;
+  private final AtomicLong nextIdentifier = new AtomicLong(MIN_HOST_CREATED_IDENTIFIER);
+  private final AtomicLong finalizedInstanceCount = new AtomicLong();
+  private volatile boolean isClosed = false;
 
   /**
    * Instantiate a new manager.
@@ -61,13 +96,36 @@ public class InstanceManager {
    * @return a new `InstanceManager`.
    */
   public static InstanceManager open(FinalizationListener finalizationListener) {
-    return new InstanceManager(finalizationListener);
+    return open(finalizationListener, CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL);
   }
 
-  private InstanceManager(FinalizationListener finalizationListener) {
+  /**
+   * Instantiate a new manager collecting finalized instances at the given cadence.
+   *
+   * <p>When the manager is no longer needed, {@link #close()} must be called.
+   *
+   * @param finalizationListener the listener for garbage collected weak references.
+   * @param clearFinalizedWeakReferencesInterval the delay between two collections of finalized
+   *     instances, in milliseconds. Longer delays send fewer, larger batches to Dart.
+   * @return a new `InstanceManager`.
+   */
+  public static InstanceManager open(
+      FinalizationListener finalizationListener, long clearFinalizedWeakReferencesInterval) {
+    return new InstanceManager(finalizationListener, clearFinalizedWeakReferencesInterval);
+  }
+
+  private InstanceManager(
+      FinalizationListener finalizationListener, long clearFinalizedWeakReferencesInterval) {
+    if (clearFinalizedWeakReferencesInterval <= 0) {
+      throw new IllegalArgumentException(
+          "Interval must be > 0, was " + clearFinalizedWeakReferencesInterval + ".");
+    }
     this.finalizationListener = finalizationListener;
-    handler.postDelayed(
-        this::releaseAllFinalizedInstances, CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL);
+    this.clearFinalizedWeakReferencesInterval = clearFinalizedWeakReferencesInterval;
+    for (int i = 0; i < STRIPE_COUNT; i++) {
+      stripes[i] = new Stripe();
+    }
+    handler.postDelayed(releaseAllFinalizedInstances, clearFinalizedWeakReferencesInterval);
   }
 
   /**
@@ -81,7 +139,12 @@ public class InstanceManager {
   @Nullable
   public <T> T remove(long identifier) {
     assertManagerIsNotClosed();
-    return (T) strongInstances.remove(identifier);
+    final Stripe stripe = getStripe(identifier);
+    synchronized (stripe) {
+      final T instance = (T) stripe.strongInstances.get(identifier);
+      stripe.strongInstances.remove(identifier);
+      return instance;
+    }
   }
 
   /**
@@ -97,11 +160,16 @@ public class InstanceManager {
   @Nullable
   public Long getIdentifierForStrongReference(Object instance) {
     assertManagerIsNotClosed();
-    final Long identifier = identifiers.get(instance);
-    if (identifier != null) {
-      strongInstances.put(identifier, instance);
+    synchronized (identifiers) {
+      final Long identifier = identifiers.get(instance);
+      if (identifier != null) {
+        final Stripe stripe = getStripe(identifier);
+        synchronized (stripe) {
+          stripe.strongInstances.put(identifier, instance);
+        }
+      }
+      return identifier;
     }
-    return identifier;
   }
 
   /**
@@ -116,7 +184,9 @@ public class InstanceManager {
    */
   public void addDartCreatedInstance(Object instance, long identifier) {
     assertManagerIsNotClosed();
-    addInstance(instance, identifier);
+    synchronized (identifiers) {
+      addInstance(instance, identifier);
+    }
   }
 
   /**
@@ -129,12 +199,14 @@ public class InstanceManager {
    */
   public long addHostCreatedInstance(Object instance) {
     assertManagerIsNotClosed();
-    if (containsInstance(instance)) {
-      return getIdentifierForStrongReference(instance);
+    synchronized (identifiers) {
+      if (identifiers.containsKey(instance)) {
+        return getIdentifierForStrongReference(instance);
+      }
+      final long identifier = nextIdentifier.getAndIncrement();
+      addInstance(instance, identifier);
+      return identifier;
     }
-    final long identifier = nextIdentifier++;
-    addInstance(instance, identifier);
-    return identifier;
   }
 
   /**
@@ -148,11 +220,14 @@ public class InstanceManager {
   @Nullable
   public <T> T getInstance(long identifier) {
     assertManagerIsNotClosed();
-    final WeakReference<T> instance = (WeakReference<T>) weakInstances.get(identifier);
-    if (instance != null) {
-      return instance.get();
+    final Stripe stripe = getStripe(identifier);
+    synchronized (stripe) {
+      final WeakReference<Object> instance = stripe.weakInstances.get(identifier);
+      if (instance != null) {
+        return (T) instance.get();
+      }
+      return (T) stripe.strongInstances.get(identifier);
     }
-    return (T) strongInstances.get(identifier);
   }
 
   /**
@@ -163,7 +238,39 @@ public class InstanceManager {
    */
   public boolean containsInstance(Object instance) {
     assertManagerIsNotClosed();
-    return identifiers.containsKey(instance);
+    synchronized (identifiers) {
+      return identifiers.containsKey(instance);
+    }
+  }
+
+  /**
+   * Returns the number of instances that have not been finalized yet, whether or not they are
+   * still strongly referenced.
+   */
+  public int getLiveInstanceCount() {
+    int count = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        count += stripe.weakInstances.size();
+      }
+    }
+    return count;
+  }
+
+  /** Returns the number of instances kept alive by a strong reference of the manager. */
+  public int getStrongInstanceCount() {
+    int count = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        count += stripe.strongInstances.size();
+      }
+    }
+    return count;
+  }
+
+  /** Returns the number of finalized instances reported to the `finalizationListener` so far. */
+  public long getFinalizedInstanceCount() {
+    return finalizedInstanceCount.get();
   }
 
   /**
@@ -173,33 +280,71 @@ public class InstanceManager {
    * excluded.
    */
   public void close() {
-    handler.removeCallbacks(this::releaseAllFinalizedInstances);
+    handler.removeCallbacks(releaseAllFinalizedInstances);
     isClosed = true;
   }
 
   private void releaseAllFinalizedInstances() {
-    WeakReference<Object> reference;
-    while ((reference = (WeakReference<Object>) referenceQueue.poll()) != null) {
-      final Long identifier = weakReferencesToIdentifiers.remove(reference);
-      if (identifier != null) {
-        weakInstances.remove(identifier);
-        strongInstances.remove(identifier);
-        finalizationListener.onFinalize(identifier);
+    if (isClosed) {
+      return;
+    }
+    final long[] finalizedIdentifiers = clearFinalizedWeakReferences();
+    if (finalizedIdentifiers.length > 0) {
+      finalizationListener.onFinalize(finalizedIdentifiers);
+    }
+    handler.postDelayed(releaseAllFinalizedInstances, clearFinalizedWeakReferencesInterval);
+  }
+
+  /**
+   * Removes the instances whose weak references were enqueued since the previous call.
+   *
+   * @return the identifiers of the removed instances.
+   */
+  @VisibleForTesting
+  @NonNull
+  long[] clearFinalizedWeakReferences() {
+    long[] finalizedIdentifiers = new long[0];
+    int count = 0;
+    IdentifiedWeakReference reference;
+    while ((reference = (IdentifiedWeakReference) referenceQueue.poll()) != null) {
+      final long identifier = reference.identifier;
+      final Stripe stripe = getStripe(identifier);
+      synchronized (stripe) {
+        // The identifier may have been reused by Dart for a new instance since.
+        if (stripe.weakInstances.get(identifier) != reference) {
+          continue;
+        }
+        stripe.weakInstances.remove(identifier);
+        stripe.strongInstances.remove(identifier);
+      }
+      if (count == finalizedIdentifiers.length) {
+        finalizedIdentifiers = Arrays.copyOf(finalizedIdentifiers, Math.max(8, count * 2));
       }
+      finalizedIdentifiers[count++] = identifier;
     }
-    handler.postDelayed(
-        this::releaseAllFinalizedInstances, CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL);
+    finalizedInstanceCount.addAndGet(count);
+    return count == finalizedIdentifiers.length
+        ? finalizedIdentifiers
+        : Arrays.copyOf(finalizedIdentifiers, count);
   }
 
+  // Must be called while holding the lock of `identifiers`.
   private void addInstance(Object instance, long identifier) {
     if (identifier < 0) {
       throw new IllegalArgumentException("Identifier must be >= 0.");
     }
-    final WeakReference<Object> weakReference = new WeakReference<>(instance, referenceQueue);
+    final IdentifiedWeakReference weakReference =
+        new IdentifiedWeakReference(instance, identifier, referenceQueue);
     identifiers.put(instance, identifier);
-    weakInstances.put(identifier, weakReference);
-    weakReferencesToIdentifiers.put(weakReference, identifier);
-    strongInstances.put(identifier, instance);
+    final Stripe stripe = getStripe(identifier);
+    synchronized (stripe) {
+      stripe.weakInstances.put(identifier, weakReference);
+      stripe.strongInstances.put(identifier, instance);
+    }
+  }
+
+  private Stripe getStripe(long identifier) {
+    return stripes[(int) (identifier & (STRIPE_COUNT - 1))];
   }
 
   private void assertManagerIsNotClosed() {
@@ -5,7 +5,12 @@
 package io.flutter.plugins.camerax;
 
 import android.content.Context;
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraManager;
+import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.camera.core.CameraInfo;
 import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.core.content.ContextCompat;
@@ -13,14 +18,66 @@ import com.google.common.util.concurrent.ListenableFuture;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ProcessCameraProviderHostApi;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHostApi {
+  private static final String TAG = "ProcessCameraProvider";
+
   private final BinaryMessenger binaryMessenger;
   private final InstanceManager instanceManager;
 
   private Context context;
 
+  @VisibleForTesting public CameraXProxy cameraXProxy = new CameraXProxy();
+
+  /** The cameras of a {@link ProcessCameraProvider} and their properties sent to Dart. */
+  private static final class CameraInfoCache {
+    final ProcessCameraProvider processCameraProvider;
+    final List<CameraInfo> cameraInfos;
+    final List<Long> lensFacings;
+    final List<Long> sensorRotationsDegrees;
+    // The camera2 identifiers of the cameras, to tell new and disconnected cameras apart from
+    // cameras that are opened or closed.
+    final Set<String> cameraIds;
+
+    CameraInfoCache(
+        ProcessCameraProvider processCameraProvider,
+        List<CameraInfo> cameraInfos,
+        List<Long> lensFacings,
+        List<Long> sensorRotationsDegrees,
+        Set<String> cameraIds) {
+      this.processCameraProvider = processCameraProvider;
+      this.cameraInfos = cameraInfos;
+      this.lensFacings = lensFacings;
+      this.sensorRotationsDegrees = sensorRotationsDegrees;
+      this.cameraIds = cameraIds;
+    }
+  }
+
+  @Nullable private CameraInfoCache cameraInfoCache;
+  @Nullable private CameraManager cameraManager;
+
+  private final CameraManager.AvailabilityCallback availabilityCallback =
+      new CameraManager.AvailabilityCallback() {
+        @Override
+        public void onCameraAvailable(@NonNull String cameraId) {
+          if (cameraInfoCache != null && !cameraInfoCache.cameraIds.contains(cameraId)) {
+            invalidateCameraInfoCache();
+          }
+        }
+
+        @Override
+        public void onCameraUnavailable(@NonNull String cameraId) {
+          // Also called when a camera is opened, which does not change the available cameras.
+          if (cameraInfoCache != null && !getCameraIds().contains(cameraId)) {
+            invalidateCameraInfoCache();
+          }
+        }
+      };
+
   public ProcessCameraProviderHostApiImpl(
       BinaryMessenger binaryMessenger, InstanceManager instanceManager, Context context) {
     this.binaryMessenger = binaryMessenger;
@@ -37,6 +94,7 @@ public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHo
    */
   public void setContext(Context context) {
     this.context = context;
+    invalidateCameraInfoCache();
   }
 
   /**
@@ -67,21 +125,76 @@ public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHo
         ContextCompat.getMainExecutor(context));
   }
 
-  /** Returns cameras available to the ProcessCameraProvider. */
+  /**
+   * Returns cameras available to the ProcessCameraProvider.
+   *
+   * <p>The cameras and their properties are only queried on the first call and after the
+   * available cameras change. All of them are then created in Dart with a single message.
+   */
   @Override
   public List<Long> getAvailableCameraInfos(@NonNull Long identifier) {
     ProcessCameraProvider processCameraProvider =
         (ProcessCameraProvider) instanceManager.getInstance(identifier);
 
-    List<CameraInfo> availableCameras = processCameraProvider.getAvailableCameraInfos();
-    List<Long> availableCamerasIds = new ArrayList<Long>();
-    final CameraInfoFlutterApiImpl cameraInfoFlutterApi =
-        new CameraInfoFlutterApiImpl(binaryMessenger, instanceManager);
+    if (cameraInfoCache == null || cameraInfoCache.processCameraProvider != processCameraProvider) {
+      invalidateCameraInfoCache();
+      cameraInfoCache = createCameraInfoCache(processCameraProvider);
+    }
 
+    final List<CameraInfo> availableCameras = cameraInfoCache.cameraInfos;
+    final List<Long> availableCamerasIds = new ArrayList<>(availableCameras.size());
     for (CameraInfo cameraInfo : availableCameras) {
-      cameraInfoFlutterApi.create(cameraInfo, result -> {});
-      availableCamerasIds.add(instanceManager.getIdentifierForStrongReference(cameraInfo));
+      availableCamerasIds.add(instanceManager.addHostCreatedInstance(cameraInfo));
     }
+
+    final CameraInfoFlutterApiImpl cameraInfoFlutterApi =
+        new CameraInfoFlutterApiImpl(binaryMessenger, instanceManager);
+    cameraInfoFlutterApi.createAll(
+        availableCamerasIds,
+        cameraInfoCache.lensFacings,
+        cameraInfoCache.sensorRotationsDegrees,
+        reply -> {});
     return availableCamerasIds;
   }
+
+  /** Drops the cached cameras, so they are queried again by the next enumeration. */
+  @VisibleForTesting
+  void invalidateCameraInfoCache() {
+    if (cameraManager != null) {
+      cameraManager.unregisterAvailabilityCallback(availabilityCallback);
+      cameraManager = null;
+    }
+    cameraInfoCache = null;
+  }
+
+  private CameraInfoCache createCameraInfoCache(ProcessCameraProvider processCameraProvider) {
+    final List<CameraInfo> cameraInfos = processCameraProvider.getAvailableCameraInfos();
+    final List<Long> lensFacings = new ArrayList<>(cameraInfos.size());
+    final List<Long> sensorRotationsDegrees = new ArrayList<>(cameraInfos.size());
+    for (CameraInfo cameraInfo : cameraInfos) {
+      final Integer lensFacing = cameraXProxy.getLensFacing(cameraInfo);
+      lensFacings.add(lensFacing == null ? null : lensFacing.longValue());
+      sensorRotationsDegrees.add((long) cameraInfo.getSensorRotationDegrees());
+    }
+
+    cameraManager = (CameraManager) context.getSystemService(Context.CAMERA_SERVICE);
+    if (cameraManager != null) {
+      // Called back on the main thread, like the methods of this class.
+      cameraManager.registerAvailabilityCallback(availabilityCallback, null);
+    }
+    return new CameraInfoCache(
+        processCameraProvider, cameraInfos, lensFacings, sensorRotationsDegrees, getCameraIds());
+  }
+
+  private Set<String> getCameraIds() {
+    if (cameraManager == null) {
+      return new HashSet<>();
+    }
+    try {
+      return new HashSet<>(Arrays.asList(cameraManager.getCameraIdList()));
+    } catch (CameraAccessException e) {
+      Log.w(TAG, "Unable to list the camera identifiers.", e);
+      return new HashSet<>();
+    }
+  }
 }
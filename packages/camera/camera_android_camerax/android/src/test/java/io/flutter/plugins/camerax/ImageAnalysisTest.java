@@ -0,0 +1,190 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.os.Handler;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageInfo;
+import androidx.camera.core.ImageProxy;
+import io.flutter.plugin.common.BinaryMessenger;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class ImageAnalysisTest {
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock public ImageAnalysis mockImageAnalysis;
+  @Mock public BinaryMessenger mockBinaryMessenger;
+  @Mock public CameraXProxy mockCameraXProxy;
+
+  InstanceManager testInstanceManager;
+
+  @Before
+  public void setUp() {
+    testInstanceManager = InstanceManager.open(identifier -> {});
+  }
+
+  @After
+  public void tearDown() {
+    testInstanceManager.close();
+  }
+
+  @Test
+  public void createTest() {
+    final ImageAnalysisHostApiImpl imageAnalysisHostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, testInstanceManager);
+    final ImageAnalysis.Builder mockImageAnalysisBuilder = mock(ImageAnalysis.Builder.class);
+
+    imageAnalysisHostApi.cameraXProxy = mockCameraXProxy;
+    when(mockCameraXProxy.createImageAnalysisBuilder()).thenReturn(mockImageAnalysisBuilder);
+    when(mockImageAnalysisBuilder.build()).thenReturn(mockImageAnalysis);
+
+    imageAnalysisHostApi.create(
+        0L,
+        (long) ImageAnalysis.STRATEGY_BLOCK_PRODUCER,
+        4L,
+        (long) ImageAnalysis.OUTPUT_IMAGE_FORMAT_RGBA_8888);
+
+    verify(mockImageAnalysisBuilder).setBackpressureStrategy(ImageAnalysis.STRATEGY_BLOCK_PRODUCER);
+    verify(mockImageAnalysisBuilder).setImageQueueDepth(4);
+    verify(mockImageAnalysisBuilder)
+        .setOutputImageFormat(ImageAnalysis.OUTPUT_IMAGE_FORMAT_RGBA_8888);
+    assertEquals(testInstanceManager.getInstance(0L), mockImageAnalysis);
+  }
+
+  @Test
+  public void createTest_defaultsToKeepOnlyLatest() {
+    final ImageAnalysisHostApiImpl imageAnalysisHostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, testInstanceManager);
+    final ImageAnalysis.Builder mockImageAnalysisBuilder = mock(ImageAnalysis.Builder.class);
+
+    imageAnalysisHostApi.cameraXProxy = mockCameraXProxy;
+    when(mockCameraXProxy.createImageAnalysisBuilder()).thenReturn(mockImageAnalysisBuilder);
+    when(mockImageAnalysisBuilder.build()).thenReturn(mockImageAnalysis);
+
+    imageAnalysisHostApi.create(0L, null, null, null);
+
+    verify(mockImageAnalysisBuilder)
+        .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST);
+    verify(mockImageAnalysisBuilder, never()).setImageQueueDepth(anyInt());
+    verify(mockImageAnalysisBuilder, never()).setOutputImageFormat(anyInt());
+  }
+
+  @Test
+  public void setAnalyzerTest_releasesReplacedExecutor() {
+    final ImageAnalysisHostApiImpl imageAnalysisHostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, testInstanceManager);
+    final ExecutorService mockFirstExecutor = mock(ExecutorService.class);
+    final ExecutorService mockSecondExecutor = mock(ExecutorService.class);
+
+    imageAnalysisHostApi.cameraXProxy = mockCameraXProxy;
+    testInstanceManager.addDartCreatedInstance(mockImageAnalysis, 0);
+    when(mockCameraXProxy.createAnalyzerExecutor())
+        .thenReturn(mockFirstExecutor, mockSecondExecutor);
+
+    imageAnalysisHostApi.setAnalyzer(0L, false, 3L);
+    verify(mockImageAnalysis)
+        .setAnalyzer(eq(mockFirstExecutor), any(ImageAnalysis.Analyzer.class));
+    verify(mockFirstExecutor, never()).shutdown();
+
+    imageAnalysisHostApi.setAnalyzer(0L, true, 3L);
+    verify(mockImageAnalysis)
+        .setAnalyzer(eq(mockSecondExecutor), any(ImageAnalysis.Analyzer.class));
+    verify(mockFirstExecutor).shutdown();
+
+    imageAnalysisHostApi.clearAnalyzer(0L);
+    verify(mockImageAnalysis).clearAnalyzer();
+    verify(mockSecondExecutor).shutdown();
+  }
+
+  @Test
+  public void framePool_reusesBuffersAndDropsImagesWhileAllAreInFlight() {
+    final Handler mockHandler = mock(Handler.class);
+    final ImageAnalysisFramePool framePool =
+        new ImageAnalysisFramePool(mockBinaryMessenger, "channel", mockHandler, 1, false);
+    final ImageProxy firstImage = createImage(new byte[] {1, 2, 3, 4}, new byte[] {5, 6});
+    final ImageProxy secondImage = createImage(new byte[] {7, 8, 9, 10}, new byte[] {11, 12});
+
+    framePool.analyze(firstImage);
+    framePool.analyze(secondImage);
+
+    verify(firstImage).close();
+    verify(secondImage).close();
+    assertEquals(1, framePool.getDroppedFrameCount());
+
+    final ArgumentCaptor<Runnable> sendCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockHandler).post(sendCaptor.capture());
+    sendCaptor.getValue().run();
+
+    final ArgumentCaptor<ByteBuffer> messageCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+    final ArgumentCaptor<BinaryMessenger.BinaryReply> replyCaptor =
+        ArgumentCaptor.forClass(BinaryMessenger.BinaryReply.class);
+    verify(mockBinaryMessenger).send(eq("channel"), messageCaptor.capture(), replyCaptor.capture());
+    final ByteBuffer message = messageCaptor.getValue();
+    assertEquals(ImageAnalysisFramePool.getEncodedSize(firstImage, false), message.position());
+    assertEquals(2, message.getInt(0));
+    assertEquals(2, message.getInt(24));
+    assertEquals(0, framePool.getAvailableFrameCount());
+
+    replyCaptor.getValue().reply(null);
+    assertEquals(1, framePool.getAvailableFrameCount());
+
+    framePool.analyze(secondImage);
+    verify(mockHandler, times(2)).post(sendCaptor.capture());
+    assertEquals(1, framePool.getDroppedFrameCount());
+  }
+
+  @Test
+  public void framePool_encodesOnlyLumaPlane() {
+    final ImageProxy image = createImage(new byte[] {1, 2, 3, 4}, new byte[] {5, 6});
+    final ByteBuffer output =
+        ByteBuffer.allocate(ImageAnalysisFramePool.getEncodedSize(image, true));
+
+    ImageAnalysisFramePool.encode(image, true, output);
+
+    assertEquals(1, output.getInt(24));
+    assertEquals(4, output.getInt(output.position() - 4 - Integer.BYTES));
+    assertEquals(4, output.get(output.position() - 1));
+  }
+
+  private static ImageProxy createImage(byte[] luma, byte[] chroma) {
+    final ImageProxy mockImage = mock(ImageProxy.class);
+    final ImageInfo mockImageInfo = mock(ImageInfo.class);
+    final ImageProxy.PlaneProxy lumaPlane = createPlane(luma, 2, 1);
+    final ImageProxy.PlaneProxy chromaPlane = createPlane(chroma, 2, 2);
+
+    when(mockImage.getWidth()).thenReturn(2);
+    when(mockImage.getHeight()).thenReturn(2);
+    when(mockImage.getImageInfo()).thenReturn(mockImageInfo);
+    when(mockImage.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {lumaPlane, chromaPlane});
+    return mockImage;
+  }
+
+  private static ImageProxy.PlaneProxy createPlane(byte[] bytes, int rowStride, int pixelStride) {
+    final ImageProxy.PlaneProxy mockPlane = mock(ImageProxy.PlaneProxy.class);
+    when(mockPlane.getBuffer()).thenReturn(ByteBuffer.wrap(bytes));
+    when(mockPlane.getRowStride()).thenReturn(rowStride);
+    when(mockPlane.getPixelStride()).thenReturn(pixelStride);
+    return mockPlane;
+  }
+}
@@ -4,11 +4,16 @@
 
 package io.flutter.plugins.camerax;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import org.junit.Test;
 
 public class InstanceManagerTest {
@@ -59,4 +64,96 @@ public class InstanceManagerTest {
 
     instanceManager.close();
   }
+
+  @Test
+  public void clearFinalizedWeakReferences_reportsFinalizedInstancesInOneBatch() {
+    final InstanceManager instanceManager = InstanceManager.open(identifier -> {});
+
+    Object first = new Object();
+    Object second = new Object();
+    instanceManager.addDartCreatedInstance(first, 0);
+    instanceManager.addDartCreatedInstance(second, 1);
+    instanceManager.addDartCreatedInstance(new Object(), 2);
+    instanceManager.remove(0);
+    instanceManager.remove(1);
+
+    // To allow for both objects to be garbage collected.
+    //noinspection UnusedAssignment
+    first = null;
+    //noinspection UnusedAssignment
+    second = null;
+
+    final List<Long> finalizedIdentifiers = new ArrayList<>();
+    for (int attempt = 0; attempt < 10 && finalizedIdentifiers.size() < 2; attempt++) {
+      Runtime.getRuntime().gc();
+      for (long identifier : instanceManager.clearFinalizedWeakReferences()) {
+        finalizedIdentifiers.add(identifier);
+      }
+    }
+
+    finalizedIdentifiers.sort(Long::compare);
+    assertEquals(Arrays.asList(0L, 1L), finalizedIdentifiers);
+    assertEquals(2, instanceManager.getFinalizedInstanceCount());
+    assertEquals(1, instanceManager.getLiveInstanceCount());
+    assertEquals(1, instanceManager.getStrongInstanceCount());
+
+    instanceManager.close();
+  }
+
+  @Test
+  public void clearFinalizedWeakReferences_ignoresReplacedIdentifiers() {
+    final InstanceManager instanceManager = InstanceManager.open(identifier -> {});
+
+    Object object = new Object();
+    instanceManager.addDartCreatedInstance(object, 0);
+    instanceManager.remove(0);
+    final Object replacement = new Object();
+    instanceManager.addDartCreatedInstance(replacement, 0);
+
+    //noinspection UnusedAssignment
+    object = null;
+    for (int attempt = 0; attempt < 10; attempt++) {
+      Runtime.getRuntime().gc();
+      assertArrayEquals(new long[0], instanceManager.clearFinalizedWeakReferences());
+    }
+
+    assertEquals(replacement, instanceManager.getInstance(0));
+
+    instanceManager.close();
+  }
+
+  @Test
+  public void addHostCreatedInstance_fromManyThreads() throws InterruptedException {
+    final InstanceManager instanceManager = InstanceManager.open(identifier -> {});
+    final int threadCount = 8;
+    final int instancesPerThread = 250;
+    final List<Object> instances = new ArrayList<>();
+    final CountDownLatch done = new CountDownLatch(threadCount);
+
+    for (int i = 0; i < threadCount; i++) {
+      final List<Object> threadInstances = new ArrayList<>();
+      for (int j = 0; j < instancesPerThread; j++) {
+        threadInstances.add(new Object());
+      }
+      instances.addAll(threadInstances);
+      new Thread(
+              () -> {
+                for (Object instance : threadInstances) {
+                  instanceManager.addHostCreatedInstance(instance);
+                }
+                done.countDown();
+              })
+          .start();
+    }
+    done.await();
+
+    assertEquals(threadCount * instancesPerThread, instanceManager.getLiveInstanceCount());
+    for (Object instance : instances) {
+      final Long identifier = instanceManager.getIdentifierForStrongReference(instance);
+      assertNotNull(identifier);
+      assertEquals(instance, instanceManager.getInstance(identifier));
+    }
+
+    instanceManager.close();
+  }
 }
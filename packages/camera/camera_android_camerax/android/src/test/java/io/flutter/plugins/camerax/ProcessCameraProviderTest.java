@@ -9,17 +9,22 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.content.Context;
 import androidx.camera.core.CameraInfo;
+import androidx.camera.core.CameraSelector;
 import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.test.core.app.ApplicationProvider;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.StandardMessageCodec;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import org.junit.After;
 import org.junit.Before;
@@ -90,6 +95,7 @@ public class ProcessCameraProviderTest {
         new ProcessCameraProviderHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
     final CameraInfo mockCameraInfo = mock(CameraInfo.class);
 
+    processCameraProviderHostApi.cameraXProxy = mock(CameraXProxy.class);
     testInstanceManager.addDartCreatedInstance(processCameraProvider, 0);
     testInstanceManager.addDartCreatedInstance(mockCameraInfo, 1);
 
@@ -99,6 +105,54 @@ public class ProcessCameraProviderTest {
     verify(processCameraProvider).getAvailableCameraInfos();
   }
 
+  @Test
+  public void getAvailableCameraInfosTest_createsAllCamerasInOneMessageAndCachesThem() {
+    final ProcessCameraProviderHostApiImpl processCameraProviderHostApi =
+        new ProcessCameraProviderHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final CameraInfo mockBackCameraInfo = mock(CameraInfo.class);
+    final CameraInfo mockFrontCameraInfo = mock(CameraInfo.class);
+
+    processCameraProviderHostApi.cameraXProxy = mockCameraXProxy;
+    testInstanceManager.addDartCreatedInstance(processCameraProvider, 0);
+
+    when(processCameraProvider.getAvailableCameraInfos())
+        .thenReturn(Arrays.asList(mockBackCameraInfo, mockFrontCameraInfo));
+    when(mockCameraXProxy.getLensFacing(mockBackCameraInfo))
+        .thenReturn(CameraSelector.LENS_FACING_BACK);
+    when(mockCameraXProxy.getLensFacing(mockFrontCameraInfo))
+        .thenReturn(CameraSelector.LENS_FACING_FRONT);
+    when(mockBackCameraInfo.getSensorRotationDegrees()).thenReturn(90);
+    when(mockFrontCameraInfo.getSensorRotationDegrees()).thenReturn(270);
+
+    final List<Long> identifiers = processCameraProviderHostApi.getAvailableCameraInfos(0L);
+    assertEquals(identifiers, processCameraProviderHostApi.getAvailableCameraInfos(0L));
+    verify(processCameraProvider).getAvailableCameraInfos();
+    verify(mockBackCameraInfo).getSensorRotationDegrees();
+
+    final ArgumentCaptor<ByteBuffer> messageCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(mockBinaryMessenger, times(2))
+        .send(
+            eq("dev.flutter.pigeon.CameraInfoFlutterApi.createAll"),
+            messageCaptor.capture(),
+            any());
+    final ByteBuffer message = messageCaptor.getValue();
+    message.rewind();
+    // The codec decodes values that fit in 32 bits as integers.
+    final List<List<Number>> arguments =
+        (List<List<Number>>) new StandardMessageCodec().decodeMessage(message);
+    assertEquals(identifiers.get(0).longValue(), arguments.get(0).get(0).longValue());
+    assertEquals(identifiers.get(1).longValue(), arguments.get(0).get(1).longValue());
+    assertEquals(
+        Arrays.asList(CameraSelector.LENS_FACING_BACK, CameraSelector.LENS_FACING_FRONT),
+        arguments.get(1));
+    assertEquals(Arrays.asList(90, 270), arguments.get(2));
+
+    processCameraProviderHostApi.invalidateCameraInfoCache();
+    processCameraProviderHostApi.getAvailableCameraInfos(0L);
+    verify(processCameraProvider, times(2)).getAvailableCameraInfos();
+  }
+
   @Test
   public void flutterApiCreateTest() {
     final ProcessCameraProviderFlutterApiImpl spyFlutterApi =
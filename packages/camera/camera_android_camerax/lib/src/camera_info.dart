@@ -15,7 +15,10 @@ import 'java_object.dart';
 class CameraInfo extends JavaObject {
   /// Constructs a [CameraInfo] that is not automatically attached to a native object.
   CameraInfo.detached(
-      {BinaryMessenger? binaryMessenger, InstanceManager? instanceManager})
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.lensFacing,
+      this.sensorRotationDegrees})
       : super.detached(
             binaryMessenger: binaryMessenger,
             instanceManager: instanceManager) {
@@ -26,9 +29,26 @@ class CameraInfo extends JavaObject {
 
   late final CameraInfoHostApiImpl _api;
 
+  /// The direction the camera faces relative to the device screen, as one of
+  /// the `CameraSelector` lens facing constants.
+  ///
+  /// Null if it was not sent along with the camera, or if the camera faces
+  /// neither the front nor the back.
+  final int? lensFacing;
+
+  /// The sensor orientation degrees sent along with the camera, if any.
+  final int? sensorRotationDegrees;
+
   /// Gets sensor orientation degrees of camera.
-  Future<int> getSensorRotationDegrees() =>
-      _api.getSensorRotationDegreesFromInstance(this);
+  ///
+  /// Completes without a round trip to the platform when the degrees were
+  /// sent along with the camera.
+  Future<int> getSensorRotationDegrees() {
+    if (sensorRotationDegrees != null) {
+      return Future<int>.value(sensorRotationDegrees);
+    }
+    return _api.getSensorRotationDegreesFromInstance(this);
+  }
 }
 
 /// Host API implementation of [CameraInfo].
@@ -81,4 +101,33 @@ class CameraInfoFlutterApiImpl extends CameraInfoFlutterApi {
       },
     );
   }
+
+  @override
+  void createAll(List<int?> identifiers, List<int?> lensFacings,
+      List<int?> sensorRotationsDegrees) {
+    for (int i = 0; i < identifiers.length; i++) {
+      final int identifier = identifiers[i]!;
+      // Cameras are sent again on every enumeration, even if already known.
+      if (instanceManager.containsIdentifier(identifier)) {
+        continue;
+      }
+      final int? lensFacing = lensFacings[i];
+      final int? sensorRotationDegrees = sensorRotationsDegrees[i];
+      instanceManager.addHostCreatedInstance(
+        CameraInfo.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager,
+            lensFacing: lensFacing,
+            sensorRotationDegrees: sensorRotationDegrees),
+        identifier,
+        onCopy: (CameraInfo original) {
+          return CameraInfo.detached(
+              binaryMessenger: binaryMessenger,
+              instanceManager: instanceManager,
+              lensFacing: original.lensFacing,
+              sensorRotationDegrees: original.sensorRotationDegrees);
+        },
+      );
+    }
+  }
 }
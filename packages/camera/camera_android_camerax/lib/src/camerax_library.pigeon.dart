@@ -58,6 +58,7 @@ abstract class JavaObjectFlutterApi {
   static const MessageCodec<Object?> codec = _JavaObjectFlutterApiCodec();
 
   void dispose(int identifier);
+  void disposeAll(List<int?> identifiers);
   static void setup(JavaObjectFlutterApi? api,
       {BinaryMessenger? binaryMessenger}) {
     {
@@ -79,6 +80,26 @@ abstract class JavaObjectFlutterApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.JavaObjectFlutterApi.disposeAll', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMessageHandler(null);
+      } else {
+        channel.setMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.JavaObjectFlutterApi.disposeAll was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final List<int?>? arg_identifiers =
+              (args[0] as List<Object?>?)?.cast<int?>();
+          assert(arg_identifiers != null,
+              'Argument for dev.flutter.pigeon.JavaObjectFlutterApi.disposeAll was null, expected non-null List<int?>.');
+          api.disposeAll(arg_identifiers!);
+          return;
+        });
+      }
+    }
   }
 }
 
@@ -135,6 +156,8 @@ abstract class CameraInfoFlutterApi {
   static const MessageCodec<Object?> codec = _CameraInfoFlutterApiCodec();
 
   void create(int identifier);
+  void createAll(List<int?> identifiers, List<int?> lensFacings,
+      List<int?> sensorRotationsDegrees);
   static void setup(CameraInfoFlutterApi? api,
       {BinaryMessenger? binaryMessenger}) {
     {
@@ -156,6 +179,35 @@ abstract class CameraInfoFlutterApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.CameraInfoFlutterApi.createAll', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMessageHandler(null);
+      } else {
+        channel.setMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.CameraInfoFlutterApi.createAll was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final List<int?>? arg_identifiers =
+              (args[0] as List<Object?>?)?.cast<int?>();
+          assert(arg_identifiers != null,
+              'Argument for dev.flutter.pigeon.CameraInfoFlutterApi.createAll was null, expected non-null List<int?>.');
+          final List<int?>? arg_lensFacings =
+              (args[1] as List<Object?>?)?.cast<int?>();
+          assert(arg_lensFacings != null,
+              'Argument for dev.flutter.pigeon.CameraInfoFlutterApi.createAll was null, expected non-null List<int?>.');
+          final List<int?>? arg_sensorRotationsDegrees =
+              (args[2] as List<Object?>?)?.cast<int?>();
+          assert(arg_sensorRotationsDegrees != null,
+              'Argument for dev.flutter.pigeon.CameraInfoFlutterApi.createAll was null, expected non-null List<int?>.');
+          api.createAll(arg_identifiers!, arg_lensFacings!,
+              arg_sensorRotationsDegrees!);
+          return;
+        });
+      }
+    }
   }
 }
 
@@ -372,3 +424,100 @@ abstract class ProcessCameraProviderFlutterApi {
     }
   }
 }
+
+class _ImageAnalysisHostApiCodec extends StandardMessageCodec {
+  const _ImageAnalysisHostApiCodec();
+}
+
+class ImageAnalysisHostApi {
+  /// Constructor for [ImageAnalysisHostApi].  The [binaryMessenger] named argument is
+  /// available for dependency injection.  If it is left null, the default
+  /// BinaryMessenger will be used which routes to the host platform.
+  ImageAnalysisHostApi({BinaryMessenger? binaryMessenger})
+      : _binaryMessenger = binaryMessenger;
+
+  final BinaryMessenger? _binaryMessenger;
+
+  static const MessageCodec<Object?> codec = _ImageAnalysisHostApiCodec();
+
+  Future<void> create(int arg_identifier, int? arg_backpressureStrategy,
+      int? arg_imageQueueDepth, int? arg_outputImageFormat) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.ImageAnalysisHostApi.create', codec,
+        binaryMessenger: _binaryMessenger);
+    final Map<Object?, Object?>? replyMap = await channel.send(<Object?>[
+      arg_identifier,
+      arg_backpressureStrategy,
+      arg_imageQueueDepth,
+      arg_outputImageFormat
+    ]) as Map<Object?, Object?>?;
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyMap['error'] != null) {
+      final Map<Object?, Object?> error =
+          (replyMap['error'] as Map<Object?, Object?>?)!;
+      throw PlatformException(
+        code: (error['code'] as String?)!,
+        message: error['message'] as String?,
+        details: error['details'],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setAnalyzer(
+      int arg_identifier, bool arg_lumaOnly, int arg_framePoolSize) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.ImageAnalysisHostApi.setAnalyzer', codec,
+        binaryMessenger: _binaryMessenger);
+    final Map<Object?, Object?>? replyMap = await channel.send(<Object?>[
+      arg_identifier,
+      arg_lumaOnly,
+      arg_framePoolSize
+    ]) as Map<Object?, Object?>?;
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyMap['error'] != null) {
+      final Map<Object?, Object?> error =
+          (replyMap['error'] as Map<Object?, Object?>?)!;
+      throw PlatformException(
+        code: (error['code'] as String?)!,
+        message: error['message'] as String?,
+        details: error['details'],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> clearAnalyzer(int arg_identifier) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.ImageAnalysisHostApi.clearAnalyzer', codec,
+        binaryMessenger: _binaryMessenger);
+    final Map<Object?, Object?>? replyMap =
+        await channel.send(<Object?>[arg_identifier]) as Map<Object?, Object?>?;
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyMap['error'] != null) {
+      final Map<Object?, Object?> error =
+          (replyMap['error'] as Map<Object?, Object?>?)!;
+      throw PlatformException(
+        code: (error['code'] as String?)!,
+        message: error['message'] as String?,
+        details: error['details'],
+      );
+    } else {
+      return;
+    }
+  }
+}
@@ -0,0 +1,262 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:flutter/foundation.dart' show immutable;
+import 'package:flutter/services.dart';
+
+import 'android_camera_camerax_flutter_api_impls.dart';
+import 'camerax_library.pigeon.dart';
+import 'instance_manager.dart';
+import 'java_object.dart';
+
+/// Use case providing CPU accessible images for analysis.
+///
+/// Analyzed images are copied into reusable native buffers and sent to Dart as
+/// binary messages, so steady high frame rate analysis does not allocate on
+/// the native side.
+///
+/// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis.
+class ImageAnalysis extends JavaObject {
+  /// Creates an [ImageAnalysis].
+  ImageAnalysis(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.backpressureStrategy,
+      this.imageQueueDepth,
+      this.outputImageFormat})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = ImageAnalysisHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+    _api.createFromInstance(this);
+  }
+
+  /// Constructs an [ImageAnalysis] that is not automatically attached to a
+  /// native object.
+  ImageAnalysis.detached(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.backpressureStrategy,
+      this.imageQueueDepth,
+      this.outputImageFormat})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = ImageAnalysisHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+  }
+
+  late final ImageAnalysisHostApiImpl _api;
+
+  /// Only the latest image is kept for analysis, older ones are dropped.
+  static const int STRATEGY_KEEP_ONLY_LATEST = 0;
+
+  /// The camera waits for images to be analyzed, up to [imageQueueDepth]
+  /// images.
+  static const int STRATEGY_BLOCK_PRODUCER = 1;
+
+  /// Images in the YUV_420_888 format, with three planes.
+  static const int OUTPUT_IMAGE_FORMAT_YUV_420_888 = 1;
+
+  /// Images in the RGBA_8888 format, converted natively by CameraX, with a
+  /// single plane.
+  static const int OUTPUT_IMAGE_FORMAT_RGBA_8888 = 2;
+
+  /// How images are dropped when analysis is slower than the camera,
+  /// [STRATEGY_KEEP_ONLY_LATEST] when null.
+  final int? backpressureStrategy;
+
+  /// The number of images queued with [STRATEGY_BLOCK_PRODUCER].
+  final int? imageQueueDepth;
+
+  /// The format of the analyzed images,
+  /// [OUTPUT_IMAGE_FORMAT_YUV_420_888] when null.
+  final int? outputImageFormat;
+
+  /// Starts analyzing images with [analyze].
+  ///
+  /// [analyze] receives images while at most [framePoolSize] of them are in
+  /// flight; images produced while all are in flight are dropped. The planes
+  /// of an image are only valid until [analyze] returns, so copy them to
+  /// process them asynchronously.
+  ///
+  /// With [lumaOnly], only the first plane of YUV images is sent, which is all
+  /// many detection models need and a third of the data.
+  Future<void> setAnalyzer(
+    void Function(AnalyzedImage image) analyze, {
+    bool lumaOnly = false,
+    int framePoolSize = 3,
+  }) {
+    assert(framePoolSize > 0);
+    return _api.setAnalyzerFromInstance(this, analyze, lumaOnly, framePoolSize);
+  }
+
+  /// Stops analyzing images.
+  Future<void> clearAnalyzer() => _api.clearAnalyzerFromInstance(this);
+}
+
+/// An image sent to an [ImageAnalysis] analyzer.
+@immutable
+class AnalyzedImage {
+  /// Creates an [AnalyzedImage].
+  const AnalyzedImage({
+    required this.width,
+    required this.height,
+    required this.format,
+    required this.rotationDegrees,
+    required this.timestamp,
+    required this.planes,
+  });
+
+  /// Decodes an image from a binary message of the native analyzer, without
+  /// copying the planes.
+  factory AnalyzedImage.fromMessage(ByteData message) {
+    final int width = message.getInt32(0);
+    final int height = message.getInt32(4);
+    final int format = message.getInt32(8);
+    final int rotationDegrees = message.getInt32(12);
+    final int timestamp = message.getInt64(16);
+    final int planeCount = message.getInt32(24);
+    int offset = 28;
+    final List<AnalyzedImagePlane> planes = <AnalyzedImagePlane>[];
+    for (int i = 0; i < planeCount; i++) {
+      final int bytesPerRow = message.getInt32(offset);
+      final int bytesPerPixel = message.getInt32(offset + 4);
+      final int length = message.getInt32(offset + 8);
+      offset += 12;
+      planes.add(AnalyzedImagePlane(
+        bytes: message.buffer
+            .asUint8List(message.offsetInBytes + offset, length),
+        bytesPerRow: bytesPerRow,
+        bytesPerPixel: bytesPerPixel,
+      ));
+      offset += length;
+    }
+    return AnalyzedImage(
+      width: width,
+      height: height,
+      format: format,
+      rotationDegrees: rotationDegrees,
+      timestamp: timestamp,
+      planes: planes,
+    );
+  }
+
+  /// The width of the image in pixels.
+  final int width;
+
+  /// The height of the image in pixels.
+  final int height;
+
+  /// The Android `ImageFormat` or `PixelFormat` of the image.
+  final int format;
+
+  /// The rotation to apply to the image to display it upright.
+  final int rotationDegrees;
+
+  /// The timestamp of the image in nanoseconds.
+  final int timestamp;
+
+  /// The planes of the image.
+  final List<AnalyzedImagePlane> planes;
+}
+
+/// A plane of an [AnalyzedImage].
+@immutable
+class AnalyzedImagePlane {
+  /// Creates an [AnalyzedImagePlane].
+  const AnalyzedImagePlane({
+    required this.bytes,
+    required this.bytesPerRow,
+    required this.bytesPerPixel,
+  });
+
+  /// The bytes of the plane, including row padding.
+  final Uint8List bytes;
+
+  /// The distance between the starts of two rows, in bytes.
+  final int bytesPerRow;
+
+  /// The distance between two pixels of a row, in bytes.
+  final int bytesPerPixel;
+}
+
+/// Host API implementation of [ImageAnalysis].
+class ImageAnalysisHostApiImpl extends ImageAnalysisHostApi {
+  /// Constructs an [ImageAnalysisHostApiImpl].
+  ImageAnalysisHostApiImpl(
+      {this.binaryMessenger, InstanceManager? instanceManager})
+      : super(binaryMessenger: binaryMessenger) {
+    this.instanceManager = instanceManager ?? JavaObject.globalInstanceManager;
+  }
+
+  /// Receives binary data across the Flutter platform barrier.
+  ///
+  /// If it is null, the default BinaryMessenger will be used which routes to
+  /// the host platform.
+  final BinaryMessenger? binaryMessenger;
+
+  /// Maintains instances stored to communicate with native language objects.
+  late final InstanceManager instanceManager;
+
+  /// The prefix of the binary channel of an [ImageAnalysis], followed by its
+  /// identifier.
+  static const String framesChannelPrefix =
+      'plugins.flutter.io/camerax/imageAnalysis/';
+
+  BinaryMessenger get _framesMessenger =>
+      binaryMessenger ?? ServicesBinding.instance.defaultBinaryMessenger;
+
+  /// Creates an [ImageAnalysis] with the configuration of [instance].
+  void createFromInstance(ImageAnalysis instance) {
+    final int identifier = _getOrAddIdentifier(instance);
+    create(identifier, instance.backpressureStrategy, instance.imageQueueDepth,
+        instance.outputImageFormat);
+  }
+
+  /// Starts sending the images analyzed by [instance] to [analyze].
+  Future<void> setAnalyzerFromInstance(
+    ImageAnalysis instance,
+    void Function(AnalyzedImage image) analyze,
+    bool lumaOnly,
+    int framePoolSize,
+  ) async {
+    final int identifier = _getOrAddIdentifier(instance);
+    // Replying to a message returns its buffer to the native pool.
+    _framesMessenger.setMessageHandler('$framesChannelPrefix$identifier',
+        (ByteData? message) async {
+      if (message != null) {
+        analyze(AnalyzedImage.fromMessage(message));
+      }
+      return null;
+    });
+    await setAnalyzer(identifier, lumaOnly, framePoolSize);
+  }
+
+  /// Stops sending the images analyzed by [instance].
+  Future<void> clearAnalyzerFromInstance(ImageAnalysis instance) async {
+    final int identifier = _getOrAddIdentifier(instance);
+    await clearAnalyzer(identifier);
+    _framesMessenger.setMessageHandler(
+        '$framesChannelPrefix$identifier', null);
+  }
+
+  int _getOrAddIdentifier(ImageAnalysis instance) {
+    return instanceManager.getIdentifier(instance) ??
+        instanceManager.addDartCreatedInstance(instance,
+            onCopy: (ImageAnalysis original) {
+          return ImageAnalysis.detached(
+              binaryMessenger: binaryMessenger,
+              instanceManager: instanceManager,
+              backpressureStrategy: original.backpressureStrategy,
+              imageQueueDepth: original.imageQueueDepth,
+              outputImageFormat: original.outputImageFormat);
+        });
+  }
+}
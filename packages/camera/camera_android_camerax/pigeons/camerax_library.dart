@@ -34,6 +34,8 @@ abstract class JavaObjectHostApi {
 @FlutterApi()
 abstract class JavaObjectFlutterApi {
   void dispose(int identifier);
+
+  void disposeAll(List<int> identifiers);
 }
 
 @HostApi(dartHostTestHandler: 'TestCameraInfoHostApi')
@@ -44,6 +46,9 @@ abstract class CameraInfoHostApi {
 @FlutterApi()
 abstract class CameraInfoFlutterApi {
   void create(int identifier);
+
+  void createAll(List<int> identifiers, List<int?> lensFacings,
+      List<int> sensorRotationsDegrees);
 }
 
 @HostApi(dartHostTestHandler: 'TestCameraSelectorHostApi')
@@ -70,3 +75,13 @@ abstract class ProcessCameraProviderHostApi {
 abstract class ProcessCameraProviderFlutterApi {
   void create(int identifier);
 }
+
+@HostApi(dartHostTestHandler: 'TestImageAnalysisHostApi')
+abstract class ImageAnalysisHostApi {
+  void create(int identifier, int? backpressureStrategy, int? imageQueueDepth,
+      int? outputImageFormat);
+
+  void setAnalyzer(int identifier, bool lumaOnly, int framePoolSize);
+
+  void clearAnalyzer(int identifier);
+}
@@ -56,5 +56,34 @@ void main() {
       expect(
           instanceManager.getInstanceWithWeakReference(0), isA<CameraInfo>());
     });
+
+    test('flutterApiCreateAllTest', () async {
+      final MockTestCameraInfoHostApi mockApi = MockTestCameraInfoHostApi();
+      TestCameraInfoHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final CameraInfoFlutterApi flutterApi = CameraInfoFlutterApiImpl(
+        instanceManager: instanceManager,
+      );
+
+      flutterApi.createAll(<int>[0, 1], <int?>[1, null], <int>[90, 270]);
+      final CameraInfo backCameraInfo =
+          instanceManager.getInstanceWithWeakReference(0)! as CameraInfo;
+
+      // Known cameras are kept when they are sent again.
+      flutterApi.createAll(<int>[0, 1], <int?>[1, null], <int>[90, 270]);
+      expect(instanceManager.getInstanceWithWeakReference(0),
+          same(backCameraInfo));
+
+      final CameraInfo otherCameraInfo =
+          instanceManager.getInstanceWithWeakReference(1)! as CameraInfo;
+      expect(backCameraInfo.lensFacing, 1);
+      expect(otherCameraInfo.lensFacing, isNull);
+      expect(await backCameraInfo.getSensorRotationDegrees(), 90);
+      expect(await otherCameraInfo.getSensorRotationDegrees(), 270);
+      verifyNever(mockApi.getSensorRotationDegrees(any));
+    });
   });
 }
@@ -0,0 +1,113 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:camera_android_camerax/src/image_analysis.dart';
+import 'package:camera_android_camerax/src/instance_manager.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:mockito/annotations.dart';
+import 'package:mockito/mockito.dart';
+
+import 'image_analysis_test.mocks.dart';
+import 'test_camerax_library.pigeon.dart';
+
+@GenerateMocks(<Type>[TestImageAnalysisHostApi])
+void main() {
+  TestWidgetsFlutterBinding.ensureInitialized();
+
+  ByteData buildMessage() {
+    final ByteData message = ByteData(28 + 12 + 4 + 12 + 2);
+    message.setInt32(0, 2);
+    message.setInt32(4, 1);
+    message.setInt32(8, 35);
+    message.setInt32(12, 90);
+    message.setInt64(16, 123456789);
+    message.setInt32(24, 2);
+    message.setInt32(28, 2);
+    message.setInt32(32, 1);
+    message.setInt32(36, 4);
+    for (int i = 0; i < 4; i++) {
+      message.setUint8(40 + i, i + 1);
+    }
+    message.setInt32(44, 2);
+    message.setInt32(48, 2);
+    message.setInt32(52, 2);
+    message.setUint8(56, 7);
+    message.setUint8(57, 8);
+    return message;
+  }
+
+  group('ImageAnalysis', () {
+    tearDown(() => TestImageAnalysisHostApi.setup(null));
+
+    test('hostApiCreate', () {
+      final MockTestImageAnalysisHostApi mockApi =
+          MockTestImageAnalysisHostApi();
+      TestImageAnalysisHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final ImageAnalysis imageAnalysis = ImageAnalysis(
+        instanceManager: instanceManager,
+        backpressureStrategy: ImageAnalysis.STRATEGY_BLOCK_PRODUCER,
+        imageQueueDepth: 4,
+        outputImageFormat: ImageAnalysis.OUTPUT_IMAGE_FORMAT_RGBA_8888,
+      );
+
+      verify(mockApi.create(
+        instanceManager.getIdentifier(imageAnalysis),
+        ImageAnalysis.STRATEGY_BLOCK_PRODUCER,
+        4,
+        ImageAnalysis.OUTPUT_IMAGE_FORMAT_RGBA_8888,
+      ));
+    });
+
+    test('setAnalyzerDeliversDecodedImages', () async {
+      final MockTestImageAnalysisHostApi mockApi =
+          MockTestImageAnalysisHostApi();
+      TestImageAnalysisHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final ImageAnalysis imageAnalysis = ImageAnalysis.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        imageAnalysis,
+        0,
+        onCopy: (_) => ImageAnalysis.detached(),
+      );
+
+      final List<AnalyzedImage> images = <AnalyzedImage>[];
+      await imageAnalysis.setAnalyzer(images.add,
+          lumaOnly: true, framePoolSize: 2);
+      verify(mockApi.setAnalyzer(0, true, 2));
+
+      await TestDefaultBinaryMessengerBinding.instance!.defaultBinaryMessenger
+          .handlePlatformMessage(
+              '${ImageAnalysisHostApiImpl.framesChannelPrefix}0',
+              buildMessage(),
+              (ByteData? reply) {});
+
+      expect(images, hasLength(1));
+      final AnalyzedImage image = images.single;
+      expect(image.width, 2);
+      expect(image.height, 1);
+      expect(image.format, 35);
+      expect(image.rotationDegrees, 90);
+      expect(image.timestamp, 123456789);
+      expect(image.planes, hasLength(2));
+      expect(image.planes[0].bytesPerRow, 2);
+      expect(image.planes[0].bytesPerPixel, 1);
+      expect(image.planes[0].bytes, Uint8List.fromList(<int>[1, 2, 3, 4]));
+      expect(image.planes[1].bytes, Uint8List.fromList(<int>[7, 8]));
+
+      await imageAnalysis.clearAnalyzer();
+      verify(mockApi.clearAnalyzer(0));
+    });
+  });
+}
@@ -185,3 +185,86 @@ abstract class TestProcessCameraProviderHostApi {
     }
   }
 }
+
+class _TestImageAnalysisHostApiCodec extends StandardMessageCodec {
+  const _TestImageAnalysisHostApiCodec();
+}
+
+abstract class TestImageAnalysisHostApi {
+  static const MessageCodec<Object?> codec = _TestImageAnalysisHostApiCodec();
+
+  void create(int identifier, int? backpressureStrategy, int? imageQueueDepth,
+      int? outputImageFormat);
+  void setAnalyzer(int identifier, bool lumaOnly, int framePoolSize);
+  void clearAnalyzer(int identifier);
+  static void setup(TestImageAnalysisHostApi? api,
+      {BinaryMessenger? binaryMessenger}) {
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.ImageAnalysisHostApi.create', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMockMessageHandler(null);
+      } else {
+        channel.setMockMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.create was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_identifier = (args[0] as int?);
+          assert(arg_identifier != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.create was null, expected non-null int.');
+          final int? arg_backpressureStrategy = (args[1] as int?);
+          final int? arg_imageQueueDepth = (args[2] as int?);
+          final int? arg_outputImageFormat = (args[3] as int?);
+          api.create(arg_identifier!, arg_backpressureStrategy,
+              arg_imageQueueDepth, arg_outputImageFormat);
+          return <Object?, Object?>{};
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.ImageAnalysisHostApi.setAnalyzer', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMockMessageHandler(null);
+      } else {
+        channel.setMockMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.setAnalyzer was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_identifier = (args[0] as int?);
+          assert(arg_identifier != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.setAnalyzer was null, expected non-null int.');
+          final bool? arg_lumaOnly = (args[1] as bool?);
+          assert(arg_lumaOnly != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.setAnalyzer was null, expected non-null bool.');
+          final int? arg_framePoolSize = (args[2] as int?);
+          assert(arg_framePoolSize != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.setAnalyzer was null, expected non-null int.');
+          api.setAnalyzer(arg_identifier!, arg_lumaOnly!, arg_framePoolSize!);
+          return <Object?, Object?>{};
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.ImageAnalysisHostApi.clearAnalyzer', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMockMessageHandler(null);
+      } else {
+        channel.setMockMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.clearAnalyzer was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_identifier = (args[0] as int?);
+          assert(arg_identifier != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.clearAnalyzer was null, expected non-null int.');
+          api.clearAnalyzer(arg_identifier!);
+          return <Object?, Object?>{};
+        });
+      }
+    }
+  }
+}
@@ -0,0 +1,68 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.DefaultLoadControl;
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.upstream.DefaultAllocator;
+
+/**
+ * Builds the {@link LoadControl} of the players, optionally capping the memory their buffers use
+ * together.
+ *
+ * <p>With a budget, all the players allocate their media buffers from one {@link DefaultAllocator},
+ * and each player's target buffer size is the whole budget. A player then stops buffering ahead
+ * once the players together hold {@code maxBytes}, but always buffers up to its own minimum
+ * buffer duration, so a player started late still plays while the others hold the budget.
+ *
+ * <p>Without a budget, each player sizes its buffer from its selected tracks, as ExoPlayer does by
+ * default.
+ */
+final class BufferBudget {
+  /** The budget used when none was set, leaving each player to size its own buffer. */
+  static final BufferBudget UNLIMITED = new BufferBudget(0);
+
+  private final int maxBytes;
+  // The allocator shared by the players, or null if the budget is unlimited.
+  @Nullable private final DefaultAllocator allocator;
+
+  /** Creates a budget of {@code maxBytes}, or an unlimited budget if {@code maxBytes} is 0. */
+  BufferBudget(long maxBytes) {
+    if (maxBytes < 0 || maxBytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("maxBytes must be a non-negative int, was " + maxBytes);
+    }
+    this.maxBytes = (int) maxBytes;
+    this.allocator =
+        maxBytes > 0 ? new DefaultAllocator(true, C.DEFAULT_BUFFER_SEGMENT_SIZE) : null;
+  }
+
+  /** Returns a new {@link LoadControl} for a player with {@code bufferOptions}. */
+  @NonNull
+  LoadControl createLoadControl(@NonNull BufferOptions bufferOptions) {
+    DefaultLoadControl.Builder builder =
+        new DefaultLoadControl.Builder()
+            .setBufferDurationsMs(
+                bufferOptions.minBufferMs,
+                bufferOptions.maxBufferMs,
+                bufferOptions.bufferForPlaybackMs,
+                bufferOptions.bufferForPlaybackAfterRebufferMs)
+            .setBackBuffer(bufferOptions.backBufferMs, false);
+    if (allocator != null) {
+      // The budget only caps buffering beyond the minimum buffer duration.
+      builder
+          .setAllocator(allocator)
+          .setTargetBufferBytes(maxBytes)
+          .setPrioritizeTimeOverSizeThresholds(true);
+    }
+    return builder.build();
+  }
+
+  long getMaxBytes() {
+    return maxBytes;
+  }
+}
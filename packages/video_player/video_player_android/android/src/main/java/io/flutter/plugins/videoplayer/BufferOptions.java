@@ -0,0 +1,99 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static com.google.android.exoplayer2.DefaultLoadControl.DEFAULT_BACK_BUFFER_DURATION_MS;
+import static com.google.android.exoplayer2.DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS;
+import static com.google.android.exoplayer2.DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS;
+import static com.google.android.exoplayer2.DefaultLoadControl.DEFAULT_MAX_BUFFER_MS;
+import static com.google.android.exoplayer2.DefaultLoadControl.DEFAULT_MIN_BUFFER_MS;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The buffer durations of a player, each falling back to ExoPlayer's default when unset.
+ *
+ * <p>A short looping clip can buffer a few seconds to save memory, while a long stream can buffer
+ * more to ride out network stalls. Unset durations are derived from the set ones where the
+ * defaults would contradict them, so that setting only {@code maxBufferMs} below the default
+ * minimum is valid.
+ */
+final class BufferOptions {
+  static final BufferOptions DEFAULT = new BufferOptions(null, null, null, null);
+
+  final int minBufferMs;
+  final int maxBufferMs;
+  final int bufferForPlaybackMs;
+  final int bufferForPlaybackAfterRebufferMs;
+  final int backBufferMs;
+  private final boolean isDefault;
+
+  /** @throws IllegalArgumentException if a duration is negative or the durations contradict. */
+  BufferOptions(
+      @Nullable Long minBufferMs,
+      @Nullable Long maxBufferMs,
+      @Nullable Long bufferForPlaybackMs,
+      @Nullable Long backBufferMs) {
+    isDefault =
+        minBufferMs == null
+            && maxBufferMs == null
+            && bufferForPlaybackMs == null
+            && backBufferMs == null;
+
+    if (minBufferMs != null) {
+      this.minBufferMs = toIntMs(minBufferMs, "minBufferMs");
+    } else if (maxBufferMs != null) {
+      this.minBufferMs = Math.min(DEFAULT_MIN_BUFFER_MS, toIntMs(maxBufferMs, "maxBufferMs"));
+    } else {
+      this.minBufferMs = DEFAULT_MIN_BUFFER_MS;
+    }
+    this.maxBufferMs =
+        maxBufferMs != null
+            ? toIntMs(maxBufferMs, "maxBufferMs")
+            : Math.max(DEFAULT_MAX_BUFFER_MS, this.minBufferMs);
+    this.bufferForPlaybackMs =
+        bufferForPlaybackMs != null
+            ? toIntMs(bufferForPlaybackMs, "bufferForPlaybackMs")
+            : Math.min(DEFAULT_BUFFER_FOR_PLAYBACK_MS, this.minBufferMs);
+    this.bufferForPlaybackAfterRebufferMs =
+        Math.max(
+            this.bufferForPlaybackMs,
+            Math.min(DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS, this.minBufferMs));
+    this.backBufferMs =
+        backBufferMs != null
+            ? toIntMs(backBufferMs, "backBufferMs")
+            : DEFAULT_BACK_BUFFER_DURATION_MS;
+
+    if (this.maxBufferMs < this.minBufferMs) {
+      throw new IllegalArgumentException(
+          "maxBufferMs ("
+              + this.maxBufferMs
+              + ") must not be less than minBufferMs ("
+              + this.minBufferMs
+              + ").");
+    }
+    if (this.minBufferMs < this.bufferForPlaybackMs) {
+      throw new IllegalArgumentException(
+          "minBufferMs ("
+              + this.minBufferMs
+              + ") must not be less than bufferForPlaybackMs ("
+              + this.bufferForPlaybackMs
+              + ").");
+    }
+  }
+
+  /** Whether no duration was set, so that the player can use the default configuration. */
+  boolean isDefault() {
+    return isDefault;
+  }
+
+  private static int toIntMs(@NonNull Long value, @NonNull String name) {
+    if (value < 0 || value > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(name + " must be a non-negative int, was " + value);
+    }
+    return value.intValue();
+  }
+}
@@ -0,0 +1,89 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static com.google.android.exoplayer2.Player.REPEAT_MODE_OFF;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.PlaybackParameters;
+import java.util.ArrayDeque;
+
+/**
+ * A bounded pool of idle {@link ExoPlayer} instances, reused across videos.
+ *
+ * <p>Building an {@link ExoPlayer} starts a playback thread and allocates its renderers and
+ * buffers, which adds up when a feed creates and disposes a player for every item. Disposed players
+ * are reset and kept here instead, up to {@code maxSize}, and handed out to the next videos.
+ *
+ * <p>Must only be used on the main thread, like the players themselves.
+ */
+final class ExoPlayerPool {
+  /** The number of idle players kept by the plugin. */
+  static final int DEFAULT_MAX_SIZE = 2;
+
+  private final int maxSize;
+  private final ArrayDeque<ExoPlayer> idlePlayers = new ArrayDeque<>();
+
+  ExoPlayerPool(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize must not be negative, was " + maxSize);
+    }
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Returns an idle player from the pool, or a new player within {@code bufferBudget} if the pool
+   * is empty.
+   *
+   * <p>The pool must be cleared whenever the budget changes, since idle players keep the budget
+   * they were built with.
+   */
+  @NonNull
+  ExoPlayer acquire(@NonNull Context context, @NonNull BufferBudget bufferBudget) {
+    ExoPlayer player = idlePlayers.poll();
+    if (player == null) {
+      player =
+          new ExoPlayer.Builder(context)
+              .setLoadControl(bufferBudget.createLoadControl(BufferOptions.DEFAULT))
+              .build();
+    }
+    return player;
+  }
+
+  /**
+   * Resets {@code player} and keeps it for a later video, or releases it if the pool is full.
+   *
+   * <p>The caller must have removed its listeners and video surface from the player.
+   */
+  void recycle(@NonNull ExoPlayer player) {
+    if (idlePlayers.size() >= maxSize) {
+      player.release();
+      return;
+    }
+    player.stop();
+    player.clearMediaItems();
+    player.setPlayWhenReady(false);
+    player.setRepeatMode(REPEAT_MODE_OFF);
+    player.setVolume(1.0f);
+    player.setPlaybackParameters(PlaybackParameters.DEFAULT);
+    idlePlayers.push(player);
+  }
+
+  /** Releases all the idle players. */
+  void clear() {
+    for (ExoPlayer player : idlePlayers) {
+      player.release();
+    }
+    idlePlayers.clear();
+  }
+
+  @VisibleForTesting
+  int getIdleCount() {
+    return idlePlayers.size();
+  }
+}
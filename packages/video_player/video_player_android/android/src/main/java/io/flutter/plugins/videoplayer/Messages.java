@@ -328,6 +328,30 @@ public class Messages {
       this.httpHeaders = setterArg;
     }
 
+    private @Nullable Long minBufferMs;
+    public @Nullable Long getMinBufferMs() { return minBufferMs; }
+    public void setMinBufferMs(@Nullable Long setterArg) {
+      this.minBufferMs = setterArg;
+    }
+
+    private @Nullable Long maxBufferMs;
+    public @Nullable Long getMaxBufferMs() { return maxBufferMs; }
+    public void setMaxBufferMs(@Nullable Long setterArg) {
+      this.maxBufferMs = setterArg;
+    }
+
+    private @Nullable Long bufferForPlaybackMs;
+    public @Nullable Long getBufferForPlaybackMs() { return bufferForPlaybackMs; }
+    public void setBufferForPlaybackMs(@Nullable Long setterArg) {
+      this.bufferForPlaybackMs = setterArg;
+    }
+
+    private @Nullable Long backBufferMs;
+    public @Nullable Long getBackBufferMs() { return backBufferMs; }
+    public void setBackBufferMs(@Nullable Long setterArg) {
+      this.backBufferMs = setterArg;
+    }
+
     /** Constructor is private to enforce null safety; use Builder. */
     private CreateMessage() {}
     public static final class Builder {
@@ -361,6 +385,26 @@ public class Messages {
         this.httpHeaders = setterArg;
         return this;
       }
+      private @Nullable Long minBufferMs;
+      public @NonNull Builder setMinBufferMs(@Nullable Long setterArg) {
+        this.minBufferMs = setterArg;
+        return this;
+      }
+      private @Nullable Long maxBufferMs;
+      public @NonNull Builder setMaxBufferMs(@Nullable Long setterArg) {
+        this.maxBufferMs = setterArg;
+        return this;
+      }
+      private @Nullable Long bufferForPlaybackMs;
+      public @NonNull Builder setBufferForPlaybackMs(@Nullable Long setterArg) {
+        this.bufferForPlaybackMs = setterArg;
+        return this;
+      }
+      private @Nullable Long backBufferMs;
+      public @NonNull Builder setBackBufferMs(@Nullable Long setterArg) {
+        this.backBufferMs = setterArg;
+        return this;
+      }
       public @NonNull CreateMessage build() {
         CreateMessage pigeonReturn = new CreateMessage();
         pigeonReturn.setAsset(asset);
@@ -369,6 +413,10 @@ public class Messages {
         pigeonReturn.setFormatHint(formatHint);
         pigeonReturn.setMetadata(metadata);
         pigeonReturn.setHttpHeaders(httpHeaders);
+        pigeonReturn.setMinBufferMs(minBufferMs);
+        pigeonReturn.setMaxBufferMs(maxBufferMs);
+        pigeonReturn.setBufferForPlaybackMs(bufferForPlaybackMs);
+        pigeonReturn.setBackBufferMs(backBufferMs);
         return pigeonReturn;
       }
     }
@@ -380,6 +428,10 @@ public class Messages {
       toMapResult.put("formatHint", formatHint);
       toMapResult.put("metadata", (metadata == null) ? null : metadata.toMap());
       toMapResult.put("httpHeaders", httpHeaders);
+      toMapResult.put("minBufferMs", minBufferMs);
+      toMapResult.put("maxBufferMs", maxBufferMs);
+      toMapResult.put("bufferForPlaybackMs", bufferForPlaybackMs);
+      toMapResult.put("backBufferMs", backBufferMs);
       return toMapResult;
     }
     static @NonNull CreateMessage fromMap(@NonNull Map<String, Object> map) {
@@ -396,6 +448,14 @@ public class Messages {
       pigeonResult.setMetadata((metadata == null) ? null : ControlsMetadata.fromMap((Map)metadata));
       Object httpHeaders = map.get("httpHeaders");
       pigeonResult.setHttpHeaders((Map<String, String>)httpHeaders);
+      Object minBufferMs = map.get("minBufferMs");
+      pigeonResult.setMinBufferMs((minBufferMs == null) ? null : ((minBufferMs instanceof Integer) ? (Integer)minBufferMs : (Long)minBufferMs));
+      Object maxBufferMs = map.get("maxBufferMs");
+      pigeonResult.setMaxBufferMs((maxBufferMs == null) ? null : ((maxBufferMs instanceof Integer) ? (Integer)maxBufferMs : (Long)maxBufferMs));
+      Object bufferForPlaybackMs = map.get("bufferForPlaybackMs");
+      pigeonResult.setBufferForPlaybackMs((bufferForPlaybackMs == null) ? null : ((bufferForPlaybackMs instanceof Integer) ? (Integer)bufferForPlaybackMs : (Long)bufferForPlaybackMs));
+      Object backBufferMs = map.get("backBufferMs");
+      pigeonResult.setBackBufferMs((backBufferMs == null) ? null : ((backBufferMs instanceof Integer) ? (Integer)backBufferMs : (Long)backBufferMs));
       return pigeonResult;
     }
   }
@@ -523,6 +583,396 @@ public class Messages {
       return pigeonResult;
     }
   }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class CacheOptionsMessage {
+    private @NonNull Boolean enabled;
+    public @NonNull Boolean getEnabled() { return enabled; }
+    public void setEnabled(@NonNull Boolean setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"enabled\" is null.");
+      }
+      this.enabled = setterArg;
+    }
+
+    private @NonNull Long maxCacheBytes;
+    public @NonNull Long getMaxCacheBytes() { return maxCacheBytes; }
+    public void setMaxCacheBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"maxCacheBytes\" is null.");
+      }
+      this.maxCacheBytes = setterArg;
+    }
+
+    /** Constructor is private to enforce null safety; use Builder. */
+    private CacheOptionsMessage() {}
+    public static final class Builder {
+      private @Nullable Boolean enabled;
+      public @NonNull Builder setEnabled(@NonNull Boolean setterArg) {
+        this.enabled = setterArg;
+        return this;
+      }
+      private @Nullable Long maxCacheBytes;
+      public @NonNull Builder setMaxCacheBytes(@NonNull Long setterArg) {
+        this.maxCacheBytes = setterArg;
+        return this;
+      }
+      public @NonNull CacheOptionsMessage build() {
+        CacheOptionsMessage pigeonReturn = new CacheOptionsMessage();
+        pigeonReturn.setEnabled(enabled);
+        pigeonReturn.setMaxCacheBytes(maxCacheBytes);
+        return pigeonReturn;
+      }
+    }
+    @NonNull Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("enabled", enabled);
+      toMapResult.put("maxCacheBytes", maxCacheBytes);
+      return toMapResult;
+    }
+    static @NonNull CacheOptionsMessage fromMap(@NonNull Map<String, Object> map) {
+      CacheOptionsMessage pigeonResult = new CacheOptionsMessage();
+      Object enabled = map.get("enabled");
+      pigeonResult.setEnabled((Boolean)enabled);
+      Object maxCacheBytes = map.get("maxCacheBytes");
+      pigeonResult.setMaxCacheBytes((maxCacheBytes == null) ? null : ((maxCacheBytes instanceof Integer) ? (Integer)maxCacheBytes : (Long)maxCacheBytes));
+      return pigeonResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class CacheStatsMessage {
+    private @NonNull Long hitCount;
+    public @NonNull Long getHitCount() { return hitCount; }
+    public void setHitCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"hitCount\" is null.");
+      }
+      this.hitCount = setterArg;
+    }
+
+    private @NonNull Long missCount;
+    public @NonNull Long getMissCount() { return missCount; }
+    public void setMissCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"missCount\" is null.");
+      }
+      this.missCount = setterArg;
+    }
+
+    private @NonNull Long hitBytes;
+    public @NonNull Long getHitBytes() { return hitBytes; }
+    public void setHitBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"hitBytes\" is null.");
+      }
+      this.hitBytes = setterArg;
+    }
+
+    private @NonNull Long missBytes;
+    public @NonNull Long getMissBytes() { return missBytes; }
+    public void setMissBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"missBytes\" is null.");
+      }
+      this.missBytes = setterArg;
+    }
+
+    private @NonNull Long cachedBytes;
+    public @NonNull Long getCachedBytes() { return cachedBytes; }
+    public void setCachedBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"cachedBytes\" is null.");
+      }
+      this.cachedBytes = setterArg;
+    }
+
+    /** Constructor is private to enforce null safety; use Builder. */
+    private CacheStatsMessage() {}
+    public static final class Builder {
+      private @Nullable Long hitCount;
+      public @NonNull Builder setHitCount(@NonNull Long setterArg) {
+        this.hitCount = setterArg;
+        return this;
+      }
+      private @Nullable Long missCount;
+      public @NonNull Builder setMissCount(@NonNull Long setterArg) {
+        this.missCount = setterArg;
+        return this;
+      }
+      private @Nullable Long hitBytes;
+      public @NonNull Builder setHitBytes(@NonNull Long setterArg) {
+        this.hitBytes = setterArg;
+        return this;
+      }
+      private @Nullable Long missBytes;
+      public @NonNull Builder setMissBytes(@NonNull Long setterArg) {
+        this.missBytes = setterArg;
+        return this;
+      }
+      private @Nullable Long cachedBytes;
+      public @NonNull Builder setCachedBytes(@NonNull Long setterArg) {
+        this.cachedBytes = setterArg;
+        return this;
+      }
+      public @NonNull CacheStatsMessage build() {
+        CacheStatsMessage pigeonReturn = new CacheStatsMessage();
+        pigeonReturn.setHitCount(hitCount);
+        pigeonReturn.setMissCount(missCount);
+        pigeonReturn.setHitBytes(hitBytes);
+        pigeonReturn.setMissBytes(missBytes);
+        pigeonReturn.setCachedBytes(cachedBytes);
+        return pigeonReturn;
+      }
+    }
+    @NonNull Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("hitCount", hitCount);
+      toMapResult.put("missCount", missCount);
+      toMapResult.put("hitBytes", hitBytes);
+      toMapResult.put("missBytes", missBytes);
+      toMapResult.put("cachedBytes", cachedBytes);
+      return toMapResult;
+    }
+    static @NonNull CacheStatsMessage fromMap(@NonNull Map<String, Object> map) {
+      CacheStatsMessage pigeonResult = new CacheStatsMessage();
+      Object hitCount = map.get("hitCount");
+      pigeonResult.setHitCount((hitCount == null) ? null : ((hitCount instanceof Integer) ? (Integer)hitCount : (Long)hitCount));
+      Object missCount = map.get("missCount");
+      pigeonResult.setMissCount((missCount == null) ? null : ((missCount instanceof Integer) ? (Integer)missCount : (Long)missCount));
+      Object hitBytes = map.get("hitBytes");
+      pigeonResult.setHitBytes((hitBytes == null) ? null : ((hitBytes instanceof Integer) ? (Integer)hitBytes : (Long)hitBytes));
+      Object missBytes = map.get("missBytes");
+      pigeonResult.setMissBytes((missBytes == null) ? null : ((missBytes instanceof Integer) ? (Integer)missBytes : (Long)missBytes));
+      Object cachedBytes = map.get("cachedBytes");
+      pigeonResult.setCachedBytes((cachedBytes == null) ? null : ((cachedBytes instanceof Integer) ? (Integer)cachedBytes : (Long)cachedBytes));
+      return pigeonResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PreloadMessage {
+    private @NonNull String uri;
+    public @NonNull String getUri() { return uri; }
+    public void setUri(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"uri\" is null.");
+      }
+      this.uri = setterArg;
+    }
+
+    private @NonNull Long maxBytes;
+    public @NonNull Long getMaxBytes() { return maxBytes; }
+    public void setMaxBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"maxBytes\" is null.");
+      }
+      this.maxBytes = setterArg;
+    }
+
+    private @NonNull Long priority;
+    public @NonNull Long getPriority() { return priority; }
+    public void setPriority(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"priority\" is null.");
+      }
+      this.priority = setterArg;
+    }
+
+    private @NonNull Map<String, String> httpHeaders;
+    public @NonNull Map<String, String> getHttpHeaders() { return httpHeaders; }
+    public void setHttpHeaders(@NonNull Map<String, String> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"httpHeaders\" is null.");
+      }
+      this.httpHeaders = setterArg;
+    }
+
+    /** Constructor is private to enforce null safety; use Builder. */
+    private PreloadMessage() {}
+    public static final class Builder {
+      private @Nullable String uri;
+      public @NonNull Builder setUri(@NonNull String setterArg) {
+        this.uri = setterArg;
+        return this;
+      }
+      private @Nullable Long maxBytes;
+      public @NonNull Builder setMaxBytes(@NonNull Long setterArg) {
+        this.maxBytes = setterArg;
+        return this;
+      }
+      private @Nullable Long priority;
+      public @NonNull Builder setPriority(@NonNull Long setterArg) {
+        this.priority = setterArg;
+        return this;
+      }
+      private @Nullable Map<String, String> httpHeaders;
+      public @NonNull Builder setHttpHeaders(@NonNull Map<String, String> setterArg) {
+        this.httpHeaders = setterArg;
+        return this;
+      }
+      public @NonNull PreloadMessage build() {
+        PreloadMessage pigeonReturn = new PreloadMessage();
+        pigeonReturn.setUri(uri);
+        pigeonReturn.setMaxBytes(maxBytes);
+        pigeonReturn.setPriority(priority);
+        pigeonReturn.setHttpHeaders(httpHeaders);
+        return pigeonReturn;
+      }
+    }
+    @NonNull Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("uri", uri);
+      toMapResult.put("maxBytes", maxBytes);
+      toMapResult.put("priority", priority);
+      toMapResult.put("httpHeaders", httpHeaders);
+      return toMapResult;
+    }
+    static @NonNull PreloadMessage fromMap(@NonNull Map<String, Object> map) {
+      PreloadMessage pigeonResult = new PreloadMessage();
+      Object uri = map.get("uri");
+      pigeonResult.setUri((String)uri);
+      Object maxBytes = map.get("maxBytes");
+      pigeonResult.setMaxBytes((maxBytes == null) ? null : ((maxBytes instanceof Integer) ? (Integer)maxBytes : (Long)maxBytes));
+      Object priority = map.get("priority");
+      pigeonResult.setPriority((priority == null) ? null : ((priority instanceof Integer) ? (Integer)priority : (Long)priority));
+      Object httpHeaders = map.get("httpHeaders");
+      pigeonResult.setHttpHeaders((Map<String, String>)httpHeaders);
+      return pigeonResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class CancelPreloadMessage {
+    private @NonNull String uri;
+    public @NonNull String getUri() { return uri; }
+    public void setUri(@NonNull String setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"uri\" is null.");
+      }
+      this.uri = setterArg;
+    }
+
+    /** Constructor is private to enforce null safety; use Builder. */
+    private CancelPreloadMessage() {}
+    public static final class Builder {
+      private @Nullable String uri;
+      public @NonNull Builder setUri(@NonNull String setterArg) {
+        this.uri = setterArg;
+        return this;
+      }
+      public @NonNull CancelPreloadMessage build() {
+        CancelPreloadMessage pigeonReturn = new CancelPreloadMessage();
+        pigeonReturn.setUri(uri);
+        return pigeonReturn;
+      }
+    }
+    @NonNull Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("uri", uri);
+      return toMapResult;
+    }
+    static @NonNull CancelPreloadMessage fromMap(@NonNull Map<String, Object> map) {
+      CancelPreloadMessage pigeonResult = new CancelPreloadMessage();
+      Object uri = map.get("uri");
+      pigeonResult.setUri((String)uri);
+      return pigeonResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PositionUpdatesMessage {
+    private @NonNull Long textureId;
+    public @NonNull Long getTextureId() { return textureId; }
+    public void setTextureId(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"textureId\" is null.");
+      }
+      this.textureId = setterArg;
+    }
+
+    private @NonNull Long intervalMs;
+    public @NonNull Long getIntervalMs() { return intervalMs; }
+    public void setIntervalMs(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"intervalMs\" is null.");
+      }
+      this.intervalMs = setterArg;
+    }
+
+    /** Constructor is private to enforce null safety; use Builder. */
+    private PositionUpdatesMessage() {}
+    public static final class Builder {
+      private @Nullable Long textureId;
+      public @NonNull Builder setTextureId(@NonNull Long setterArg) {
+        this.textureId = setterArg;
+        return this;
+      }
+      private @Nullable Long intervalMs;
+      public @NonNull Builder setIntervalMs(@NonNull Long setterArg) {
+        this.intervalMs = setterArg;
+        return this;
+      }
+      public @NonNull PositionUpdatesMessage build() {
+        PositionUpdatesMessage pigeonReturn = new PositionUpdatesMessage();
+        pigeonReturn.setTextureId(textureId);
+        pigeonReturn.setIntervalMs(intervalMs);
+        return pigeonReturn;
+      }
+    }
+    @NonNull Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("intervalMs", intervalMs);
+      return toMapResult;
+    }
+    static @NonNull PositionUpdatesMessage fromMap(@NonNull Map<String, Object> map) {
+      PositionUpdatesMessage pigeonResult = new PositionUpdatesMessage();
+      Object textureId = map.get("textureId");
+      pigeonResult.setTextureId((textureId == null) ? null : ((textureId instanceof Integer) ? (Integer)textureId : (Long)textureId));
+      Object intervalMs = map.get("intervalMs");
+      pigeonResult.setIntervalMs((intervalMs == null) ? null : ((intervalMs instanceof Integer) ? (Integer)intervalMs : (Long)intervalMs));
+      return pigeonResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class BufferBudgetMessage {
+    private @NonNull Long maxBytes;
+    public @NonNull Long getMaxBytes() { return maxBytes; }
+    public void setMaxBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"maxBytes\" is null.");
+      }
+      this.maxBytes = setterArg;
+    }
+
+    /** Constructor is private to enforce null safety; use Builder. */
+    private BufferBudgetMessage() {}
+    public static final class Builder {
+      private @Nullable Long maxBytes;
+      public @NonNull Builder setMaxBytes(@NonNull Long setterArg) {
+        this.maxBytes = setterArg;
+        return this;
+      }
+      public @NonNull BufferBudgetMessage build() {
+        BufferBudgetMessage pigeonReturn = new BufferBudgetMessage();
+        pigeonReturn.setMaxBytes(maxBytes);
+        return pigeonReturn;
+      }
+    }
+    @NonNull Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("maxBytes", maxBytes);
+      return toMapResult;
+    }
+    static @NonNull BufferBudgetMessage fromMap(@NonNull Map<String, Object> map) {
+      BufferBudgetMessage pigeonResult = new BufferBudgetMessage();
+      Object maxBytes = map.get("maxBytes");
+      pigeonResult.setMaxBytes((maxBytes == null) ? null : ((maxBytes instanceof Integer) ? (Integer)maxBytes : (Long)maxBytes));
+      return pigeonResult;
+    }
+  }
   private static class AndroidVideoPlayerApiCodec extends StandardMessageCodec {
     public static final AndroidVideoPlayerApiCodec INSTANCE = new AndroidVideoPlayerApiCodec();
     private AndroidVideoPlayerApiCodec() {}
@@ -530,27 +980,45 @@ public class Messages {
     protected Object readValueOfType(byte type, ByteBuffer buffer) {
       switch (type) {
         case (byte)128:         
-          return ControlsMetadata.fromMap((Map<String, Object>) readValue(buffer));
+          return BufferBudgetMessage.fromMap((Map<String, Object>) readValue(buffer));
         
         case (byte)129:         
-          return CreateMessage.fromMap((Map<String, Object>) readValue(buffer));
+          return CacheOptionsMessage.fromMap((Map<String, Object>) readValue(buffer));
         
         case (byte)130:         
-          return LoopingMessage.fromMap((Map<String, Object>) readValue(buffer));
+          return CacheStatsMessage.fromMap((Map<String, Object>) readValue(buffer));
         
         case (byte)131:         
-          return MixWithOthersMessage.fromMap((Map<String, Object>) readValue(buffer));
+          return CancelPreloadMessage.fromMap((Map<String, Object>) readValue(buffer));
         
         case (byte)132:         
-          return PlaybackSpeedMessage.fromMap((Map<String, Object>) readValue(buffer));
+          return ControlsMetadata.fromMap((Map<String, Object>) readValue(buffer));
         
         case (byte)133:         
-          return PositionMessage.fromMap((Map<String, Object>) readValue(buffer));
+          return CreateMessage.fromMap((Map<String, Object>) readValue(buffer));
         
         case (byte)134:         
-          return TextureMessage.fromMap((Map<String, Object>) readValue(buffer));
+          return LoopingMessage.fromMap((Map<String, Object>) readValue(buffer));
         
         case (byte)135:         
+          return MixWithOthersMessage.fromMap((Map<String, Object>) readValue(buffer));
+        
+        case (byte)136:         
+          return PlaybackSpeedMessage.fromMap((Map<String, Object>) readValue(buffer));
+        
+        case (byte)137:         
+          return PositionMessage.fromMap((Map<String, Object>) readValue(buffer));
+        
+        case (byte)138:         
+          return PositionUpdatesMessage.fromMap((Map<String, Object>) readValue(buffer));
+        
+        case (byte)139:         
+          return PreloadMessage.fromMap((Map<String, Object>) readValue(buffer));
+        
+        case (byte)140:         
+          return TextureMessage.fromMap((Map<String, Object>) readValue(buffer));
+        
+        case (byte)141:         
           return VolumeMessage.fromMap((Map<String, Object>) readValue(buffer));
         
         default:        
@@ -560,36 +1028,60 @@ public class Messages {
     }
     @Override
     protected void writeValue(ByteArrayOutputStream stream, Object value)     {
-      if (value instanceof ControlsMetadata) {
+      if (value instanceof BufferBudgetMessage) {
         stream.write(128);
+        writeValue(stream, ((BufferBudgetMessage) value).toMap());
+      } else 
+      if (value instanceof CacheOptionsMessage) {
+        stream.write(129);
+        writeValue(stream, ((CacheOptionsMessage) value).toMap());
+      } else 
+      if (value instanceof CacheStatsMessage) {
+        stream.write(130);
+        writeValue(stream, ((CacheStatsMessage) value).toMap());
+      } else 
+      if (value instanceof CancelPreloadMessage) {
+        stream.write(131);
+        writeValue(stream, ((CancelPreloadMessage) value).toMap());
+      } else 
+      if (value instanceof ControlsMetadata) {
+        stream.write(132);
         writeValue(stream, ((ControlsMetadata) value).toMap());
       } else 
       if (value instanceof CreateMessage) {
-        stream.write(129);
+        stream.write(133);
         writeValue(stream, ((CreateMessage) value).toMap());
       } else 
       if (value instanceof LoopingMessage) {
-        stream.write(130);
+        stream.write(134);
         writeValue(stream, ((LoopingMessage) value).toMap());
       } else 
       if (value instanceof MixWithOthersMessage) {
-        stream.write(131);
+        stream.write(135);
         writeValue(stream, ((MixWithOthersMessage) value).toMap());
       } else 
       if (value instanceof PlaybackSpeedMessage) {
-        stream.write(132);
+        stream.write(136);
         writeValue(stream, ((PlaybackSpeedMessage) value).toMap());
       } else 
       if (value instanceof PositionMessage) {
-        stream.write(133);
+        stream.write(137);
         writeValue(stream, ((PositionMessage) value).toMap());
       } else 
+      if (value instanceof PositionUpdatesMessage) {
+        stream.write(138);
+        writeValue(stream, ((PositionUpdatesMessage) value).toMap());
+      } else 
+      if (value instanceof PreloadMessage) {
+        stream.write(139);
+        writeValue(stream, ((PreloadMessage) value).toMap());
+      } else 
       if (value instanceof TextureMessage) {
-        stream.write(134);
+        stream.write(140);
         writeValue(stream, ((TextureMessage) value).toMap());
       } else 
       if (value instanceof VolumeMessage) {
-        stream.write(135);
+        stream.write(141);
         writeValue(stream, ((VolumeMessage) value).toMap());
       } else 
 {
@@ -611,6 +1103,12 @@ public class Messages {
     void seekTo(@NonNull PositionMessage msg);
     void pause(@NonNull TextureMessage msg);
     void setMixWithOthers(@NonNull MixWithOthersMessage msg);
+    void setCacheOptions(@NonNull CacheOptionsMessage msg);
+    @NonNull CacheStatsMessage getCacheStats();
+    void preload(@NonNull PreloadMessage msg);
+    void cancelPreload(@NonNull CancelPreloadMessage msg);
+    void setPositionUpdates(@NonNull PositionUpdatesMessage msg);
+    void setBufferBudget(@NonNull BufferBudgetMessage msg);
 
     /** The codec used by AndroidVideoPlayerApi. */
     static MessageCodec<Object> getCodec() {
@@ -878,6 +1376,145 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.AndroidVideoPlayerApi.setCacheOptions", getCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              ArrayList<Object> args = (ArrayList<Object>)message;
+              CacheOptionsMessage msgArg = (CacheOptionsMessage)args.get(0);
+              if (msgArg == null) {
+                throw new NullPointerException("msgArg unexpectedly null.");
+              }
+              api.setCacheOptions(msgArg);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.AndroidVideoPlayerApi.getCacheStats", getCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              CacheStatsMessage output = api.getCacheStats();
+              wrapped.put("result", output);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.AndroidVideoPlayerApi.preload", getCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              ArrayList<Object> args = (ArrayList<Object>)message;
+              PreloadMessage msgArg = (PreloadMessage)args.get(0);
+              if (msgArg == null) {
+                throw new NullPointerException("msgArg unexpectedly null.");
+              }
+              api.preload(msgArg);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.AndroidVideoPlayerApi.cancelPreload", getCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              ArrayList<Object> args = (ArrayList<Object>)message;
+              CancelPreloadMessage msgArg = (CancelPreloadMessage)args.get(0);
+              if (msgArg == null) {
+                throw new NullPointerException("msgArg unexpectedly null.");
+              }
+              api.cancelPreload(msgArg);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.AndroidVideoPlayerApi.setPositionUpdates", getCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              ArrayList<Object> args = (ArrayList<Object>)message;
+              PositionUpdatesMessage msgArg = (PositionUpdatesMessage)args.get(0);
+              if (msgArg == null) {
+                throw new NullPointerException("msgArg unexpectedly null.");
+              }
+              api.setPositionUpdates(msgArg);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(binaryMessenger, "dev.flutter.pigeon.AndroidVideoPlayerApi.setBufferBudget", getCodec());
+        if (api != null) {
+          channel.setMessageHandler((message, reply) -> {
+            Map<String, Object> wrapped = new HashMap<>();
+            try {
+              ArrayList<Object> args = (ArrayList<Object>)message;
+              BufferBudgetMessage msgArg = (BufferBudgetMessage)args.get(0);
+              if (msgArg == null) {
+                throw new NullPointerException("msgArg unexpectedly null.");
+              }
+              api.setBufferBudget(msgArg);
+              wrapped.put("result", null);
+            }
+            catch (Error | RuntimeException exception) {
+              wrapped.put("error", wrapError(exception));
+            }
+            reply.reply(wrapped);
+          });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
   private static Map<String, Object> wrapError(Throwable exception) {
@@ -0,0 +1,75 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.Handler;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pushes the position of the playing videos to Dart, with a single timer for all the players.
+ *
+ * <p>The timer only runs while a subscribed player is playing. A player is updated on the first
+ * tick after its interval elapsed, or slightly before if another player's update is due, so that
+ * players with similar intervals are updated in the same tick.
+ *
+ * <p>Must only be used on the thread of {@code handler}, which is the thread of the players.
+ */
+final class PositionTicker implements Runnable {
+  private final Handler handler;
+  private final List<VideoPlayer> players = new ArrayList<>();
+
+  PositionTicker(@NonNull Handler handler) {
+    this.handler = handler;
+  }
+
+  /** Starts pushing the position of {@code player}. */
+  void add(@NonNull VideoPlayer player) {
+    if (!players.contains(player)) {
+      players.add(player);
+    }
+    update();
+  }
+
+  /** Stops pushing the position of {@code player}. */
+  void remove(@NonNull VideoPlayer player) {
+    players.remove(player);
+    update();
+  }
+
+  /** Reschedules the next tick, after a change to a player's interval or playing state. */
+  void update() {
+    handler.removeCallbacks(this);
+    scheduleNextTick(SystemClock.uptimeMillis());
+  }
+
+  @Override
+  public void run() {
+    long now = SystemClock.uptimeMillis();
+    for (VideoPlayer player : players) {
+      // Updates players whose update is due within a quarter of their interval, to coalesce them.
+      long earliestUpdateTime =
+          player.getNextPositionUpdateTime() - player.getPositionUpdateIntervalMs() / 4;
+      if (player.isPlaying() && earliestUpdateTime <= now) {
+        player.sendPositionUpdate(now);
+      }
+    }
+    scheduleNextTick(now);
+  }
+
+  private void scheduleNextTick(long now) {
+    long nextTickTime = Long.MAX_VALUE;
+    for (VideoPlayer player : players) {
+      if (player.isPlaying()) {
+        nextTickTime = Math.min(nextTickTime, player.getNextPositionUpdateTime());
+      }
+    }
+    if (nextTickTime != Long.MAX_VALUE) {
+      handler.postAtTime(this, Math.max(nextTickTime, now));
+    }
+  }
+}
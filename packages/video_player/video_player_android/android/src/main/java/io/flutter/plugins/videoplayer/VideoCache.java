@@ -0,0 +1,192 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.database.StandaloneDatabaseProvider;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.LeastRecentlyUsedCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A disk cache for network videos, shared by all the players of the plugin.
+ *
+ * <p>Once the cache is full, the least recently used content is evicted. A cache hit is a read
+ * that was served from the cache, and a cache miss is a request sent to the network.
+ *
+ * <p>A {@link SimpleCache} locks its directory, so the plugin instances of all the engines of the
+ * process share a single one, released along with the last {@link VideoCache} using it. The size of
+ * the shared cache is the one requested when it was created.
+ */
+final class VideoCache implements CacheDataSource.EventListener {
+  private static final String TAG = "VideoCache";
+
+  /** The directory holding the cache, relative to the cache directory of the application. */
+  static final String CACHE_DIRECTORY = "video_player_cache";
+
+  @Nullable private static Cache sharedCache;
+  private static long sharedCacheMaxBytes;
+  private static int sharedCacheUsers;
+
+  private final Cache cache;
+  private final long maxCacheBytes;
+  private final boolean shared;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong hitBytes = new AtomicLong();
+  private final AtomicLong missBytes = new AtomicLong();
+
+  private final TransferListener networkTransferListener =
+      new TransferListener() {
+        @Override
+        public void onTransferInitializing(
+            @NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {}
+
+        @Override
+        public void onTransferStart(
+            @NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {
+          missCount.incrementAndGet();
+        }
+
+        @Override
+        public void onBytesTransferred(
+            @NonNull DataSource source,
+            @NonNull DataSpec dataSpec,
+            boolean isNetwork,
+            int bytesTransferred) {
+          missBytes.addAndGet(bytesTransferred);
+        }
+
+        @Override
+        public void onTransferEnd(
+            @NonNull DataSource source, @NonNull DataSpec dataSpec, boolean isNetwork) {}
+      };
+
+  VideoCache(@NonNull Context context, long maxCacheBytes) {
+    checkMaxCacheBytes(maxCacheBytes);
+    this.cache = acquireSharedCache(context, maxCacheBytes);
+    this.maxCacheBytes = maxCacheBytes;
+    this.shared = true;
+  }
+
+  @VisibleForTesting
+  VideoCache(@NonNull Cache cache, long maxCacheBytes) {
+    checkMaxCacheBytes(maxCacheBytes);
+    this.cache = cache;
+    this.maxCacheBytes = maxCacheBytes;
+    this.shared = false;
+  }
+
+  private static void checkMaxCacheBytes(long maxCacheBytes) {
+    if (maxCacheBytes <= 0) {
+      throw new IllegalArgumentException("maxCacheBytes must be positive, was " + maxCacheBytes);
+    }
+  }
+
+  private static synchronized Cache acquireSharedCache(
+      @NonNull Context context, long maxCacheBytes) {
+    if (sharedCache == null) {
+      sharedCache =
+          new SimpleCache(
+              new File(context.getCacheDir(), CACHE_DIRECTORY),
+              new LeastRecentlyUsedCacheEvictor(maxCacheBytes),
+              new StandaloneDatabaseProvider(context));
+      sharedCacheMaxBytes = maxCacheBytes;
+    } else if (sharedCacheMaxBytes != maxCacheBytes) {
+      Log.w(
+          TAG,
+          "The cache is shared with another engine, keeping its size of "
+              + sharedCacheMaxBytes
+              + " bytes instead of "
+              + maxCacheBytes);
+    }
+    sharedCacheUsers++;
+    return sharedCache;
+  }
+
+  private static synchronized void releaseSharedCache() {
+    if (sharedCacheUsers == 0) {
+      return;
+    }
+    sharedCacheUsers--;
+    if (sharedCacheUsers == 0 && sharedCache != null) {
+      sharedCache.release();
+      sharedCache = null;
+    }
+  }
+
+  long getMaxCacheBytes() {
+    return maxCacheBytes;
+  }
+
+  /** Returns a factory reading through the cache, falling back to {@code upstream} on a miss. */
+  @NonNull
+  CacheDataSource.Factory wrap(@NonNull DataSource.Factory upstream) {
+    return new CacheDataSource.Factory()
+        .setCache(cache)
+        .setUpstreamDataSourceFactory(
+            () -> {
+              DataSource dataSource = upstream.createDataSource();
+              dataSource.addTransferListener(networkTransferListener);
+              return dataSource;
+            })
+        .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+        .setEventListener(this);
+  }
+
+  @Override
+  public void onCachedBytesRead(long cacheSizeBytes, long cachedBytesRead) {
+    if (cachedBytesRead > 0) {
+      hitCount.incrementAndGet();
+      hitBytes.addAndGet(cachedBytesRead);
+    }
+  }
+
+  @Override
+  public void onCacheIgnored(int reason) {}
+
+  long getHitCount() {
+    return hitCount.get();
+  }
+
+  long getMissCount() {
+    return missCount.get();
+  }
+
+  long getHitBytes() {
+    return hitBytes.get();
+  }
+
+  long getMissBytes() {
+    return missBytes.get();
+  }
+
+  /** Returns the number of bytes currently stored in the cache. */
+  long getCachedBytes() {
+    return cache.getCacheSpace();
+  }
+
+  /**
+   * Releases the cache, once no other engine uses it. Content stored on disk is kept for the next
+   * instance.
+   */
+  void release() {
+    if (shared) {
+      releaseSharedCache();
+    } else {
+      cache.release();
+    }
+  }
+}
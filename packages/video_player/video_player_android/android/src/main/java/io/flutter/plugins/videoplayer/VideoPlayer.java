@@ -75,6 +75,15 @@ final class VideoPlayer {
 
   private final VideoPlayerOptions options;
 
+  // The pool the player is returned to on dispose, or null if the player isn't pooled.
+  @Nullable private final ExoPlayerPool exoPlayerPool;
+
+  private Listener playerListener;
+
+  @Nullable private PositionTicker positionTicker;
+  private long positionUpdateIntervalMs;
+  private long lastPositionUpdateTime;
+
   private PlayerNotificationManager playerNotificationManager;
   private MediaSessionCompat mediaSession;
   private MediaSessionConnector mediaSessionConnector;
@@ -87,33 +96,45 @@ final class VideoPlayer {
       String formatHint,
       @NonNull Map<String, String> httpHeaders,
       VideoPlayerOptions options,
-      VideoMetadata metadata) {
+      VideoMetadata metadata,
+      @NonNull BufferOptions bufferOptions,
+      @NonNull BufferBudget bufferBudget,
+      @Nullable VideoCache cache,
+      @Nullable ExoPlayerPool exoPlayerPool) {
     this.eventChannel = eventChannel;
     this.textureEntry = textureEntry;
     this.options = options;
 
-    ExoPlayer.Builder exoPlayerBuilder = new ExoPlayer.Builder(context);
-
+    ExoPlayer exoPlayer;
     if (metadata != null) {
+      // The seek increments of the controls can only be set when building the player, so these
+      // players aren't pooled.
+      this.exoPlayerPool = null;
+      ExoPlayer.Builder exoPlayerBuilder = new ExoPlayer.Builder(context);
       exoPlayerBuilder.setSeekForwardIncrementMs(10000);
       exoPlayerBuilder.setSeekBackIncrementMs(10000);
+      exoPlayerBuilder.setLoadControl(bufferBudget.createLoadControl(bufferOptions));
+      exoPlayer = exoPlayerBuilder.build();
+    } else if (exoPlayerPool != null && bufferOptions.isDefault()) {
+      this.exoPlayerPool = exoPlayerPool;
+      exoPlayer = exoPlayerPool.acquire(context, bufferBudget);
+    } else {
+      // Like the seek increments, the buffer durations can only be set when building the player,
+      // so players with custom durations aren't pooled.
+      this.exoPlayerPool = null;
+      exoPlayer =
+          new ExoPlayer.Builder(context)
+              .setLoadControl(bufferBudget.createLoadControl(bufferOptions))
+              .build();
     }
 
-    ExoPlayer exoPlayer = exoPlayerBuilder.build();
-
     Uri uri = Uri.parse(dataSource);
     DataSource.Factory dataSourceFactory;
 
     if (isHTTP(uri)) {
-      DefaultHttpDataSource.Factory httpDataSourceFactory =
-          new DefaultHttpDataSource.Factory()
-              .setUserAgent("ExoPlayer")
-              .setAllowCrossProtocolRedirects(true);
-
-      if (httpHeaders != null && !httpHeaders.isEmpty()) {
-        httpDataSourceFactory.setDefaultRequestProperties(httpHeaders);
-      }
-      dataSourceFactory = httpDataSourceFactory;
+      DataSource.Factory httpDataSourceFactory = buildHttpDataSourceFactory(httpHeaders);
+      dataSourceFactory =
+          cache != null ? cache.wrap(httpDataSourceFactory) : httpDataSourceFactory;
     } else {
       dataSourceFactory = new DefaultDataSource.Factory(context);
     }
@@ -134,14 +155,39 @@ final class VideoPlayer {
       TextureRegistry.SurfaceTextureEntry textureEntry,
       VideoPlayerOptions options,
       QueuingEventSink eventSink) {
+    this(exoPlayer, eventChannel, textureEntry, options, eventSink, null);
+  }
+
+  // Constructor used to directly test members of this class.
+  @VisibleForTesting
+  VideoPlayer(
+      ExoPlayer exoPlayer,
+      EventChannel eventChannel,
+      TextureRegistry.SurfaceTextureEntry textureEntry,
+      VideoPlayerOptions options,
+      QueuingEventSink eventSink,
+      @Nullable ExoPlayerPool exoPlayerPool) {
     this.eventChannel = eventChannel;
     this.textureEntry = textureEntry;
     this.options = options;
+    this.exoPlayerPool = exoPlayerPool;
 
     setUpVideoPlayer(exoPlayer, eventSink, null, null);
   }
 
-  private static boolean isHTTP(Uri uri) {
+  static DataSource.Factory buildHttpDataSourceFactory(@Nullable Map<String, String> httpHeaders) {
+    DefaultHttpDataSource.Factory httpDataSourceFactory =
+        new DefaultHttpDataSource.Factory()
+            .setUserAgent("ExoPlayer")
+            .setAllowCrossProtocolRedirects(true);
+
+    if (httpHeaders != null && !httpHeaders.isEmpty()) {
+      httpDataSourceFactory.setDefaultRequestProperties(httpHeaders);
+    }
+    return httpDataSourceFactory;
+  }
+
+  static boolean isHTTP(Uri uri) {
     if (uri == null || uri.getScheme() == null) {
       return false;
     }
@@ -218,7 +264,7 @@ final class VideoPlayer {
     exoPlayer.setVideoSurface(surface);
     setAudioAttributes(exoPlayer, options.mixWithOthers);
 
-    exoPlayer.addListener(
+    playerListener =
         new Listener() {
           private boolean isBuffering = false;
 
@@ -283,6 +329,13 @@ final class VideoPlayer {
             eventSink.success(event);
           }
 
+          @Override
+          public void onIsPlayingChanged(boolean isPlaying) {
+            if (positionTicker != null) {
+              positionTicker.update();
+            }
+          }
+
           @Override
           public void onPlayerError(final PlaybackException error) {
             setBuffering(false);
@@ -290,7 +343,8 @@ final class VideoPlayer {
               eventSink.error("VideoError", "Video player had error " + error, null);
             }
           }
-        });
+        };
+    exoPlayer.addListener(playerListener);
 
     if (context != null && metadata != null) {
       mediaSession = new MediaSessionCompat(context, "ExoPlayer");
@@ -342,6 +396,44 @@ final class VideoPlayer {
     eventSink.success(event);
   }
 
+  /**
+   * Pushes the position to Dart every {@code intervalMs} while playing, or stops pushing it if
+   * {@code intervalMs} isn't positive.
+   */
+  void setPositionUpdates(@NonNull PositionTicker ticker, long intervalMs) {
+    if (positionTicker != null) {
+      positionTicker.remove(this);
+      positionTicker = null;
+    }
+    positionUpdateIntervalMs = intervalMs;
+    if (intervalMs > 0) {
+      positionTicker = ticker;
+      ticker.add(this);
+    }
+  }
+
+  long getPositionUpdateIntervalMs() {
+    return positionUpdateIntervalMs;
+  }
+
+  long getNextPositionUpdateTime() {
+    return lastPositionUpdateTime + positionUpdateIntervalMs;
+  }
+
+  void sendPositionUpdate(long uptimeMillis) {
+    lastPositionUpdateTime = uptimeMillis;
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "positionUpdate");
+    event.put("position", exoPlayer.getCurrentPosition());
+    event.put("buffered", exoPlayer.getBufferedPosition());
+    event.put("playing", true);
+    eventSink.success(event);
+  }
+
+  boolean isPlaying() {
+    return exoPlayer.isPlaying();
+  }
+
   private static void setAudioAttributes(ExoPlayer exoPlayer, boolean isMixMode) {
     exoPlayer.setAudioAttributes(
         new AudioAttributes.Builder().setContentType(C.AUDIO_CONTENT_TYPE_MOVIE).build(),
@@ -417,9 +509,18 @@ final class VideoPlayer {
   }
 
   void dispose() {
+    if (positionTicker != null) {
+      positionTicker.remove(this);
+      positionTicker = null;
+    }
     if (isInitialized) {
       exoPlayer.stop();
     }
+    if (exoPlayerPool != null) {
+      // Detach the player from this video before its surface is released.
+      exoPlayer.removeListener(playerListener);
+      exoPlayer.clearVideoSurface(surface);
+    }
     // TODO destroy controls notification
     textureEntry.release();
     eventChannel.setStreamHandler(null);
@@ -435,7 +536,11 @@ final class VideoPlayer {
         mediaSession.setActive(false);
         mediaSession.release();
       }
-      exoPlayer.release();
+      if (exoPlayerPool != null) {
+        exoPlayerPool.recycle(exoPlayer);
+      } else {
+        exoPlayer.release();
+      }
     }
   }
 }
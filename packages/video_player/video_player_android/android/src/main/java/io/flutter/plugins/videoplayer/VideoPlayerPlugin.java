@@ -6,6 +6,8 @@ package io.flutter.plugins.videoplayer;
 
 import android.content.Context;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.LongSparseArray;
 
 import androidx.annotation.NonNull;
@@ -16,11 +18,17 @@ import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugins.videoplayer.Messages.AndroidVideoPlayerApi;
+import io.flutter.plugins.videoplayer.Messages.BufferBudgetMessage;
+import io.flutter.plugins.videoplayer.Messages.CacheOptionsMessage;
+import io.flutter.plugins.videoplayer.Messages.CacheStatsMessage;
+import io.flutter.plugins.videoplayer.Messages.CancelPreloadMessage;
 import io.flutter.plugins.videoplayer.Messages.CreateMessage;
 import io.flutter.plugins.videoplayer.Messages.LoopingMessage;
 import io.flutter.plugins.videoplayer.Messages.MixWithOthersMessage;
 import io.flutter.plugins.videoplayer.Messages.PlaybackSpeedMessage;
 import io.flutter.plugins.videoplayer.Messages.PositionMessage;
+import io.flutter.plugins.videoplayer.Messages.PositionUpdatesMessage;
+import io.flutter.plugins.videoplayer.Messages.PreloadMessage;
 import io.flutter.plugins.videoplayer.Messages.TextureMessage;
 import io.flutter.plugins.videoplayer.Messages.VolumeMessage;
 import io.flutter.view.TextureRegistry;
@@ -35,6 +43,12 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
   private final LongSparseArray<VideoPlayer> videoPlayers = new LongSparseArray<>();
   private FlutterState flutterState;
   private VideoPlayerOptions options = new VideoPlayerOptions();
+  private VideoCache videoCache;
+  private VideoPreloader videoPreloader;
+  private final ExoPlayerPool exoPlayerPool = new ExoPlayerPool(ExoPlayerPool.DEFAULT_MAX_SIZE);
+  private BufferBudget bufferBudget = BufferBudget.UNLIMITED;
+  private final PositionTicker positionTicker =
+      new PositionTicker(new Handler(Looper.getMainLooper()));
 
   /** Register this with the v2 embedding for the plugin to respond to lifecycle callbacks. */
   public VideoPlayerPlugin() {}
@@ -96,6 +110,8 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     flutterState.stopListening(binding.getBinaryMessenger());
     flutterState = null;
     initialize();
+    exoPlayerPool.clear();
+    releaseCache();
   }
 
   private void disposeAllPlayers() {
@@ -112,13 +128,36 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     // be replaced with just asserting that videoPlayers.isEmpty().
     // https://github.com/flutter/flutter/issues/20989 tracks this.
     disposeAllPlayers();
+    exoPlayerPool.clear();
+    releaseCache();
+  }
+
+  private void releaseCache() {
+    if (videoPreloader != null) {
+      videoPreloader.release();
+      videoPreloader = null;
+    }
+    if (videoCache != null) {
+      videoCache.release();
+      videoCache = null;
+    }
   }
 
   public void initialize() {
     disposeAllPlayers();
+    if (videoPreloader != null) {
+      videoPreloader.cancelAll();
+    }
   }
 
   public TextureMessage create(CreateMessage arg) {
+    // Validated before creating the texture, so that invalid durations don't leak it.
+    BufferOptions bufferOptions =
+        new BufferOptions(
+            arg.getMinBufferMs(),
+            arg.getMaxBufferMs(),
+            arg.getBufferForPlaybackMs(),
+            arg.getBackBufferMs());
     TextureRegistry.SurfaceTextureEntry handle =
         flutterState.textureRegistry.createSurfaceTexture();
     EventChannel eventChannel =
@@ -153,7 +192,11 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
               null,
               null,
               options,
-              metadata);
+              metadata,
+              bufferOptions,
+              bufferBudget,
+              null,
+              exoPlayerPool);
     } else {
       @SuppressWarnings("unchecked")
       Map<String, String> httpHeaders = arg.getHttpHeaders();
@@ -166,7 +209,11 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
               arg.getFormatHint(),
               httpHeaders,
               options,
-              metadata);
+              metadata,
+              bufferOptions,
+              bufferBudget,
+              videoCache,
+              exoPlayerPool);
     }
     videoPlayers.put(handle.id(), player);
 
@@ -212,6 +259,12 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     return result;
   }
 
+  @Override
+  public void setPositionUpdates(PositionUpdatesMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.setPositionUpdates(positionTicker, arg.getIntervalMs());
+  }
+
   public void seekTo(PositionMessage arg) {
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     player.seekTo(arg.getPosition().intValue());
@@ -227,6 +280,79 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     options.mixWithOthers = arg.getMixWithOthers();
   }
 
+  @Override
+  public void setCacheOptions(CacheOptionsMessage arg) {
+    boolean enabled = arg.getEnabled();
+    long maxCacheBytes = arg.getMaxCacheBytes();
+    if (videoCache == null && !enabled) {
+      return;
+    }
+    if (videoCache != null && enabled && videoCache.getMaxCacheBytes() == maxCacheBytes) {
+      return;
+    }
+    if (videoCache != null) {
+      // Players read through the cache, so it can only be replaced once they are all disposed.
+      if (videoPlayers.size() > 0) {
+        throw new IllegalStateException("The cache can't be changed while videos are playing.");
+      }
+      releaseCache();
+    }
+    if (enabled) {
+      videoCache = new VideoCache(flutterState.applicationContext, maxCacheBytes);
+      videoPreloader = new VideoPreloader(videoCache);
+    }
+  }
+
+  @Override
+  public void setBufferBudget(BufferBudgetMessage arg) {
+    long maxBytes = arg.getMaxBytes();
+    if (bufferBudget.getMaxBytes() == maxBytes) {
+      return;
+    }
+    // Existing players keep the budget they were built with, and so do idle pooled players, which
+    // are released so that the next players are built within the new budget.
+    bufferBudget = new BufferBudget(maxBytes);
+    exoPlayerPool.clear();
+  }
+
+  @Override
+  public CacheStatsMessage getCacheStats() {
+    CacheStatsMessage.Builder builder =
+        new CacheStatsMessage.Builder()
+            .setHitCount(0L)
+            .setMissCount(0L)
+            .setHitBytes(0L)
+            .setMissBytes(0L)
+            .setCachedBytes(0L);
+    if (videoCache != null) {
+      builder
+          .setHitCount(videoCache.getHitCount())
+          .setMissCount(videoCache.getMissCount())
+          .setHitBytes(videoCache.getHitBytes())
+          .setMissBytes(videoCache.getMissBytes())
+          .setCachedBytes(videoCache.getCachedBytes());
+    }
+    return builder.build();
+  }
+
+  @Override
+  public void preload(PreloadMessage arg) {
+    if (videoPreloader == null) {
+      throw new IllegalStateException("Videos can only be preloaded while the cache is enabled.");
+    }
+    @SuppressWarnings("unchecked")
+    Map<String, String> httpHeaders = arg.getHttpHeaders();
+    videoPreloader.preload(
+        arg.getUri(), arg.getMaxBytes(), arg.getPriority().intValue(), httpHeaders);
+  }
+
+  @Override
+  public void cancelPreload(CancelPreloadMessage arg) {
+    if (videoPreloader != null) {
+      videoPreloader.cancel(arg.getUri());
+    }
+  }
+
   private interface KeyForAssetFn {
     String get(String asset);
   }
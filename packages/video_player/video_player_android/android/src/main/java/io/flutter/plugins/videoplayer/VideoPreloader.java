@@ -0,0 +1,205 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.cache.CacheWriter;
+import io.flutter.Log;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Downloads the beginning of network videos into a {@link VideoCache} before they are played.
+ *
+ * <p>Preloads run one at a time on a background thread, highest priority first and in request
+ * order for equal priorities, so that the next video of a feed is fetched before the ones after it.
+ */
+final class VideoPreloader {
+  private static final String TAG = "VideoPreloader";
+  private static final long RELEASE_TIMEOUT_MILLIS = 500;
+
+  private final VideoCache cache;
+  private final ExecutorService executor;
+  private final PriorityQueue<PreloadTask> pendingTasks = new PriorityQueue<>();
+  // The pending and running tasks, by URI.
+  private final Map<String, PreloadTask> tasks = new HashMap<>();
+  private long nextSequenceNumber;
+
+  VideoPreloader(@NonNull VideoCache cache) {
+    this(cache, Executors.newSingleThreadExecutor());
+  }
+
+  @VisibleForTesting
+  VideoPreloader(@NonNull VideoCache cache, @NonNull ExecutorService executor) {
+    this.cache = cache;
+    this.executor = executor;
+  }
+
+  /**
+   * Schedules the download of the first {@code maxBytes} of {@code uri}.
+   *
+   * <p>Preloading a URI that is already pending replaces its size and priority; preloading a URI
+   * that is being downloaded has no effect.
+   */
+  synchronized void preload(
+      @NonNull String uri,
+      long maxBytes,
+      int priority,
+      @Nullable Map<String, String> httpHeaders) {
+    if (!VideoPlayer.isHTTP(Uri.parse(uri))) {
+      throw new IllegalArgumentException("Only network videos can be preloaded, got " + uri);
+    }
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be positive, was " + maxBytes);
+    }
+    PreloadTask existingTask = tasks.get(uri);
+    if (existingTask != null && !pendingTasks.remove(existingTask)) {
+      return;
+    }
+    PreloadTask task =
+        new PreloadTask(
+            uri,
+            maxBytes,
+            priority,
+            nextSequenceNumber++,
+            VideoPlayer.buildHttpDataSourceFactory(httpHeaders));
+    tasks.put(uri, task);
+    pendingTasks.add(task);
+    executor.execute(this::runNextTask);
+  }
+
+  /** Cancels the preload of {@code uri}, whether it is pending or running. */
+  void cancel(@NonNull String uri) {
+    PreloadTask task;
+    synchronized (this) {
+      task = tasks.remove(uri);
+      if (task == null) {
+        return;
+      }
+      pendingTasks.remove(task);
+    }
+    task.cancel();
+  }
+
+  /** Cancels all the pending and running preloads. */
+  void cancelAll() {
+    List<PreloadTask> cancelledTasks;
+    synchronized (this) {
+      cancelledTasks = new ArrayList<>(tasks.values());
+      tasks.clear();
+      pendingTasks.clear();
+    }
+    for (PreloadTask task : cancelledTasks) {
+      task.cancel();
+    }
+  }
+
+  /**
+   * Cancels all preloads and stops the background thread.
+   *
+   * <p>Waits briefly for a running download to stop, so the cache can be released afterwards.
+   */
+  void release() {
+    cancelAll();
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(RELEASE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        Log.w(TAG, "Timed out waiting for a preload to stop.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @VisibleForTesting
+  synchronized int getPendingCount() {
+    return pendingTasks.size();
+  }
+
+  private void runNextTask() {
+    PreloadTask task;
+    synchronized (this) {
+      task = pendingTasks.poll();
+    }
+    if (task != null) {
+      task.run();
+    }
+  }
+
+  private final class PreloadTask implements Comparable<PreloadTask> {
+    private final String uri;
+    private final long maxBytes;
+    private final int priority;
+    private final long sequenceNumber;
+    private final DataSource.Factory upstreamDataSourceFactory;
+    @Nullable private volatile CacheWriter cacheWriter;
+    private volatile boolean cancelled;
+
+    PreloadTask(
+        String uri,
+        long maxBytes,
+        int priority,
+        long sequenceNumber,
+        DataSource.Factory upstreamDataSourceFactory) {
+      this.uri = uri;
+      this.maxBytes = maxBytes;
+      this.priority = priority;
+      this.sequenceNumber = sequenceNumber;
+      this.upstreamDataSourceFactory = upstreamDataSourceFactory;
+    }
+
+    void run() {
+      DataSpec dataSpec = new DataSpec.Builder().setUri(uri).setLength(maxBytes).build();
+      CacheWriter writer =
+          new CacheWriter(
+              cache.wrap(upstreamDataSourceFactory).createDataSource(), dataSpec, null, null);
+      cacheWriter = writer;
+      try {
+        if (!cancelled) {
+          writer.cache();
+        }
+      } catch (InterruptedIOException e) {
+        // The preload was cancelled.
+      } catch (IOException e) {
+        Log.w(TAG, "Failed to preload " + uri, e);
+      } finally {
+        synchronized (VideoPreloader.this) {
+          if (tasks.get(uri) == this) {
+            tasks.remove(uri);
+          }
+        }
+      }
+    }
+
+    void cancel() {
+      cancelled = true;
+      CacheWriter writer = cacheWriter;
+      if (writer != null) {
+        writer.cancel();
+      }
+    }
+
+    @Override
+    public int compareTo(PreloadTask other) {
+      if (priority != other.priority) {
+        return Integer.compare(other.priority, priority);
+      }
+      return Long.compare(sequenceNumber, other.sequenceNumber);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.LoadControl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class BufferBudgetTest {
+  private static final BufferOptions SHORT_BUFFER_OPTIONS =
+      new BufferOptions(1000L, 10000L, null, null);
+
+  @Test
+  public void playersShareAllocatorWithinBudget() {
+    BufferBudget budget = new BufferBudget(C.DEFAULT_BUFFER_SEGMENT_SIZE);
+
+    LoadControl first = budget.createLoadControl(BufferOptions.DEFAULT);
+    LoadControl second = budget.createLoadControl(BufferOptions.DEFAULT);
+
+    assertNotSame(first, second);
+    assertSame(first.getAllocator(), second.getAllocator());
+  }
+
+  @Test
+  public void playersOwnTheirAllocatorWithoutBudget() {
+    LoadControl first = BufferBudget.UNLIMITED.createLoadControl(BufferOptions.DEFAULT);
+    LoadControl second = BufferBudget.UNLIMITED.createLoadControl(BufferOptions.DEFAULT);
+
+    assertNotSame(first.getAllocator(), second.getAllocator());
+  }
+
+  @Test
+  public void playerStopsBufferingAheadOnceBudgetIsHeldByOthers() {
+    BufferBudget budget = new BufferBudget(C.DEFAULT_BUFFER_SEGMENT_SIZE);
+    LoadControl first = budget.createLoadControl(SHORT_BUFFER_OPTIONS);
+    LoadControl second = budget.createLoadControl(SHORT_BUFFER_OPTIONS);
+
+    first.getAllocator().allocate();
+
+    // Below its minimum buffer, a player keeps loading regardless of the budget.
+    assertTrue(second.shouldContinueLoading(0, 500_000, 1.0f));
+    assertFalse(second.shouldContinueLoading(0, 5_000_000, 1.0f));
+  }
+
+  @Test
+  public void appliesBackBuffer() {
+    LoadControl loadControl =
+        BufferBudget.UNLIMITED.createLoadControl(new BufferOptions(null, null, null, 10000L));
+
+    assertEquals(loadControl.getBackBufferDurationUs(), 10_000_000);
+  }
+
+  @Test
+  public void rejectsNegativeBudget() {
+    assertThrows(IllegalArgumentException.class, () -> new BufferBudget(-1));
+  }
+}
@@ -0,0 +1,68 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.exoplayer2.DefaultLoadControl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class BufferOptionsTest {
+  @Test
+  public void unsetDurationsUseExoPlayerDefaults() {
+    BufferOptions options = new BufferOptions(null, null, null, null);
+
+    assertTrue(options.isDefault());
+    assertEquals(options.minBufferMs, DefaultLoadControl.DEFAULT_MIN_BUFFER_MS);
+    assertEquals(options.maxBufferMs, DefaultLoadControl.DEFAULT_MAX_BUFFER_MS);
+    assertEquals(options.bufferForPlaybackMs, DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS);
+    assertEquals(
+        options.bufferForPlaybackAfterRebufferMs,
+        DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS);
+    assertEquals(options.backBufferMs, DefaultLoadControl.DEFAULT_BACK_BUFFER_DURATION_MS);
+  }
+
+  @Test
+  public void smallMaxBufferLowersUnsetDurations() {
+    BufferOptions options = new BufferOptions(null, 2000L, null, null);
+
+    assertFalse(options.isDefault());
+    assertEquals(options.minBufferMs, 2000);
+    assertEquals(options.maxBufferMs, 2000);
+    assertEquals(options.bufferForPlaybackMs, 2000);
+    assertEquals(options.bufferForPlaybackAfterRebufferMs, 2000);
+  }
+
+  @Test
+  public void largeMinBufferRaisesUnsetMaxBuffer() {
+    BufferOptions options = new BufferOptions(120000L, null, null, null);
+
+    assertEquals(options.minBufferMs, 120000);
+    assertEquals(options.maxBufferMs, 120000);
+  }
+
+  @Test
+  public void rejectsNegativeDuration() {
+    assertThrows(IllegalArgumentException.class, () -> new BufferOptions(null, null, null, -1L));
+  }
+
+  @Test
+  public void rejectsMaxBufferBelowMinBuffer() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new BufferOptions(5000L, 1000L, null, null));
+  }
+
+  @Test
+  public void rejectsBufferForPlaybackAboveMinBuffer() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new BufferOptions(1000L, null, 2000L, null));
+  }
+}
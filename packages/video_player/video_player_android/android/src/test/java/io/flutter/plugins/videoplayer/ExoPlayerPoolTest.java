@@ -0,0 +1,79 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.PlaybackParameters;
+import com.google.android.exoplayer2.Player;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ExoPlayerPoolTest {
+  private final Context context = ApplicationProvider.getApplicationContext();
+
+  @Test
+  public void recycleResetsPlayerAndKeepsIt() {
+    ExoPlayerPool pool = new ExoPlayerPool(2);
+    ExoPlayer fakeExoPlayer = mock(ExoPlayer.class);
+
+    pool.recycle(fakeExoPlayer);
+
+    verify(fakeExoPlayer).stop();
+    verify(fakeExoPlayer).clearMediaItems();
+    verify(fakeExoPlayer).setPlayWhenReady(false);
+    verify(fakeExoPlayer).setRepeatMode(Player.REPEAT_MODE_OFF);
+    verify(fakeExoPlayer).setVolume(1.0f);
+    verify(fakeExoPlayer).setPlaybackParameters(PlaybackParameters.DEFAULT);
+    verify(fakeExoPlayer, never()).release();
+    assertEquals(pool.getIdleCount(), 1);
+  }
+
+  @Test
+  public void acquireReturnsRecycledPlayer() {
+    ExoPlayerPool pool = new ExoPlayerPool(2);
+    ExoPlayer fakeExoPlayer = mock(ExoPlayer.class);
+
+    pool.recycle(fakeExoPlayer);
+
+    assertSame(pool.acquire(context, BufferBudget.UNLIMITED), fakeExoPlayer);
+    assertEquals(pool.getIdleCount(), 0);
+  }
+
+  @Test
+  public void recycleReleasesPlayerWhenFull() {
+    ExoPlayerPool pool = new ExoPlayerPool(1);
+    ExoPlayer firstExoPlayer = mock(ExoPlayer.class);
+    ExoPlayer secondExoPlayer = mock(ExoPlayer.class);
+
+    pool.recycle(firstExoPlayer);
+    pool.recycle(secondExoPlayer);
+
+    verify(firstExoPlayer, never()).release();
+    verify(secondExoPlayer).release();
+    assertEquals(pool.getIdleCount(), 1);
+  }
+
+  @Test
+  public void clearReleasesIdlePlayers() {
+    ExoPlayerPool pool = new ExoPlayerPool(2);
+    ExoPlayer fakeExoPlayer = mock(ExoPlayer.class);
+
+    pool.recycle(fakeExoPlayer);
+    pool.clear();
+
+    verify(fakeExoPlayer).release();
+    assertEquals(pool.getIdleCount(), 0);
+  }
+}
@@ -0,0 +1,119 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Handler;
+import android.os.Looper;
+import com.google.android.exoplayer2.ExoPlayer;
+import io.flutter.plugin.common.EventChannel;
+import io.flutter.view.TextureRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class PositionTickerTest {
+  private PositionTicker positionTicker;
+
+  @Captor private ArgumentCaptor<HashMap<String, Object>> eventCaptor;
+
+  @Before
+  public void before() {
+    MockitoAnnotations.openMocks(this);
+
+    positionTicker = new PositionTicker(new Handler(Looper.getMainLooper()));
+  }
+
+  private VideoPlayer createVideoPlayer(ExoPlayer exoPlayer, QueuingEventSink eventSink) {
+    return new VideoPlayer(
+        exoPlayer,
+        mock(EventChannel.class),
+        mock(TextureRegistry.SurfaceTextureEntry.class),
+        mock(VideoPlayerOptions.class),
+        eventSink);
+  }
+
+  @Test
+  public void sendsPositionAndBufferedPositionWhilePlaying() {
+    ExoPlayer fakeExoPlayer = mock(ExoPlayer.class);
+    QueuingEventSink fakeEventSink = mock(QueuingEventSink.class);
+    VideoPlayer videoPlayer = createVideoPlayer(fakeExoPlayer, fakeEventSink);
+    when(fakeExoPlayer.isPlaying()).thenReturn(true);
+    when(fakeExoPlayer.getCurrentPosition()).thenReturn(1000L);
+    when(fakeExoPlayer.getBufferedPosition()).thenReturn(5000L);
+
+    videoPlayer.setPositionUpdates(positionTicker, 100);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(250));
+
+    verify(fakeEventSink, times(3)).success(eventCaptor.capture());
+    HashMap<String, Object> event = eventCaptor.getValue();
+    assertEquals(event.get("event"), "positionUpdate");
+    assertEquals(event.get("position"), 1000L);
+    assertEquals(event.get("buffered"), 5000L);
+  }
+
+  @Test
+  public void sendsNothingWhilePaused() {
+    ExoPlayer fakeExoPlayer = mock(ExoPlayer.class);
+    QueuingEventSink fakeEventSink = mock(QueuingEventSink.class);
+    VideoPlayer videoPlayer = createVideoPlayer(fakeExoPlayer, fakeEventSink);
+    when(fakeExoPlayer.isPlaying()).thenReturn(false);
+
+    videoPlayer.setPositionUpdates(positionTicker, 100);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(250));
+
+    verify(fakeEventSink, never()).success(eventCaptor.capture());
+  }
+
+  @Test
+  public void stopsSendingOnceDisabled() {
+    ExoPlayer fakeExoPlayer = mock(ExoPlayer.class);
+    QueuingEventSink fakeEventSink = mock(QueuingEventSink.class);
+    VideoPlayer videoPlayer = createVideoPlayer(fakeExoPlayer, fakeEventSink);
+    when(fakeExoPlayer.isPlaying()).thenReturn(true);
+
+    videoPlayer.setPositionUpdates(positionTicker, 100);
+    shadowOf(Looper.getMainLooper()).idle();
+    videoPlayer.setPositionUpdates(positionTicker, 0);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(250));
+
+    verify(fakeEventSink, times(1)).success(eventCaptor.capture());
+  }
+
+  @Test
+  public void coalescesPlayersWithCloseDeadlines() {
+    ExoPlayer firstExoPlayer = mock(ExoPlayer.class);
+    ExoPlayer secondExoPlayer = mock(ExoPlayer.class);
+    QueuingEventSink firstEventSink = mock(QueuingEventSink.class);
+    QueuingEventSink secondEventSink = mock(QueuingEventSink.class);
+    VideoPlayer firstVideoPlayer = createVideoPlayer(firstExoPlayer, firstEventSink);
+    VideoPlayer secondVideoPlayer = createVideoPlayer(secondExoPlayer, secondEventSink);
+    when(firstExoPlayer.isPlaying()).thenReturn(true);
+    when(secondExoPlayer.isPlaying()).thenReturn(true);
+
+    firstVideoPlayer.setPositionUpdates(positionTicker, 100);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(10));
+    secondVideoPlayer.setPositionUpdates(positionTicker, 100);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(95));
+
+    // The second player is due 10ms after the first one, so both are updated at 100ms.
+    verify(firstEventSink, times(2)).success(eventCaptor.capture());
+    verify(secondEventSink, times(2)).success(eventCaptor.capture());
+  }
+}
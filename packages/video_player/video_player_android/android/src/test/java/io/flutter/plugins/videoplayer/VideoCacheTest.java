@@ -0,0 +1,97 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.net.Uri;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class VideoCacheTest {
+  private Cache fakeCache;
+  private DataSource.Factory fakeUpstreamFactory;
+  private DataSource fakeUpstreamDataSource;
+
+  @Before
+  public void before() {
+    fakeCache = mock(Cache.class);
+    fakeUpstreamFactory = mock(DataSource.Factory.class);
+    fakeUpstreamDataSource = mock(DataSource.class);
+    when(fakeUpstreamFactory.createDataSource()).thenReturn(fakeUpstreamDataSource);
+  }
+
+  @Test
+  public void wrapReturnsCacheDataSourceFactory() {
+    VideoCache videoCache = new VideoCache(fakeCache, 1024);
+
+    DataSource dataSource = videoCache.wrap(fakeUpstreamFactory).createDataSource();
+
+    assertEquals(dataSource.getClass(), CacheDataSource.class);
+    verify(fakeUpstreamFactory).createDataSource();
+  }
+
+  @Test
+  public void countsNetworkTransfersAsMisses() {
+    VideoCache videoCache = new VideoCache(fakeCache, 1024);
+    videoCache.wrap(fakeUpstreamFactory).createDataSource();
+
+    ArgumentCaptor<TransferListener> listenerCaptor =
+        ArgumentCaptor.forClass(TransferListener.class);
+    verify(fakeUpstreamDataSource).addTransferListener(listenerCaptor.capture());
+    TransferListener listener = listenerCaptor.getValue();
+    DataSpec dataSpec = new DataSpec(Uri.parse("https://example.com/video.mp4"));
+
+    listener.onTransferStart(fakeUpstreamDataSource, dataSpec, true);
+    listener.onBytesTransferred(fakeUpstreamDataSource, dataSpec, true, 100);
+    listener.onBytesTransferred(fakeUpstreamDataSource, dataSpec, true, 50);
+    listener.onTransferEnd(fakeUpstreamDataSource, dataSpec, true);
+
+    assertEquals(videoCache.getMissCount(), 1L);
+    assertEquals(videoCache.getMissBytes(), 150L);
+    assertEquals(videoCache.getHitCount(), 0L);
+  }
+
+  @Test
+  public void countsCachedReadsAsHits() {
+    VideoCache videoCache = new VideoCache(fakeCache, 1024);
+    when(fakeCache.getCacheSpace()).thenReturn(300L);
+
+    videoCache.onCachedBytesRead(300, 200);
+    videoCache.onCachedBytesRead(300, 0);
+
+    assertEquals(videoCache.getHitCount(), 1L);
+    assertEquals(videoCache.getHitBytes(), 200L);
+    assertEquals(videoCache.getMissCount(), 0L);
+    assertEquals(videoCache.getCachedBytes(), 300L);
+  }
+
+  @Test
+  public void releaseReleasesCache() {
+    VideoCache videoCache = new VideoCache(fakeCache, 1024);
+
+    videoCache.release();
+
+    verify(fakeCache).release();
+  }
+
+  @Test
+  public void rejectsNonPositiveSize() {
+    assertThrows(IllegalArgumentException.class, () -> new VideoCache(fakeCache, 0));
+  }
+}
@@ -4,12 +4,82 @@
 
 package io.flutter.plugins.videoplayer;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+import io.flutter.FlutterInjector;
+import io.flutter.embedding.engine.loader.FlutterLoader;
+import io.flutter.embedding.engine.plugins.FlutterPlugin.FlutterPluginBinding;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.videoplayer.Messages.CacheOptionsMessage;
+import io.flutter.view.TextureRegistry;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
 
+@RunWith(RobolectricTestRunner.class)
 public class VideoPlayerPluginTest {
+  @Before
+  public void before() {
+    FlutterInjector.setInstance(
+        new FlutterInjector.Builder().setFlutterLoader(mock(FlutterLoader.class)).build());
+  }
+
+  @After
+  public void after() {
+    FlutterInjector.reset();
+  }
+
   // This is only a placeholder test and doesn't actually initialize the plugin.
   @Test
   public void initPluginDoesNotThrow() {
     final VideoPlayerPlugin plugin = new VideoPlayerPlugin();
   }
+
+  @Test
+  public void setCacheOptionsSharesCacheBetweenEngines() {
+    FlutterPluginBinding firstBinding = createBinding();
+    FlutterPluginBinding secondBinding = createBinding();
+    VideoPlayerPlugin firstPlugin = new VideoPlayerPlugin();
+    VideoPlayerPlugin secondPlugin = new VideoPlayerPlugin();
+    firstPlugin.onAttachedToEngine(firstBinding);
+    secondPlugin.onAttachedToEngine(secondBinding);
+
+    // Each engine opening its own cache on the same directory would throw here.
+    firstPlugin.setCacheOptions(createCacheOptions(1024 * 1024));
+    secondPlugin.setCacheOptions(createCacheOptions(1024 * 1024));
+
+    // The cache stays open for the second engine once the first one is gone.
+    firstPlugin.onDetachedFromEngine(firstBinding);
+    assertEquals(0L, (long) secondPlugin.getCacheStats().getCachedBytes());
+    secondPlugin.onDetachedFromEngine(secondBinding);
+
+    // The cache is released with its last engine, so a later engine can open it again.
+    VideoPlayerPlugin thirdPlugin = new VideoPlayerPlugin();
+    FlutterPluginBinding thirdBinding = createBinding();
+    thirdPlugin.onAttachedToEngine(thirdBinding);
+    thirdPlugin.setCacheOptions(createCacheOptions(2 * 1024 * 1024));
+    thirdPlugin.onDetachedFromEngine(thirdBinding);
+  }
+
+  private static FlutterPluginBinding createBinding() {
+    Context context = ApplicationProvider.getApplicationContext();
+    FlutterPluginBinding binding = mock(FlutterPluginBinding.class);
+    when(binding.getApplicationContext()).thenReturn(context);
+    when(binding.getBinaryMessenger()).thenReturn(mock(BinaryMessenger.class));
+    when(binding.getTextureRegistry()).thenReturn(mock(TextureRegistry.class));
+    return binding;
+  }
+
+  private static CacheOptionsMessage createCacheOptions(long maxCacheBytes) {
+    return new CacheOptionsMessage.Builder()
+        .setEnabled(true)
+        .setMaxCacheBytes(maxCacheBytes)
+        .build();
+  }
 }
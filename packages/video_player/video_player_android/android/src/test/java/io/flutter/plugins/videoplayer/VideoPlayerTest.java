@@ -5,12 +5,15 @@
 package io.flutter.plugins.videoplayer;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.android.exoplayer2.ExoPlayer;
 import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.Player;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.view.TextureRegistry;
 import java.util.HashMap;
@@ -154,4 +157,39 @@ public class VideoPlayerTest {
     assertEquals(event.get("height"), 200);
     assertEquals(event.get("rotationCorrection"), 180);
   }
+
+  @Test
+  public void disposeReturnsPooledPlayerToPool() {
+    ExoPlayerPool fakeExoPlayerPool = mock(ExoPlayerPool.class);
+    VideoPlayer videoPlayer =
+        new VideoPlayer(
+            fakeExoPlayer,
+            fakeEventChannel,
+            fakeSurfaceTextureEntry,
+            fakeVideoPlayerOptions,
+            fakeEventSink,
+            fakeExoPlayerPool);
+
+    videoPlayer.dispose();
+
+    verify(fakeExoPlayer).removeListener(any(Player.Listener.class));
+    verify(fakeExoPlayer).clearVideoSurface(any());
+    verify(fakeExoPlayerPool).recycle(fakeExoPlayer);
+    verify(fakeExoPlayer, never()).release();
+  }
+
+  @Test
+  public void disposeReleasesUnpooledPlayer() {
+    VideoPlayer videoPlayer =
+        new VideoPlayer(
+            fakeExoPlayer,
+            fakeEventChannel,
+            fakeSurfaceTextureEntry,
+            fakeVideoPlayerOptions,
+            fakeEventSink);
+
+    videoPlayer.dispose();
+
+    verify(fakeExoPlayer).release();
+  }
 }
@@ -0,0 +1,128 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.CacheKeyFactory;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class VideoPreloaderTest {
+  private VideoCache fakeVideoCache;
+  private Cache fakeCache;
+  private ExecutorService fakeExecutor;
+
+  @Before
+  public void before() {
+    fakeVideoCache = mock(VideoCache.class);
+    fakeCache = mock(Cache.class);
+    fakeExecutor = mock(ExecutorService.class);
+
+    CacheDataSource.Factory fakeFactory = mock(CacheDataSource.Factory.class);
+    CacheDataSource fakeDataSource = mock(CacheDataSource.class);
+    when(fakeVideoCache.wrap(any())).thenReturn(fakeFactory);
+    when(fakeFactory.createDataSource()).thenReturn(fakeDataSource);
+    when(fakeDataSource.getCache()).thenReturn(fakeCache);
+    when(fakeDataSource.getCacheKeyFactory()).thenReturn(CacheKeyFactory.DEFAULT);
+    // Report every requested range as cached, so preloads complete without reading.
+    when(fakeCache.getCachedLength(anyString(), anyLong(), anyLong())).thenReturn(1024L);
+  }
+
+  private void runScheduledTasks(int count) {
+    ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(fakeExecutor, times(count)).execute(runnableCaptor.capture());
+    for (Runnable runnable : runnableCaptor.getAllValues()) {
+      runnable.run();
+    }
+  }
+
+  @Test
+  public void runsPreloadsByPriorityThenRequestOrder() {
+    VideoPreloader preloader = new VideoPreloader(fakeVideoCache, fakeExecutor);
+
+    preloader.preload("https://example.com/a.mp4", 1024, 0, Collections.emptyMap());
+    preloader.preload("https://example.com/b.mp4", 1024, 10, Collections.emptyMap());
+    preloader.preload("https://example.com/c.mp4", 1024, 10, Collections.emptyMap());
+    runScheduledTasks(3);
+
+    InOrder inOrder = inOrder(fakeCache);
+    inOrder
+        .verify(fakeCache)
+        .getCachedLength(eq("https://example.com/b.mp4"), anyLong(), anyLong());
+    inOrder
+        .verify(fakeCache)
+        .getCachedLength(eq("https://example.com/c.mp4"), anyLong(), anyLong());
+    inOrder
+        .verify(fakeCache)
+        .getCachedLength(eq("https://example.com/a.mp4"), anyLong(), anyLong());
+    assertEquals(preloader.getPendingCount(), 0);
+  }
+
+  @Test
+  public void preloadingPendingUriReplacesIt() {
+    VideoPreloader preloader = new VideoPreloader(fakeVideoCache, fakeExecutor);
+
+    preloader.preload("https://example.com/a.mp4", 1024, 0, null);
+    preloader.preload("https://example.com/a.mp4", 2048, 5, null);
+
+    assertEquals(preloader.getPendingCount(), 1);
+  }
+
+  @Test
+  public void cancelRemovesPendingPreload() {
+    VideoPreloader preloader = new VideoPreloader(fakeVideoCache, fakeExecutor);
+
+    preloader.preload("https://example.com/a.mp4", 1024, 0, null);
+    preloader.cancel("https://example.com/a.mp4");
+    runScheduledTasks(1);
+
+    assertEquals(preloader.getPendingCount(), 0);
+    verify(fakeVideoCache, never()).wrap(any());
+  }
+
+  @Test
+  public void preloadRejectsNonNetworkUri() {
+    VideoPreloader preloader = new VideoPreloader(fakeVideoCache, fakeExecutor);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> preloader.preload("file:///sdcard/video.mp4", 1024, 0, null));
+  }
+
+  @Test
+  public void releaseStopsExecutor() throws InterruptedException {
+    VideoPreloader preloader = new VideoPreloader(fakeVideoCache, fakeExecutor);
+    when(fakeExecutor.awaitTermination(anyLong(), any(TimeUnit.class))).thenReturn(true);
+
+    preloader.preload("https://example.com/a.mp4", 1024, 0, null);
+    preloader.release();
+
+    assertEquals(preloader.getPendingCount(), 0);
+    verify(fakeExecutor).shutdown();
+    verify(fakeExecutor).awaitTermination(anyLong(), any(TimeUnit.class));
+  }
+}
@@ -15,6 +15,14 @@ import 'messages.g.dart';
 class AndroidVideoPlayer extends VideoPlayerPlatform {
   final AndroidVideoPlayerApi _api = AndroidVideoPlayerApi();
 
+  /// The buffer durations of the videos created afterwards, or null to use
+  /// ExoPlayer's defaults.
+  ///
+  /// Set this before creating each video to trade startup latency against
+  /// memory, e.g. a few seconds for a short looping clip and more for a long
+  /// stream.
+  VideoBufferOptions? bufferOptions;
+
   /// Registers this class as the default instance of [PathProviderPlatform].
   static void registerWith() {
     VideoPlayerPlatform.instance = AndroidVideoPlayer();
@@ -72,6 +80,10 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
       httpHeaders: httpHeaders,
       formatHint: formatHint,
       metadata: metadata,
+      minBufferMs: bufferOptions?.minBuffer?.inMilliseconds,
+      maxBufferMs: bufferOptions?.maxBuffer?.inMilliseconds,
+      bufferForPlaybackMs: bufferOptions?.bufferForPlayback?.inMilliseconds,
+      backBufferMs: bufferOptions?.backBuffer?.inMilliseconds,
     );
 
     final TextureMessage response = await _api.create(message);
@@ -129,6 +141,20 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
     return Duration(milliseconds: response.position);
   }
 
+  /// Pushes the position of the video every [interval] while it is playing,
+  /// or stops pushing it if [interval] is null.
+  ///
+  /// The position is sent as a [VideoEventType.remotePlaybackUpdate] event of
+  /// [videoEventsFor], which also holds the buffered range, so that the
+  /// position doesn't need to be polled with [getPosition]. The players of
+  /// the plugin share a single native timer.
+  Future<void> setPositionUpdateInterval(int textureId, Duration? interval) {
+    return _api.setPositionUpdates(PositionUpdatesMessage(
+      textureId: textureId,
+      intervalMs: interval?.inMilliseconds ?? 0,
+    ));
+  }
+
   @override
   Stream<VideoEvent> videoEventsFor(int textureId) {
     return _eventChannelFor(textureId)
@@ -165,6 +191,18 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
             position: Duration(milliseconds: map['position'] as int),
             isPlaying: map['playing'] as bool,
           );
+        case 'positionUpdate':
+          return VideoEvent(
+            eventType: VideoEventType.remotePlaybackUpdate,
+            position: Duration(milliseconds: map['position'] as int),
+            isPlaying: map['playing'] as bool,
+            buffered: <DurationRange>[
+              DurationRange(
+                Duration.zero,
+                Duration(milliseconds: map['buffered'] as int),
+              ),
+            ],
+          );
         default:
           return VideoEvent(eventType: VideoEventType.unknown);
       }
@@ -182,6 +220,85 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
         .setMixWithOthers(MixWithOthersMessage(mixWithOthers: mixWithOthers));
   }
 
+  /// The default size of the disk cache, in bytes.
+  static const int defaultMaxCacheBytes = 100 * 1024 * 1024;
+
+  /// Enables or disables the disk cache for network videos.
+  ///
+  /// The cache is shared by the players created afterwards, and evicts the
+  /// least recently used videos once it holds more than [maxCacheBytes]. It
+  /// can't be changed while players exist.
+  ///
+  /// All the engines of the app share the same cache, which keeps the
+  /// [maxCacheBytes] of the engine that enabled it first until every engine
+  /// disables it.
+  Future<void> setCacheOptions({
+    required bool enabled,
+    int maxCacheBytes = defaultMaxCacheBytes,
+  }) {
+    assert(maxCacheBytes > 0);
+
+    return _api.setCacheOptions(CacheOptionsMessage(
+      enabled: enabled,
+      maxCacheBytes: maxCacheBytes,
+    ));
+  }
+
+  /// Returns the hit and miss counts of the disk cache.
+  ///
+  /// All the values are zero while the cache is disabled.
+  Future<VideoCacheStats> getCacheStats() async {
+    final CacheStatsMessage response = await _api.getCacheStats();
+    return VideoCacheStats(
+      hitCount: response.hitCount,
+      missCount: response.missCount,
+      hitBytes: response.hitBytes,
+      missBytes: response.missBytes,
+      cachedBytes: response.cachedBytes,
+    );
+  }
+
+  /// The default number of bytes downloaded by [preload].
+  static const int defaultPreloadBytes = 1024 * 1024;
+
+  /// Downloads the first [maxBytes] of the network video at [uri] into the
+  /// disk cache, so that a player created for it later starts faster.
+  ///
+  /// Preloads run one at a time, highest [priority] first. The disk cache must
+  /// be enabled with [setCacheOptions].
+  Future<void> preload(
+    String uri, {
+    int maxBytes = defaultPreloadBytes,
+    int priority = 0,
+    Map<String, String> httpHeaders = const <String, String>{},
+  }) {
+    assert(maxBytes > 0);
+
+    return _api.preload(PreloadMessage(
+      uri: uri,
+      maxBytes: maxBytes,
+      priority: priority,
+      httpHeaders: httpHeaders,
+    ));
+  }
+
+  /// Cancels the preload of [uri], if it is pending or running.
+  Future<void> cancelPreload(String uri) {
+    return _api.cancelPreload(CancelPreloadMessage(uri: uri));
+  }
+
+  /// Caps the memory used together by the buffers of the videos created
+  /// afterwards to [maxBytes], or removes the cap if [maxBytes] is 0.
+  ///
+  /// Once the videos together hold [maxBytes], they stop buffering beyond
+  /// their [VideoBufferOptions.minBuffer]. Without a cap, each video sizes its
+  /// buffer from its tracks, which adds up with many concurrent videos.
+  Future<void> setBufferBudget(int maxBytes) {
+    assert(maxBytes >= 0);
+
+    return _api.setBufferBudget(BufferBudgetMessage(maxBytes: maxBytes));
+  }
+
   EventChannel _eventChannelFor(int textureId) {
     return EventChannel('flutter.io/videoPlayer/videoEvents$textureId');
   }
@@ -202,3 +319,60 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
     );
   }
 }
+
+/// Statistics of the disk cache of [AndroidVideoPlayer].
+@immutable
+class VideoCacheStats {
+  /// Creates statistics of the disk cache.
+  const VideoCacheStats({
+    required this.hitCount,
+    required this.missCount,
+    required this.hitBytes,
+    required this.missBytes,
+    required this.cachedBytes,
+  });
+
+  /// The number of reads served from the cache.
+  final int hitCount;
+
+  /// The number of requests sent to the network.
+  final int missCount;
+
+  /// The number of bytes read from the cache.
+  final int hitBytes;
+
+  /// The number of bytes read from the network.
+  final int missBytes;
+
+  /// The number of bytes currently stored in the cache.
+  final int cachedBytes;
+}
+
+/// The buffer durations of a video created by [AndroidVideoPlayer].
+///
+/// Unset durations use ExoPlayer's defaults, lowered or raised where they
+/// would contradict the set ones.
+@immutable
+class VideoBufferOptions {
+  /// Creates buffer durations.
+  const VideoBufferOptions({
+    this.minBuffer,
+    this.maxBuffer,
+    this.bufferForPlayback,
+    this.backBuffer,
+  });
+
+  /// The duration the player always tries to keep buffered ahead.
+  final Duration? minBuffer;
+
+  /// The duration beyond which the player stops buffering ahead.
+  final Duration? maxBuffer;
+
+  /// The duration that must be buffered before playback starts or resumes
+  /// after a seek.
+  final Duration? bufferForPlayback;
+
+  /// The duration kept behind the playback position, so that seeking back
+  /// doesn't reload it.
+  final Duration? backBuffer;
+}
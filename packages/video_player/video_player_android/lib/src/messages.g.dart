@@ -139,6 +139,10 @@ class CreateMessage {
     this.formatHint,
     this.metadata,
     required this.httpHeaders,
+    this.minBufferMs,
+    this.maxBufferMs,
+    this.bufferForPlaybackMs,
+    this.backBufferMs,
   });
 
   String? asset;
@@ -147,6 +151,10 @@ class CreateMessage {
   String? formatHint;
   ControlsMetadata? metadata;
   Map<String?, String?> httpHeaders;
+  int? minBufferMs;
+  int? maxBufferMs;
+  int? bufferForPlaybackMs;
+  int? backBufferMs;
 
   Object encode() {
     final Map<Object?, Object?> pigeonMap = <Object?, Object?>{};
@@ -156,6 +164,10 @@ class CreateMessage {
     pigeonMap['formatHint'] = formatHint;
     pigeonMap['metadata'] = metadata?.encode();
     pigeonMap['httpHeaders'] = httpHeaders;
+    pigeonMap['minBufferMs'] = minBufferMs;
+    pigeonMap['maxBufferMs'] = maxBufferMs;
+    pigeonMap['bufferForPlaybackMs'] = bufferForPlaybackMs;
+    pigeonMap['backBufferMs'] = backBufferMs;
     return pigeonMap;
   }
 
@@ -170,6 +182,10 @@ class CreateMessage {
           ? ControlsMetadata.decode(pigeonMap['metadata']!)
           : null,
       httpHeaders: (pigeonMap['httpHeaders'] as Map<Object?, Object?>?)!.cast<String?, String?>(),
+      minBufferMs: pigeonMap['minBufferMs'] as int?,
+      maxBufferMs: pigeonMap['maxBufferMs'] as int?,
+      bufferForPlaybackMs: pigeonMap['bufferForPlaybackMs'] as int?,
+      backBufferMs: pigeonMap['backBufferMs'] as int?,
     );
   }
 }
@@ -228,42 +244,228 @@ class ControlsMetadata {
   }
 }
 
+class CacheOptionsMessage {
+  CacheOptionsMessage({
+    required this.enabled,
+    required this.maxCacheBytes,
+  });
+
+  bool enabled;
+  int maxCacheBytes;
+
+  Object encode() {
+    final Map<Object?, Object?> pigeonMap = <Object?, Object?>{};
+    pigeonMap['enabled'] = enabled;
+    pigeonMap['maxCacheBytes'] = maxCacheBytes;
+    return pigeonMap;
+  }
+
+  static CacheOptionsMessage decode(Object message) {
+    final Map<Object?, Object?> pigeonMap = message as Map<Object?, Object?>;
+    return CacheOptionsMessage(
+      enabled: pigeonMap['enabled']! as bool,
+      maxCacheBytes: pigeonMap['maxCacheBytes']! as int,
+    );
+  }
+}
+
+class CacheStatsMessage {
+  CacheStatsMessage({
+    required this.hitCount,
+    required this.missCount,
+    required this.hitBytes,
+    required this.missBytes,
+    required this.cachedBytes,
+  });
+
+  int hitCount;
+  int missCount;
+  int hitBytes;
+  int missBytes;
+  int cachedBytes;
+
+  Object encode() {
+    final Map<Object?, Object?> pigeonMap = <Object?, Object?>{};
+    pigeonMap['hitCount'] = hitCount;
+    pigeonMap['missCount'] = missCount;
+    pigeonMap['hitBytes'] = hitBytes;
+    pigeonMap['missBytes'] = missBytes;
+    pigeonMap['cachedBytes'] = cachedBytes;
+    return pigeonMap;
+  }
+
+  static CacheStatsMessage decode(Object message) {
+    final Map<Object?, Object?> pigeonMap = message as Map<Object?, Object?>;
+    return CacheStatsMessage(
+      hitCount: pigeonMap['hitCount']! as int,
+      missCount: pigeonMap['missCount']! as int,
+      hitBytes: pigeonMap['hitBytes']! as int,
+      missBytes: pigeonMap['missBytes']! as int,
+      cachedBytes: pigeonMap['cachedBytes']! as int,
+    );
+  }
+}
+
+class PreloadMessage {
+  PreloadMessage({
+    required this.uri,
+    required this.maxBytes,
+    required this.priority,
+    required this.httpHeaders,
+  });
+
+  String uri;
+  int maxBytes;
+  int priority;
+  Map<String?, String?> httpHeaders;
+
+  Object encode() {
+    final Map<Object?, Object?> pigeonMap = <Object?, Object?>{};
+    pigeonMap['uri'] = uri;
+    pigeonMap['maxBytes'] = maxBytes;
+    pigeonMap['priority'] = priority;
+    pigeonMap['httpHeaders'] = httpHeaders;
+    return pigeonMap;
+  }
+
+  static PreloadMessage decode(Object message) {
+    final Map<Object?, Object?> pigeonMap = message as Map<Object?, Object?>;
+    return PreloadMessage(
+      uri: pigeonMap['uri']! as String,
+      maxBytes: pigeonMap['maxBytes']! as int,
+      priority: pigeonMap['priority']! as int,
+      httpHeaders: (pigeonMap['httpHeaders'] as Map<Object?, Object?>?)!.cast<String?, String?>(),
+    );
+  }
+}
+
+class CancelPreloadMessage {
+  CancelPreloadMessage({
+    required this.uri,
+  });
+
+  String uri;
+
+  Object encode() {
+    final Map<Object?, Object?> pigeonMap = <Object?, Object?>{};
+    pigeonMap['uri'] = uri;
+    return pigeonMap;
+  }
+
+  static CancelPreloadMessage decode(Object message) {
+    final Map<Object?, Object?> pigeonMap = message as Map<Object?, Object?>;
+    return CancelPreloadMessage(
+      uri: pigeonMap['uri']! as String,
+    );
+  }
+}
+
+class PositionUpdatesMessage {
+  PositionUpdatesMessage({
+    required this.textureId,
+    required this.intervalMs,
+  });
+
+  int textureId;
+  int intervalMs;
+
+  Object encode() {
+    final Map<Object?, Object?> pigeonMap = <Object?, Object?>{};
+    pigeonMap['textureId'] = textureId;
+    pigeonMap['intervalMs'] = intervalMs;
+    return pigeonMap;
+  }
+
+  static PositionUpdatesMessage decode(Object message) {
+    final Map<Object?, Object?> pigeonMap = message as Map<Object?, Object?>;
+    return PositionUpdatesMessage(
+      textureId: pigeonMap['textureId']! as int,
+      intervalMs: pigeonMap['intervalMs']! as int,
+    );
+  }
+}
+
+class BufferBudgetMessage {
+  BufferBudgetMessage({
+    required this.maxBytes,
+  });
+
+  int maxBytes;
+
+  Object encode() {
+    final Map<Object?, Object?> pigeonMap = <Object?, Object?>{};
+    pigeonMap['maxBytes'] = maxBytes;
+    return pigeonMap;
+  }
+
+  static BufferBudgetMessage decode(Object message) {
+    final Map<Object?, Object?> pigeonMap = message as Map<Object?, Object?>;
+    return BufferBudgetMessage(
+      maxBytes: pigeonMap['maxBytes']! as int,
+    );
+  }
+}
+
 class _AndroidVideoPlayerApiCodec extends StandardMessageCodec {
   const _AndroidVideoPlayerApiCodec();
   @override
   void writeValue(WriteBuffer buffer, Object? value) {
-    if (value is ControlsMetadata) {
+    if (value is BufferBudgetMessage) {
       buffer.putUint8(128);
       writeValue(buffer, value.encode());
     } else 
-    if (value is CreateMessage) {
+    if (value is CacheOptionsMessage) {
       buffer.putUint8(129);
       writeValue(buffer, value.encode());
     } else 
-    if (value is LoopingMessage) {
+    if (value is CacheStatsMessage) {
       buffer.putUint8(130);
       writeValue(buffer, value.encode());
     } else 
-    if (value is MixWithOthersMessage) {
+    if (value is CancelPreloadMessage) {
       buffer.putUint8(131);
       writeValue(buffer, value.encode());
     } else 
-    if (value is PlaybackSpeedMessage) {
+    if (value is ControlsMetadata) {
       buffer.putUint8(132);
       writeValue(buffer, value.encode());
     } else 
-    if (value is PositionMessage) {
+    if (value is CreateMessage) {
       buffer.putUint8(133);
       writeValue(buffer, value.encode());
     } else 
-    if (value is TextureMessage) {
+    if (value is LoopingMessage) {
       buffer.putUint8(134);
       writeValue(buffer, value.encode());
     } else 
-    if (value is VolumeMessage) {
+    if (value is MixWithOthersMessage) {
       buffer.putUint8(135);
       writeValue(buffer, value.encode());
     } else 
+    if (value is PlaybackSpeedMessage) {
+      buffer.putUint8(136);
+      writeValue(buffer, value.encode());
+    } else 
+    if (value is PositionMessage) {
+      buffer.putUint8(137);
+      writeValue(buffer, value.encode());
+    } else 
+    if (value is PositionUpdatesMessage) {
+      buffer.putUint8(138);
+      writeValue(buffer, value.encode());
+    } else 
+    if (value is PreloadMessage) {
+      buffer.putUint8(139);
+      writeValue(buffer, value.encode());
+    } else 
+    if (value is TextureMessage) {
+      buffer.putUint8(140);
+      writeValue(buffer, value.encode());
+    } else 
+    if (value is VolumeMessage) {
+      buffer.putUint8(141);
+      writeValue(buffer, value.encode());
+    } else 
 {
       super.writeValue(buffer, value);
     }
@@ -272,27 +474,45 @@ class _AndroidVideoPlayerApiCodec extends StandardMessageCodec {
   Object? readValueOfType(int type, ReadBuffer buffer) {
     switch (type) {
       case 128:       
-        return ControlsMetadata.decode(readValue(buffer)!);
+        return BufferBudgetMessage.decode(readValue(buffer)!);
       
       case 129:       
-        return CreateMessage.decode(readValue(buffer)!);
+        return CacheOptionsMessage.decode(readValue(buffer)!);
       
       case 130:       
-        return LoopingMessage.decode(readValue(buffer)!);
+        return CacheStatsMessage.decode(readValue(buffer)!);
       
       case 131:       
-        return MixWithOthersMessage.decode(readValue(buffer)!);
+        return CancelPreloadMessage.decode(readValue(buffer)!);
       
       case 132:       
-        return PlaybackSpeedMessage.decode(readValue(buffer)!);
+        return ControlsMetadata.decode(readValue(buffer)!);
       
       case 133:       
-        return PositionMessage.decode(readValue(buffer)!);
+        return CreateMessage.decode(readValue(buffer)!);
       
       case 134:       
-        return TextureMessage.decode(readValue(buffer)!);
+        return LoopingMessage.decode(readValue(buffer)!);
       
       case 135:       
+        return MixWithOthersMessage.decode(readValue(buffer)!);
+      
+      case 136:       
+        return PlaybackSpeedMessage.decode(readValue(buffer)!);
+      
+      case 137:       
+        return PositionMessage.decode(readValue(buffer)!);
+      
+      case 138:       
+        return PositionUpdatesMessage.decode(readValue(buffer)!);
+      
+      case 139:       
+        return PreloadMessage.decode(readValue(buffer)!);
+      
+      case 140:       
+        return TextureMessage.decode(readValue(buffer)!);
+      
+      case 141:       
         return VolumeMessage.decode(readValue(buffer)!);
       
       default:      
@@ -563,4 +783,141 @@ class AndroidVideoPlayerApi {
       return;
     }
   }
+
+  Future<void> setCacheOptions(CacheOptionsMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.setCacheOptions', codec, binaryMessenger: _binaryMessenger);
+    final Map<Object?, Object?>? replyMap =
+        await channel.send(<Object?>[arg_msg]) as Map<Object?, Object?>?;
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyMap['error'] != null) {
+      final Map<Object?, Object?> error = (replyMap['error'] as Map<Object?, Object?>?)!;
+      throw PlatformException(
+        code: (error['code'] as String?)!,
+        message: error['message'] as String?,
+        details: error['details'],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<CacheStatsMessage> getCacheStats() async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.getCacheStats', codec, binaryMessenger: _binaryMessenger);
+    final Map<Object?, Object?>? replyMap =
+        await channel.send(null) as Map<Object?, Object?>?;
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyMap['error'] != null) {
+      final Map<Object?, Object?> error = (replyMap['error'] as Map<Object?, Object?>?)!;
+      throw PlatformException(
+        code: (error['code'] as String?)!,
+        message: error['message'] as String?,
+        details: error['details'],
+      );
+    } else if (replyMap['result'] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyMap['result'] as CacheStatsMessage?)!;
+    }
+  }
+
+  Future<void> preload(PreloadMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.preload', codec, binaryMessenger: _binaryMessenger);
+    final Map<Object?, Object?>? replyMap =
+        await channel.send(<Object?>[arg_msg]) as Map<Object?, Object?>?;
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyMap['error'] != null) {
+      final Map<Object?, Object?> error = (replyMap['error'] as Map<Object?, Object?>?)!;
+      throw PlatformException(
+        code: (error['code'] as String?)!,
+        message: error['message'] as String?,
+        details: error['details'],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> cancelPreload(CancelPreloadMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.cancelPreload', codec, binaryMessenger: _binaryMessenger);
+    final Map<Object?, Object?>? replyMap =
+        await channel.send(<Object?>[arg_msg]) as Map<Object?, Object?>?;
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyMap['error'] != null) {
+      final Map<Object?, Object?> error = (replyMap['error'] as Map<Object?, Object?>?)!;
+      throw PlatformException(
+        code: (error['code'] as String?)!,
+        message: error['message'] as String?,
+        details: error['details'],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setPositionUpdates(PositionUpdatesMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.setPositionUpdates', codec, binaryMessenger: _binaryMessenger);
+    final Map<Object?, Object?>? replyMap =
+        await channel.send(<Object?>[arg_msg]) as Map<Object?, Object?>?;
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyMap['error'] != null) {
+      final Map<Object?, Object?> error = (replyMap['error'] as Map<Object?, Object?>?)!;
+      throw PlatformException(
+        code: (error['code'] as String?)!,
+        message: error['message'] as String?,
+        details: error['details'],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setBufferBudget(BufferBudgetMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.setBufferBudget', codec, binaryMessenger: _binaryMessenger);
+    final Map<Object?, Object?>? replyMap =
+        await channel.send(<Object?>[arg_msg]) as Map<Object?, Object?>?;
+    if (replyMap == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyMap['error'] != null) {
+      final Map<Object?, Object?> error = (replyMap['error'] as Map<Object?, Object?>?)!;
+      throw PlatformException(
+        code: (error['code'] as String?)!,
+        message: error['message'] as String?,
+        details: error['details'],
+      );
+    } else {
+      return;
+    }
+  }
 }
@@ -50,6 +50,10 @@ class CreateMessage {
   String? formatHint;
   ControlsMetadata? metadata;
   Map<String?, String?> httpHeaders;
+  int? minBufferMs;
+  int? maxBufferMs;
+  int? bufferForPlaybackMs;
+  int? backBufferMs;
 }
 
 class MixWithOthersMessage {
@@ -68,6 +72,46 @@ class ControlsMetadata {
   Uint8List? thumbnailBytes;
 }
 
+class CacheOptionsMessage {
+  CacheOptionsMessage(this.enabled, this.maxCacheBytes);
+  bool enabled;
+  int maxCacheBytes;
+}
+
+class CacheStatsMessage {
+  CacheStatsMessage(this.hitCount, this.missCount, this.hitBytes,
+      this.missBytes, this.cachedBytes);
+  int hitCount;
+  int missCount;
+  int hitBytes;
+  int missBytes;
+  int cachedBytes;
+}
+
+class PreloadMessage {
+  PreloadMessage(this.uri, this.maxBytes, this.priority, this.httpHeaders);
+  String uri;
+  int maxBytes;
+  int priority;
+  Map<String?, String?> httpHeaders;
+}
+
+class CancelPreloadMessage {
+  CancelPreloadMessage(this.uri);
+  String uri;
+}
+
+class PositionUpdatesMessage {
+  PositionUpdatesMessage(this.textureId, this.intervalMs);
+  int textureId;
+  int intervalMs;
+}
+
+class BufferBudgetMessage {
+  BufferBudgetMessage(this.maxBytes);
+  int maxBytes;
+}
+
 @HostApi(dartHostTestHandler: 'TestHostVideoPlayerApi')
 abstract class AndroidVideoPlayerApi {
   void initialize();
@@ -81,4 +125,10 @@ abstract class AndroidVideoPlayerApi {
   void seekTo(PositionMessage msg);
   void pause(TextureMessage msg);
   void setMixWithOthers(MixWithOthersMessage msg);
+  void setCacheOptions(CacheOptionsMessage msg);
+  CacheStatsMessage getCacheStats();
+  void preload(PreloadMessage msg);
+  void cancelPreload(CancelPreloadMessage msg);
+  void setPositionUpdates(PositionUpdatesMessage msg);
+  void setBufferBudget(BufferBudgetMessage msg);
 }
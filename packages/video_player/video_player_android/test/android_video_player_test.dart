@@ -23,6 +23,11 @@ class _ApiLogger implements TestHostVideoPlayerApi {
   VolumeMessage? volumeMessage;
   PlaybackSpeedMessage? playbackSpeedMessage;
   MixWithOthersMessage? mixWithOthersMessage;
+  CacheOptionsMessage? cacheOptionsMessage;
+  PreloadMessage? preloadMessage;
+  CancelPreloadMessage? cancelPreloadMessage;
+  PositionUpdatesMessage? positionUpdatesMessage;
+  BufferBudgetMessage? bufferBudgetMessage;
 
   @override
   TextureMessage create(CreateMessage arg) {
@@ -60,6 +65,48 @@ class _ApiLogger implements TestHostVideoPlayerApi {
     mixWithOthersMessage = arg;
   }
 
+  @override
+  void setCacheOptions(CacheOptionsMessage arg) {
+    log.add('setCacheOptions');
+    cacheOptionsMessage = arg;
+  }
+
+  @override
+  CacheStatsMessage getCacheStats() {
+    log.add('getCacheStats');
+    return CacheStatsMessage(
+      hitCount: 3,
+      missCount: 1,
+      hitBytes: 3000,
+      missBytes: 1000,
+      cachedBytes: 4000,
+    );
+  }
+
+  @override
+  void preload(PreloadMessage arg) {
+    log.add('preload');
+    preloadMessage = arg;
+  }
+
+  @override
+  void cancelPreload(CancelPreloadMessage arg) {
+    log.add('cancelPreload');
+    cancelPreloadMessage = arg;
+  }
+
+  @override
+  void setPositionUpdates(PositionUpdatesMessage arg) {
+    log.add('setPositionUpdates');
+    positionUpdatesMessage = arg;
+  }
+
+  @override
+  void setBufferBudget(BufferBudgetMessage arg) {
+    log.add('setBufferBudget');
+    bufferBudgetMessage = arg;
+  }
+
   @override
   PositionMessage position(TextureMessage arg) {
     log.add('position');
@@ -147,9 +194,30 @@ void main() {
       expect(log.createMessage?.packageName, null);
       expect(log.createMessage?.formatHint, 'dash');
       expect(log.createMessage?.httpHeaders, <String, String>{});
+      expect(log.createMessage?.minBufferMs, null);
+      expect(log.createMessage?.maxBufferMs, null);
       expect(textureId, 3);
     });
 
+    test('create with buffer options', () async {
+      player.bufferOptions = const VideoBufferOptions(
+        minBuffer: Duration(seconds: 2),
+        maxBuffer: Duration(seconds: 6),
+        bufferForPlayback: Duration(milliseconds: 500),
+        backBuffer: Duration(seconds: 1),
+      );
+      await player.create(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+      ));
+      player.bufferOptions = null;
+      expect(log.log.last, 'create');
+      expect(log.createMessage?.minBufferMs, 2000);
+      expect(log.createMessage?.maxBufferMs, 6000);
+      expect(log.createMessage?.bufferForPlaybackMs, 500);
+      expect(log.createMessage?.backBufferMs, 1000);
+    });
+
     test('create with network (some headers)', () async {
       final int? textureId = await player.create(DataSource(
         sourceType: DataSourceType.network,
@@ -205,6 +273,62 @@ void main() {
       expect(log.mixWithOthersMessage?.mixWithOthers, false);
     });
 
+    test('setCacheOptions', () async {
+      await player.setCacheOptions(enabled: true);
+      expect(log.log.last, 'setCacheOptions');
+      expect(log.cacheOptionsMessage?.enabled, true);
+      expect(log.cacheOptionsMessage?.maxCacheBytes,
+          AndroidVideoPlayer.defaultMaxCacheBytes);
+
+      await player.setCacheOptions(enabled: false, maxCacheBytes: 1024);
+      expect(log.log.last, 'setCacheOptions');
+      expect(log.cacheOptionsMessage?.enabled, false);
+      expect(log.cacheOptionsMessage?.maxCacheBytes, 1024);
+    });
+
+    test('getCacheStats', () async {
+      final VideoCacheStats stats = await player.getCacheStats();
+      expect(log.log.last, 'getCacheStats');
+      expect(stats.hitCount, 3);
+      expect(stats.missCount, 1);
+      expect(stats.hitBytes, 3000);
+      expect(stats.missBytes, 1000);
+      expect(stats.cachedBytes, 4000);
+    });
+
+    test('preload', () async {
+      await player.preload('someUri');
+      expect(log.log.last, 'preload');
+      expect(log.preloadMessage?.uri, 'someUri');
+      expect(log.preloadMessage?.maxBytes,
+          AndroidVideoPlayer.defaultPreloadBytes);
+      expect(log.preloadMessage?.priority, 0);
+      expect(log.preloadMessage?.httpHeaders, <String, String>{});
+
+      await player.preload(
+        'someUri',
+        maxBytes: 2048,
+        priority: 5,
+        httpHeaders: <String, String>{'Authorization': 'Bearer token'},
+      );
+      expect(log.preloadMessage?.maxBytes, 2048);
+      expect(log.preloadMessage?.priority, 5);
+      expect(log.preloadMessage?.httpHeaders,
+          <String, String>{'Authorization': 'Bearer token'});
+    });
+
+    test('cancelPreload', () async {
+      await player.cancelPreload('someUri');
+      expect(log.log.last, 'cancelPreload');
+      expect(log.cancelPreloadMessage?.uri, 'someUri');
+    });
+
+    test('setBufferBudget', () async {
+      await player.setBufferBudget(64 * 1024 * 1024);
+      expect(log.log.last, 'setBufferBudget');
+      expect(log.bufferBudgetMessage?.maxBytes, 64 * 1024 * 1024);
+    });
+
     test('setVolume', () async {
       await player.setVolume(1, 0.7);
       expect(log.log.last, 'setVolume');
@@ -233,6 +357,17 @@ void main() {
       expect(position, const Duration(milliseconds: 234));
     });
 
+    test('setPositionUpdateInterval', () async {
+      await player.setPositionUpdateInterval(
+          1, const Duration(milliseconds: 250));
+      expect(log.log.last, 'setPositionUpdates');
+      expect(log.positionUpdatesMessage?.textureId, 1);
+      expect(log.positionUpdatesMessage?.intervalMs, 250);
+
+      await player.setPositionUpdateInterval(1, null);
+      expect(log.positionUpdatesMessage?.intervalMs, 0);
+    });
+
     test('videoEventsFor', () async {
       _ambiguate(ServicesBinding.instance)
           ?.defaultBinaryMessenger
@@ -313,6 +448,19 @@ void main() {
                     }),
                     (ByteData? data) {});
 
+            await _ambiguate(ServicesBinding.instance)
+                ?.defaultBinaryMessenger
+                .handlePlatformMessage(
+                    'flutter.io/videoPlayer/videoEvents123',
+                    const StandardMethodCodec()
+                        .encodeSuccessEnvelope(<String, dynamic>{
+                      'event': 'positionUpdate',
+                      'position': 1500,
+                      'buffered': 6000,
+                      'playing': true,
+                    }),
+                    (ByteData? data) {});
+
             return const StandardMethodCodec().encodeSuccessEnvelope(null);
           } else if (methodCall.method == 'cancel') {
             return const StandardMethodCodec().encodeSuccessEnvelope(null);
@@ -351,6 +499,17 @@ void main() {
                 ]),
             VideoEvent(eventType: VideoEventType.bufferingStart),
             VideoEvent(eventType: VideoEventType.bufferingEnd),
+            VideoEvent(
+              eventType: VideoEventType.remotePlaybackUpdate,
+              position: const Duration(milliseconds: 1500),
+              isPlaying: true,
+              buffered: <DurationRange>[
+                DurationRange(
+                  Duration.zero,
+                  const Duration(milliseconds: 6000),
+                ),
+              ],
+            ),
           ]));
     });
   });
@@ -17,38 +17,62 @@ class _TestHostVideoPlayerApiCodec extends StandardMessageCodec {
   const _TestHostVideoPlayerApiCodec();
   @override
   void writeValue(WriteBuffer buffer, Object? value) {
-    if (value is ControlsMetadata) {
+    if (value is BufferBudgetMessage) {
       buffer.putUint8(128);
       writeValue(buffer, value.encode());
     } else 
-    if (value is CreateMessage) {
+    if (value is CacheOptionsMessage) {
       buffer.putUint8(129);
       writeValue(buffer, value.encode());
     } else 
-    if (value is LoopingMessage) {
+    if (value is CacheStatsMessage) {
       buffer.putUint8(130);
       writeValue(buffer, value.encode());
     } else 
-    if (value is MixWithOthersMessage) {
+    if (value is CancelPreloadMessage) {
       buffer.putUint8(131);
       writeValue(buffer, value.encode());
     } else 
-    if (value is PlaybackSpeedMessage) {
+    if (value is ControlsMetadata) {
       buffer.putUint8(132);
       writeValue(buffer, value.encode());
     } else 
-    if (value is PositionMessage) {
+    if (value is CreateMessage) {
       buffer.putUint8(133);
       writeValue(buffer, value.encode());
     } else 
-    if (value is TextureMessage) {
+    if (value is LoopingMessage) {
       buffer.putUint8(134);
       writeValue(buffer, value.encode());
     } else 
-    if (value is VolumeMessage) {
+    if (value is MixWithOthersMessage) {
       buffer.putUint8(135);
       writeValue(buffer, value.encode());
     } else 
+    if (value is PlaybackSpeedMessage) {
+      buffer.putUint8(136);
+      writeValue(buffer, value.encode());
+    } else 
+    if (value is PositionMessage) {
+      buffer.putUint8(137);
+      writeValue(buffer, value.encode());
+    } else 
+    if (value is PositionUpdatesMessage) {
+      buffer.putUint8(138);
+      writeValue(buffer, value.encode());
+    } else 
+    if (value is PreloadMessage) {
+      buffer.putUint8(139);
+      writeValue(buffer, value.encode());
+    } else 
+    if (value is TextureMessage) {
+      buffer.putUint8(140);
+      writeValue(buffer, value.encode());
+    } else 
+    if (value is VolumeMessage) {
+      buffer.putUint8(141);
+      writeValue(buffer, value.encode());
+    } else 
 {
       super.writeValue(buffer, value);
     }
@@ -57,27 +81,45 @@ class _TestHostVideoPlayerApiCodec extends StandardMessageCodec {
   Object? readValueOfType(int type, ReadBuffer buffer) {
     switch (type) {
       case 128:       
-        return ControlsMetadata.decode(readValue(buffer)!);
+        return BufferBudgetMessage.decode(readValue(buffer)!);
       
       case 129:       
-        return CreateMessage.decode(readValue(buffer)!);
+        return CacheOptionsMessage.decode(readValue(buffer)!);
       
       case 130:       
-        return LoopingMessage.decode(readValue(buffer)!);
+        return CacheStatsMessage.decode(readValue(buffer)!);
       
       case 131:       
-        return MixWithOthersMessage.decode(readValue(buffer)!);
+        return CancelPreloadMessage.decode(readValue(buffer)!);
       
       case 132:       
-        return PlaybackSpeedMessage.decode(readValue(buffer)!);
+        return ControlsMetadata.decode(readValue(buffer)!);
       
       case 133:       
-        return PositionMessage.decode(readValue(buffer)!);
+        return CreateMessage.decode(readValue(buffer)!);
       
       case 134:       
-        return TextureMessage.decode(readValue(buffer)!);
+        return LoopingMessage.decode(readValue(buffer)!);
       
       case 135:       
+        return MixWithOthersMessage.decode(readValue(buffer)!);
+      
+      case 136:       
+        return PlaybackSpeedMessage.decode(readValue(buffer)!);
+      
+      case 137:       
+        return PositionMessage.decode(readValue(buffer)!);
+      
+      case 138:       
+        return PositionUpdatesMessage.decode(readValue(buffer)!);
+      
+      case 139:       
+        return PreloadMessage.decode(readValue(buffer)!);
+      
+      case 140:       
+        return TextureMessage.decode(readValue(buffer)!);
+      
+      case 141:       
         return VolumeMessage.decode(readValue(buffer)!);
       
       default:      
@@ -100,6 +142,12 @@ abstract class TestHostVideoPlayerApi {
   void seekTo(PositionMessage msg);
   void pause(TextureMessage msg);
   void setMixWithOthers(MixWithOthersMessage msg);
+  void setCacheOptions(CacheOptionsMessage msg);
+  CacheStatsMessage getCacheStats();
+  void preload(PreloadMessage msg);
+  void cancelPreload(CancelPreloadMessage msg);
+  void setPositionUpdates(PositionUpdatesMessage msg);
+  void setBufferBudget(BufferBudgetMessage msg);
   static void setup(TestHostVideoPlayerApi? api, {BinaryMessenger? binaryMessenger}) {
     {
       final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
@@ -274,5 +322,98 @@ abstract class TestHostVideoPlayerApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.AndroidVideoPlayerApi.setCacheOptions', codec, binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMockMessageHandler(null);
+      } else {
+        channel.setMockMessageHandler((Object? message) async {
+          assert(message != null, 'Argument for dev.flutter.pigeon.AndroidVideoPlayerApi.setCacheOptions was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final CacheOptionsMessage? arg_msg = (args[0] as CacheOptionsMessage?);
+          assert(arg_msg != null, 'Argument for dev.flutter.pigeon.AndroidVideoPlayerApi.setCacheOptions was null, expected non-null CacheOptionsMessage.');
+          api.setCacheOptions(arg_msg!);
+          return <Object?, Object?>{};
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.AndroidVideoPlayerApi.getCacheStats', codec, binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMockMessageHandler(null);
+      } else {
+        channel.setMockMessageHandler((Object? message) async {
+          // ignore message
+          final CacheStatsMessage output = api.getCacheStats();
+          return <Object?, Object?>{'result': output};
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.AndroidVideoPlayerApi.preload', codec, binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMockMessageHandler(null);
+      } else {
+        channel.setMockMessageHandler((Object? message) async {
+          assert(message != null, 'Argument for dev.flutter.pigeon.AndroidVideoPlayerApi.preload was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final PreloadMessage? arg_msg = (args[0] as PreloadMessage?);
+          assert(arg_msg != null, 'Argument for dev.flutter.pigeon.AndroidVideoPlayerApi.preload was null, expected non-null PreloadMessage.');
+          api.preload(arg_msg!);
+          return <Object?, Object?>{};
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.AndroidVideoPlayerApi.cancelPreload', codec, binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMockMessageHandler(null);
+      } else {
+        channel.setMockMessageHandler((Object? message) async {
+          assert(message != null, 'Argument for dev.flutter.pigeon.AndroidVideoPlayerApi.cancelPreload was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final CancelPreloadMessage? arg_msg = (args[0] as CancelPreloadMessage?);
+          assert(arg_msg != null, 'Argument for dev.flutter.pigeon.AndroidVideoPlayerApi.cancelPreload was null, expected non-null CancelPreloadMessage.');
+          api.cancelPreload(arg_msg!);
+          return <Object?, Object?>{};
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.AndroidVideoPlayerApi.setPositionUpdates', codec, binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMockMessageHandler(null);
+      } else {
+        channel.setMockMessageHandler((Object? message) async {
+          assert(message != null, 'Argument for dev.flutter.pigeon.AndroidVideoPlayerApi.setPositionUpdates was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final PositionUpdatesMessage? arg_msg = (args[0] as PositionUpdatesMessage?);
+          assert(arg_msg != null, 'Argument for dev.flutter.pigeon.AndroidVideoPlayerApi.setPositionUpdates was null, expected non-null PositionUpdatesMessage.');
+          api.setPositionUpdates(arg_msg!);
+          return <Object?, Object?>{};
+        });
+      }
+    }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.AndroidVideoPlayerApi.setBufferBudget', codec, binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMockMessageHandler(null);
+      } else {
+        channel.setMockMessageHandler((Object? message) async {
+          assert(message != null, 'Argument for dev.flutter.pigeon.AndroidVideoPlayerApi.setBufferBudget was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final BufferBudgetMessage? arg_msg = (args[0] as BufferBudgetMessage?);
+          assert(arg_msg != null, 'Argument for dev.flutter.pigeon.AndroidVideoPlayerApi.setBufferBudget was null, expected non-null BufferBudgetMessage.');
+          api.setBufferBudget(arg_msg!);
+          return <Object?, Object?>{};
+        });
+      }
+    }
   }
 }